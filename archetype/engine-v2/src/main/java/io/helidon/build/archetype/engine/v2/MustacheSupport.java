@@ -28,10 +28,10 @@ import java.io.Writer;
 import java.nio.charset.Charset;
 import java.time.Instant;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.helidon.build.archetype.engine.v2.MergedModel.Value;
 import io.helidon.build.archetype.engine.v2.ast.Block;
@@ -61,7 +61,7 @@ public class MustacheSupport implements TemplateSupport {
     private final Context context;
     private final MergedModel scope;
     private final DefaultMustacheFactory factory = new MustacheFactoryImpl();
-    private final Map<String, Mustache> cache = new HashMap<>();
+    private final Map<String, Mustache> cache = new ConcurrentHashMap<>();
 
     /**
      * Create a new instance.
@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.archetype.engine.v2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.helidon.build.archetype.engine.v2.ast.Expression;
+import io.helidon.build.archetype.engine.v2.ast.Expression.Operator;
+import io.helidon.build.archetype.engine.v2.ast.Expression.Token;
+import io.helidon.build.archetype.engine.v2.ast.Value;
+import io.helidon.build.archetype.engine.v2.ast.ValueTypes;
+import io.helidon.build.common.xml.SimpleXMLParser;
+import io.helidon.build.common.xml.SimpleXMLParser.XMLReaderException;
+
+import static io.helidon.build.common.xml.SimpleXMLParser.processXmlEscapes;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Precompiled archetype scripts.
+ * <p>
+ * The archive contains the parser events of all the scripts of an archetype: elements with their attributes and
+ * locations, and text. All the strings are stored once in a table. {@link ScriptLoader} replays the events to build
+ * the scripts with a single sequential read instead of parsing the XML files.
+ * <p>
+ * The {@code if} expressions are compiled when the archive is created, the archive contains their tokens and each
+ * distinct expression is created once when the archive is read. Thus, loading the scripts does not parse any
+ * expression. All the scripts are loaded at once, the invoked scripts are resolved without reading any file.
+ */
+public final class ScriptArchive {
+
+    /**
+     * The path of the archive, relative to the archetype root directory.
+     */
+    public static final String FILE_NAME = "META-INF/helidon-archetype-scripts.bin";
+
+    private static final int MAGIC = 0x48415331;
+    private static final int VERSION = 2;
+    private static final byte END_SCRIPT = 0;
+    private static final byte START_ELEMENT = 1;
+    private static final byte ELEMENT_TEXT = 2;
+    private static final byte END_ELEMENT = 3;
+    private static final byte OPERATOR_TOKEN = 0;
+    private static final byte VARIABLE_TOKEN = 1;
+    private static final byte BOOLEAN_TOKEN = 2;
+    private static final byte STRING_TOKEN = 3;
+    private static final byte LIST_TOKEN = 4;
+    private static final int NO_EXPRESSION = -1;
+
+    private ScriptArchive() {
+    }
+
+    /**
+     * Compile the scripts of an archetype directory into an archive.
+     * The XML files that are not archetype scripts are ignored.
+     *
+     * @param archetypeDir archetype directory
+     * @param archiveFile  archive file to create
+     * @return the relative paths of the compiled scripts
+     * @throws UncheckedIOException if an IO error occurs
+     * @throws XMLReaderException   if an archetype script is not well-formed or has an invalid expression
+     */
+    public static List<String> write(Path archetypeDir, Path archiveFile) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<String, List<Object>> scripts = new LinkedHashMap<>();
+        Map<String, Integer> expressions = new LinkedHashMap<>();
+        List<List<Object>> expressionTokens = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(archetypeDir)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".xml")).sorted().collect(Collectors.toList())) {
+                String path = archetypeDir.relativize(file).toString().replace('\\', '/');
+                List<Object> events = record(file, path, expressions, expressionTokens);
+                if (events != null) {
+                    strings.computeIfAbsent(path, k -> strings.size());
+                    scripts.put(path, events);
+                    addStrings(events, strings);
+                }
+            }
+            for (List<Object> tokens : expressionTokens) {
+                addStrings(tokens, strings);
+            }
+            Files.createDirectories(archiveFile.getParent());
+            try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archiveFile)))) {
+                os.writeInt(MAGIC);
+                os.writeInt(VERSION);
+                os.writeInt(strings.size());
+                for (String str : strings.keySet()) {
+                    byte[] bytes = str.getBytes(UTF_8);
+                    os.writeInt(bytes.length);
+                    os.write(bytes);
+                }
+                os.writeInt(expressionTokens.size());
+                for (List<Object> tokens : expressionTokens) {
+                    writeEvents(os, tokens, strings);
+                }
+                os.writeInt(scripts.size());
+                for (Map.Entry<String, List<Object>> entry : scripts.entrySet()) {
+                    os.writeInt(strings.get(entry.getKey()));
+                    writeEvents(os, entry.getValue(), strings);
+                    os.writeByte(END_SCRIPT);
+                }
+            }
+            return new ArrayList<>(scripts.keySet());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void addStrings(List<Object> events, Map<String, Integer> strings) {
+        for (Object event : events) {
+            if (event instanceof String) {
+                strings.computeIfAbsent((String) event, k -> strings.size());
+            }
+        }
+    }
+
+    private static void writeEvents(DataOutputStream os, List<Object> events, Map<String, Integer> strings)
+            throws IOException {
+
+        for (Object event : events) {
+            if (event instanceof String) {
+                os.writeInt(strings.get(event));
+            } else if (event instanceof Byte) {
+                os.writeByte((Byte) event);
+            } else {
+                os.writeInt((Integer) event);
+            }
+        }
+    }
+
+    /**
+     * Read an archive.
+     *
+     * @param is     input stream
+     * @param reader reader that receives the events of each script
+     * @return {@code false} if the archive format is not supported
+     * @throws IOException if an IO error occurs
+     */
+    static boolean read(InputStream is, Reader reader) throws IOException {
+        DataInputStream dis = new DataInputStream(new BufferedInputStream(is));
+        if (dis.readInt() != MAGIC || dis.readInt() != VERSION) {
+            return false;
+        }
+        String[] strings = new String[dis.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[dis.readInt()];
+            dis.readFully(bytes);
+            strings[i] = new String(bytes, UTF_8);
+        }
+        Expression[] expressions = new Expression[dis.readInt()];
+        for (int i = 0; i < expressions.length; i++) {
+            expressions[i] = readExpression(dis, strings);
+        }
+        int scripts = dis.readInt();
+        for (int i = 0; i < scripts; i++) {
+            reader.startScript(strings[dis.readInt()]);
+            byte event;
+            while ((event = dis.readByte()) != END_SCRIPT) {
+                switch (event) {
+                    case START_ELEMENT:
+                        String qName = strings[dis.readInt()];
+                        int line = dis.readInt();
+                        int col = dis.readInt();
+                        int size = dis.readInt();
+                        Map<String, String> attrs = new LinkedHashMap<>();
+                        for (int j = 0; j < size; j++) {
+                            attrs.put(strings[dis.readInt()], strings[dis.readInt()]);
+                        }
+                        int expression = dis.readInt();
+                        reader.startElement(qName, attrs, line, col,
+                                expression == NO_EXPRESSION ? null : expressions[expression]);
+                        break;
+                    case ELEMENT_TEXT:
+                        reader.elementText(strings[dis.readInt()]);
+                        break;
+                    case END_ELEMENT:
+                        reader.endElement(strings[dis.readInt()]);
+                        break;
+                    default:
+                        throw new IOException("Invalid archive event: " + event);
+                }
+            }
+            reader.endScript();
+        }
+        return true;
+    }
+
+    private static Expression readExpression(DataInputStream dis, String[] strings) throws IOException {
+        int size = dis.readInt();
+        List<Token> tokens = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            byte kind = dis.readByte();
+            switch (kind) {
+                case OPERATOR_TOKEN:
+                    tokens.add(Token.create(Operator.values()[dis.readInt()]));
+                    break;
+                case VARIABLE_TOKEN:
+                    tokens.add(Token.create(strings[dis.readInt()]));
+                    break;
+                case BOOLEAN_TOKEN:
+                    tokens.add(Token.create(Value.create(dis.readInt() != 0)));
+                    break;
+                case STRING_TOKEN:
+                    tokens.add(Token.create(Value.create(strings[dis.readInt()])));
+                    break;
+                case LIST_TOKEN:
+                    String[] elements = new String[dis.readInt()];
+                    for (int j = 0; j < elements.length; j++) {
+                        elements[j] = strings[dis.readInt()];
+                    }
+                    tokens.add(Token.create(Value.create(List.of(elements))));
+                    break;
+                default:
+                    throw new IOException("Invalid archive token: " + kind);
+            }
+        }
+        return Expression.create(tokens);
+    }
+
+    /**
+     * Archive reader.
+     */
+    interface Reader {
+
+        /**
+         * Start a script.
+         *
+         * @param path path of the script, relative to the archetype root directory
+         */
+        void startScript(String path);
+
+        /**
+         * Start an element.
+         *
+         * @param qName      element name
+         * @param attrs      element attributes
+         * @param line       line number of the element
+         * @param col        column number of the element
+         * @param expression compiled {@code if} expression of the element, may be {@code null}
+         */
+        void startElement(String qName, Map<String, String> attrs, int line, int col, Expression expression);
+
+        /**
+         * Element text.
+         *
+         * @param value text
+         */
+        void elementText(String value);
+
+        /**
+         * End an element.
+         *
+         * @param qName element name
+         */
+        void endElement(String qName);
+
+        /**
+         * End the current script.
+         */
+        void endScript();
+    }
+
+    private static List<Object> record(Path file,
+                                       String path,
+                                       Map<String, Integer> expressions,
+                                       List<List<Object>> expressionTokens) throws IOException {
+
+        Recorder recorder = new Recorder(expressions, expressionTokens);
+        try (InputStream is = Files.newInputStream(file)) {
+            recorder.parser = SimpleXMLParser.create(is, recorder);
+            recorder.parser.parse();
+        } catch (RuntimeException ex) {
+            if (recorder.archetypeScript) {
+                throw new XMLReaderException(String.format(
+                        "Invalid script. { file=%s, location=%d:%d }",
+                        path, recorder.parser.lineNumber(), recorder.parser.charNumber()), ex);
+            }
+            // not a well-formed XML file, e.g. a template
+            return null;
+        }
+        return recorder.archetypeScript ? recorder.events : null;
+    }
+
+    private static final class Recorder implements SimpleXMLParser.Reader {
+
+        private final List<Object> events = new ArrayList<>();
+        private final Map<String, Integer> expressions;
+        private final List<List<Object>> expressionTokens;
+        private SimpleXMLParser parser;
+        private boolean archetypeScript;
+
+        Recorder(Map<String, Integer> expressions, List<List<Object>> expressionTokens) {
+            this.expressions = expressions;
+            this.expressionTokens = expressionTokens;
+        }
+
+        @Override
+        public void startElement(String qName, Map<String, String> attrs) {
+            if (events.isEmpty()) {
+                archetypeScript = "archetype-script".equals(qName);
+            }
+            events.add(START_ELEMENT);
+            events.add(qName);
+            events.add(parser.lineNumber());
+            events.add(parser.charNumber());
+            events.add(attrs.size());
+            attrs.forEach((key, value) -> {
+                events.add(key);
+                events.add(value);
+            });
+            String ifExpr = attrs.get("if");
+            if (ifExpr != null && archetypeScript) {
+                events.add(expressions.computeIfAbsent(processXmlEscapes(ifExpr), expr -> {
+                    expressionTokens.add(tokens(expr));
+                    return expressionTokens.size() - 1;
+                }));
+            } else {
+                events.add(NO_EXPRESSION);
+            }
+        }
+
+        private static List<Object> tokens(String expr) {
+            List<Token> tokens = Expression.create(expr).tokens();
+            List<Object> events = new ArrayList<>();
+            events.add(tokens.size());
+            for (Token token : tokens) {
+                token.accept(new Token.Visitor<>() {
+                    @Override
+                    public void visitOperator(Operator operator, List<Object> arg) {
+                        arg.add(OPERATOR_TOKEN);
+                        arg.add(operator.ordinal());
+                    }
+
+                    @Override
+                    public void visitVariable(String variable, List<Object> arg) {
+                        arg.add(VARIABLE_TOKEN);
+                        arg.add(variable);
+                    }
+
+                    @Override
+                    public void visitOperand(Value operand, List<Object> arg) {
+                        if (ValueTypes.BOOLEAN.equals(operand.type())) {
+                            arg.add(BOOLEAN_TOKEN);
+                            arg.add(operand.asBoolean() ? 1 : 0);
+                        } else if (ValueTypes.STRING_LIST.equals(operand.type())) {
+                            List<String> elements = operand.asList();
+                            arg.add(LIST_TOKEN);
+                            arg.add(elements.size());
+                            arg.addAll(elements);
+                        } else {
+                            arg.add(STRING_TOKEN);
+                            arg.add(operand.asString());
+                        }
+                    }
+                }, events);
+            }
+            return events;
+        }
+
+        @Override
+        public void elementText(String value) {
+            events.add(ELEMENT_TEXT);
+            events.add(value);
+        }
+
+        @Override
+        public void endElement(String name) {
+            events.add(END_ELEMENT);
+            events.add(name);
+        }
+
+        @Override
+        public boolean keepParsing() {
+            return events.isEmpty() || archetypeScript;
+        }
+    }
+}
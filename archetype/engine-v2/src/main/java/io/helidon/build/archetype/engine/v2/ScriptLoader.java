@@ -19,18 +19,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.helidon.build.archetype.engine.v2.ast.Block;
 import io.helidon.build.archetype.engine.v2.ast.Condition;
 import io.helidon.build.archetype.engine.v2.ast.DynamicValue;
+import io.helidon.build.archetype.engine.v2.ast.Expression;
 import io.helidon.build.archetype.engine.v2.ast.Input;
 import io.helidon.build.archetype.engine.v2.ast.Invocation;
 import io.helidon.build.archetype.engine.v2.ast.Location;
@@ -54,13 +57,19 @@ import static io.helidon.build.common.xml.SimpleXMLParser.processXmlEscapes;
 /**
  * Script loader.
  * XML reader for script document with caching.
+ * <p>
+ * This class is thread-safe, the loaded scripts are immutable and shared by all the callers.
+ * <p>
+ * If the root directory of the file system of a script contains a {@link ScriptArchive}, all the scripts in the
+ * archive are loaded at once instead of parsing the XML files.
  */
 public class ScriptLoader {
 
-    private static final Map<FileSystem, ScriptLoader> LOADERS = new WeakHashMap<>();
+    private static final Map<FileSystem, ScriptLoader> LOADERS = Collections.synchronizedMap(new WeakHashMap<>());
     private static final Random RANDOM = new Random();
 
-    private final Map<Path, Script> scripts = new HashMap<>();
+    private final Map<Path, Script> scripts = new ConcurrentHashMap<>();
+    private final Map<Path, Boolean> archives = new ConcurrentHashMap<>();
 
     private ScriptLoader() {
     }
@@ -101,10 +110,9 @@ public class ScriptLoader {
      * @param script script
      */
     public void add(Script script) {
-        if (scripts.containsKey(script.scriptPath())) {
+        if (scripts.putIfAbsent(script.scriptPath(), script) != null) {
             throw new IllegalStateException("Script already defined: " + script);
         }
-        scripts.put(script.scriptPath(), script);
     }
 
     /**
@@ -114,7 +122,20 @@ public class ScriptLoader {
      * @return Script
      */
     public Script get(Path path) {
-        return scripts.computeIfAbsent(path.toAbsolutePath().normalize(), this::loadScript);
+        Path scriptPath = path.toAbsolutePath().normalize();
+        Script script = scripts.get(scriptPath);
+        if (script == null && loadArchive(scriptPath)) {
+            script = scripts.get(scriptPath);
+        }
+        if (script == null) {
+            // parse without holding a lock, if two threads race the first script wins
+            Script loaded = loadScript(scriptPath);
+            script = scripts.putIfAbsent(scriptPath, loaded);
+            if (script == null) {
+                script = loaded;
+            }
+        }
+        return script;
     }
 
     /**
@@ -128,9 +149,28 @@ public class ScriptLoader {
         return loadScript(is, unknownPath());
     }
 
+    private boolean loadArchive(Path scriptPath) {
+        FileSystem fs = scriptPath.getFileSystem();
+        if (fs == FileSystems.getDefault()) {
+            return false;
+        }
+        return archives.computeIfAbsent(fs.getPath("/").resolve(ScriptArchive.FILE_NAME), this::readArchive);
+    }
+
+    private boolean readArchive(Path archive) {
+        if (!Files.exists(archive)) {
+            return false;
+        }
+        try (InputStream is = Files.newInputStream(archive)) {
+            return ScriptArchive.read(is, new ArchiveReader(this, archive.getFileSystem().getPath("/")));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
     private Script loadScript(Path path) {
-        try {
-            return loadScript(Files.newInputStream(path), path);
+        try (InputStream is = Files.newInputStream(path)) {
+            return loadScript(is, path);
         } catch (IOException ex) {
             throw new UncheckedIOException(ex);
         }
@@ -174,6 +214,7 @@ public class ScriptLoader {
         private SimpleXMLParser parser;
         private String qName;
         private Map<String, Value> attrs;
+        private Expression expression;
         private LinkedList<Context> stack;
         private Context ctx;
         private Script.Builder scriptBuilder;
@@ -183,10 +224,19 @@ public class ScriptLoader {
         }
 
         Script read(InputStream is, Path path) throws IOException {
-            this.path = Objects.requireNonNull(path, "path is null");
-            stack = new LinkedList<>();
+            start(path);
             parser = SimpleXMLParser.create(is, this);
             parser.parse();
+            return build();
+        }
+
+        void start(Path path) {
+            this.path = Objects.requireNonNull(path, "path is null");
+            stack = new LinkedList<>();
+            scriptBuilder = null;
+        }
+
+        Script build() {
             if (scriptBuilder == null) {
                 throw new IllegalStateException("Unable to create script");
             }
@@ -195,9 +245,14 @@ public class ScriptLoader {
 
         @Override
         public void startElement(String qName, Map<String, String> attrs) {
+            startElement(qName, attrs, parser.lineNumber(), parser.charNumber(), null);
+        }
+
+        void startElement(String qName, Map<String, String> attrs, int line, int col, Expression expression) {
             this.qName = qName;
             this.attrs = Maps.mapValue(attrs, DynamicValue::create);
-            Location location = Location.of(path, parser.lineNumber(), parser.charNumber());
+            this.expression = expression;
+            Location location = Location.of(path, line, col);
             info = BuilderInfo.of(loader, path, location);
             ctx = stack.peek();
             if (ctx == null) {
@@ -453,7 +508,13 @@ public class ScriptLoader {
             Value ifExpr = attrs.get("if");
             if (ifExpr != null) {
                 String expr = processXmlEscapes(ifExpr.asString());
-                ctx.builder.addChild(Condition.builder(info).expression(expr).then(builder));
+                Condition.Builder condition = Condition.builder(info);
+                if (expression != null) {
+                    condition.expression(expr, expression);
+                } else {
+                    condition.expression(expr);
+                }
+                ctx.builder.addChild(condition.then(builder));
             } else {
                 ctx.builder.addChild(builder);
             }
@@ -469,6 +530,46 @@ public class ScriptLoader {
         }
     }
 
+    private static final class ArchiveReader implements ScriptArchive.Reader {
+
+        private final ScriptLoader loader;
+        private final Path root;
+        private final ReaderImpl reader;
+        private Path path;
+
+        ArchiveReader(ScriptLoader loader, Path root) {
+            this.loader = loader;
+            this.root = root;
+            this.reader = new ReaderImpl(loader);
+        }
+
+        @Override
+        public void startScript(String path) {
+            this.path = root.resolve(path).toAbsolutePath().normalize();
+            reader.start(this.path);
+        }
+
+        @Override
+        public void startElement(String qName, Map<String, String> attrs, int line, int col, Expression expression) {
+            reader.startElement(qName, attrs, line, col, expression);
+        }
+
+        @Override
+        public void elementText(String value) {
+            reader.elementText(value);
+        }
+
+        @Override
+        public void endElement(String qName) {
+            reader.endElement(qName);
+        }
+
+        @Override
+        public void endScript() {
+            loader.scripts.putIfAbsent(path, reader.build());
+        }
+    }
+
     private static final class ValueBuilder extends Node.Builder<Node, ValueBuilder> {
 
         private final Node.Builder<?, ?> parent;
@@ -136,6 +136,19 @@ public final class Condition extends Node {
             return this;
         }
 
+        /**
+         * Set a compiled expression.
+         *
+         * @param rawExpression raw expression
+         * @param expression    expression compiled from {@code rawExpression}
+         * @return this builder
+         */
+        public Builder expression(String rawExpression, Expression expression) {
+            this.rawExpression = rawExpression;
+            this.expression = expression;
+            return this;
+        }
+
         /**
          * Set the expression.
          *
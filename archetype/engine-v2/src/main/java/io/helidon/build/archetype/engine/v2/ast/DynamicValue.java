@@ -31,7 +31,7 @@ import static java.util.stream.Collectors.toList;
 public final class DynamicValue implements Value {
 
     private final Supplier<String> supplier;
-    private String rawValue;
+    private volatile String rawValue;
 
     private DynamicValue(Supplier<String> supplier) {
         this.supplier = supplier;
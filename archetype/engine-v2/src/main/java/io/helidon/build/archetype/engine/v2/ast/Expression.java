@@ -17,10 +17,10 @@
 package io.helidon.build.archetype.engine.v2.ast;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -28,8 +28,10 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -44,14 +46,19 @@ import static java.util.stream.Collectors.toMap;
 
 /**
  * Logical expression.
+ * <p>
+ * The tokens are compiled once into a tree of operations. The evaluation short-circuits the logical operators, and
+ * the operations with constant operands are folded when compiling.
  */
 public final class Expression {
 
-    private static final Map<String, Expression> CACHE = new HashMap<>();
+    private static final Map<String, Expression> CACHE = new ConcurrentHashMap<>();
     private static final Map<String, Operator> OPS = Arrays.stream(Operator.values())
                                                            .collect(toMap(op -> op.symbol, Function.identity()));
 
     private final List<Token> tokens;
+    private final Operation root;
+    private final List<String> variables;
 
     /**
      * Get or create an expression.
@@ -75,6 +82,9 @@ public final class Expression {
 
     private Expression(List<Token> tokens) {
         this.tokens = Collections.unmodifiableList(tokens);
+        List<String> variables = new ArrayList<>();
+        this.root = compile(tokens, variables);
+        this.variables = Collections.unmodifiableList(variables);
     }
 
     /**
@@ -86,6 +96,16 @@ public final class Expression {
         return tokens;
     }
 
+    /**
+     * Get the variables referenced by this expression.
+     * Some of the variables may not be resolved by the evaluation, see {@link #eval(Function)}.
+     *
+     * @return variable names, in order of appearance
+     */
+    public List<String> variables() {
+        return variables;
+    }
+
     /**
      * Evaluate this expression.
      *
@@ -97,63 +117,338 @@ public final class Expression {
 
     /**
      * Evaluate this expression.
+     * The right operand of {@code &&} and {@code ||} is not evaluated if the left operand determines the result, thus
+     * the variables of the right operand are not resolved.
      *
      * @param resolver variable resolver
      * @return result
+     * @throws UnresolvedVariableException if a variable is not resolved
      */
     public boolean eval(Function<String, Value> resolver) {
-        Deque<Value> stack = new ArrayDeque<>();
+        return root.test(resolver);
+    }
+
+    private static Operation compile(List<Token> tokens, List<String> variables) {
+        Deque<Operation> stack = new ArrayDeque<>();
         for (Token token : tokens) {
-            Value value;
+            Operation operation;
             if (token.operator != null) {
-                boolean result;
-                Value operand1 = stack.pop();
+                Operation operand1 = pop(stack);
                 if (token.operator == Operator.NOT) {
-                    result = !operand1.asBoolean();
+                    operation = new Not(operand1);
                 } else {
-                    Value operand2 = stack.pop();
+                    Operation operand2 = pop(stack);
                     switch (token.operator) {
                         case OR:
-                            result = operand2.asBoolean() || operand1.asBoolean();
+                            operation = new Or(operand2, operand1);
                             break;
                         case AND:
-                            result = operand2.asBoolean() && operand1.asBoolean();
+                            operation = new And(operand2, operand1);
                             break;
                         case EQUAL:
-                            result = Value.equals(operand2, operand1);
+                            operation = new Equal(operand2, operand1, false);
                             break;
                         case NOT_EQUAL:
-                            result = !Value.equals(operand2, operand1);
+                            operation = new Equal(operand2, operand1, true);
                             break;
                         case CONTAINS:
-                            if (operand1.type() == ValueTypes.STRING_LIST) {
-                                result = new HashSet<>(operand2.asList()).containsAll(operand1.asList());
-                            } else {
-                                if (operand2.type() == ValueTypes.STRING) {
-                                    result = operand2.asString().contains(operand1.asString());
-                                } else {
-                                    result = operand2.asList().contains(operand1.asString());
-                                }
-                            }
+                            operation = Contains.create(operand2, operand1);
                             break;
                         default:
                             throw new IllegalStateException("Unsupported operator: " + token.operator);
                     }
                 }
-                value = Value.create(result);
+                operation = operation.fold();
             } else if (token.operand != null) {
-                value = token.operand;
+                operation = new Constant(token.operand);
             } else if (token.variable != null) {
-                value = resolver.apply(token.variable);
-                if (value == null) {
-                    throw new UnresolvedVariableException(token.variable);
+                operation = new VariableRef(token.variable);
+                if (!variables.contains(token.variable)) {
+                    variables.add(token.variable);
                 }
             } else {
                 throw new IllegalStateException("Invalid token");
             }
-            stack.push(value);
+            stack.push(operation);
+        }
+        Operation root = pop(stack);
+        if (!stack.isEmpty()) {
+            throw new FormatException("Invalid expression: " + tokens);
+        }
+        return root;
+    }
+
+    private static Operation pop(Deque<Operation> stack) {
+        if (stack.isEmpty()) {
+            throw new FormatException("Missing operand");
+        }
+        return stack.pop();
+    }
+
+    private static boolean contains(Value value1, Value value2) {
+        if (value2.type() == ValueTypes.STRING_LIST) {
+            return value1.asList().containsAll(value2.asList());
+        }
+        if (value1.type() == ValueTypes.STRING) {
+            return value1.asString().contains(value2.asString());
+        }
+        return value1.asList().contains(value2.asString());
+    }
+
+    /**
+     * Compiled operation.
+     */
+    private abstract static class Operation {
+
+        /**
+         * Evaluate this operation as a value.
+         *
+         * @param resolver variable resolver
+         * @return value
+         */
+        abstract Value value(Function<String, Value> resolver);
+
+        /**
+         * Evaluate this operation as a boolean.
+         *
+         * @param resolver variable resolver
+         * @return result
+         */
+        boolean test(Function<String, Value> resolver) {
+            return value(resolver).asBoolean();
+        }
+
+        /**
+         * Get the value of this operation if it is a constant.
+         *
+         * @return value, or {@code null} if not a constant
+         */
+        Value constant() {
+            return null;
+        }
+
+        /**
+         * Fold this operation.
+         *
+         * @return folded operation, or this operation if it cannot be folded
+         */
+        Operation fold() {
+            return this;
+        }
+
+        /**
+         * Fold this operation into a constant if all the given operands are constants.
+         *
+         * @param operands operands
+         * @return folded operation, or this operation if it cannot be folded
+         */
+        Operation foldConstants(Operation... operands) {
+            for (Operation operand : operands) {
+                if (operand.constant() == null) {
+                    return this;
+                }
+            }
+            try {
+                return new Constant(value(s -> null));
+            } catch (RuntimeException ex) {
+                // invalid operands, the error is raised when evaluating
+                return this;
+            }
+        }
+    }
+
+    private static final class Constant extends Operation {
+
+        private final Value value;
+
+        Constant(Value value) {
+            this.value = value;
+        }
+
+        @Override
+        Value value(Function<String, Value> resolver) {
+            return value;
+        }
+
+        @Override
+        Value constant() {
+            return value;
+        }
+    }
+
+    private static final class VariableRef extends Operation {
+
+        private final String name;
+
+        VariableRef(String name) {
+            this.name = name;
+        }
+
+        @Override
+        Value value(Function<String, Value> resolver) {
+            Value value = resolver.apply(name);
+            if (value == null) {
+                throw new UnresolvedVariableException(name);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Operation that evaluates to a boolean.
+     */
+    private abstract static class BooleanOperation extends Operation {
+
+        @Override
+        Value value(Function<String, Value> resolver) {
+            return Value.create(test(resolver));
+        }
+
+        @Override
+        abstract boolean test(Function<String, Value> resolver);
+    }
+
+    private static final class Not extends BooleanOperation {
+
+        private final Operation operand;
+
+        Not(Operation operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        boolean test(Function<String, Value> resolver) {
+            return !operand.test(resolver);
+        }
+
+        @Override
+        Operation fold() {
+            return foldConstants(operand);
+        }
+    }
+
+    private static final class And extends BooleanOperation {
+
+        private final Operation left;
+        private final Operation right;
+
+        And(Operation left, Operation right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean test(Function<String, Value> resolver) {
+            return left.test(resolver) && right.test(resolver);
+        }
+
+        @Override
+        Operation fold() {
+            if (left.constant() == Value.FALSE) {
+                return left;
+            }
+            return foldConstants(left, right);
+        }
+    }
+
+    private static final class Or extends BooleanOperation {
+
+        private final Operation left;
+        private final Operation right;
+
+        Or(Operation left, Operation right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean test(Function<String, Value> resolver) {
+            return left.test(resolver) || right.test(resolver);
+        }
+
+        @Override
+        Operation fold() {
+            if (left.constant() == Value.TRUE) {
+                return left;
+            }
+            return foldConstants(left, right);
+        }
+    }
+
+    private static final class Equal extends BooleanOperation {
+
+        private final Operation left;
+        private final Operation right;
+        private final boolean negate;
+
+        Equal(Operation left, Operation right, boolean negate) {
+            this.left = left;
+            this.right = right;
+            this.negate = negate;
+        }
+
+        @Override
+        boolean test(Function<String, Value> resolver) {
+            return Value.equals(left.value(resolver), right.value(resolver)) != negate;
+        }
+
+        @Override
+        Operation fold() {
+            return foldConstants(left, right);
+        }
+    }
+
+    private static class Contains extends BooleanOperation {
+
+        private final Operation left;
+        private final Operation right;
+
+        Contains(Operation left, Operation right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        static Operation create(Operation left, Operation right) {
+            Value value = left.constant();
+            if (value != null && value.type() == ValueTypes.STRING_LIST && right.constant() == null) {
+                return new ContainsConstant(left, right, new HashSet<>(value.asList()));
+            }
+            return new Contains(left, right);
+        }
+
+        @Override
+        boolean test(Function<String, Value> resolver) {
+            return contains(left.value(resolver), right.value(resolver));
+        }
+
+        @Override
+        Operation fold() {
+            return foldConstants(left, right);
+        }
+    }
+
+    /**
+     * Contains operation with a constant list, the list elements are hashed when compiling.
+     */
+    private static final class ContainsConstant extends Contains {
+
+        private final Operation right;
+        private final Set<String> elements;
+
+        ContainsConstant(Operation left, Operation right, Set<String> elements) {
+            super(left, right);
+            this.right = right;
+            this.elements = elements;
+        }
+
+        @Override
+        boolean test(Function<String, Value> resolver) {
+            Value value = right.value(resolver);
+            if (value.type() == ValueTypes.STRING_LIST) {
+                return elements.containsAll(value.asList());
+            }
+            return elements.contains(value.asString());
         }
-        return stack.pop().asBoolean();
     }
 
     /**
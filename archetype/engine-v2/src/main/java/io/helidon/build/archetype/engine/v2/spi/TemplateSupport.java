@@ -19,10 +19,11 @@ package io.helidon.build.archetype.engine.v2.spi;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.helidon.build.archetype.engine.v2.MergedModel;
 import io.helidon.build.archetype.engine.v2.ast.Block;
@@ -49,7 +50,7 @@ public interface TemplateSupport {
     /**
      * Template supports cache by block.
      */
-    Map<CacheKey, Map<String, TemplateSupport>> CACHE = new WeakHashMap<>();
+    Map<CacheKey, Map<String, TemplateSupport>> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
 
     /**
      * Get a template support.
@@ -64,7 +65,7 @@ public interface TemplateSupport {
         if (provider == null) {
             throw new IllegalArgumentException("Unknown template support provider: " + engine);
         }
-        return CACHE.computeIfAbsent(new CacheKey(scope, context), b -> new HashMap<>())
+        return CACHE.computeIfAbsent(new CacheKey(scope, context), b -> new ConcurrentHashMap<>())
                     .computeIfAbsent(engine, e -> provider.create(scope, context));
     }
 
@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import io.helidon.build.archetype.engine.v2.ScriptLoader;
 import io.helidon.build.archetype.engine.v2.Walker;
@@ -152,7 +153,8 @@ public final class ArchetypeValidator implements Node.Visitor<Context>, Block.Vi
     @Override
     public VisitResult visitCondition(Condition condition, Context ctx) {
         try {
-            condition.expression().eval(variable -> {
+            Expression expression = condition.expression();
+            Function<String, Value> resolver = variable -> {
                 List<Block> refs = refs(variable, ctx);
                 if (refs == null || refs.isEmpty()) {
                     return null;
@@ -171,12 +173,18 @@ public final class ArchetypeValidator implements Node.Visitor<Context>, Block.Vi
                     default:
                         throw new IllegalStateException("Bad input type");
                 }
-            });
-        } catch (Expression.UnresolvedVariableException ex) {
-            errors.add(String.format("%s %s: '%s'",
-                    condition.location(),
-                    EXPR_UNRESOLVED_VARIABLE,
-                    ex.variable()));
+            };
+            // the evaluation short-circuits, resolve all the variables first
+            for (String variable : expression.variables()) {
+                if (resolver.apply(variable) == null) {
+                    errors.add(String.format("%s %s: '%s'",
+                            condition.location(),
+                            EXPR_UNRESOLVED_VARIABLE,
+                            variable));
+                    return VisitResult.CONTINUE;
+                }
+            }
+            expression.eval(resolver);
         } catch (IllegalStateException ex) {
             errors.add(String.format(
                     "%s %s: '%s'",
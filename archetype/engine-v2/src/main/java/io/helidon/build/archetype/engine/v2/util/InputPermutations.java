@@ -31,6 +31,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import io.helidon.build.archetype.engine.v2.Controller;
 import io.helidon.build.archetype.engine.v2.InputResolver;
@@ -63,6 +65,10 @@ import static io.helidon.build.archetype.engine.v2.ast.Input.Enum.optionIndex;
 
 /**
  * A utility to compute input permutations.
+ * <p>
+ * The permutations are executed in parallel on the common fork/join pool. The input values consulted by each
+ * execution are recorded in a decision tree, a permutation that consults the same values as a previous execution
+ * re-uses its result instead of walking the script again.
  */
 public class InputPermutations {
 
@@ -74,6 +80,9 @@ public class InputPermutations {
     private final Map<String, String> externalDefaults;
     private final List<Expression> inputFilters;
     private final List<Expression> permutationFilters;
+    private final boolean parallel;
+    private final boolean cached;
+    private final AtomicInteger walks = new AtomicInteger();
 
     private InputPermutations(Builder builder) {
         script = Objects.requireNonNull(builder.script, "script is null!");
@@ -82,6 +91,8 @@ public class InputPermutations {
         externalDefaults = builder.externalDefaults;
         inputFilters = builder.inputFilters;
         permutationFilters = builder.permutationFilters;
+        parallel = builder.parallel;
+        cached = builder.cached;
     }
 
     /**
@@ -97,13 +108,14 @@ public class InputPermutations {
 
         // for each permutation, perform a normal execution
         // and use the resulting context values as permutation
-        List<Map<String, String>> permutations = Lists.flatMap(visitor.stack.pop());
+        List<Map<String, String>> permutations = Lists.filter(Lists.flatMap(visitor.stack.pop()),
+                p -> filter(permutationFilters, p));
+        Decision decisions = new Decision();
+        List<Map<String, ContextValue>> executions = (parallel ? permutations.parallelStream() : permutations.stream())
+                .map(p -> execute(p, decisions))
+                .collect(Collectors.toList());
         Map<String, List<TreeMap<String, ContextValue>>> result0 = new LinkedHashMap<>();
-        for (Map<String, String> permutation : permutations) {
-            if (!filter(permutationFilters, permutation)) {
-                continue;
-            }
-            Map<String, ContextValue> contextValues = execute(permutation);
+        for (Map<String, ContextValue> contextValues : executions) {
             if (contextValues != null && !contextValues.isEmpty()) {
                 Map<String, ContextValue> filteredValues = Maps.mapValue(contextValues,
                         (k, v) -> {
@@ -148,11 +160,29 @@ public class InputPermutations {
         return list;
     }
 
-    private Map<String, ContextValue> execute(Map<String, String> permutation) {
+    /**
+     * Get the number of script walks performed to execute the permutations.
+     *
+     * @return number of walks
+     */
+    int walks() {
+        return walks.get();
+    }
+
+    private Map<String, ContextValue> execute(Map<String, String> permutation, Decision decisions) {
+        if (cached) {
+            Decision decision = decisions.find(permutation);
+            if (decision != null) {
+                return decision.result;
+            }
+        }
+        walks.incrementAndGet();
         Context context = Context.builder().cwd(cwd).build();
+        InputResolverImpl resolver = new InputResolverImpl(permutation);
+        Map<String, ContextValue> result = null;
         try {
-            Controller.walk(new InputResolverImpl(permutation), script, context);
-            return context.scope().values();
+            Controller.walk(resolver, script, context);
+            result = context.scope().values();
         } catch (InvocationException ex) {
             if (!(ex.getCause() instanceof InvalidOption)) {
                 Log.warn(ex, "Permutation error: %s, permutation: %s",
@@ -160,7 +190,10 @@ public class InputPermutations {
                         permutation);
             }
         }
-        return null;
+        if (cached) {
+            decisions.add(resolver.paths, permutation, result);
+        }
+        return result;
     }
 
     /**
@@ -182,6 +215,8 @@ public class InputPermutations {
         private final Map<String, String> externalDefaults = new HashMap<>();
         private final List<Expression> inputFilters = new ArrayList<>();
         private final List<Expression> permutationFilters = new ArrayList<>();
+        private boolean parallel = true;
+        private boolean cached = true;
 
         /**
          * Set the script.
@@ -246,6 +281,28 @@ public class InputPermutations {
             return this;
         }
 
+        /**
+         * Set whether the permutations are executed in parallel.
+         *
+         * @param parallel {@code true} to execute in parallel
+         * @return this builder
+         */
+        Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        /**
+         * Set whether the results of the executions are re-used with the decision tree.
+         *
+         * @param cached {@code true} to re-use the results
+         * @return this builder
+         */
+        Builder cached(boolean cached) {
+            this.cached = cached;
+            return this;
+        }
+
         /**
          * Build the instance.
          *
@@ -258,26 +315,71 @@ public class InputPermutations {
 
     private static boolean filter(List<Expression> filters, Map<String, String> permutation) {
         for (Expression filter : filters) {
-            try {
-                boolean result = filter.eval(s -> {
-                    String v = permutation.get(s);
-                    if (v != null) {
-                        return DynamicValue.create(v);
-                    }
+            // a filter with unresolved variables is ignored
+            // evaluating it could short-circuit before reaching the unresolved variables
+            if (!permutation.keySet().containsAll(filter.variables())) {
+                continue;
+            }
+            boolean result = filter.eval(s -> DynamicValue.create(permutation.get(s)));
+            if (!result) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A node of the decision tree, the branches are the values of the permutation for {@link #path}.
+     */
+    private static final class Decision {
+
+        private static final String NO_VALUE = "\0";
+
+        private Map<String, Decision> branches;
+        private volatile String path;
+        private volatile boolean done;
+        private volatile Map<String, ContextValue> result;
+
+        Decision find(Map<String, String> permutation) {
+            Decision decision = this;
+            while (decision != null && !decision.done) {
+                String next = decision.path;
+                if (next == null) {
                     return null;
-                });
-                if (!result) {
-                    return false;
                 }
-            } catch (Expression.UnresolvedVariableException ignore) {
+                decision = decision.branch(permutation.get(next), false);
             }
+            return decision;
+        }
+
+        void add(List<String> paths, Map<String, String> permutation, Map<String, ContextValue> result) {
+            Decision decision = this;
+            for (String next : paths) {
+                // executions are deterministic, all the executions that reach this node consult the same path
+                decision.path = next;
+                decision = decision.branch(permutation.get(next), true);
+            }
+            decision.result = result;
+            decision.done = true;
+        }
+
+        private synchronized Decision branch(String value, boolean create) {
+            // XML documents cannot contain NUL, this does not collide with a value
+            String key = value != null ? value : NO_VALUE;
+            if (!create) {
+                return branches != null ? branches.get(key) : null;
+            }
+            if (branches == null) {
+                branches = new HashMap<>(4);
+            }
+            return branches.computeIfAbsent(key, k -> new Decision());
         }
-        return true;
     }
 
     private final class InputResolverImpl extends InputResolver {
 
         private final Map<String, String> permutation;
+        private final List<String> paths = new ArrayList<>();
 
         InputResolverImpl(Map<String, String> permutation) {
             this.permutation = permutation;
@@ -306,6 +408,7 @@ public class InputPermutations {
             if (result == null) {
                 String path = nextScope.path();
                 String rawValue = permutation.get(path);
+                paths.add(path);
                 if (rawValue == null) {
                     Value defaultValue = defaultValue(input, nextScope, context);
                     if (defaultValue == null) {
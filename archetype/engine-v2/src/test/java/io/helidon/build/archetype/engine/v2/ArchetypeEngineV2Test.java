@@ -20,8 +20,14 @@ import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import io.helidon.build.archetype.engine.v2.ast.Script;
 import io.helidon.build.common.VirtualFileSystem;
 import org.junit.jupiter.api.Test;
 
@@ -30,6 +36,7 @@ import static io.helidon.build.common.FileUtils.unique;
 import static io.helidon.build.common.FileUtils.zip;
 import static io.helidon.build.common.test.utils.TestFiles.targetDir;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -262,6 +269,56 @@ class ArchetypeEngineV2Test {
         asserCustomShapesModernStyle(outputDir);
     }
 
+    @Test
+    void testConcurrentGenerate() throws Exception {
+        Path targetDir = targetDir(this.getClass());
+        FileSystem fs = VirtualFileSystem.create(targetDir.resolve("test-classes/e2e"));
+        Path testOutputDir = unique(targetDir.resolve("engine-ut"), "testConcurrentGenerate");
+        List<Map<String, String>> inputs = List.of(
+                Map.of("theme", "colors", "theme.base", "rainbow"),
+                Map.of("theme", "colors", "theme.base", "custom", "theme.base.colors", "cyan,khaki"),
+                Map.of("theme", "shapes", "theme.base", "2d"),
+                Map.of("theme", "shapes", "theme.base", "custom", "theme.base.shapes", "arrow,donut"));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Path>> results = new ArrayList<>();
+            List<Future<Script>> scripts = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                Map<String, String> externalValues = inputs.get(i % inputs.size());
+                Path directory = testOutputDir.resolve(String.valueOf(i));
+                scripts.add(executor.submit(() -> ScriptLoader.load(fs.getPath("main.xml"))));
+                results.add(executor.submit(() -> new ArchetypeEngineV2(fs)
+                        .generate(new BatchInputResolver(), externalValues, Map.of(), n -> directory)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Path outputDir = results.get(i).get();
+                switch (i % inputs.size()) {
+                    case 0:
+                        assertRainbowColors(outputDir);
+                        assertRainbowModernStyle(outputDir);
+                        break;
+                    case 1:
+                        assertCustomColors(outputDir);
+                        assertCustomColorsModernStyle(outputDir);
+                        break;
+                    case 2:
+                        assert2dShapes(outputDir);
+                        assert2dModernStyle(outputDir);
+                        break;
+                    default:
+                        assertCustomShapes(outputDir);
+                        asserCustomShapesModernStyle(outputDir);
+                }
+            }
+            Script script = ScriptLoader.load(fs.getPath("main.xml"));
+            for (Future<Script> result : scripts) {
+                assertThat(result.get(), sameInstance(script));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private void assert2dShapesReadme(Path outputDir) throws IOException {
         Path readmeFile = outputDir.resolve("README.md");
         assertThat(Files.exists(readmeFile), is(true));
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.archetype.engine.v2;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.helidon.build.archetype.engine.v2.ast.Block;
+import io.helidon.build.archetype.engine.v2.ast.Condition;
+import io.helidon.build.archetype.engine.v2.ast.Node;
+import io.helidon.build.archetype.engine.v2.ast.Script;
+import io.helidon.build.archetype.engine.v2.ast.Value;
+import io.helidon.build.common.VirtualFileSystem;
+import io.helidon.build.common.xml.SimpleXMLParser.XMLReaderException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.archetype.engine.v2.TestHelper.readFile;
+import static io.helidon.build.common.FileUtils.copyDirectory;
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.unique;
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link ScriptArchive}.
+ */
+class ScriptArchiveTest {
+
+    private Path archetypeDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path targetDir = targetDir(this.getClass());
+        archetypeDir = copyDirectory(targetDir.resolve("test-classes/e2e"),
+                unique(ensureDirectory(targetDir.resolve("archive-ut")), "archetype"));
+        Files.writeString(archetypeDir.resolve("colors/custom/files/pom.xml"), "<project/>\n");
+    }
+
+    @Test
+    void testWrite() {
+        List<String> scripts = ScriptArchive.write(archetypeDir, archetypeDir.resolve(ScriptArchive.FILE_NAME));
+        assertThat(scripts, containsInAnyOrder(
+                "main.xml",
+                "colors/colors.xml",
+                "colors/custom/custom.xml",
+                "colors/rainbow/rainbow.xml",
+                "common/common.xml",
+                "common/finalize.xml",
+                "common/mustache.xml",
+                "common/readme.xml",
+                "shapes/shapes.xml",
+                "shapes/2d/2d.xml",
+                "shapes/custom/custom.xml"));
+        assertThat(Files.exists(archetypeDir.resolve(ScriptArchive.FILE_NAME)), is(true));
+    }
+
+    @Test
+    void testWriteInvalidScript() throws IOException {
+        Files.writeString(archetypeDir.resolve("colors/broken.xml"), "<archetype-script>\n<exec src=\"colors.xml\">\n"
+                + "</archetype-script>\n");
+        XMLReaderException ex = assertThrows(XMLReaderException.class,
+                () -> ScriptArchive.write(archetypeDir, archetypeDir.resolve(ScriptArchive.FILE_NAME)));
+        assertThat(ex.getMessage(), containsString("file=colors/broken.xml"));
+    }
+
+    @Test
+    void testWriteInvalidExpression() throws IOException {
+        Files.writeString(archetypeDir.resolve("colors/broken.xml"), "<archetype-script>\n"
+                + "<exec src=\"colors.xml\" if=\"${colors} ==\"/>\n"
+                + "</archetype-script>\n");
+        XMLReaderException ex = assertThrows(XMLReaderException.class,
+                () -> ScriptArchive.write(archetypeDir, archetypeDir.resolve(ScriptArchive.FILE_NAME)));
+        assertThat(ex.getMessage(), containsString("file=colors/broken.xml"));
+    }
+
+    @Test
+    void testLoadCompiledExpressions() {
+        List<Condition> expected = conditions(ScriptLoader.load(
+                VirtualFileSystem.create(archetypeDir).getPath("shapes/custom/custom.xml")));
+        assertThat(expected.isEmpty(), is(false));
+        ScriptArchive.write(archetypeDir, archetypeDir.resolve(ScriptArchive.FILE_NAME));
+
+        List<Condition> conditions = conditions(ScriptLoader.load(
+                VirtualFileSystem.create(archetypeDir).getPath("shapes/custom/custom.xml")));
+        assertThat(conditions.size(), is(expected.size()));
+        Value shapes = Value.create(List.of("circle", "arrow"));
+        for (int i = 0; i < conditions.size(); i++) {
+            Condition condition = conditions.get(i);
+            assertThat(condition.rawExpression(), is(expected.get(i).rawExpression()));
+            assertThat(condition.expression().variables(), is(expected.get(i).expression().variables()));
+            assertThat(condition.expression().eval(v -> shapes), is(expected.get(i).expression().eval(v -> shapes)));
+        }
+    }
+
+    @Test
+    void testLoad() throws IOException {
+        Script expected = ScriptLoader.load(VirtualFileSystem.create(archetypeDir).getPath("main.xml"));
+        ScriptArchive.write(archetypeDir, archetypeDir.resolve(ScriptArchive.FILE_NAME));
+        deleteScripts();
+
+        FileSystem fs = VirtualFileSystem.create(archetypeDir);
+        Script script = ScriptLoader.load(fs.getPath("main.xml"));
+        assertThat(script.location().lineNumber(), is(expected.location().lineNumber()));
+        assertThat(script.location().charNumber(), is(expected.location().charNumber()));
+        assertThat(script.children().size(), is(expected.children().size()));
+
+        Path outputDir = new ArchetypeEngineV2(fs).generate(
+                new BatchInputResolver(),
+                Map.of("theme", "colors", "theme.base", "custom", "theme.base.colors", "cyan,khaki"),
+                Map.of(),
+                n -> unique(archetypeDir.getParent(), n));
+        assertThat(readFile(outputDir.resolve("colors.txt")), is("Cyan\nKhaki\n"));
+    }
+
+    private static List<Condition> conditions(Node node) {
+        List<Condition> conditions = new ArrayList<>();
+        if (node instanceof Condition) {
+            conditions.add((Condition) node);
+            conditions.addAll(conditions(((Condition) node).then()));
+        } else if (node instanceof Block) {
+            for (Node child : ((Block) node).children()) {
+                conditions.addAll(conditions(child));
+            }
+        }
+        return conditions;
+    }
+
+    private void deleteScripts() throws IOException {
+        try (Stream<Path> files = Files.walk(archetypeDir)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".xml")).collect(Collectors.toList())) {
+                if (Files.readString(file).contains("archetype-script")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+}
@@ -83,6 +83,42 @@ class ExpressionTest {
         assertThat(exp.eval(variables::get), is(true));
     }
 
+    @Test
+    void testShortCircuit() {
+        assertThat(parse("false && ${var}").eval(), is(false));
+        assertThat(parse("true || ${var}").eval(), is(true));
+        assertThat(parse("${var1} && ${var2}").eval(Map.of("var1", Value.FALSE)::get), is(false));
+        assertThat(parse("${var1} || ${var2}").eval(Map.of("var1", Value.TRUE)::get), is(true));
+        assertThat(parse("!${var1} && ${var2} || ${var3}").eval(Map.of("var1", Value.TRUE, "var3", Value.TRUE)::get),
+                is(true));
+
+        Throwable e = assertThrows(UnresolvedVariableException.class, () -> parse("${var} && false").eval());
+        assertThat(e.getMessage(), containsString("Unresolved variable"));
+
+        e = assertThrows(UnresolvedVariableException.class,
+                () -> parse("${var1} && ${var2}").eval(Map.of("var1", Value.TRUE)::get));
+        assertThat(e.getMessage(), containsString("var2"));
+    }
+
+    @Test
+    void testVariables() {
+        assertThat(parse("true").variables(), is(List.of()));
+        assertThat(parse("${var1} && ${var2} || !${var1} && ${var3} contains 'a'").variables(),
+                is(List.of("var1", "var2", "var3")));
+    }
+
+    @Test
+    void testConstantOperands() {
+        assertThat(parse("['a', 'b'] contains ${var}").eval(Map.of("var", Value.create("b"))::get), is(true));
+        assertThat(parse("['a', 'b'] contains ${var}").eval(Map.of("var", Value.create("c"))::get), is(false));
+        assertThat(parse("['a', 'b'] contains ${var}").eval(Map.of("var", Value.create(List.of("a", "b")))::get),
+                is(true));
+        assertThat(parse("['a', 'b'] contains ${var}").eval(Map.of("var", Value.create(List.of("a", "c")))::get),
+                is(false));
+        assertThat(parse("!('a' == 'b') && ${var}").eval(Map.of("var", Value.TRUE)::get), is(true));
+        assertThat(parse("('a' == 'b') || ${var}").eval(Map.of("var", Value.FALSE)::get), is(false));
+    }
+
     @Test
     void testVariable() {
         //noinspection SpellCheckingInspection
@@ -105,6 +105,14 @@ class ArchetypeValidatorTest {
         assertThat(errors.get(0), containsString(EXPR_UNRESOLVED_VARIABLE));
     }
 
+    @Test
+    void testExpressionWithUnresolvedVariableNotEvaluated() {
+        List<String> errors = validate("expression-unresolved-variable2.xml");
+        assertThat(errors.size(), is(1));
+        assertThat(errors.get(0), containsString(EXPR_UNRESOLVED_VARIABLE));
+        assertThat(errors.get(0), containsString("input2"));
+    }
+
     @Test
     void testExpressionWithTypeMismatch1() {
         List<String> errors = validate("expression-type-mismatch1.xml");
@@ -26,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import static io.helidon.build.archetype.engine.v2.TestHelper.load;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -284,6 +285,32 @@ class InputPermutationsTest {
         assertPermutations(permutations, expected);
     }
 
+    @Test
+    void testHiddenInputs() {
+        InputPermutations uncached = InputPermutations.builder()
+                                                      .script(load("permutations/hidden.xml"))
+                                                      .parallel(false)
+                                                      .cached(false)
+                                                      .build();
+        List<Map<String, String>> expected = uncached.compute();
+        assertThat(expected.size(), is(7));
+        assertThat(expected, hasItem(Map.of("advanced", "false")));
+
+        InputPermutations cached = InputPermutations.builder()
+                                                    .script(load("permutations/hidden.xml"))
+                                                    .parallel(false)
+                                                    .build();
+        assertThat(cached.compute(), is(expected));
+        // the 6 permutations with advanced=false consult the same inputs, only the first one is walked
+        assertThat(uncached.walks(), is(12));
+        assertThat(cached.walks(), is(7));
+
+        InputPermutations parallel = InputPermutations.builder()
+                                                      .script(load("permutations/hidden.xml"))
+                                                      .build();
+        assertThat(parallel.compute(), is(expected));
+    }
+
     @Test
     void testE2e() {
         List<Map<String, String>> permutations = permutations("e2e/main.xml");
@@ -346,6 +373,21 @@ class InputPermutationsTest {
         assertPermutations(permutations, expected);
     }
 
+    @Test
+    void testFiltersWithUnresolvedVariables() {
+        List<Map<String, String>> permutations =
+                InputPermutations.builder()
+                                 .script(load("permutations/boolean2.xml"))
+                                 // colors.tones is unresolved when colors is false, the filter is ignored
+                                 .permutationFilters(List.of("${colors} && ${colors.tones} contains 'dark'"))
+                                 .build()
+                                 .compute();
+        assertPermutations(permutations,
+                Map.of("colors", "true", "colors.tones", "dark"),
+                Map.of("colors", "true", "colors.tones", "dark,light"),
+                Map.of("colors", "false"));
+    }
+
     @Test
     void testExternals() {
         List<Map<String, String>> permutations = InputPermutations.builder()
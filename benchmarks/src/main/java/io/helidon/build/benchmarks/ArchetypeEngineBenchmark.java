@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.benchmarks;
+
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.build.archetype.engine.v2.ArchetypeEngineV2;
+import io.helidon.build.archetype.engine.v2.BatchInputResolver;
+import io.helidon.build.common.VirtualFileSystem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of {@link ArchetypeEngineV2#generate} with a shared archetype, on one thread and on all
+ * the available cores. Use {@code -t} to measure other thread counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchetypeEngineBenchmark {
+
+    /**
+     * The number of inputs.
+     */
+    @Param({"20"})
+    private int inputs;
+
+    private FileSystem archetype;
+    private Path outputDir;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    /**
+     * Output directory of a benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private Path directory;
+
+        /**
+         * Assign the output directory.
+         *
+         * @param benchmark shared state
+         */
+        @Setup
+        public void setup(ArchetypeEngineBenchmark benchmark) {
+            directory = benchmark.outputDir.resolve(String.valueOf(benchmark.threadIds.incrementAndGet()));
+        }
+    }
+
+    /**
+     * Generate the archetype.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Setup
+    public void setup() throws Exception {
+        Path dir = Fixtures.tempDir("engine-benchmark");
+        archetype = VirtualFileSystem.create(Fixtures.archetype(Files.createDirectory(dir.resolve("archetype")), inputs));
+        outputDir = Files.createDirectory(dir.resolve("output"));
+    }
+
+    /**
+     * Generate a project on a single thread.
+     *
+     * @param state thread state
+     * @return output directory
+     */
+    @Benchmark
+    @Threads(1)
+    public Path generate(ThreadState state) {
+        return generate(state.directory);
+    }
+
+    /**
+     * Generate projects on all the available cores, sharing the parsed archetype.
+     *
+     * @param state thread state
+     * @return output directory
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Path generateConcurrent(ThreadState state) {
+        return generate(state.directory);
+    }
+
+    private Path generate(Path directory) {
+        return new ArchetypeEngineV2(archetype)
+                .generate(new BatchInputResolver(), Map.of(), Map.of(), n -> directory);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.helidon.build.archetype.engine.v2.ast.Expression;
+import io.helidon.build.archetype.engine.v2.ast.Expression.Operator;
+import io.helidon.build.archetype.engine.v2.ast.Expression.Token;
+import io.helidon.build.archetype.engine.v2.ast.Value;
+import io.helidon.build.archetype.engine.v2.ast.ValueTypes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link Expression#eval(java.util.function.Function)} and {@link Expression#parse(String)}.
+ * The {@code interpret} benchmark is the baseline: it evaluates the postfix tokens with an operand stack, without
+ * short-circuiting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionBenchmark {
+
+    private static final String[] EXPRESSIONS = {
+            "${flavor} == 'se'",
+            "!${media}",
+            "${features} contains 'tracing' && ${flavor} == 'mp'",
+            "['', 'adc', 'def'] contains ${name} == ${enabled} && ${media} || !${db}",
+            "${features} contains ['metrics', 'health'] || ${flavor} != 'se' && ${db}",
+            "!(${features} contains 'basic-auth' == false && ${enabled})",
+            "${db} && ${features} contains ['jpa', 'jta'] && ${flavor} == 'mp'",
+            "${flavor} == 'se' || ['mp', 'nima'] contains ${flavor} && !${db}"
+    };
+
+    private static final Map<String, Value> VARIABLES = Map.of(
+            "flavor", Value.create("se"),
+            "media", Value.TRUE,
+            "db", Value.FALSE,
+            "enabled", Value.TRUE,
+            "name", Value.create("abc"),
+            "features", Value.create(List.of("tracing", "metrics", "health", "cors")));
+
+    private Expression[] expressions;
+
+    /**
+     * Parse the expressions.
+     */
+    @Setup
+    public void setup() {
+        expressions = new Expression[EXPRESSIONS.length];
+        for (int i = 0; i < EXPRESSIONS.length; i++) {
+            expressions[i] = Expression.parse(EXPRESSIONS[i]);
+        }
+    }
+
+    /**
+     * Evaluate the expressions.
+     *
+     * @param bh black hole
+     */
+    @Benchmark
+    public void eval(Blackhole bh) {
+        for (Expression expression : expressions) {
+            bh.consume(expression.eval(VARIABLES::get));
+        }
+    }
+
+    /**
+     * Interpret the expression tokens.
+     *
+     * @param bh black hole
+     */
+    @Benchmark
+    public void interpret(Blackhole bh) {
+        for (Expression expression : expressions) {
+            bh.consume(interpret(expression, VARIABLES::get));
+        }
+    }
+
+    /**
+     * Parse the expressions.
+     *
+     * @param bh black hole
+     */
+    @Benchmark
+    public void parse(Blackhole bh) {
+        for (String expression : EXPRESSIONS) {
+            bh.consume(Expression.parse(expression));
+        }
+    }
+
+    private static boolean interpret(Expression expression, Function<String, Value> resolver) {
+        Deque<Value> stack = new ArrayDeque<>();
+        Token.Visitor<Deque<Value>> visitor = new Token.Visitor<>() {
+            @Override
+            public void visitOperator(Operator operator, Deque<Value> stack) {
+                Value operand1 = stack.pop();
+                if (operator == Operator.NOT) {
+                    stack.push(Value.create(!operand1.asBoolean()));
+                    return;
+                }
+                Value operand2 = stack.pop();
+                boolean result;
+                switch (operator) {
+                    case OR:
+                        result = operand2.asBoolean() || operand1.asBoolean();
+                        break;
+                    case AND:
+                        result = operand2.asBoolean() && operand1.asBoolean();
+                        break;
+                    case EQUAL:
+                        result = Value.equals(operand2, operand1);
+                        break;
+                    case NOT_EQUAL:
+                        result = !Value.equals(operand2, operand1);
+                        break;
+                    case CONTAINS:
+                        if (operand1.type() == ValueTypes.STRING_LIST) {
+                            result = new HashSet<>(operand2.asList()).containsAll(operand1.asList());
+                        } else if (operand2.type() == ValueTypes.STRING) {
+                            result = operand2.asString().contains(operand1.asString());
+                        } else {
+                            result = operand2.asList().contains(operand1.asString());
+                        }
+                        break;
+                    default:
+                        throw new IllegalStateException("Unsupported operator: " + operator);
+                }
+                stack.push(Value.create(result));
+            }
+
+            @Override
+            public void visitVariable(String variable, Deque<Value> stack) {
+                stack.push(resolver.apply(variable));
+            }
+
+            @Override
+            public void visitOperand(Value operand, Deque<Value> stack) {
+                stack.push(operand);
+            }
+        };
+        for (Token token : expression.tokens()) {
+            token.accept(visitor, stack);
+        }
+        return stack.pop().asBoolean();
+    }
+}
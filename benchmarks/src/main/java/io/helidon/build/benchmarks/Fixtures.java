@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import io.helidon.build.common.FileUtils;
+
+/**
+ * Fixtures generated at benchmark time.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Create a temporary directory that is deleted when the JVM exits.
+     *
+     * @param prefix directory name prefix
+     * @return directory
+     */
+    public static Path tempDir(String prefix) {
+        try {
+            Path dir = Files.createTempDirectory(prefix);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> FileUtils.deleteDirectory(dir)));
+            return dir;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Generate a POM.
+     *
+     * @param dependencies number of dependencies
+     * @return POM
+     */
+    public static String pom(int dependencies) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+          .append("<!-- generated -->\n")
+          .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+          .append("    <modelVersion>4.0.0</modelVersion>\n")
+          .append("    <groupId>com.acme</groupId>\n")
+          .append("    <artifactId>acme</artifactId>\n")
+          .append("    <version>1.0.0-SNAPSHOT</version>\n")
+          .append("    <properties>\n")
+          .append("        <description><![CDATA[A <generated> project]]></description>\n")
+          .append("    </properties>\n")
+          .append("    <dependencies>\n");
+        for (int i = 0; i < dependencies; i++) {
+            sb.append("        <dependency>\n")
+              .append("            <groupId>com.acme.group").append(i % 10).append("</groupId>\n")
+              .append("            <artifactId>artifact-").append(i).append("</artifactId>\n")
+              .append("            <version>1.").append(i % 7).append('.').append(i).append("</version>\n")
+              .append("            <scope>").append(i % 3 == 0 ? "test" : "compile").append("</scope>\n")
+              .append("        </dependency>\n");
+        }
+        sb.append("    </dependencies>\n")
+          .append("</project>\n");
+        return sb.toString();
+    }
+
+    /**
+     * Generate an archetype script with a flat list of inputs.
+     *
+     * @param inputs number of inputs
+     * @return script
+     */
+    public static String script(int inputs) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+          .append("<archetype-script xmlns=\"https://helidon.io/archetype/2.0\">\n")
+          .append("    <step name=\"generated\">\n")
+          .append("        <inputs>\n");
+        for (int i = 0; i < inputs; i++) {
+            sb.append("            <enum id=\"enum").append(i).append("\" name=\"Enum ").append(i).append("\">\n")
+              .append("                <option value=\"a\" name=\"A\"/>\n")
+              .append("                <option value=\"b\" name=\"B\">\n")
+              .append("                    <output>\n")
+              .append("                        <model>\n")
+              .append("                            <value key=\"key").append(i).append("\">value &amp; more</value>\n")
+              .append("                        </model>\n")
+              .append("                    </output>\n")
+              .append("                </option>\n")
+              .append("            </enum>\n");
+        }
+        sb.append("        </inputs>\n")
+          .append("    </step>\n")
+          .append("</archetype-script>\n");
+        return sb.toString();
+    }
+
+    /**
+     * Generate an archetype script with nested inputs, the number of permutations is
+     * {@code 6^enums * 2^booleans}.
+     *
+     * @param enums    number of enum inputs, each enum option has a nested boolean input
+     * @param booleans number of top-level boolean inputs
+     * @return script
+     */
+    public static String permutationsScript(int enums, int booleans) {
+        return permutationsScript(enums, booleans, false);
+    }
+
+    /**
+     * Generate an archetype script with nested inputs, the number of permutations is
+     * {@code 6^enums * 2^booleans}.
+     *
+     * @param enums       number of enum inputs, each enum option has a nested boolean input
+     * @param booleans    number of top-level boolean inputs
+     * @param conditional {@code true} if the boolean inputs are only used when the first enum is {@code a}
+     * @return script
+     */
+    public static String permutationsScript(int enums, int booleans, boolean conditional) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+          .append("<archetype-script xmlns=\"https://helidon.io/archetype/2.0\">\n")
+          .append("    <step name=\"generated\">\n")
+          .append("        <inputs>\n");
+        for (int i = 0; i < enums; i++) {
+            sb.append("            <enum id=\"enum").append(i).append("\" name=\"Enum ").append(i).append("\">\n");
+            for (String option : new String[] {"a", "b", "c"}) {
+                sb.append("                <option value=\"").append(option).append("\" name=\"").append(option)
+                  .append("\">\n")
+                  .append("                    <inputs>\n")
+                  .append("                        <boolean id=\"flag\" name=\"Flag\"/>\n")
+                  .append("                    </inputs>\n")
+                  .append("                </option>\n");
+            }
+            sb.append("            </enum>\n");
+        }
+        for (int i = 0; i < booleans; i++) {
+            sb.append("            <boolean id=\"bool").append(i).append("\" name=\"Bool ").append(i).append('"');
+            if (conditional && enums > 0) {
+                sb.append(" if=\"${enum0} == 'a'\"");
+            }
+            sb.append("/>\n");
+        }
+        sb.append("        </inputs>\n")
+          .append("    </step>\n")
+          .append("</archetype-script>\n");
+        return sb.toString();
+    }
+
+    /**
+     * Generate an archetype directory with a flat list of inputs that each contribute to a rendered template.
+     *
+     * @param dir    archetype directory
+     * @param inputs number of inputs
+     * @return archetype directory
+     */
+    public static Path archetype(Path dir, int inputs) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+          .append("<archetype-script xmlns=\"https://helidon.io/archetype/2.0\">\n")
+          .append("    <step name=\"generated\">\n")
+          .append("        <inputs>\n")
+          .append("            <text id=\"artifactId\" name=\"Artifact ID\" optional=\"true\" default=\"my-project\"/>\n");
+        for (int i = 0; i < inputs; i++) {
+            sb.append("            <enum id=\"enum").append(i).append("\" name=\"Enum ").append(i)
+              .append("\" optional=\"true\" default=\"b\">\n")
+              .append("                <option value=\"a\" name=\"A\"/>\n")
+              .append("                <option value=\"b\" name=\"B\">\n")
+              .append("                    <output>\n")
+              .append("                        <model>\n")
+              .append("                            <list key=\"values\">\n")
+              .append("                                <value if=\"${enum").append(i).append("} == 'b'\">value")
+              .append(i).append("</value>\n")
+              .append("                            </list>\n")
+              .append("                        </model>\n")
+              .append("                    </output>\n")
+              .append("                </option>\n")
+              .append("            </enum>\n");
+        }
+        sb.append("        </inputs>\n")
+          .append("        <output>\n")
+          .append("            <transformation id=\"mustache\">\n")
+          .append("                <replace regex=\"\\.mustache$\" replacement=\"\"/>\n")
+          .append("            </transformation>\n")
+          .append("            <templates transformations=\"mustache\" engine=\"mustache\">\n")
+          .append("                <directory>files</directory>\n")
+          .append("                <includes>\n")
+          .append("                    <include>**/*.mustache</include>\n")
+          .append("                </includes>\n")
+          .append("            </templates>\n")
+          .append("            <model>\n")
+          .append("                <value key=\"artifactId\">${artifactId}</value>\n")
+          .append("            </model>\n")
+          .append("        </output>\n")
+          .append("    </step>\n")
+          .append("</archetype-script>\n");
+        try {
+            Files.writeString(dir.resolve("main.xml"), sb.toString());
+            Path filesDir = Files.createDirectories(dir.resolve("files"));
+            for (int i = 0; i < 10; i++) {
+                Files.writeString(filesDir.resolve("README" + i + ".md.mustache"), ""
+                        + "# {{artifactId}}\n"
+                        + "\n"
+                        + "{{#values}}\n"
+                        + "- {{.}}\n"
+                        + "{{/values}}\n");
+            }
+            return dir;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Generate a jar file.
+     *
+     * @param file    jar file
+     * @param entries number of entries
+     * @return jar file
+     */
+    public static Path jar(Path file, int entries) {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        try (JarOutputStream os = new JarOutputStream(Files.newOutputStream(file), manifest)) {
+            byte[] data = new byte[64];
+            for (int i = 0; i < entries; i++) {
+                os.putNextEntry(new JarEntry(resourcePath(i)));
+                os.write(data);
+                os.closeEntry();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return file;
+    }
+
+    /**
+     * Get the path of a resource generated by {@link #jar(Path, int)}.
+     *
+     * @param index entry index
+     * @return resource path
+     */
+    public static String resourcePath(int index) {
+        return "com/acme/pkg" + (index % 50) + "/Class" + index + ".class";
+    }
+
+    /**
+     * Generate a project directory.
+     *
+     * @param dir   project directory
+     * @param files number of source files
+     * @return project directory
+     */
+    public static Path project(Path dir, int files) {
+        try {
+            Files.writeString(dir.resolve("pom.xml"), pom(10));
+            for (int i = 0; i < files; i++) {
+                String pkg = "com/acme/pkg" + (i % 20);
+                write(dir.resolve("src/main/java/" + pkg + "/Class" + i + ".java"), 2048);
+                if (i % 4 == 0) {
+                    write(dir.resolve("src/test/java/" + pkg + "/Class" + i + "Test.java"), 1024);
+                }
+                write(dir.resolve("target/classes/" + pkg + "/Class" + i + ".class"), 1024);
+            }
+            return dir;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void write(Path file, int size) throws IOException {
+        Files.createDirectories(file.getParent());
+        byte[] data = new byte[size];
+        byte[] name = file.getFileName().toString().getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(name, 0, data, 0, Math.min(name.length, size));
+        try (OutputStream os = Files.newOutputStream(file)) {
+            os.write(data);
+        }
+    }
+}
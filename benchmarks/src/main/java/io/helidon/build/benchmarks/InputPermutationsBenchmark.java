@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.build.archetype.engine.v2.ScriptLoader;
+import io.helidon.build.archetype.engine.v2.ast.Script;
+import io.helidon.build.archetype.engine.v2.util.InputPermutations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link InputPermutations#compute()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InputPermutationsBenchmark {
+
+    /**
+     * The number of enum inputs.
+     */
+    @Param({"3"})
+    private int enums;
+
+    /**
+     * The number of boolean inputs.
+     */
+    @Param({"3"})
+    private int booleans;
+
+    /**
+     * Whether the boolean inputs are conditional.
+     */
+    @Param({"false", "true"})
+    private boolean conditional;
+
+    private Script script;
+
+    /**
+     * Generate and load the script.
+     */
+    @Setup
+    public void setup() {
+        try {
+            Path file = Fixtures.tempDir("permutations-benchmark").resolve("main.xml");
+            Files.writeString(file, Fixtures.permutationsScript(enums, booleans, conditional));
+            script = ScriptLoader.load(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Compute the permutations.
+     *
+     * @return permutations
+     */
+    @Benchmark
+    public List<Map<String, String>> compute() {
+        return InputPermutations.builder()
+                                .script(script)
+                                .build()
+                                .compute();
+    }
+}
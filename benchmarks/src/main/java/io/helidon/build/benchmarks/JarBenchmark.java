@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.benchmarks;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.build.linker.Jar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the {@link Jar} entry lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JarBenchmark {
+
+    /**
+     * The number of entries in the jar file.
+     */
+    @Param({"5000"})
+    private int entries;
+
+    private Jar jar;
+
+    /**
+     * Generate the jar file.
+     */
+    @Setup
+    public void setup() {
+        Path file = Fixtures.jar(Fixtures.tempDir("jar-benchmark").resolve("fixture.jar"), entries);
+        jar = Jar.open(file);
+        jar.containsResource(Fixtures.resourcePath(0));
+    }
+
+    /**
+     * Lookup 100 resources, half of them are missing.
+     *
+     * @param bh black hole
+     */
+    @Benchmark
+    public void lookup(Blackhole bh) {
+        for (int i = 0; i < 100; i++) {
+            bh.consume(jar.containsResource(Fixtures.resourcePath(i * (entries / 50))));
+        }
+    }
+
+    /**
+     * Scan all the entries, I.e. the cost of the first lookup.
+     *
+     * @return number of entries
+     */
+    @Benchmark
+    public long scan() {
+        return jar.entries().count();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.build.common.maven.MavenVersion;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the parsing and the comparison of {@link MavenVersion}, I.e. {@code ComparableVersion}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MavenVersionBenchmark {
+
+    private static final String[] QUALIFIERS = {"", "-SNAPSHOT", "-alpha1", "-beta-2", "-RC1", "-M3", ".Final", "-sp1"};
+
+    private List<String> strings;
+    private List<MavenVersion> versions;
+
+    /**
+     * Generate the versions.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        strings = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            strings.add(random.nextInt(4) + "." + random.nextInt(20) + "." + random.nextInt(50)
+                    + QUALIFIERS[random.nextInt(QUALIFIERS.length)]);
+        }
+        versions = new ArrayList<>();
+        for (String version : strings) {
+            versions.add(MavenVersion.toMavenVersion(version));
+        }
+    }
+
+    /**
+     * Parse the versions.
+     *
+     * @param bh black hole
+     */
+    @Benchmark
+    public void parse(Blackhole bh) {
+        for (String version : strings) {
+            bh.consume(MavenVersion.toMavenVersion(version));
+        }
+    }
+
+    /**
+     * Sort the versions.
+     *
+     * @return sorted versions
+     */
+    @Benchmark
+    public List<MavenVersion> sort() {
+        List<MavenVersion> list = new ArrayList<>(versions);
+        Collections.sort(list);
+        return list;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.build.common.SourcePath;
+import io.helidon.build.common.SourcePathMatcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link SourcePath#matches(java.util.Collection, java.util.Collection)} with {@link SourcePathMatcher}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SourcePathBenchmark {
+
+    private static final List<String> INCLUDES = List.of("src/main/**/*.java", "src/main/resources/**", "pom.xml");
+    private static final List<String> EXCLUDES = List.of("**/target/**", "**/*.orig", "**/.*");
+    private static final String[] DIRS = {
+            "src/main/java/io/helidon/example", "src/main/resources/META-INF", "src/test/java/io/helidon/example",
+            "target/classes/io/helidon/example", "docs", ".idea"
+    };
+    private static final String[] EXTENSIONS = {".java", ".class", ".xml", ".properties", ".orig", ""};
+
+    private List<SourcePath> paths;
+    private SourcePathMatcher matcher;
+
+    /**
+     * Generate the paths.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        paths = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String dir = DIRS[random.nextInt(DIRS.length)];
+            String ext = EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+            paths.add(new SourcePath(dir + "/File" + i + ext));
+        }
+        paths.add(new SourcePath("pom.xml"));
+        matcher = SourcePathMatcher.create(INCLUDES, EXCLUDES);
+    }
+
+    /**
+     * Match using {@link SourcePath#matches(java.util.Collection, java.util.Collection)}.
+     *
+     * @param bh black hole
+     */
+    @Benchmark
+    public void sourcePath(Blackhole bh) {
+        for (SourcePath path : paths) {
+            bh.consume(path.matches(INCLUDES, EXCLUDES));
+        }
+    }
+
+    /**
+     * Match using a compiled {@link SourcePathMatcher}.
+     *
+     * @param bh black hole
+     */
+    @Benchmark
+    public void compiled(Blackhole bh) {
+        for (SourcePath path : paths) {
+            bh.consume(matcher.matches(path));
+        }
+    }
+
+    /**
+     * Compile a {@link SourcePathMatcher} and match.
+     *
+     * @param bh black hole
+     */
+    @Benchmark
+    public void compileAndMatch(Blackhole bh) {
+        SourcePathMatcher m = SourcePathMatcher.create(INCLUDES, EXCLUDES);
+        for (SourcePath path : paths) {
+            bh.consume(m.matches(path));
+        }
+    }
+}
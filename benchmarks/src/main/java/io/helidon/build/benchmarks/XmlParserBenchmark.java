@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.build.common.xml.SimpleXMLParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SimpleXMLParser} on a large POM and on a large archetype script.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlParserBenchmark {
+
+    /**
+     * The number of repeated elements in the fixtures.
+     */
+    @Param({"1000"})
+    private int size;
+
+    private byte[] pom;
+    private byte[] script;
+
+    /**
+     * Generate the fixtures.
+     */
+    @Setup
+    public void setup() {
+        pom = Fixtures.pom(size).getBytes(StandardCharsets.UTF_8);
+        script = Fixtures.script(size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse a POM with many dependencies.
+     *
+     * @return number of elements
+     * @throws IOException if an IO error occurs
+     */
+    @Benchmark
+    public int pom() throws IOException {
+        return parse(pom);
+    }
+
+    /**
+     * Parse an archetype script with many inputs.
+     *
+     * @return number of elements
+     * @throws IOException if an IO error occurs
+     */
+    @Benchmark
+    public int script() throws IOException {
+        return parse(script);
+    }
+
+    private static int parse(byte[] data) throws IOException {
+        CountingReader reader = new CountingReader();
+        SimpleXMLParser.parse(new ByteArrayInputStream(data), reader);
+        return reader.count;
+    }
+
+    private static final class CountingReader implements SimpleXMLParser.Reader {
+
+        private int count;
+
+        @Override
+        public void startElement(String name, Map<String, String> attributes) {
+            count += attributes.size() + 1;
+        }
+
+        @Override
+        public void elementText(String data) {
+            count++;
+        }
+    }
+}
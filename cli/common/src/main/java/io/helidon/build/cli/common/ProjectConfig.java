@@ -37,6 +37,8 @@ import static java.util.Objects.requireNonNull;
 public class ProjectConfig extends ConfigProperties {
     private static final String FILE_HEADER = " Helidon Project Configuration\n"
                                               + " >>> This is a generated file, do not edit. <<<\n";
+    private static final String PROJECT_PREFIX = "project.";
+
     /**
      * Helidon CLI config file.
      */
@@ -114,6 +116,22 @@ public class ProjectConfig extends ConfigProperties {
      */
     public static final String RESOURCE_INCLUDE_EXCLUDE_LIST_SEPARATOR = ";";
 
+    /**
+     * Project's module directories property, for multi-module projects: the application module and the modules it
+     * depends on, in build order.
+     */
+    public static final String PROJECT_MODULES = "project.modules";
+
+    /**
+     * Module property prefix, see {@link #moduleProperty(int, String)}.
+     */
+    public static final String PROJECT_MODULE_PREFIX = "project.module.";
+
+    /**
+     * Module's upstream module directories property, see {@link #moduleProperty(int, String)}.
+     */
+    public static final String MODULE_UPSTREAM = "upstream";
+
     /**
      * Project's main class.
      */
@@ -134,6 +152,19 @@ public class ProjectConfig extends ConfigProperties {
      */
     public static final String PROJECT_LAST_BUILD_SUCCESS_TIME = "project.last.build.success.time";
 
+    /**
+     * Returns the name of a module property, e.g. {@code project.module.0.sourcedirs} for the
+     * {@link #PROJECT_SOURCEDIRS} property of the first module listed by {@link #PROJECT_MODULES}.
+     *
+     * @param index The module index.
+     * @param property The project property, e.g. {@link #PROJECT_SOURCEDIRS}, or {@link #MODULE_UPSTREAM}.
+     * @return The module property name.
+     */
+    public static String moduleProperty(int index, String property) {
+        final String name = property.startsWith(PROJECT_PREFIX) ? property.substring(PROJECT_PREFIX.length()) : property;
+        return PROJECT_MODULE_PREFIX + index + "." + name;
+    }
+
     /**
      * Tests whether or not the configuration from the {@link #DOT_HELIDON} file in the given project directory exists.
      *
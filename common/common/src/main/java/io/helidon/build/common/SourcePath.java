@@ -94,6 +94,15 @@ public class SourcePath {
                         .toArray(n -> new String[n]);
     }
 
+    /**
+     * Get the segments of this path.
+     *
+     * @return segments, must not be modified
+     */
+    String[] segments() {
+        return segments;
+    }
+
     private static String getRelativePath(Path sourceDir, Path source) {
         return Strings.normalizePath(sourceDir.relativize(source).toString());
     }
@@ -142,8 +151,9 @@ public class SourcePath {
         if (paths == null || paths.isEmpty()) {
             return Collections.emptyList();
         }
+        SourcePathMatcher matcher = SourcePathMatcher.create(includesPatterns, excludesPatterns);
         return paths.stream()
-                    .filter(p -> p.matches(includesPatterns, excludesPatterns))
+                    .filter(matcher::matches)
                     .collect(Collectors.toList());
     }
 
@@ -218,6 +228,7 @@ public class SourcePath {
 
     /**
      * Tests if this {@link SourcePath} matches any of the given include patterns and none of the excludes patterns.
+     * Use {@link SourcePathMatcher} to match many paths with the same patterns.
      *
      * @param includesPatterns includes patterns, if {@code null} or empty matches everything
      * @param excludesPatterns excludes patterns, if {@code null} or empty matches nothing
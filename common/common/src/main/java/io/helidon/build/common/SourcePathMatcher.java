@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A compiled set of include and exclude patterns for {@link SourcePath}.
+ * <p>
+ * The patterns are parsed once, each pattern segment is compiled to the cheapest test that implements it (equality,
+ * prefix, suffix, or a sequence of sub-strings), thus matching does not allocate. The semantics are the same as
+ * {@link SourcePath#matches(Collection, Collection)}.
+ * <p>
+ * Instances are immutable and safe for use by concurrent threads.
+ */
+public final class SourcePathMatcher {
+
+    private static final List<String> DEFAULT_INCLUDES = List.of("**/*");
+    private static final char WILDCARD = '*';
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private final CompiledPattern[] includes;
+    private final CompiledPattern[] excludes;
+
+    private SourcePathMatcher(Collection<String> includes, Collection<String> excludes) {
+        this.includes = compile(includes);
+        this.excludes = compile(excludes);
+    }
+
+    /**
+     * Create a matcher that matches any of the given include patterns and none of the exclude patterns.
+     *
+     * @param includes includes patterns, if {@code null} or empty matches everything
+     * @param excludes excludes patterns, if {@code null} or empty matches nothing
+     * @return SourcePathMatcher
+     * @see SourcePath#matches(Collection, Collection)
+     */
+    public static SourcePathMatcher create(Collection<String> includes, Collection<String> excludes) {
+        if (includes == null || includes.isEmpty()) {
+            includes = DEFAULT_INCLUDES;
+        }
+        return new SourcePathMatcher(includes, excludes);
+    }
+
+    /**
+     * Create a matcher that matches any of the given patterns.
+     *
+     * @param patterns the patterns to match, if {@code null} or empty matches nothing
+     * @return SourcePathMatcher
+     * @see SourcePath#matches(Collection)
+     */
+    public static SourcePathMatcher create(Collection<String> patterns) {
+        return new SourcePathMatcher(patterns, null);
+    }
+
+    /**
+     * Test if the given path matches.
+     *
+     * @param path path
+     * @return {@code true} if the path matches, {@code false} otherwise
+     */
+    public boolean matches(SourcePath path) {
+        return matches(path.segments());
+    }
+
+    /**
+     * Test if the given path matches.
+     *
+     * @param path {@code '/'} separated path
+     * @return {@code true} if the path matches, {@code false} otherwise
+     */
+    public boolean matches(String path) {
+        return matches(SourcePath.parseSegments(path));
+    }
+
+    /**
+     * Test if the given path segments match.
+     *
+     * @param segments path segments
+     * @return {@code true} if the path matches, {@code false} otherwise
+     */
+    public boolean matches(String[] segments) {
+        Objects.requireNonNull(segments);
+        return matchesAny(includes, segments) && !matchesAny(excludes, segments);
+    }
+
+    /**
+     * Test if no path under the given directory can match. I.e. the directory is excluded, or none of the includes
+     * patterns can match a path under the directory. This can be used to skip whole sub-trees when walking a
+     * file tree.
+     *
+     * @param dir directory path, relative to the root of the walk
+     * @return {@code true} if the directory can be skipped, {@code false} otherwise
+     */
+    public boolean prunes(SourcePath dir) {
+        return prunes(dir.segments());
+    }
+
+    /**
+     * Test if no path under the given directory can match.
+     *
+     * @param segments directory path segments
+     * @return {@code true} if the directory can be skipped, {@code false} otherwise
+     * @see #prunes(SourcePath)
+     */
+    public boolean prunes(String[] segments) {
+        Objects.requireNonNull(segments);
+        if (segments.length == 0) {
+            return includes.length == 0;
+        }
+        // a pattern that matches a path also matches the paths under it
+        if (matchesAny(excludes, segments)) {
+            return true;
+        }
+        for (CompiledPattern include : includes) {
+            if (include.mayMatchUnder(segments)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesAny(CompiledPattern[] patterns, String[] segments) {
+        for (CompiledPattern pattern : patterns) {
+            if (pattern.matches(segments)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static CompiledPattern[] compile(Collection<String> patterns) {
+        List<CompiledPattern> compiled = new ArrayList<>();
+        if (patterns != null) {
+            for (String pattern : patterns) {
+                if (pattern != null) {
+                    compiled.add(new CompiledPattern(pattern));
+                }
+            }
+        }
+        return compiled.toArray(new CompiledPattern[0]);
+    }
+
+    /**
+     * A compiled path pattern.
+     */
+    private static final class CompiledPattern {
+
+        private final Segment[] segments;
+        private final int firstDoubleWildcard;
+
+        CompiledPattern(String pattern) {
+            if (pattern.isEmpty()) {
+                // the empty pattern only matches the empty path
+                segments = new Segment[0];
+            } else {
+                String[] tokens = SourcePath.parseSegments(pattern);
+                segments = new Segment[tokens.length];
+                for (int i = 0; i < tokens.length; i++) {
+                    segments[i] = Segment.compile(tokens[i]);
+                }
+            }
+            int index = 0;
+            while (index < segments.length && segments[index].kind != Segment.RECURSIVE) {
+                index++;
+            }
+            firstDoubleWildcard = index;
+        }
+
+        boolean matches(String[] path) {
+            if (segments.length == 0) {
+                return path.length == 0;
+            }
+            return matches(path, 0, 0);
+        }
+
+        boolean mayMatchUnder(String[] dir) {
+            if (segments.length == 0) {
+                return false;
+            }
+            // the segments before the first double wildcard are matched positionally
+            int count = Math.min(firstDoubleWildcard, dir.length);
+            for (int i = 0; i < count; i++) {
+                if (!segments[i].matches(dir[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // same algorithm as SourcePath.doRecursiveMatch
+        private boolean matches(String[] path, int offset, int pOffset) {
+            boolean expand = false;
+            for (; pOffset < segments.length; pOffset++) {
+                if (offset == path.length) {
+                    break;
+                }
+                Segment segment = segments[pOffset];
+                if (segment.kind == Segment.RECURSIVE) {
+                    expand = true;
+                } else {
+                    if (expand) {
+                        for (int j = 0; j < path.length; j++) {
+                            if (segment.matches(path[j]) && matches(path, j + 1, pOffset + 1)) {
+                                return true;
+                            }
+                        }
+                        return false;
+                    } else if (!segment.matches(path[offset])) {
+                        return false;
+                    }
+                    offset++;
+                }
+            }
+            // unprocessed patterns can only be double wildcard
+            for (; pOffset < segments.length; pOffset++) {
+                if (segments[pOffset].kind != Segment.RECURSIVE) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A compiled pattern segment.
+     */
+    private static final class Segment {
+
+        static final int RECURSIVE = 0;
+        static final int ANY = 1;
+        static final int LITERAL = 2;
+        static final int PREFIX = 3;
+        static final int SUFFIX = 4;
+        static final int PARTS = 5;
+
+        private final int kind;
+        private final String[] parts;
+        private final boolean anchorStart;
+        private final boolean anchorEnd;
+
+        private Segment(int kind, String[] parts, boolean anchorStart, boolean anchorEnd) {
+            this.kind = kind;
+            this.parts = parts;
+            this.anchorStart = anchorStart;
+            this.anchorEnd = anchorEnd;
+        }
+
+        static Segment compile(String pattern) {
+            if (pattern.equals(DOUBLE_WILDCARD)) {
+                return new Segment(RECURSIVE, null, false, false);
+            }
+            List<String> parts = new ArrayList<>();
+            int start = 0;
+            int index;
+            while ((index = pattern.indexOf(WILDCARD, start)) >= 0) {
+                if (index > start) {
+                    parts.add(pattern.substring(start, index));
+                }
+                start = index + 1;
+            }
+            if (start < pattern.length()) {
+                parts.add(pattern.substring(start));
+            }
+            boolean anchorStart = pattern.isEmpty() || pattern.charAt(0) != WILDCARD;
+            boolean anchorEnd = pattern.isEmpty() || pattern.charAt(pattern.length() - 1) != WILDCARD;
+            String[] array = parts.toArray(new String[0]);
+            int kind;
+            if (anchorStart && anchorEnd && array.length <= 1) {
+                kind = LITERAL;
+                array = new String[] {pattern};
+            } else if (array.length == 0) {
+                kind = ANY;
+            } else if (array.length == 1 && anchorStart) {
+                kind = PREFIX;
+            } else if (array.length == 1 && anchorEnd) {
+                kind = SUFFIX;
+            } else {
+                kind = PARTS;
+            }
+            return new Segment(kind, array, anchorStart, anchorEnd);
+        }
+
+        // same semantics as SourcePath.wildcardMatch
+        boolean matches(String value) {
+            switch (kind) {
+                case RECURSIVE:
+                case ANY:
+                    return true;
+                case LITERAL:
+                    return value.equals(parts[0]);
+                case PREFIX:
+                    return value.startsWith(parts[0]);
+                case SUFFIX:
+                    return value.endsWith(parts[0]);
+                default:
+                    return matchParts(value);
+            }
+        }
+
+        private boolean matchParts(String value) {
+            int pos = 0;
+            int index = 0;
+            if (anchorStart) {
+                if (!value.startsWith(parts[0])) {
+                    return false;
+                }
+                pos = parts[0].length();
+                index = 1;
+            }
+            int last = anchorEnd ? parts.length - 1 : parts.length;
+            for (; index < last; index++) {
+                int found = value.indexOf(parts[index], pos);
+                if (found < 0) {
+                    return false;
+                }
+                pos = found + parts[index].length();
+            }
+            if (anchorEnd) {
+                String part = parts[last];
+                return value.length() - pos >= part.length() && value.endsWith(part);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests {@link SourcePathMatcher}.
+ */
+class SourcePathMatcherTest {
+
+    private static final String[] PATTERNS = {
+            "", "abc/def/ghi/index.html", "abc/def/ghi/index.html*", "*abc/def/ghi/index.html*",
+            "abc/def/ghi/index.html**", "abc/def/ghi/foo.html", "abc/*/ghi/index.html", "*/def/ghi/index.html",
+            "abc/def/ghi/*", "abc/def/*/*.html", "*/*/*/*", "**", "**/*.html", "**/ghi/*.html", "**/def/*.html",
+            "**/*/*.html", "abc/**/*.html", "**h*/*.html", "**h/*.html", "**h*j/*.html", "ab**/*.html", "abc",
+            "abc/**", "a/**/a", "*.*", "i*x.h*ml", "i*x.h*ml*a", "**/*", "src/main/**", "*/b*c*/*d"
+    };
+
+    private static final String[] PATHS = {
+            "abc/def/ghi/index.html", "abc/def/ghi/foo.html", "abc/def/index.html", "abc/index.html",
+            "index.html", "foo.html", "abc", "a/b", "a/b/a", "src/main/java/Foo.java", "src/test/java/Foo.java",
+            "x/bxc/yd", "x/bc/d", "bcd"
+    };
+
+    @Test
+    void testSamePatternsAsSourcePath() {
+        for (String pattern : PATTERNS) {
+            SourcePathMatcher matcher = SourcePathMatcher.create(List.of(pattern));
+            for (String path : PATHS) {
+                SourcePath sourcePath = new SourcePath(path);
+                assertThat(pattern + " => " + path, matcher.matches(sourcePath), is(sourcePath.matches(pattern)));
+            }
+        }
+    }
+
+    @Test
+    void testIncludesExcludes() {
+        List<String> includes = List.of("**/*.html", "abc/**");
+        List<String> excludes = List.of("abc/def/ghi/*", "**/foo.html");
+        SourcePathMatcher matcher = SourcePathMatcher.create(includes, excludes);
+        for (String path : PATHS) {
+            SourcePath sourcePath = new SourcePath(path);
+            assertThat(path, matcher.matches(sourcePath), is(sourcePath.matches(includes, excludes)));
+        }
+        assertThat(SourcePathMatcher.create(null, null).matches("foo/bar"), is(true));
+        assertThat(SourcePathMatcher.create(List.of(), List.of("foo")).matches("foo/bar"), is(false));
+        assertThat(SourcePathMatcher.create(List.of()).matches("foo/bar"), is(false));
+    }
+
+    @Test
+    void testRandomPatterns() {
+        Random random = new Random(42);
+        String[] names = {"a", "b", "ab", "ba", "abc", "a.b", "b.a"};
+        String[] segments = {"*", "**", "a", "b", "a*", "*a", "*b*", "a*b", "*.*", "a*b*", "*a*a"};
+        for (int i = 0; i < 5000; i++) {
+            String pattern = randomPath(random, segments, 1 + random.nextInt(4));
+            String path = randomPath(random, names, 1 + random.nextInt(5));
+            SourcePath sourcePath = new SourcePath(path);
+            boolean expected = sourcePath.matches(pattern);
+            assertThat(pattern + " => " + path, SourcePathMatcher.create(List.of(pattern)).matches(sourcePath),
+                    is(expected));
+        }
+    }
+
+    @Test
+    void testPrunes() {
+        SourcePathMatcher matcher = SourcePathMatcher.create(List.of("src/main/**/*.java"), List.of("**/target"));
+        assertThat(matcher.prunes(new SourcePath("src")), is(false));
+        assertThat(matcher.prunes(new SourcePath("src/main")), is(false));
+        assertThat(matcher.prunes(new SourcePath("src/main/java/com")), is(false));
+        assertThat(matcher.prunes(new SourcePath("src/test")), is(true));
+        assertThat(matcher.prunes(new SourcePath("docs")), is(true));
+        assertThat(matcher.prunes(new SourcePath("target")), is(true));
+        assertThat(matcher.prunes(new SourcePath("src/main/target")), is(true));
+
+        SourcePathMatcher all = SourcePathMatcher.create(null, List.of("node_modules"));
+        assertThat(all.prunes(new SourcePath("src")), is(false));
+        assertThat(all.prunes(new SourcePath("node_modules")), is(true));
+        assertThat(all.prunes(new SourcePath("src/node_modules")), is(false));
+    }
+
+    @Test
+    void testPrunesIsConsistent() {
+        Random random = new Random(7);
+        String[] names = {"a", "b", "ab", "target", "x.java"};
+        String[] segments = {"*", "**", "a", "b", "a*", "*.java", "target"};
+        for (int i = 0; i < 2000; i++) {
+            List<String> includes = List.of(randomPath(random, segments, 1 + random.nextInt(4)));
+            List<String> excludes = List.of(randomPath(random, segments, 1 + random.nextInt(3)));
+            SourcePathMatcher matcher = SourcePathMatcher.create(includes, excludes);
+            String dir = randomPath(random, names, 1 + random.nextInt(3));
+            if (matcher.prunes(new SourcePath(dir))) {
+                // no path under a pruned directory may match
+                for (int j = 0; j < 20; j++) {
+                    String path = dir + "/" + randomPath(random, names, 1 + random.nextInt(3));
+                    assertThat(includes + " " + excludes + " => " + path,
+                            new SourcePath(path).matches(includes, excludes), is(false));
+                }
+            }
+        }
+    }
+
+    private static String randomPath(Random random, String[] segments, int count) {
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(segments[random.nextInt(segments.length)]);
+        }
+        return String.join("/", list);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -77,6 +77,16 @@ public class DevLoopMessages {
      */
     public static final String DEV_LOOP_APPLICATION_FAILED = "failed";
 
+    /**
+     * Message content when the classes of the application have been redefined.
+     */
+    public static final String DEV_LOOP_APPLICATION_RELOADED = "reloaded";
+
+    /**
+     * Message content when the application has been restarted in a new class loader.
+     */
+    public static final String DEV_LOOP_APPLICATION_RESTARTED = "restarted";
+
     /**
      * Message content when the application is stopping.
      */
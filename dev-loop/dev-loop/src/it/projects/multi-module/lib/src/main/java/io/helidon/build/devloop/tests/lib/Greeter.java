@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.devloop.tests.lib;
+
+/**
+ * A greeter used by the application module.
+ */
+public class Greeter {
+
+    /**
+     * Returns a greeting.
+     *
+     * @param name the name to greet
+     * @return the greeting
+     */
+    public String greet(String name) {
+        return "Hello " + name + "!";
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ JUnitLauncher.builder()
         .reportsDir(basedir)
         .parameter("basedir", basedir.getAbsolutePath())
         .parameter("junit.jupiter.testclass.order.default", 'org.junit.jupiter.api.ClassOrderer$OrderAnnotation')
+        .filterTags("!multi-module")
         .outputFile(new File(basedir, "test.log"))
         .suiteId("devloop-it")
         .suiteDisplayName("Devloop Integration Test")
@@ -114,6 +114,32 @@ public class BuildComponent {
         }
     }
 
+    /**
+     * Execute the build steps after the classes of an upstream module have changed.
+     *
+     * @param upstreamChanges The changes of the upstream {@link DirectoryType#JavaClasses} roots.
+     * @param stdOut A consumer for stdout.
+     * @param stdErr A consumer for stderr.
+     * @throws Exception on error.
+     */
+    public void upstreamBuild(List<BuildRoot.Changes> upstreamChanges,
+                              PrintStream stdOut,
+                              PrintStream stdErr) throws Exception {
+        for (BuildStep step : buildSteps) {
+            step.upstreamBuild(sourceRoot, upstreamChanges, stdOut, stdErr);
+        }
+    }
+
+    /**
+     * Returns whether all the build steps support upstream builds.
+     *
+     * @return {@code true} if {@link #upstreamBuild} rebuilds this component.
+     * @see BuildStep#supportsUpstreamBuild()
+     */
+    public boolean supportsUpstreamBuild() {
+        return buildSteps.stream().allMatch(BuildStep::supportsUpstreamBuild);
+    }
+
     /**
      * Updates the components.
      */
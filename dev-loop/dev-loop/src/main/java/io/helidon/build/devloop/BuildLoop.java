@@ -42,12 +42,15 @@ import static java.util.Objects.requireNonNull;
  */
 public class BuildLoop {
     private static final boolean ALLOW_SKIP = true;
+    private static final String WATCH_FILES_PROPERTY = "dev.watchFiles";
+    private static final long DEBOUNCE_MILLIS = 100;
     private static final ExecutorService LOOP_EXECUTOR = Executors.newSingleThreadExecutor();
     private final BuildExecutor buildExecutor;
     private final Path projectDirectory;
     private final ProjectSupplier projectSupplier;
     private final BuildMonitor monitor;
     private final boolean watchBinariesOnly;
+    private final boolean watchFiles;
     private final AtomicBoolean clean;
     private final AtomicBoolean run;
     private final AtomicInteger cycleNumber;
@@ -61,6 +64,7 @@ public class BuildLoop {
     private final AtomicLong lastFailedTime;
     private final AtomicBoolean ready;
     private final AtomicLong delay;
+    private final AtomicReference<FileWatcher> watcher;
 
     /**
      * Returns a new builder.
@@ -77,6 +81,7 @@ public class BuildLoop {
         this.projectSupplier = builder.projectSupplier;
         this.monitor = buildExecutor.monitor();
         this.watchBinariesOnly = builder.watchBinariesOnly;
+        this.watchFiles = builder.watchFiles;
         this.clean = new AtomicBoolean(builder.clean);
         this.run = new AtomicBoolean();
         this.cycleNumber = new AtomicInteger(0);
@@ -90,6 +95,7 @@ public class BuildLoop {
         this.lastReadyTime = new AtomicLong();
         this.ready = new AtomicBoolean();
         this.delay = new AtomicLong();
+        this.watcher = new AtomicReference<>();
     }
 
     /**
@@ -214,7 +220,13 @@ public class BuildLoop {
                     // If we have source changes, do an incremental build
 
                     final List<BuildRoot.Changes> sourceChanges = project.sourceChanges();
-                    if (!sourceChanges.isEmpty()) {
+                    if (!sourceChanges.isEmpty() && project.requiresFullBuild(sourceChanges)) {
+
+                        // The downstream modules cannot be built incrementally, recreate the project
+
+                        changed(ChangeType.File, changedTimeOf(sourceChanges).orElseThrow());
+
+                    } else if (!sourceChanges.isEmpty()) {
                         try {
                             changed(ChangeType.SourceFile, changedTimeOf(sourceChanges).orElseThrow());
                             buildStarting(Incremental);
@@ -236,7 +248,7 @@ public class BuildLoop {
             final long delayMillis = delay.get();
             if (delayMillis > 0) {
                 try {
-                    Thread.sleep(delayMillis);
+                    pause(delayMillis);
                 } catch (InterruptedException e) {
                     break;
                 }
@@ -248,6 +260,36 @@ public class BuildLoop {
         stopped();
     }
 
+    private void pause(long delayMillis) throws InterruptedException {
+        final FileWatcher watcher = this.watcher.get();
+        if (watcher != null) {
+            // Wake up as soon as a watched file changes
+            watcher.await(delayMillis, DEBOUNCE_MILLIS);
+        } else {
+            Thread.sleep(delayMillis);
+        }
+    }
+
+    private void watch(Project project) {
+        unwatch();
+        if (watchFiles) {
+            FileWatcher.create().ifPresent(watcher -> {
+                for (BuildComponent component : project.components()) {
+                    watcher.register(watchBinariesOnly ? component.outputRoot() : component.sourceRoot());
+                }
+                project.buildFiles().list().forEach(watcher::register);
+                this.watcher.set(watcher);
+            });
+        }
+    }
+
+    private void unwatch() {
+        final FileWatcher watcher = this.watcher.getAndSet(null);
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
     private void started() {
         running.get().countDown();
         monitor.onStarted();
@@ -274,9 +316,10 @@ public class BuildLoop {
     private void changed(ChangeType type, FileTime lastChangedTime) {
         lastChangeType.set(type);
         lastChangeTime.set(lastChangedTime);
-        monitor.onChanged(cycleNumber.get(), type);
+        monitor.onChanged(cycleNumber.get(), type, lastChangedTime);
         delay.set(0);
         if (type != ChangeType.SourceFile) {
+            unwatch();
             project.set(null);
             lastFailedTime.set(0);
         }
@@ -360,6 +403,7 @@ public class BuildLoop {
     }
 
     private void stopped() {
+        unwatch();
         if (stopped.get().getCount() > 0) {
             monitor.onStopped();
             stopped.get().countDown();
@@ -368,6 +412,7 @@ public class BuildLoop {
 
     private void setProject(Project project) {
         this.project.set(project);
+        watch(project);
         buildSucceeded(project.buildType());
         ready.set(false);
     }
@@ -380,6 +425,7 @@ public class BuildLoop {
         private ProjectSupplier projectSupplier;
         private boolean clean;
         private boolean watchBinariesOnly;
+        private boolean watchFiles = !"false".equals(System.getProperty(WATCH_FILES_PROPERTY));
 
         private Builder() {
         }
@@ -417,6 +463,19 @@ public class BuildLoop {
             return this;
         }
 
+        /**
+         * Sets whether file changes should be detected using a {@link FileWatcher}, if supported by the platform.
+         * If {@code false}, the files are re-scanned on every cycle. Defaults to {@code true} unless the
+         * {@code dev.watchFiles} system property is {@code false}.
+         *
+         * @param watchFiles {@code true} if file changes should be watched.
+         * @return The builder, for chaining.
+         */
+        public Builder watchFiles(boolean watchFiles) {
+            this.watchFiles = watchFiles;
+            return this;
+        }
+
         /**
          * Sets the project supplier.
          *
@@ -17,6 +17,7 @@
 package io.helidon.build.devloop;
 
 import java.io.PrintStream;
+import java.nio.file.attribute.FileTime;
 
 import io.helidon.build.common.PrintStreams;
 
@@ -63,6 +64,17 @@ public interface BuildMonitor {
      */
     void onChanged(int cycleNumber, ChangeType type);
 
+    /**
+     * Called when project changes have been detected.
+     *
+     * @param cycleNumber The cycle number.
+     * @param type The change type.
+     * @param changeTime The time of the most recent change.
+     */
+    default void onChanged(int cycleNumber, ChangeType type, FileTime changeTime) {
+        onChanged(cycleNumber, type);
+    }
+
     /**
      * Called when a build is about to start.
      *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,6 +49,7 @@ public class BuildRoot extends ProjectDirectory implements Iterable<BuildFile> {
     private final BiPredicate<Path, Path> filter;
     private final AtomicReference<Map<Path, BuildFile>> files;
     private final AtomicReference<BuildComponent> component;
+    private final AtomicReference<FileWatcher> watcher;
 
     /**
      * Constructor.
@@ -62,6 +63,7 @@ public class BuildRoot extends ProjectDirectory implements Iterable<BuildFile> {
         this.filter = type.filter();
         this.files = new AtomicReference<>(collectFiles());
         this.component = new AtomicReference<>();
+        this.watcher = new AtomicReference<>();
     }
 
     /**
@@ -158,6 +160,10 @@ public class BuildRoot extends ProjectDirectory implements Iterable<BuildFile> {
             this.removed = new HashSet<>(initialFiles);
         }
 
+        private Changes(BuildRoot root) {
+            this(root, Set.of());
+        }
+
         /**
          * Returns the build root containing these changes.
          *
@@ -262,14 +268,23 @@ public class BuildRoot extends ProjectDirectory implements Iterable<BuildFile> {
                 changedTime = lastModified;
             }
         }
+
+        private void remove(Path file) {
+            removed.add(file);
+        }
     }
 
     /**
-     * Tests for any changed files.
+     * Tests for any changed files. If a {@link FileWatcher} is registered, only the paths reported by the watcher are
+     * checked.
      *
      * @return The changes.
      */
     public Changes changes() {
+        final FileWatcher watcher = this.watcher.get();
+        if (watcher != null && !watcher.requiresRescan(this)) {
+            return changes(watcher.changedPaths(this));
+        }
         final Changes changes = new Changes(this, files.get().keySet());
         final Map<Path, BuildFile> files = this.files.get();
         final Path root = path();
@@ -279,17 +294,40 @@ public class BuildRoot extends ProjectDirectory implements Iterable<BuildFile> {
                     changes.update(file, files.get(file));
                 }
             });
-            return changes;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        if (watcher != null && changes.isEmpty()) {
+            watcher.rescanned(this);
+        }
+        return changes;
     }
 
     /**
      * Updates the files list.
      */
     public void update() {
-        files.set(collectFiles());
+        final FileWatcher watcher = this.watcher.get();
+        if (watcher != null && !watcher.requiresRescan(this)) {
+            final Map<Path, BuildFile> files = new HashMap<>(this.files.get());
+            for (Path path : watcher.changedPaths(this)) {
+                if (Files.isDirectory(path)) {
+                    collectFiles(path, files);
+                } else if (Files.isRegularFile(path)) {
+                    if (filter.test(path, path())) {
+                        files.put(path, createBuildFile(this, path));
+                    }
+                } else if (files.remove(path) == null) {
+                    files.keySet().removeIf(file -> file.startsWith(path));
+                }
+            }
+            this.files.set(unmodifiableMap(files));
+        } else {
+            files.set(collectFiles());
+        }
+        if (watcher != null) {
+            watcher.reset(this);
+        }
     }
 
     @Override
@@ -320,10 +358,44 @@ public class BuildRoot extends ProjectDirectory implements Iterable<BuildFile> {
         return this;
     }
 
+    void watcher(FileWatcher watcher) {
+        this.watcher.set(watcher);
+    }
+
+    private Changes changes(Set<Path> paths) {
+        final Changes changes = new Changes(this);
+        final Map<Path, BuildFile> files = this.files.get();
+        final Path root = path();
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+
+                // A new directory, its files may have been created before it was watched
+
+                collectFiles(path, new HashMap<>()).keySet().forEach(file -> changes.update(file, files.get(file)));
+
+            } else if (Files.isRegularFile(path)) {
+                if (filter.test(path, root)) {
+                    changes.update(path, files.get(path));
+                }
+            } else if (files.containsKey(path)) {
+                changes.remove(path);
+            } else {
+
+                // A removed directory
+
+                files.keySet().stream().filter(file -> file.startsWith(path)).forEach(changes::remove);
+            }
+        }
+        return changes;
+    }
+
     private Map<Path, BuildFile> collectFiles() {
-        final Map<Path, BuildFile> files = new HashMap<>();
+        return unmodifiableMap(collectFiles(path(), new HashMap<>()));
+    }
+
+    private Map<Path, BuildFile> collectFiles(Path directory, Map<Path, BuildFile> files) {
         final Path root = path();
-        try (Stream<Path> stream = Files.walk(path())) {
+        try (Stream<Path> stream = Files.walk(directory)) {
             stream.forEach(file -> {
                 if (Files.isRegularFile(file) && filter.test(file, root)) {
                     files.put(file, createBuildFile(this, file));
@@ -332,6 +404,6 @@ public class BuildRoot extends ProjectDirectory implements Iterable<BuildFile> {
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
-        return unmodifiableMap(files);
+        return files;
     }
 }
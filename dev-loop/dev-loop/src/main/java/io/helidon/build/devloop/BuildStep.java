@@ -17,6 +17,7 @@
 package io.helidon.build.devloop;
 
 import java.io.PrintStream;
+import java.util.List;
 
 /**
  * A project build step.
@@ -43,4 +44,29 @@ public interface BuildStep {
     void incrementalBuild(BuildRoot.Changes changes,
                           PrintStream stdOut,
                           PrintStream stdErr) throws Exception;
+
+    /**
+     * Execute the build step after the classes of an upstream module have changed. Does nothing by default.
+     *
+     * @param sourceRoot The source root of the component to build.
+     * @param upstreamChanges The changes of the upstream {@link DirectoryType#JavaClasses} roots.
+     * @param stdOut A print stream for stdout.
+     * @param stdErr A print stream for stderr.
+     * @throws Exception on error.
+     */
+    default void upstreamBuild(BuildRoot sourceRoot,
+                               List<BuildRoot.Changes> upstreamChanges,
+                               PrintStream stdOut,
+                               PrintStream stdErr) throws Exception {
+    }
+
+    /**
+     * Returns whether {@link #upstreamBuild} rebuilds the component. If not, a change to the classes of an upstream
+     * module requires a full build.
+     *
+     * @return {@code true} if upstream builds are supported, {@code false} by default.
+     */
+    default boolean supportsUpstreamBuild() {
+        return false;
+    }
 }
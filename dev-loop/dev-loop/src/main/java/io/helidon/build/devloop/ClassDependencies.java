@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.helidon.build.common.logging.Log;
+
+/**
+ * A graph of the dependencies between the classes compiled from a source directory, read from the class files.
+ * <p>
+ * A class depends on another class if its constant pool, its descriptors or its generic signatures reference it. This
+ * over-approximates the source level dependencies, which is safe for the purpose of finding the sources to recompile.
+ * Compile time constants are inlined by the compiler and leave no trace in the class files, the classes that declare
+ * non-private constants are therefore flagged.
+ */
+final class ClassDependencies {
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String JAVA_SUFFIX = ".java";
+    private static final String CONSTANT_VALUE = "ConstantValue";
+    private static final String SOURCE_FILE = "SourceFile";
+    private static final String SIGNATURE = "Signature";
+    private static final String DESCRIPTOR_TYPE_PREFIXES = "([);<>:+-^BCDFIJSZV";
+    private static final String DESCRIPTOR_TYPE_SUFFIXES = ";<.";
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_PRIVATE = 0x0002;
+
+    private final Path sourceDir;
+    private final Path outputDir;
+    private final Map<String, ClassInfo> classes;
+    private final Map<Path, Set<String>> sources;
+    private final Map<String, Set<String>> dependents;
+
+    private ClassDependencies(Path sourceDir, Path outputDir) {
+        this.sourceDir = sourceDir;
+        this.outputDir = outputDir;
+        this.classes = new HashMap<>();
+        this.sources = new HashMap<>();
+        this.dependents = new HashMap<>();
+    }
+
+    /**
+     * Create the graph from the class files in the given output directory. The class files that were not compiled from
+     * a source in the given source directory are ignored.
+     *
+     * @param sourceDir The source directory.
+     * @param outputDir The output directory.
+     * @param removed   The sources removed since the class files were compiled.
+     * @return The graph.
+     */
+    static ClassDependencies create(Path sourceDir, Path outputDir, Set<Path> removed) {
+        final ClassDependencies graph = new ClassDependencies(sourceDir, outputDir);
+        if (Files.isDirectory(outputDir)) {
+            final List<Path> classFiles;
+            try (Stream<Path> stream = Files.walk(outputDir)) {
+                classFiles = stream.filter(file -> file.getFileName().toString().endsWith(CLASS_SUFFIX))
+                                   .collect(Collectors.toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (Path classFile : classFiles) {
+                final ClassInfo info = graph.read(classFile);
+                if (info != null && (Files.isRegularFile(info.source) || removed.contains(info.source))) {
+                    graph.add(info);
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Add or replace a class file.
+     *
+     * @param className The binary name of the class, e.g. {@code com.acme.Foo$Bar}.
+     */
+    void add(String className) {
+        final ClassInfo info = read(classFile(className.replace('.', '/')));
+        if (info != null) {
+            add(info);
+        }
+    }
+
+    /**
+     * Remove the classes compiled from the given source.
+     *
+     * @param source The source file.
+     * @return The class files of the removed classes.
+     */
+    List<Path> remove(Path source) {
+        final Set<String> names = sources.remove(source);
+        if (names == null) {
+            return List.of();
+        }
+        for (String name : names) {
+            final ClassInfo info = classes.remove(name);
+            if (info != null) {
+                for (String reference : info.references) {
+                    final Set<String> referencedBy = dependents.get(reference);
+                    if (referencedBy != null) {
+                        referencedBy.remove(name);
+                    }
+                }
+            }
+        }
+        return names.stream().map(this::classFile).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the sources that depend on the classes compiled from the given sources. The subtypes of these classes
+     * are followed transitively since their members are inherited.
+     *
+     * @param changed The changed sources.
+     * @return The dependent sources, excluding the changed sources.
+     */
+    Set<Path> dependents(Collection<Path> changed) {
+        final Set<String> names = new HashSet<>();
+        for (Path source : changed) {
+            names.addAll(sources.getOrDefault(source, Set.of()));
+        }
+        final Set<Path> result = dependentsOf(names);
+        result.removeAll(changed);
+        return result;
+    }
+
+    /**
+     * Returns the sources that depend on the given classes, e.g. classes of an upstream module. The subtypes of these
+     * classes are followed transitively since their members are inherited.
+     *
+     * @param classNames The internal names of the classes, e.g. {@code com/acme/Foo$Bar}.
+     * @return The dependent sources.
+     */
+    Set<Path> dependentsOf(Collection<String> classNames) {
+        final Set<String> visited = new HashSet<>();
+        final Deque<String> queue = new ArrayDeque<>(classNames);
+        final Set<Path> result = new HashSet<>();
+        while (!queue.isEmpty()) {
+            final String name = queue.poll();
+            if (visited.add(name)) {
+                for (String dependent : dependents.getOrDefault(name, Set.of())) {
+                    final ClassInfo info = classes.get(dependent);
+                    if (info != null) {
+                        result.add(info.source);
+                        if (info.supertypes.contains(name)) {
+                            queue.add(dependent);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tests whether any class compiled from the given sources declares a non-private compile time constant.
+     *
+     * @param changed The sources.
+     * @return {@code true} if a constant is declared.
+     */
+    boolean hasConstants(Collection<Path> changed) {
+        for (Path source : changed) {
+            for (String name : sources.getOrDefault(source, Set.of())) {
+                final ClassInfo info = classes.get(name);
+                if (info != null && info.constants) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests whether the given class file declares a non-private compile time constant.
+     *
+     * @param classFile The class file.
+     * @return {@code true} if a constant is declared or if the class file cannot be read.
+     */
+    static boolean declaresConstants(Path classFile) {
+        try {
+            return ClassInfo.read(Files.readAllBytes(classFile), classFile.getParent()).constants;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private void add(ClassInfo info) {
+        final ClassInfo previous = classes.put(info.name, info);
+        if (previous != null) {
+            for (String reference : previous.references) {
+                final Set<String> referencedBy = dependents.get(reference);
+                if (referencedBy != null) {
+                    referencedBy.remove(info.name);
+                }
+            }
+            if (!previous.source.equals(info.source)) {
+                final Set<String> names = sources.get(previous.source);
+                if (names != null) {
+                    names.remove(info.name);
+                }
+            }
+        }
+        sources.computeIfAbsent(info.source, s -> new HashSet<>()).add(info.name);
+        for (String reference : info.references) {
+            dependents.computeIfAbsent(reference, r -> new HashSet<>()).add(info.name);
+        }
+    }
+
+    private Path classFile(String internalName) {
+        return outputDir.resolve(internalName + CLASS_SUFFIX);
+    }
+
+    private ClassInfo read(Path classFile) {
+        try {
+            return ClassInfo.read(Files.readAllBytes(classFile), sourceDir);
+        } catch (IOException e) {
+            Log.debug("Unable to read %s: %s", classFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The dependency information of a class file.
+     */
+    private static final class ClassInfo {
+        private final String name;
+        private final Path source;
+        private final Set<String> supertypes;
+        private final Set<String> references;
+        private final boolean constants;
+
+        private ClassInfo(String name, Path source, Set<String> supertypes, Set<String> references, boolean constants) {
+            this.name = name;
+            this.source = source;
+            this.supertypes = supertypes;
+            this.references = references;
+            this.constants = constants;
+        }
+
+        static ClassInfo read(byte[] bytes, Path sourceDir) throws IOException {
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a class file");
+            }
+            in.readUnsignedShort(); // minor
+            in.readUnsignedShort(); // major
+
+            // Constant pool
+
+            final int count = in.readUnsignedShort();
+            final String[] utf8 = new String[count];
+            final int[] classNames = new int[count];
+            final List<Integer> descriptors = new ArrayList<>();
+            for (int i = 1; i < count; i++) {
+                final int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case 1: // Utf8
+                        utf8[i] = in.readUTF();
+                        break;
+                    case 7: // Class
+                        classNames[i] = in.readUnsignedShort();
+                        break;
+                    case 12: // NameAndType
+                        in.readUnsignedShort();
+                        descriptors.add(in.readUnsignedShort());
+                        break;
+                    case 16: // MethodType
+                        descriptors.add(in.readUnsignedShort());
+                        break;
+                    case 8: // String
+                    case 19: // Module
+                    case 20: // Package
+                        in.skipBytes(2);
+                        break;
+                    case 15: // MethodHandle
+                        in.skipBytes(3);
+                        break;
+                    case 3: // Integer
+                    case 4: // Float
+                    case 9: // Fieldref
+                    case 10: // Methodref
+                    case 11: // InterfaceMethodref
+                    case 17: // Dynamic
+                    case 18: // InvokeDynamic
+                        in.skipBytes(4);
+                        break;
+                    case 5: // Long
+                    case 6: // Double
+                        in.skipBytes(8);
+                        i++;
+                        break;
+                    default:
+                        throw new IOException("Unknown constant pool tag: " + tag);
+                }
+            }
+
+            // Class, supertypes
+
+            in.readUnsignedShort(); // access flags
+            final String name = utf8[classNames[in.readUnsignedShort()]];
+            final Set<String> supertypes = new HashSet<>();
+            final int superClass = in.readUnsignedShort();
+            if (superClass != 0) {
+                supertypes.add(utf8[classNames[superClass]]);
+            }
+            final int interfaces = in.readUnsignedShort();
+            for (int i = 0; i < interfaces; i++) {
+                supertypes.add(utf8[classNames[in.readUnsignedShort()]]);
+            }
+
+            // Fields and methods
+
+            boolean constants = false;
+            for (int member = 0; member < 2; member++) {
+                final int members = in.readUnsignedShort();
+                for (int i = 0; i < members; i++) {
+                    final int access = in.readUnsignedShort();
+                    in.readUnsignedShort(); // name
+                    descriptors.add(in.readUnsignedShort());
+                    final int attributes = in.readUnsignedShort();
+                    for (int j = 0; j < attributes; j++) {
+                        final String attribute = utf8[in.readUnsignedShort()];
+                        final int length = in.readInt();
+                        if (SIGNATURE.equals(attribute)) {
+                            descriptors.add(in.readUnsignedShort());
+                        } else {
+                            if (CONSTANT_VALUE.equals(attribute) && (access & ACC_PRIVATE) == 0) {
+                                constants = true;
+                            }
+                            in.skipBytes(length);
+                        }
+                    }
+                }
+            }
+
+            // Class attributes
+
+            String sourceFile = null;
+            final int attributes = in.readUnsignedShort();
+            for (int i = 0; i < attributes; i++) {
+                final String attribute = utf8[in.readUnsignedShort()];
+                final int length = in.readInt();
+                if (SOURCE_FILE.equals(attribute)) {
+                    sourceFile = utf8[in.readUnsignedShort()];
+                } else if (SIGNATURE.equals(attribute)) {
+                    descriptors.add(in.readUnsignedShort());
+                } else {
+                    in.skipBytes(length);
+                }
+            }
+
+            // References
+
+            final Set<String> references = new HashSet<>(supertypes);
+            for (int i = 1; i < count; i++) {
+                if (classNames[i] != 0) {
+                    final String className = utf8[classNames[i]];
+                    if (className.startsWith("[")) {
+                        addTypes(className, references);
+                    } else {
+                        references.add(className);
+                    }
+                }
+            }
+            for (int descriptor : descriptors) {
+                addTypes(utf8[descriptor], references);
+            }
+            references.remove(name);
+
+            return new ClassInfo(name, source(sourceDir, name, sourceFile), supertypes, references, constants);
+        }
+
+        private static Path source(Path sourceDir, String name, String sourceFile) {
+            final int lastSlash = name.lastIndexOf('/');
+            if (sourceFile == null) {
+                final String simpleName = name.substring(lastSlash + 1);
+                final int dollar = simpleName.indexOf('$');
+                sourceFile = (dollar > 0 ? simpleName.substring(0, dollar) : simpleName) + JAVA_SUFFIX;
+            }
+            return lastSlash < 0 ? sourceDir.resolve(sourceFile)
+                    : sourceDir.resolve(name.substring(0, lastSlash)).resolve(sourceFile);
+        }
+
+        private static void addTypes(String descriptor, Set<String> references) {
+            final int length = descriptor.length();
+            for (int i = 0; i < length; i++) {
+                if (descriptor.charAt(i) == 'L'
+                        && (i == 0 || DESCRIPTOR_TYPE_PREFIXES.indexOf(descriptor.charAt(i - 1)) >= 0)) {
+                    int end = i + 1;
+                    while (end < length && DESCRIPTOR_TYPE_SUFFIXES.indexOf(descriptor.charAt(end)) < 0) {
+                        end++;
+                    }
+                    references.add(descriptor.substring(i + 1, end));
+                    i = end;
+                }
+            }
+        }
+    }
+}
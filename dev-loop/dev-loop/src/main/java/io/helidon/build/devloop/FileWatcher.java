@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import io.helidon.build.common.logging.Log;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link WatchService} based change feed for {@link BuildRoot}s.
+ * <p>
+ * The directories of a build root are registered recursively, and the paths reported by the watch events are
+ * accumulated until the root is updated. A build root falls back to a full rescan if the events overflowed, or if its
+ * directory could not be registered (e.g. it was deleted and re-created).
+ * <p>
+ * This class is not thread safe, it is meant to be used by the build loop thread.
+ */
+public final class FileWatcher implements Closeable {
+    private static final String POLLING_WATCH_SERVICE = "PollingWatchService";
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> keys;
+    private final Map<Path, WatchKey> directories;
+    private final Map<BuildRoot, RootState> roots;
+
+    private FileWatcher(WatchService watchService) {
+        this.watchService = watchService;
+        this.keys = new HashMap<>();
+        this.directories = new HashMap<>();
+        this.roots = new IdentityHashMap<>();
+    }
+
+    /**
+     * Returns a new watcher if the platform supports native file change notifications.
+     * The polling implementation of {@link WatchService} is not used since it is slower than a re-scan.
+     *
+     * @return The watcher, or empty if not supported.
+     */
+    public static Optional<FileWatcher> create() {
+        try {
+            final WatchService watchService = FileSystems.getDefault().newWatchService();
+            if (watchService.getClass().getSimpleName().equals(POLLING_WATCH_SERVICE)) {
+                watchService.close();
+                return Optional.empty();
+            }
+            return Optional.of(new FileWatcher(watchService));
+        } catch (IOException | UnsupportedOperationException e) {
+            Log.debug("Unable to create watch service: %s", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Register a build root, all the directories of the root are watched.
+     *
+     * @param root The root.
+     * @return This instance, for chaining.
+     */
+    public FileWatcher register(BuildRoot root) {
+        // Changes that occurred before the registration are not known, the first check is a re-scan
+        roots.put(requireNonNull(root), new RootState());
+        registerTree(root.path());
+        root.watcher(this);
+        return this;
+    }
+
+    /**
+     * Register a build file, the parent directory of the file is watched (not recursively) in order to wake up
+     * {@link #await(long, long)}.
+     *
+     * @param file The file.
+     * @return This instance, for chaining.
+     */
+    public FileWatcher register(BuildFile file) {
+        registerDirectory(file.path().getParent());
+        return this;
+    }
+
+    /**
+     * Wait for file changes. Returns as soon as no event has been received during the debounce window after the
+     * first event, or if the timeout elapsed.
+     *
+     * @param timeoutMillis  The maximum time to wait for a change, in milliseconds.
+     * @param debounceMillis The quiet period after a change, in milliseconds.
+     * @return {@code true} if a change occurred, {@code false} if the timeout elapsed.
+     * @throws InterruptedException If interrupted.
+     */
+    public boolean await(long timeoutMillis, long debounceMillis) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            WatchKey key = watchService.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (key == null) {
+                return false;
+            }
+            while (key != null) {
+                process(key);
+                final long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                key = watchService.poll(Math.min(debounceMillis, remaining), TimeUnit.MILLISECONDS);
+            }
+            return true;
+        } catch (ClosedWatchServiceException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        roots.keySet().forEach(root -> root.watcher(null));
+        roots.clear();
+        keys.clear();
+        directories.clear();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Tests whether the given root must be re-scanned.
+     *
+     * @param root The root.
+     * @return {@code true} if the changed paths are not known.
+     */
+    boolean requiresRescan(BuildRoot root) {
+        poll();
+        final RootState state = roots.get(root);
+        if (state == null) {
+            return true;
+        }
+        if (!directories.containsKey(root.path())) {
+            // Not registered or deleted, try again
+            state.rescan = true;
+            if (Files.isDirectory(root.path())) {
+                registerTree(root.path());
+            }
+        }
+        return state.rescan;
+    }
+
+    /**
+     * Returns the paths changed in the given root since the last reset. A path may be a file or a directory, and
+     * may not exist anymore.
+     *
+     * @param root The root.
+     * @return The paths.
+     */
+    Set<Path> changedPaths(BuildRoot root) {
+        poll();
+        final RootState state = roots.get(root);
+        return state == null ? Set.of() : state.paths;
+    }
+
+    /**
+     * Record that the given root has been re-scanned without finding changes, i.e. the files of the root are in
+     * sync with the file system.
+     *
+     * @param root The root.
+     */
+    void rescanned(BuildRoot root) {
+        final RootState state = roots.get(root);
+        if (state != null && directories.containsKey(root.path())) {
+            state.rescan = false;
+        }
+    }
+
+    /**
+     * Reset the changed paths of the given root.
+     *
+     * @param root The root.
+     */
+    void reset(BuildRoot root) {
+        final RootState state = roots.get(root);
+        if (state != null) {
+            state.paths = new HashSet<>();
+            state.rescan = !directories.containsKey(root.path());
+        }
+    }
+
+    private void poll() {
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                process(key);
+            }
+        } catch (ClosedWatchServiceException ignore) {
+        }
+    }
+
+    private void process(WatchKey key) {
+        final Path directory = keys.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || directory == null) {
+                roots.values().forEach(state -> state.rescan = true);
+                continue;
+            }
+            final Path path = directory.resolve((Path) event.context());
+            boolean inRoot = false;
+            for (Map.Entry<BuildRoot, RootState> entry : roots.entrySet()) {
+                if (path.startsWith(entry.getKey().path())) {
+                    entry.getValue().paths.add(path);
+                    inRoot = true;
+                }
+            }
+            if (inRoot && event.kind() == ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                registerTree(path);
+            }
+        }
+        if (!key.reset()) {
+            keys.remove(key);
+            if (directory != null) {
+                directories.remove(directory);
+            }
+        }
+    }
+
+    private void registerTree(Path root) {
+        try (Stream<Path> stream = Files.walk(root)) {
+            stream.filter(Files::isDirectory).forEach(this::registerDirectory);
+        } catch (IOException | UncheckedIOException e) {
+            Log.debug("Unable to register %s: %s", root, e.getMessage());
+            rescan(root);
+        }
+    }
+
+    private void registerDirectory(Path directory) {
+        if (!directories.containsKey(directory)) {
+            try {
+                final WatchKey key = directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                keys.put(key, directory);
+                directories.put(directory, key);
+            } catch (IOException e) {
+                Log.debug("Unable to register %s: %s", directory, e.getMessage());
+                rescan(directory);
+            }
+        }
+    }
+
+    private void rescan(Path path) {
+        roots.forEach((root, state) -> {
+            if (path.startsWith(root.path())) {
+                state.rescan = true;
+            }
+        });
+    }
+
+    private static final class RootState {
+        private Set<Path> paths = new HashSet<>();
+        private boolean rescan = true;
+    }
+}
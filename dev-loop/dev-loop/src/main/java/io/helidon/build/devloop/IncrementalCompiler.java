@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticListener;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import io.helidon.build.common.PrintStreams;
+import io.helidon.build.common.logging.Log;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A build step that compiles the changed Java sources, and the sources that depend on them, using the in process
+ * {@link JavaCompiler}.
+ * <p>
+ * The file manager and a {@link ClassDependencies graph} of the compiled classes are kept across builds. The graph is
+ * initialized from the class files in the output root on the first build, thus the classes produced by a previous
+ * full build are re-used. If a changed class declares a compile time constant, all the sources are compiled since the
+ * constants are inlined in the classes that use them.
+ * <p>
+ * When the classes of an upstream module change, the sources that depend on them are compiled.
+ * <p>
+ * The sources of a failed compilation are compiled again on the next build, in addition to the changed sources.
+ */
+public class IncrementalCompiler implements BuildStep {
+    private static final String CLASS_FILE_SUFFIX = ".class";
+    private final JavaCompiler compiler;
+    private final List<String> options;
+    private final Charset encoding;
+    private final Path generatedSourcesDir;
+    private final Set<Path> pending;
+    private StandardJavaFileManager fileManager;
+    private List<File> classpath;
+    private ClassDependencies dependencies;
+
+    /**
+     * Returns a new compiler step, if the system Java compiler is available.
+     *
+     * @param options             The compiler options, e.g. {@code --release 11}.
+     * @param encoding            The source encoding.
+     * @param generatedSourcesDir The directory for the sources generated by annotation processors, may be {@code null}.
+     * @return The step, or empty if the system Java compiler is not available.
+     */
+    public static Optional<IncrementalCompiler> create(List<String> options, Charset encoding, Path generatedSourcesDir) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            Log.debug("System java compiler not available");
+            return Optional.empty();
+        }
+        return Optional.of(new IncrementalCompiler(compiler, options, encoding, generatedSourcesDir));
+    }
+
+    private IncrementalCompiler(JavaCompiler compiler, List<String> options, Charset encoding, Path generatedSourcesDir) {
+        this.compiler = compiler;
+        this.options = requireNonNull(options);
+        this.encoding = requireNonNull(encoding);
+        this.generatedSourcesDir = generatedSourcesDir;
+        this.pending = new LinkedHashSet<>();
+    }
+
+    @Override
+    public void incrementalBuild(BuildRoot.Changes changes,
+                                 PrintStream stdOut,
+                                 PrintStream stdErr) throws Exception {
+        if (changes.isEmpty()) {
+            return;
+        }
+        final BuildRoot sources = changes.root();
+        final ClassDependencies dependencies = dependencies(sources, changes.removed());
+
+        // Collect the sources to compile
+
+        final Set<Path> changed = new HashSet<>(changes.addedOrModified());
+        changed.addAll(changes.removed());
+        final Set<Path> compile = new LinkedHashSet<>(pending);
+        compile.addAll(changes.addedOrModified());
+        if (dependencies.hasConstants(changed)) {
+            sources.forEach(file -> compile.add(file.path()));
+        } else {
+            compile.addAll(dependencies.dependents(changed));
+        }
+
+        // Delete the class files of the removed sources
+
+        for (Path source : changes.removed()) {
+            delete(dependencies.remove(source));
+        }
+        compile(sources, compile, stdOut, stdErr);
+    }
+
+    @Override
+    public boolean supportsUpstreamBuild() {
+        return true;
+    }
+
+    @Override
+    public void upstreamBuild(BuildRoot sourceRoot,
+                              List<BuildRoot.Changes> upstreamChanges,
+                              PrintStream stdOut,
+                              PrintStream stdErr) throws Exception {
+        final ClassDependencies dependencies = dependencies(sourceRoot, Set.of());
+
+        // Collect the upstream classes, constants are inlined so their dependents are unknown
+
+        final Set<String> classNames = new HashSet<>();
+        boolean constants = false;
+        for (BuildRoot.Changes changes : upstreamChanges) {
+            final Path root = changes.root().path();
+            for (Path classFile : changes.addedOrModified()) {
+                classNames.add(internalName(root, classFile));
+                constants |= ClassDependencies.declaresConstants(classFile);
+            }
+            for (Path classFile : changes.removed()) {
+                classNames.add(internalName(root, classFile));
+            }
+        }
+        final Set<Path> compile = new LinkedHashSet<>(pending);
+        if (constants) {
+            sourceRoot.forEach(file -> compile.add(file.path()));
+        } else {
+            compile.addAll(dependencies.dependentsOf(classNames));
+        }
+        compile(sourceRoot, compile, stdOut, stdErr);
+    }
+
+    private ClassDependencies dependencies(BuildRoot sources, Set<Path> removed) {
+        if (dependencies == null) {
+            dependencies = ClassDependencies.create(sources.path(), sources.component().outputRoot().path(), removed);
+        }
+        return dependencies;
+    }
+
+    private void compile(BuildRoot sources,
+                         Set<Path> compile,
+                         PrintStream stdOut,
+                         PrintStream stdErr) throws Exception {
+        final BuildComponent component = sources.component();
+        final Path outputDir = component.outputRoot().path();
+        compile.removeIf(source -> !Files.isRegularFile(source));
+
+        // Delete the class files of the sources to compile since some classes may not be produced anymore
+
+        for (Path source : compile) {
+            delete(dependencies.remove(source));
+        }
+        if (compile.isEmpty()) {
+            return;
+        }
+
+        // Compile
+
+        final PrintStream stdErrAutoFlush = PrintStreams.autoFlush(stdErr);
+        final DiagnosticListener<JavaFileObject> diagnostics = d -> stdErrAutoFlush.println(format(d));
+        final List<File> sourceFiles = compile.stream().map(Path::toFile).collect(Collectors.toList());
+        stdOut.println("Compiling " + sourceFiles.size() + " source file" + (sourceFiles.size() == 1 ? "" : "s")
+                       + " to " + outputDir);
+        stdOut.flush();
+        final StandardJavaFileManager fileManager = fileManager(component.project().classpath(), outputDir);
+        final Set<String> classNames = new HashSet<>();
+        final JavaFileManager manager = new ForwardingJavaFileManager<>(fileManager) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location,
+                                                       String className,
+                                                       JavaFileObject.Kind kind,
+                                                       FileObject sibling) throws IOException {
+                if (kind == JavaFileObject.Kind.CLASS) {
+                    classNames.add(className);
+                }
+                return super.getJavaFileForOutput(location, className, kind, sibling);
+            }
+        };
+        final Iterable<? extends JavaFileObject> javaSources = fileManager.getJavaFileObjectsFromFiles(sourceFiles);
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, manager, diagnostics, options, null, javaSources);
+        if (!task.call()) {
+            pending.addAll(compile);
+            throw new Exception("Compilation failed");
+        }
+        pending.clear();
+        classNames.forEach(dependencies::add);
+    }
+
+    private StandardJavaFileManager fileManager(List<File> classpath, Path outputDir) throws IOException {
+        if (fileManager == null) {
+            fileManager = compiler.getStandardFileManager(null, null, encoding);
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(outputDir.toFile()));
+
+            // Only the given sources are compiled, referenced classes are always loaded from the class path
+            fileManager.setLocation(StandardLocation.SOURCE_PATH, List.of());
+            if (generatedSourcesDir != null) {
+                Files.createDirectories(generatedSourcesDir);
+                fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(generatedSourcesDir.toFile()));
+            }
+        }
+        if (!classpath.equals(this.classpath)) {
+            fileManager.setLocation(StandardLocation.CLASS_PATH, classpath);
+            this.classpath = new ArrayList<>(classpath);
+        }
+        return fileManager;
+    }
+
+    private static String internalName(Path root, Path classFile) {
+        final String path = root.relativize(classFile).toString().replace(File.separatorChar, '/');
+        return path.substring(0, path.length() - CLASS_FILE_SUFFIX.length());
+    }
+
+    private static void delete(List<Path> classFiles) throws IOException {
+        for (Path classFile : classFiles) {
+            Files.deleteIfExists(classFile);
+        }
+    }
+
+    private static String format(Diagnostic<? extends JavaFileObject> diagnostic) {
+        return String.format("%s, line %d in %s",
+                             diagnostic.getMessage(null),
+                             diagnostic.getLineNumber(),
+                             diagnostic.getSource() == null ? "[unknown source]" : diagnostic.getSource().getName());
+    }
+
+    @Override
+    public String toString() {
+        return "IncrementalCompiler{options=" + options + "}";
+    }
+}
@@ -24,6 +24,7 @@ import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -62,9 +63,11 @@ public class Project {
     private final List<Path> dependencyPaths;
     private final List<BuildFile> dependencies;
     private final List<BuildComponent> components;
+    private final List<ProjectModule> modules;
     private final String mainClassName;
     private final ProjectConfig config;
     private final Map<Path, ProjectDirectory> parents;
+    private final List<BuildRoot.Changes> incrementalChanges;
 
     private Project(Builder builder) {
         this.name = builder.name;
@@ -76,9 +79,11 @@ public class Project {
         this.dependencyPaths = builder.dependencyPaths;
         this.dependencies = builder.dependencies;
         this.components = builder.components;
+        this.modules = builder.modules;
         this.mainClassName = builder.mainClassName;
         this.config = builder.config;
         this.parents = new HashMap<>();
+        this.incrementalChanges = new ArrayList<>();
         components.forEach(c -> c.project(this));
         updateDependencies();
     }
@@ -137,6 +142,16 @@ public class Project {
         return classPath;
     }
 
+    /**
+     * Returns the changes of the last incremental build: the changed source roots followed by the changed
+     * {@link DirectoryType#JavaClasses} output roots.
+     *
+     * @return The changes, empty if the last build was not incremental.
+     */
+    public List<BuildRoot.Changes> incrementalChanges() {
+        return incrementalChanges;
+    }
+
     /**
      * Returns the compiler flags.
      *
@@ -164,6 +179,15 @@ public class Project {
         return components;
     }
 
+    /**
+     * Returns the modules, in build order.
+     *
+     * @return The modules, empty if this is not a multi-module project.
+     */
+    public List<ProjectModule> modules() {
+        return modules;
+    }
+
     /**
      * Returns the main class name.
      *
@@ -309,15 +333,97 @@ public class Project {
     protected void incrementalBuild(List<BuildRoot.Changes> changes,
                                     PrintStream stdOut,
                                     PrintStream stdErr) throws Exception {
+        incrementalChanges.clear();
         if (!changes.isEmpty()) {
             for (final BuildRoot.Changes changed : changes) {
                 changed.root().component().incrementalBuild(changed, stdOut, stdErr);
             }
+            incrementalChanges.addAll(changes);
+            final Set<BuildRoot> outputRoots = new LinkedHashSet<>();
+            for (final BuildRoot.Changes changed : changes) {
+                outputRoots.add(changed.root().component().outputRoot());
+            }
+            if (!modules.isEmpty()) {
+                downstreamBuild(stdOut, stdErr);
+                modules.forEach(module -> module.components().forEach(c -> outputRoots.add(c.outputRoot())));
+            }
+            for (final BuildRoot outputRoot : outputRoots) {
+                if (outputRoot.buildType().directoryType() == DirectoryType.JavaClasses) {
+                    final BuildRoot.Changes outputChanges = outputRoot.changes();
+                    if (!outputChanges.isEmpty()) {
+                        incrementalChanges.add(outputChanges);
+                    }
+                }
+            }
             config.buildSucceeded();
             config.store();
         }
     }
 
+    /**
+     * Returns whether the given changes require a full build, i.e. if they change the Java sources of a module that
+     * another module depends on, and the Java sources of the latter cannot be rebuilt after an upstream change.
+     *
+     * @param changes The changes.
+     * @return {@code true} if a full build is required.
+     */
+    public boolean requiresFullBuild(List<BuildRoot.Changes> changes) {
+        final Set<BuildComponent> changed = new HashSet<>();
+        for (final BuildRoot.Changes change : changes) {
+            if (change.root().buildType().directoryType() == DirectoryType.JavaSources) {
+                changed.add(change.root().component());
+            }
+        }
+        final Set<ProjectModule> changedModules = new HashSet<>();
+        for (final ProjectModule module : modules) {
+            if (module.components().stream().anyMatch(changed::contains)) {
+                changedModules.add(module);
+            }
+        }
+        for (final ProjectModule module : modules) {
+            if (module.allUpstream().stream().anyMatch(changedModules::contains)) {
+                for (final BuildComponent component : module.components()) {
+                    if (component.sourceRoot().buildType().directoryType() == DirectoryType.JavaSources
+                        && !component.supportsUpstreamBuild()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Build the Java sources of the modules that depend on modules whose classes changed, in build order. The classes
+     * of the upstream modules are used from their output roots.
+     */
+    private void downstreamBuild(PrintStream stdOut, PrintStream stdErr) throws Exception {
+        final Map<ProjectModule, List<BuildRoot.Changes>> classChanges = new HashMap<>();
+        for (final ProjectModule module : modules) {
+            final List<BuildRoot.Changes> upstreamChanges = new ArrayList<>();
+            for (final ProjectModule upstream : module.allUpstream()) {
+                upstreamChanges.addAll(classChanges.getOrDefault(upstream, emptyList()));
+            }
+            if (!upstreamChanges.isEmpty()) {
+                for (final BuildComponent component : module.components()) {
+                    if (component.sourceRoot().buildType().directoryType() == DirectoryType.JavaSources) {
+                        component.upstreamBuild(upstreamChanges, stdOut, stdErr);
+                    }
+                }
+            }
+            final Set<BuildRoot> outputRoots = new LinkedHashSet<>();
+            for (final BuildComponent component : module.components()) {
+                final BuildRoot outputRoot = component.outputRoot();
+                if (outputRoot.buildType().directoryType() == DirectoryType.JavaClasses && outputRoots.add(outputRoot)) {
+                    final BuildRoot.Changes outputChanges = outputRoot.changes();
+                    if (!outputChanges.isEmpty()) {
+                        classChanges.computeIfAbsent(module, m -> new ArrayList<>()).add(outputChanges);
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * A {@code Project} builder.
      */
@@ -327,6 +433,7 @@ public class Project {
         private final List<Path> dependencyPaths;
         private final List<BuildFile> dependencies;
         private final List<BuildComponent> components;
+        private final List<ProjectModule> modules;
         private String name;
         private BuildType buildType;
         private ProjectDirectory root;
@@ -339,6 +446,7 @@ public class Project {
             this.dependencyPaths = new ArrayList<>();
             this.dependencies = new ArrayList<>();
             this.components = new ArrayList<>();
+            this.modules = new ArrayList<>();
         }
 
         /**
@@ -407,6 +515,18 @@ public class Project {
             return this;
         }
 
+        /**
+         * Add a module and its components. Modules must be added in build order.
+         *
+         * @param module The module.
+         * @return This instance, for chaining.
+         */
+        public Builder module(ProjectModule module) {
+            modules.add(requireNonNull(module));
+            module.components().forEach(this::component);
+            return this;
+        }
+
         /**
          * Add a dependency.
          *
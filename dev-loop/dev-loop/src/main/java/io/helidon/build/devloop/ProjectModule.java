@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A module of a multi-module project, e.g. a Maven reactor project. A module groups the components built from its
+ * directory and references the modules it depends on.
+ */
+public class ProjectModule {
+    private final String name;
+    private final Path directory;
+    private final List<ProjectModule> upstream;
+    private final List<BuildComponent> components;
+
+    /**
+     * Returns a new module.
+     *
+     * @param name The module name.
+     * @param directory The module directory.
+     * @param upstream The modules this module depends on.
+     * @return The module.
+     */
+    public static ProjectModule createProjectModule(String name, Path directory, List<ProjectModule> upstream) {
+        return new ProjectModule(name, directory, upstream);
+    }
+
+    private ProjectModule(String name, Path directory, List<ProjectModule> upstream) {
+        this.name = requireNonNull(name);
+        this.directory = requireNonNull(directory);
+        this.upstream = List.copyOf(upstream);
+        this.components = new ArrayList<>();
+    }
+
+    /**
+     * Add a component.
+     *
+     * @param component The component.
+     * @return This instance, for chaining.
+     */
+    public ProjectModule component(BuildComponent component) {
+        components.add(requireNonNull(component));
+        return this;
+    }
+
+    /**
+     * Returns the module name.
+     *
+     * @return The name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the module directory.
+     *
+     * @return The directory.
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Returns the modules this module directly depends on.
+     *
+     * @return The modules.
+     */
+    public List<ProjectModule> upstream() {
+        return upstream;
+    }
+
+    /**
+     * Returns the modules this module depends on, directly or not.
+     *
+     * @return The modules.
+     */
+    public Set<ProjectModule> allUpstream() {
+        final Set<ProjectModule> result = new LinkedHashSet<>();
+        for (ProjectModule module : upstream) {
+            if (result.add(module)) {
+                result.addAll(module.allUpstream());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the components.
+     *
+     * @return The components.
+     */
+    public List<BuildComponent> components() {
+        return components;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectModule{name=" + name + ", directory=" + directory + "}";
+    }
+}
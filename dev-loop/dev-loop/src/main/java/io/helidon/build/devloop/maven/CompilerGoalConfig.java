@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.maven;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import io.helidon.build.common.logging.Log;
+import io.helidon.build.devloop.IncrementalCompiler;
+
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.PluginParameterExpressionEvaluator;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * Maps the configuration of a {@code maven-compiler-plugin:compile} goal to an {@link IncrementalCompiler}.
+ * See configuration https://github.com/apache/maven-compiler-plugin/blob/master/src/main/java/org/apache/maven/plugin/compiler/AbstractCompilerMojo.java
+ */
+final class CompilerGoalConfig {
+    private static final String COMPILER_PLUGIN_KEY = "org.apache.maven.plugins:maven-compiler-plugin";
+    private static final String COMPILE_GOAL = "compile";
+    private static final String DEFAULT_VALUE = "default-value";
+
+    private final MojoExecution execution;
+    private final PluginParameterExpressionEvaluator evaluator;
+
+    private CompilerGoalConfig(MavenGoal goal) {
+        this.execution = goal.execution();
+        final MavenEnvironment environment = goal.environment();
+
+        // The evaluator resolves the project expressions against the current project
+        this.evaluator = environment.withProject(goal.projectDir(),
+                                                 () -> new PluginParameterExpressionEvaluator(environment.session(),
+                                                                                              execution));
+    }
+
+    /**
+     * Returns an in process compiler equivalent to the given goals, if they are a single {@code compiler:compile}
+     * goal with a configuration that is supported.
+     *
+     * @param goals The goals.
+     * @return The compiler, or empty if not supported.
+     */
+    static Optional<IncrementalCompiler> compiler(List<MavenGoal> goals) {
+        if (goals.size() != 1) {
+            return Optional.empty();
+        }
+        final MavenGoal goal = goals.get(0);
+        if (!goal.pluginKey().equals(COMPILER_PLUGIN_KEY) || !goal.name().equals(COMPILE_GOAL)) {
+            return Optional.empty();
+        }
+        try {
+            return new CompilerGoalConfig(goal).compiler();
+        } catch (ExpressionEvaluationException e) {
+            Log.debug("Unable to evaluate the configuration of %s: %s", goal, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<IncrementalCompiler> compiler() throws ExpressionEvaluationException {
+        if (bool("skipMain") || bool("fork") || !"javac".equals(value("compilerId").orElse("javac"))) {
+            return Optional.empty();
+        }
+        final Xpp3Dom processorPaths = parameter("annotationProcessorPaths");
+        if (processorPaths != null && processorPaths.getChildCount() > 0) {
+            return Optional.empty();
+        }
+        final List<String> options = new ArrayList<>();
+        final Optional<String> release = value("release");
+        if (release.isPresent()) {
+            options.add("--release");
+            options.add(release.get());
+        } else {
+            value("source").ifPresent(source -> {
+                options.add("-source");
+                options.add(source);
+            });
+            value("target").ifPresent(target -> {
+                options.add("-target");
+                options.add(target);
+            });
+        }
+        if (bool("debug")) {
+            options.add(value("debuglevel").map(level -> "-g:" + level).orElse("-g"));
+        }
+        if (bool("parameters")) {
+            options.add("-parameters");
+        }
+        if (bool("enablePreview")) {
+            options.add("--enable-preview");
+        }
+        if (!bool("showWarnings")) {
+            options.add("-nowarn");
+        }
+        if (bool("showDeprecation")) {
+            options.add("-deprecation");
+        }
+        final Optional<String> proc = value("proc");
+        if (proc.isPresent()) {
+            options.add("-proc:" + proc.get());
+        }
+        final List<String> processors = values("annotationProcessors");
+        if (!processors.isEmpty()) {
+            options.add("-processor");
+            options.add(String.join(",", processors));
+        }
+        options.addAll(values("compilerArgs"));
+        value("compilerArgument").ifPresent(options::add);
+        final Charset encoding = value("encoding").map(Charset::forName).orElse(Charset.defaultCharset());
+        final Path generatedSourcesDir = value("generatedSourcesDirectory").map(Path::of).orElse(null);
+        return IncrementalCompiler.create(options, encoding, generatedSourcesDir);
+    }
+
+    private Xpp3Dom parameter(String name) {
+        return execution.getConfiguration().getChild(name);
+    }
+
+    private boolean bool(String name) throws ExpressionEvaluationException {
+        return value(name).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    private Optional<String> value(String name) throws ExpressionEvaluationException {
+        final Xpp3Dom parameter = parameter(name);
+        return parameter == null ? Optional.empty() : evaluate(parameter);
+    }
+
+    private List<String> values(String name) throws ExpressionEvaluationException {
+        final List<String> values = new ArrayList<>();
+        final Xpp3Dom parameter = parameter(name);
+        if (parameter != null) {
+            for (Xpp3Dom child : parameter.getChildren()) {
+                evaluate(child).ifPresent(values::add);
+            }
+        }
+        return values;
+    }
+
+    private Optional<String> evaluate(Xpp3Dom node) throws ExpressionEvaluationException {
+        String expression = node.getValue();
+        if (expression == null) {
+            expression = node.getAttribute(DEFAULT_VALUE);
+        }
+        Object value = expression == null ? null : evaluator.evaluate(expression);
+        if (value == null && node.getValue() != null && node.getAttribute(DEFAULT_VALUE) != null) {
+            value = evaluator.evaluate(node.getAttribute(DEFAULT_VALUE));
+        }
+        if (value == null) {
+            return Optional.empty();
+        }
+        final String result = value.toString().trim();
+        return result.isEmpty() ? Optional.empty() : Optional.of(result);
+    }
+}
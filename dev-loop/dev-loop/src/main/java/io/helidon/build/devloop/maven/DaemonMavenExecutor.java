@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.maven;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.jar.Attributes;
+
+import io.helidon.build.common.OSType;
+import io.helidon.build.common.logging.Log;
+import io.helidon.build.common.maven.MavenCommand;
+import io.helidon.build.devloop.BuildExecutor;
+import io.helidon.build.devloop.BuildMonitor;
+import io.helidon.build.devloop.util.ClassesJar;
+
+import static io.helidon.build.common.FileUtils.listFiles;
+
+/**
+ * A {@link BuildExecutor} that runs the builds in a long-lived Maven process.
+ * <p>
+ * Like {@link ForkedMavenExecutor}, builds are isolated from the current process, but the Maven process is started
+ * once and stays warm across builds. It is recycled when the {@code pom.xml} file or the {@code .mvn} configuration
+ * changes.
+ * <p>
+ * Each build creates a new Maven container in the process, with its own class realms for the project extensions and
+ * plugins. They are not reclaimed reliably, thus the process is also recycled after a number of builds to bound the
+ * growth of the heap and of the metaspace.
+ */
+public class DaemonMavenExecutor extends BuildExecutor {
+
+    /**
+     * The default maximum number of builds run by a Maven process.
+     */
+    public static final int DEFAULT_MAX_BUILDS = 50;
+
+    private static final String JAVA_EXEC = OSType.currentOS().javaExecutable();
+    private static final String DAEMON_JAR_PREFIX = "helidon-dev-maven";
+    private static final List<Class<?>> DAEMON_CLASSES = List.of(MavenDaemon.class, MavenDaemon.FrameOutputStream.class);
+    private static final List<String> BUILD_FILES = List.of("pom.xml",
+                                                            ".mvn/extensions.xml",
+                                                            ".mvn/maven.config",
+                                                            ".mvn/jvm.config");
+    private static final String JVM_CONFIG = ".mvn/jvm.config";
+    private static final String MAVEN_OPTS_VAR = "MAVEN_OPTS";
+    private static final String JAR_SUFFIX = ".jar";
+    private static final int START_TIMEOUT_MILLIS = 60 * 1000;
+    private static final int BUFFER_SIZE = 8192;
+    private static Path daemonJar;
+
+    private final int maxBuildWaitSeconds;
+    private final int maxBuilds;
+    private int builds;
+    private List<FileTime> buildFileTimes;
+    private Process process;
+    private ServerSocket serverSocket;
+    private Socket socket;
+    private DataInputStream in;
+    private DataOutputStream out;
+
+    /**
+     * Constructor.
+     *
+     * @param projectDir The project directory.
+     * @param monitor The build monitor. All output is written to {@link BuildMonitor#stdOut()} and
+     * {@link BuildMonitor#stdErr()}.
+     * @param maxBuildWaitSeconds The maximum number of seconds to wait for a build to complete.
+     */
+    public DaemonMavenExecutor(Path projectDir, BuildMonitor monitor, int maxBuildWaitSeconds) {
+        this(projectDir, monitor, maxBuildWaitSeconds, DEFAULT_MAX_BUILDS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param projectDir The project directory.
+     * @param monitor The build monitor. All output is written to {@link BuildMonitor#stdOut()} and
+     * {@link BuildMonitor#stdErr()}.
+     * @param maxBuildWaitSeconds The maximum number of seconds to wait for a build to complete.
+     * @param maxBuilds The maximum number of builds run by a Maven process before it is recycled.
+     */
+    public DaemonMavenExecutor(Path projectDir, BuildMonitor monitor, int maxBuildWaitSeconds, int maxBuilds) {
+        super(projectDir, monitor);
+        if (maxBuilds < 1) {
+            throw new IllegalArgumentException("maxBuilds must be greater than 0");
+        }
+        this.maxBuildWaitSeconds = maxBuildWaitSeconds;
+        this.maxBuilds = maxBuilds;
+    }
+
+    @Override
+    public boolean willFork() {
+        return true;
+    }
+
+    @Override
+    public synchronized void execute(String... args) throws Exception {
+        final List<FileTime> times = buildFileTimes();
+        if (process != null && (!process.isAlive() || !times.equals(buildFileTimes) || builds >= maxBuilds)) {
+            Log.debug("Recycling maven daemon");
+            stop();
+        }
+        if (process == null) {
+            start();
+            buildFileTimes = times;
+            builds = 0;
+        }
+        builds++;
+        try {
+            out.writeInt(args.length);
+            for (String arg : args) {
+                out.writeUTF(arg);
+            }
+            out.flush();
+            socket.setSoTimeout(maxBuildWaitSeconds * 1000);
+            final int exitCode = readOutput();
+            if (exitCode != 0) {
+                throw new Exception("Build failed");
+            }
+        } catch (SocketTimeoutException e) {
+            stop();
+            throw new TimeoutException("Build did not complete in " + maxBuildWaitSeconds + " seconds");
+        } catch (IOException e) {
+            stop();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the process id of the Maven process.
+     *
+     * @return The process id, or {@code -1} if not started.
+     */
+    public synchronized long pid() {
+        return process == null ? -1 : process.pid();
+    }
+
+    /**
+     * Stop the Maven process.
+     */
+    public synchronized void stop() {
+        try {
+            if (socket != null) {
+                socket.close();
+            }
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            Log.debug("Error closing maven daemon connection: %s", e.getMessage());
+        } finally {
+            socket = null;
+            serverSocket = null;
+            if (process != null) {
+                process.destroy();
+                process = null;
+            }
+        }
+    }
+
+    private int readOutput() throws IOException {
+        final PrintStream stdOut = monitor().stdOut();
+        final PrintStream stdErr = monitor().stdErr();
+        final ByteArrayOutputStream outLine = new ByteArrayOutputStream(BUFFER_SIZE);
+        final ByteArrayOutputStream errLine = new ByteArrayOutputStream(BUFFER_SIZE);
+        while (true) {
+            final int type = in.readByte();
+            if (type == MavenDaemon.EXIT) {
+                print(outLine, stdOut);
+                print(errLine, stdErr);
+                stdOut.flush();
+                stdErr.flush();
+                return in.readInt();
+            }
+            final byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            final ByteArrayOutputStream line = type == MavenDaemon.STDERR ? errLine : outLine;
+            final PrintStream stream = type == MavenDaemon.STDERR ? stdErr : stdOut;
+
+            // Print complete lines only, the monitor streams observe strings
+
+            for (byte b : bytes) {
+                line.write(b);
+                if (b == '\n') {
+                    print(line, stream);
+                }
+            }
+        }
+    }
+
+    private static void print(ByteArrayOutputStream line, PrintStream stream) {
+        if (line.size() > 0) {
+            stream.print(line.toString(StandardCharsets.UTF_8));
+            line.reset();
+        }
+    }
+
+    private void start() throws Exception {
+        final Path mavenHome = MavenCommand.mavenHome();
+        serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        final List<String> command = new ArrayList<>();
+        command.add(JAVA_EXEC);
+        command.addAll(jvmOptions());
+        command.add("-Dmaven.home=" + mavenHome);
+        command.add("-Dmaven.conf=" + mavenHome.resolve("conf"));
+        command.add("-Dlibrary.jansi.path=" + mavenHome.resolve("lib").resolve("jansi-native"));
+        command.add("-Dmaven.multiModuleProjectDirectory=" + projectDirectory());
+        command.add("-cp");
+        command.add(classPath(mavenHome));
+        command.add(MavenDaemon.class.getName());
+        command.add(String.valueOf(serverSocket.getLocalPort()));
+        Log.debug("Starting maven daemon: %s", command);
+        process = new ProcessBuilder(command).directory(projectDirectory().toFile())
+                                             .redirectErrorStream(true)
+                                             .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                                             .start();
+        try {
+            serverSocket.setSoTimeout(START_TIMEOUT_MILLIS);
+            socket = serverSocket.accept();
+            in = new DataInputStream(socket.getInputStream());
+            out = new DataOutputStream(socket.getOutputStream());
+        } catch (IOException e) {
+            stop();
+            throw new IllegalStateException("Unable to start maven daemon", e);
+        }
+    }
+
+    private List<String> jvmOptions() throws IOException {
+        final List<String> options = new ArrayList<>();
+        final String mavenOpts = System.getenv(MAVEN_OPTS_VAR);
+        if (mavenOpts != null) {
+            options.addAll(split(mavenOpts));
+        }
+        final Path jvmConfig = projectDirectory().resolve(JVM_CONFIG);
+        if (Files.exists(jvmConfig)) {
+            options.addAll(split(Files.readString(jvmConfig)));
+        }
+        return options;
+    }
+
+    private static List<String> split(String options) {
+        final List<String> result = new ArrayList<>();
+        for (String option : options.trim().split("\\s+")) {
+            if (!option.isEmpty()) {
+                result.add(option);
+            }
+        }
+        return result;
+    }
+
+    private static String classPath(Path mavenHome) throws IOException {
+        final List<String> paths = new ArrayList<>();
+        paths.add(daemonJar().toString());
+        for (Path dir : List.of(mavenHome.resolve("boot"), mavenHome.resolve("lib"), mavenHome.resolve("lib/ext"))) {
+            if (Files.isDirectory(dir)) {
+                listFiles(dir, name -> name.endsWith(JAR_SUFFIX)).forEach(jar -> paths.add(jar.toString()));
+            }
+        }
+        return String.join(File.pathSeparator, paths);
+    }
+
+    private static synchronized Path daemonJar() throws IOException {
+        if (daemonJar == null || !Files.exists(daemonJar)) {
+            daemonJar = ClassesJar.create(DAEMON_JAR_PREFIX, new Attributes(), DAEMON_CLASSES);
+        }
+        return daemonJar;
+    }
+
+    private List<FileTime> buildFileTimes() throws IOException {
+        final List<FileTime> times = new ArrayList<>();
+        for (String buildFile : BUILD_FILES) {
+            final Path file = projectDirectory().resolve(buildFile);
+            times.add(Files.exists(file) ? Files.getLastModifiedTime(file) : null);
+        }
+        return times;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,7 @@
  */
 package io.helidon.build.devloop.maven;
 
+import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -38,6 +39,8 @@ public class DevLoopBuildConfig {
     private FullBuildConfig fullBuild;
     private IncrementalBuildConfig incrementalBuild;
     private int maxApplicationFailures;
+    private boolean classDataSharing;
+    private File metricsFile;
 
     /**
      * Constructor.
@@ -46,6 +49,7 @@ public class DevLoopBuildConfig {
         this.fullBuild = new FullBuildConfig();
         this.incrementalBuild = new IncrementalBuildConfig();
         this.maxApplicationFailures = Integer.MAX_VALUE;
+        this.classDataSharing = false;
     }
 
     /**
@@ -102,6 +106,24 @@ public class DevLoopBuildConfig {
         return maxApplicationFailures;
     }
 
+    /**
+     * Returns whether the application is started with a class data sharing archive of its dependencies.
+     *
+     * @return {@code true} if enabled.
+     */
+    public boolean classDataSharing() {
+        return classDataSharing;
+    }
+
+    /**
+     * Returns the file the dev loop timings are written to on exit.
+     *
+     * @return The file, {@code null} if the timings are not written.
+     */
+    public File metricsFile() {
+        return metricsFile;
+    }
+
     /**
      * Sets the full build config.
      *
@@ -129,12 +151,32 @@ public class DevLoopBuildConfig {
         this.maxApplicationFailures = maxApplicationFailures;
     }
 
+    /**
+     * Sets whether the application is started with a class data sharing archive of its dependencies.
+     *
+     * @param classDataSharing {@code true} if enabled.
+     */
+    public void setClassDataSharing(boolean classDataSharing) {
+        this.classDataSharing = classDataSharing;
+    }
+
+    /**
+     * Sets the file the dev loop timings are written to on exit.
+     *
+     * @param metricsFile The file.
+     */
+    public void setMetricsFile(File metricsFile) {
+        this.metricsFile = metricsFile;
+    }
+
     @Override
     public String toString() {
         return "devLoop {"
                + "fullBuild=" + fullBuild
                + ", incrementalBuild=" + incrementalBuild
                + ", maxApplicationFailures=" + maxApplicationFailures
+               + ", classDataSharing=" + classDataSharing
+               + ", metricsFile=" + metricsFile
                + '}';
     }
 
@@ -234,6 +276,7 @@ public class DevLoopBuildConfig {
         private List<MavenGoal> resolvedJavaSourceGoals;
         private List<CustomDirectoryConfig> customDirectories;
         private int maxBuildFailures;
+        private boolean inProcessCompiler;
 
         /**
          * Constructor.
@@ -243,6 +286,7 @@ public class DevLoopBuildConfig {
             this.unresolvedJavaSourceGoals = DEFAULT_JAVA_SOURCES_GOALS;
             this.customDirectories = emptyList();
             this.maxBuildFailures = Integer.MAX_VALUE;
+            this.inProcessCompiler = true;
         }
 
         /**
@@ -335,6 +379,16 @@ public class DevLoopBuildConfig {
             return maxBuildFailures;
         }
 
+        /**
+         * Returns whether the Java sources should be compiled in process instead of executing the Java source goals,
+         * if the goals are a single {@code compiler:compile} goal.
+         *
+         * @return {@code true} if in process compilation is enabled.
+         */
+        public boolean inProcessCompiler() {
+            return inProcessCompiler;
+        }
+
         /**
          * Sets the resource goals.
          *
@@ -371,6 +425,15 @@ public class DevLoopBuildConfig {
             this.maxBuildFailures = maxBuildFailures;
         }
 
+        /**
+         * Sets whether the Java sources should be compiled in process.
+         *
+         * @param inProcessCompiler {@code true} if in process compilation is enabled.
+         */
+        public void setInProcessCompiler(boolean inProcessCompiler) {
+            this.inProcessCompiler = inProcessCompiler;
+        }
+
         @Override
         public String toString() {
             return "incrementalBuild {"
@@ -378,6 +441,7 @@ public class DevLoopBuildConfig {
                    + ", javaSourceGoals=" + unresolvedJavaSourceGoals
                    + ", customDirectories=" + customDirectories
                    + ", maxBuildFailures=" + maxBuildFailures
+                   + ", inProcessCompiler=" + inProcessCompiler
                    + '}';
         }
 
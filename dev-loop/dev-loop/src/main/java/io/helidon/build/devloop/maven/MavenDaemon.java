@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.maven;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * A long-lived Maven process started by a {@link DaemonMavenExecutor}.
+ * <p>
+ * The daemon connects back to the executor and runs the builds it receives with the same {@code MavenCli} instance,
+ * forwarding the build output as UTF-8. It exits when the connection is closed.
+ * <p>
+ * This class runs with the Maven distribution class path, it must only depend on the JDK.
+ */
+final class MavenDaemon {
+
+    /**
+     * Frame carrying the exit code of a build.
+     */
+    static final int EXIT = 0;
+
+    /**
+     * Frame carrying standard output bytes.
+     */
+    static final int STDOUT = 1;
+
+    /**
+     * Frame carrying standard error bytes.
+     */
+    static final int STDERR = 2;
+
+    private static final String MAVEN_CLI_CLASS_NAME = "org.apache.maven.cli.MavenCli";
+    private static final String DO_MAIN_METHOD_NAME = "doMain";
+    private static final int BUFFER_SIZE = 8192;
+
+    private MavenDaemon() {
+    }
+
+    /**
+     * Daemon entry point.
+     *
+     * @param args The executor port.
+     * @throws Exception If an error occurs.
+     */
+    public static void main(String[] args) throws Exception {
+        final Class<?> cliClass = Class.forName(MAVEN_CLI_CLASS_NAME);
+        final Object mavenCli = cliClass.getDeclaredConstructor().newInstance();
+        final Class<?>[] parameterTypes = {String[].class, String.class, PrintStream.class, PrintStream.class};
+        final Method doMain = cliClass.getMethod(DO_MAIN_METHOD_NAME, parameterTypes);
+        final String workingDirectory = Path.of("").toAbsolutePath().toString();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]));
+             DataInputStream in = new DataInputStream(socket.getInputStream());
+             DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+            final PrintStream stdOut = printStream(out, STDOUT);
+            final PrintStream stdErr = printStream(out, STDERR);
+            while (true) {
+                final String[] buildArgs = new String[in.readInt()];
+                for (int i = 0; i < buildArgs.length; i++) {
+                    buildArgs[i] = in.readUTF();
+                }
+                // MavenCli sets the -D options as system properties, restore them so that they do not leak into the
+                // next builds
+
+                final Properties systemProperties = (Properties) System.getProperties().clone();
+                int exitCode;
+                try {
+                    exitCode = ((Number) doMain.invoke(mavenCli, buildArgs, workingDirectory, stdOut, stdErr)).intValue();
+                } catch (Exception e) {
+                    e.printStackTrace(stdErr);
+                    exitCode = 1;
+                } finally {
+                    System.setProperties(systemProperties);
+                }
+                stdOut.flush();
+                stdErr.flush();
+                synchronized (out) {
+                    out.writeByte(EXIT);
+                    out.writeInt(exitCode);
+                    out.flush();
+                }
+            }
+        } catch (IOException ignore) {
+            // The executor is gone
+        }
+        System.exit(0);
+    }
+
+    private static PrintStream printStream(DataOutputStream out, int type) {
+        return new PrintStream(new BufferedOutputStream(new FrameOutputStream(out, type), BUFFER_SIZE), true,
+                               StandardCharsets.UTF_8);
+    }
+
+    /**
+     * An output stream that writes frames of the given type.
+     */
+    static final class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final int type;
+
+        FrameOutputStream(DataOutputStream out, int type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            synchronized (out) {
+                out.writeByte(type);
+                out.writeInt(len);
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (out) {
+                out.flush();
+            }
+        }
+    }
+}
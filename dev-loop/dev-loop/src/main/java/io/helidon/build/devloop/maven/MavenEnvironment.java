@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,9 +15,11 @@
  */
 package io.helidon.build.devloop.maven;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import io.helidon.build.common.Strings;
@@ -125,6 +127,42 @@ public class MavenEnvironment {
         }
     }
 
+    /**
+     * Execute a given mojo execution in the context of the project in the given directory.
+     *
+     * @param execution mojo execution
+     * @param projectDir project directory, {@code null} for the current project
+     */
+    public void execute(MojoExecution execution, Path projectDir) {
+        withProject(projectDir, () -> {
+            execute(execution);
+            return null;
+        });
+    }
+
+    /**
+     * Invoke an action with the current project set to the project in the given directory.
+     *
+     * @param projectDir project directory, {@code null} for the current project
+     * @param action action
+     * @param <T> result type
+     * @return the action result
+     * @throws IllegalStateException if the session does not contain a project in the given directory
+     */
+    public <T> T withProject(Path projectDir, Supplier<T> action) {
+        if (projectDir == null) {
+            return action.get();
+        }
+        final MavenSession session = session();
+        final MavenProject current = session.getCurrentProject();
+        session.setCurrentProject(project(session, projectDir));
+        try {
+            return action.get();
+        } finally {
+            session.setCurrentProject(current);
+        }
+    }
+
     /**
      * Create a mojo execution.
      *
@@ -211,6 +249,16 @@ public class MavenEnvironment {
                                 execution.getGoal(), execution.getExecutionId(), this);
     }
 
+    private static MavenProject project(MavenSession session, Path projectDir) {
+        final Path dir = projectDir.toAbsolutePath().normalize();
+        for (MavenProject project : session.getProjects()) {
+            if (project.getBasedir().toPath().toAbsolutePath().normalize().equals(dir)) {
+                return project;
+            }
+        }
+        throw new IllegalStateException("project " + projectDir + " not found");
+    }
+
     private static Plugin plugin(MavenProject project, String pluginKey) {
         final Plugin plugin = requireNonNull(project.getPlugin(pluginKey), "plugin " + pluginKey + " not found");
         if (Strings.isNotValid(plugin.getVersion())) {
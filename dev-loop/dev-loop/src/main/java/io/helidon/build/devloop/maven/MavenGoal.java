@@ -16,6 +16,7 @@
 package io.helidon.build.devloop.maven;
 
 import java.io.PrintStream;
+import java.nio.file.Path;
 
 import io.helidon.build.common.logging.Log;
 import io.helidon.build.devloop.BuildRoot;
@@ -37,6 +38,7 @@ public class MavenGoal implements BuildStep {
     private final String executionId;
     private final MojoExecution execution;
     private final MavenEnvironment environment;
+    private final Path projectDir;
 
     /**
      * Returns a new instance.
@@ -81,6 +83,29 @@ public class MavenGoal implements BuildStep {
         this.executionId = executionId;
         this.execution = environment.execution(pluginKey, goalName, executionId);
         this.environment = environment;
+        this.projectDir = null;
+    }
+
+    private MavenGoal(MavenGoal goal, Path projectDir) {
+        this.name = goal.name;
+        this.pluginKey = goal.pluginKey;
+        this.executionId = goal.executionId;
+        this.execution = goal.environment.withProject(projectDir,
+                () -> goal.environment.execution(goal.pluginKey, goal.name, goal.executionId));
+        this.environment = goal.environment;
+        this.projectDir = projectDir;
+    }
+
+    /**
+     * Returns a copy of this goal that executes in the context of the project in the given directory, e.g. a module of
+     * the current multi-module project. The mojo execution is resolved against that project, so that its own plugin
+     * configuration applies.
+     *
+     * @param projectDir The project directory.
+     * @return The goal.
+     */
+    public MavenGoal inProject(Path projectDir) {
+        return new MavenGoal(this, requireNonNull(projectDir));
     }
 
     @Override
@@ -100,7 +125,7 @@ public class MavenGoal implements BuildStep {
      */
     public void execute() throws Exception {
         Log.debug("Executing %s", this);
-        environment.execute(execution);
+        environment.execute(execution, projectDir);
     }
 
     /**
@@ -130,8 +155,36 @@ public class MavenGoal implements BuildStep {
         return executionId;
     }
 
+    /**
+     * Returns the directory of the project this goal executes in.
+     *
+     * @return The directory, {@code null} for the current project.
+     */
+    Path projectDir() {
+        return projectDir;
+    }
+
+    /**
+     * Returns the mojo execution.
+     *
+     * @return The execution.
+     */
+    MojoExecution execution() {
+        return execution;
+    }
+
+    /**
+     * Returns the plugin execution environment.
+     *
+     * @return The environment.
+     */
+    MavenEnvironment environment() {
+        return environment;
+    }
+
     @Override
     public String toString() {
-        return pluginKey() + ":" + name() + "@" + executionId();
+        final String goal = pluginKey() + ":" + name() + "@" + executionId();
+        return projectDir == null ? goal : goal + " in " + projectDir;
     }
 }
@@ -18,7 +18,11 @@ package io.helidon.build.devloop.maven;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -48,9 +52,12 @@ import org.eclipse.aether.graph.DependencyFilter;
 
 import static io.helidon.build.cli.common.ProjectConfig.DOT_HELIDON;
 import static io.helidon.build.cli.common.ProjectConfig.HELIDON_VERSION;
+import static io.helidon.build.cli.common.ProjectConfig.MODULE_UPSTREAM;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_CLASSDIRS;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_DEPENDENCIES;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_MAINCLASS;
+import static io.helidon.build.cli.common.ProjectConfig.PROJECT_MODULES;
+import static io.helidon.build.cli.common.ProjectConfig.PROJECT_MODULE_PREFIX;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_RESOURCEDIRS;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_SOURCEDIRS;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_SOURCE_EXCLUDES;
@@ -58,6 +65,7 @@ import static io.helidon.build.cli.common.ProjectConfig.PROJECT_SOURCE_INCLUDES;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_VERSION;
 import static io.helidon.build.cli.common.ProjectConfig.RESOURCE_INCLUDE_EXCLUDE_LIST_SEPARATOR;
 import static io.helidon.build.cli.common.ProjectConfig.RESOURCE_INCLUDE_EXCLUDE_SEPARATOR;
+import static io.helidon.build.cli.common.ProjectConfig.moduleProperty;
 import static io.helidon.build.common.PrintStreams.STDOUT;
 import static java.lang.String.join;
 import static java.util.Collections.emptyList;
@@ -68,6 +76,9 @@ import static org.eclipse.aether.util.filter.DependencyFilterUtils.classpathFilt
 /**
  * Collects settings from a maven project and stores them in a config file for later use
  * by {@link MavenProjectSupplier}. Must be installed as a maven extension to run.
+ * <p>
+ * In a multi-module project, the application is the last module in build order that declares the {@code mainClass}
+ * property, and the settings of the modules it depends on are also collected.
  */
 @Component(role = AbstractMavenLifecycleParticipant.class)
 public class MavenProjectConfigCollector extends AbstractMavenLifecycleParticipant {
@@ -77,7 +88,7 @@ public class MavenProjectConfigCollector extends AbstractMavenLifecycleParticipa
     private static final boolean DEBUG = "true".equals(System.getProperty(DEBUG_PROPERTY));
     private static final String MAIN_CLASS_PROPERTY = "mainClass";
     private static final String HELIDON_GROUP_ID_PREFIX = "io.helidon.";
-    private static final String MULTI_MODULE_PROJECT = "Multi-module projects are not supported.";
+    private static final String POM_PACKAGING = "pom";
     private static final String MISSING_MAIN_CLASS = "The required '" + MAIN_CLASS_PROPERTY + "' property is missing.";
     private static final String MISSING_DOT_HELIDON = "The required " + DOT_HELIDON + " file is missing.";
     private static final DependencyFilter DEPENDENCY_FILTER = classpathFilter(COMPILE, RUNTIME);
@@ -86,7 +97,9 @@ public class MavenProjectConfigCollector extends AbstractMavenLifecycleParticipa
     @Inject
     private ProjectDependenciesResolver dependenciesResolver;
     private Path supportedProjectDir;
-    private ProjectConfig projectConfig;
+    private Path applicationDir;
+    private Map<Path, ModuleConfig> modules;
+    private List<Artifact> dependencies;
     private ExecutionListener originalListener;
 
     /**
@@ -96,32 +109,53 @@ public class MavenProjectConfigCollector extends AbstractMavenLifecycleParticipa
      * @return The project directory.
      */
     public static Path assertSupportedProject(MavenSession session) {
-        assertSupportedProject(session.getProjects().size() == 1, MULTI_MODULE_PROJECT);
-        final MavenProject project = session.getProjects().get(0);
+        final List<MavenProject> projects = session.getProjects();
+        final MavenProject project = projects.size() == 1 ? projects.get(0) : session.getTopLevelProject();
         final Path projectDir = project.getBasedir().toPath();
         assertSupportedProject(ProjectConfig.projectConfigExists(projectDir), MISSING_DOT_HELIDON);
-        assertSupportedProject(project.getProperties().getProperty(MAIN_CLASS_PROPERTY) != null, MISSING_MAIN_CLASS);
+        applicationProject(session);
         debug("Helidon project is supported");
         return projectDir;
     }
 
+    /**
+     * Returns the application project: the project itself, or the last module in build order that declares the
+     * {@code mainClass} property.
+     *
+     * @param session The session.
+     * @return The project.
+     * @throws IllegalStateException If the application project is not found.
+     */
+    public static MavenProject applicationProject(MavenSession session) {
+        MavenProject application = null;
+        for (MavenProject project : session.getProjects()) {
+            if (project.getProperties().getProperty(MAIN_CLASS_PROPERTY) != null
+                && (session.getProjects().size() == 1 || !POM_PACKAGING.equals(project.getPackaging()))) {
+                application = project;
+            }
+        }
+        assertSupportedProject(application != null, MISSING_MAIN_CLASS);
+        return application;
+    }
+
     @Override
     public void afterProjectsRead(MavenSession session) {
         if (ENABLED) {
             // Init state
             supportedProjectDir = null;
-            projectConfig = null;
+            modules = new LinkedHashMap<>();
+            dependencies = null;
             debug("collector enabled");
             try {
                 // Ensure that we support this project
                 supportedProjectDir = assertSupportedProject(session);
+                applicationDir = applicationProject(session).getBasedir().toPath();
                 // Install our listener, so we can know if compilation occurred and succeeded
                 final MavenExecutionRequest request = session.getRequest();
                 originalListener = request.getExecutionListener();
                 request.setExecutionListener(new EventListener(originalListener));
             } catch (IllegalStateException e) {
                 supportedProjectDir = null;
-                projectConfig = null;
                 originalListener = null;
             }
         } else {
@@ -143,9 +177,9 @@ public class MavenProjectConfigCollector extends AbstractMavenLifecycleParticipa
             } else if (result.hasExceptions()) {
                 debug("Build failed: %s", result.getExceptions());
                 invalidateConfig();
-            } else if (projectConfig != null) {
+            } else if (dependencies != null) {
                 debug("Build succeeded, with compilation. Updating config.");
-                storeConfig();
+                storeConfig(session);
             } else {
                 debug("Build succeeded, without compilation");
                 invalidateConfig();
@@ -155,30 +189,74 @@ public class MavenProjectConfigCollector extends AbstractMavenLifecycleParticipa
 
     private void collectConfig(MavenProject project, MavenSession session, Xpp3Dom pluginConfig) {
         final Path projectDir = project.getBasedir().toPath();
-        final ProjectConfig config = ProjectConfig.projectConfig(projectDir);
-        final List<Artifact> dependencies = dependencies(project, session);
+        modules.put(projectDir, new ModuleConfig(project, pluginConfig));
+        if (projectDir.equals(applicationDir)) {
+            dependencies = dependencies(project, session);
+        }
+
+        // Make the session available to our dev loop code for incremental builds
+        CurrentMavenSession.set(session);
+    }
+
+    private void storeConfig(MavenSession session) {
+        final ModuleConfig application = modules.get(applicationDir);
+        final ProjectConfig config = ProjectConfig.projectConfig(supportedProjectDir);
+        final MavenProject project = application.project;
         final String helidonVersion = helidonVersion(dependencies);
-        final Path outputDir = projectDir.resolve(project.getBuild().getOutputDirectory());
-        final List<String> classesDirs = List.of(outputDir.toString());
-        final List<String> resourceDirs = project.getResources()
-                                                 .stream()
-                                                 .map(MavenProjectConfigCollector::format)
-                                                 .collect(Collectors.toList());
         if (helidonVersion != null) {
             config.property(HELIDON_VERSION, helidonVersion);
         }
-        config.property(PROJECT_DEPENDENCIES, dependencyFiles(dependencies));
         config.property(PROJECT_MAINCLASS, project.getProperties().getProperty(MAIN_CLASS_PROPERTY));
         config.property(PROJECT_VERSION, project.getVersion());
-        config.property(PROJECT_CLASSDIRS, classesDirs);
-        config.property(PROJECT_SOURCEDIRS, project.getCompileSourceRoots());
-        config.property(PROJECT_SOURCE_INCLUDES, toList(pluginConfig, "includes"));
-        config.property(PROJECT_SOURCE_EXCLUDES, toList(pluginConfig, "excludes"));
-        config.property(PROJECT_RESOURCEDIRS, resourceDirs);
-        this.projectConfig = config;
+        application.store(config, property -> property);
+
+        // Modules, in build order
+
+        new ArrayList<>(config.keySet()).stream()
+                                        .filter(key -> key.equals(PROJECT_MODULES) || key.startsWith(PROJECT_MODULE_PREFIX))
+                                        .forEach(config::remove);
+        final List<MavenProject> upstream = session.getProjects().size() == 1
+                ? emptyList()
+                : session.getProjectDependencyGraph().getUpstreamProjects(project, true);
+        final List<ModuleConfig> moduleConfigs = new ArrayList<>();
+        if (!upstream.isEmpty()) {
+            for (ModuleConfig module : modules.values()) {
+                if (module == application || upstream.contains(module.project)) {
+                    moduleConfigs.add(module);
+                }
+            }
+        }
+        final Set<String> moduleArtifacts = moduleConfigs.stream()
+                                                         .map(module -> module.project)
+                                                         .map(p -> p.getGroupId() + ":" + p.getArtifactId())
+                                                         .collect(Collectors.toSet());
+        if (!moduleConfigs.isEmpty()) {
+            config.property(PROJECT_MODULES, moduleConfigs.stream()
+                                                          .map(module -> module.project.getBasedir().toString())
+                                                          .collect(Collectors.toList()));
+            for (int i = 0; i < moduleConfigs.size(); i++) {
+                final ModuleConfig module = moduleConfigs.get(i);
+                final int index = i;
+                module.store(config, property -> moduleProperty(index, property));
+                config.property(moduleProperty(index, MODULE_UPSTREAM),
+                                session.getProjectDependencyGraph()
+                                       .getUpstreamProjects(module.project, false)
+                                       .stream()
+                                       .filter(p -> moduleArtifacts.contains(p.getGroupId() + ":" + p.getArtifactId()))
+                                       .map(p -> p.getBasedir().toString())
+                                       .collect(Collectors.toList()));
+            }
+        }
 
-        // Make the session available to our dev loop code for incremental builds
-        CurrentMavenSession.set(session);
+        // The modules are used from their output directories
+
+        config.property(PROJECT_DEPENDENCIES,
+                        dependencyFiles(dependencies.stream()
+                                                    .filter(a -> !moduleArtifacts.contains(a.getGroupId() + ":"
+                                                                                           + a.getArtifactId()))
+                                                    .collect(Collectors.toList())));
+        config.buildSucceeded();
+        config.store();
     }
 
     private static String format(Resource resource) {
@@ -233,13 +311,8 @@ public class MavenProjectConfigCollector extends AbstractMavenLifecycleParticipa
                            .findFirst().orElse(null);
     }
 
-    private void storeConfig() {
-        projectConfig.buildSucceeded();
-        projectConfig.store();
-    }
-
     private void invalidateConfig() {
-        projectConfig = ProjectConfig.projectConfig(supportedProjectDir);
+        final ProjectConfig projectConfig = ProjectConfig.projectConfig(supportedProjectDir);
         projectConfig.buildFailed();
         projectConfig.store();
     }
@@ -259,6 +332,40 @@ public class MavenProjectConfigCollector extends AbstractMavenLifecycleParticipa
         }
     }
 
+    /**
+     * The settings of a compiled module.
+     */
+    private static final class ModuleConfig {
+        private final MavenProject project;
+        private final List<String> classesDirs;
+        private final List<String> sourceDirs;
+        private final List<String> sourceIncludes;
+        private final List<String> sourceExcludes;
+        private final List<String> resourceDirs;
+
+        private ModuleConfig(MavenProject project, Xpp3Dom pluginConfig) {
+            final Path projectDir = project.getBasedir().toPath();
+            final Path outputDir = projectDir.resolve(project.getBuild().getOutputDirectory());
+            this.project = project;
+            this.classesDirs = List.of(outputDir.toString());
+            this.sourceDirs = List.copyOf(project.getCompileSourceRoots());
+            this.sourceIncludes = toList(pluginConfig, "includes");
+            this.sourceExcludes = toList(pluginConfig, "excludes");
+            this.resourceDirs = project.getResources()
+                                       .stream()
+                                       .map(MavenProjectConfigCollector::format)
+                                       .collect(Collectors.toList());
+        }
+
+        private void store(ProjectConfig config, Function<String, String> propertyName) {
+            config.property(propertyName.apply(PROJECT_CLASSDIRS), classesDirs);
+            config.property(propertyName.apply(PROJECT_SOURCEDIRS), sourceDirs);
+            config.property(propertyName.apply(PROJECT_SOURCE_INCLUDES), sourceIncludes);
+            config.property(propertyName.apply(PROJECT_SOURCE_EXCLUDES), sourceExcludes);
+            config.property(propertyName.apply(PROJECT_RESOURCEDIRS), resourceDirs);
+        }
+    }
+
     private class EventListener implements ExecutionListener {
         private final ExecutionListener next;
 
@@ -22,10 +22,15 @@ import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -35,26 +40,33 @@ import io.helidon.build.common.FileChanges.DetectionType;
 import io.helidon.build.common.PathFilters;
 import io.helidon.build.common.Requirements;
 import io.helidon.build.common.logging.Log;
+import io.helidon.build.devloop.BuildComponent;
 import io.helidon.build.devloop.BuildExecutor;
 import io.helidon.build.devloop.BuildRoot;
 import io.helidon.build.devloop.BuildRootType;
 import io.helidon.build.devloop.BuildStep;
 import io.helidon.build.devloop.BuildType;
 import io.helidon.build.devloop.DirectoryType;
+import io.helidon.build.devloop.IncrementalCompiler;
 import io.helidon.build.devloop.Project;
 import io.helidon.build.devloop.Project.Builder;
 import io.helidon.build.devloop.ProjectDirectory;
+import io.helidon.build.devloop.ProjectModule;
 import io.helidon.build.devloop.ProjectSupplier;
+import io.helidon.build.devloop.maven.DevLoopBuildConfig.IncrementalBuildConfig;
 import io.helidon.build.devloop.maven.DevLoopBuildConfig.IncrementalBuildConfig.CustomDirectoryConfig;
 
 import static io.helidon.build.cli.common.CliProperties.ENABLE_HELIDON_CLI;
+import static io.helidon.build.cli.common.ProjectConfig.MODULE_UPSTREAM;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_CLASSDIRS;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_DEPENDENCIES;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_MAINCLASS;
+import static io.helidon.build.cli.common.ProjectConfig.PROJECT_MODULES;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_RESOURCEDIRS;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_SOURCEDIRS;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_SOURCE_EXCLUDES;
 import static io.helidon.build.cli.common.ProjectConfig.PROJECT_SOURCE_INCLUDES;
+import static io.helidon.build.cli.common.ProjectConfig.moduleProperty;
 import static io.helidon.build.cli.common.ProjectConfig.projectConfig;
 import static io.helidon.build.common.FileChanges.DetectionType.FIRST;
 import static io.helidon.build.common.FileChanges.DetectionType.LATEST;
@@ -66,6 +78,7 @@ import static io.helidon.build.devloop.BuildFile.createBuildFile;
 import static io.helidon.build.devloop.BuildRoot.createBuildRoot;
 import static io.helidon.build.devloop.BuildRootType.matchesJavaClass;
 import static io.helidon.build.devloop.ProjectDirectory.createProjectDirectory;
+import static io.helidon.build.devloop.ProjectModule.createProjectModule;
 import static java.util.Collections.emptyList;
 
 /**
@@ -228,13 +241,73 @@ public class MavenProjectSupplier implements ProjectSupplier {
         // Main class
         builder.mainClassName(projectConfig.property(PROJECT_MAINCLASS));
 
-        // Finally, add build components
+        // Finally, add build components, per module if multi-module
 
-        final List<String> sourceDirs = projectConfig.propertyAsList(PROJECT_SOURCEDIRS);
-        final List<String> sourceIncludes = projectConfig.propertyAsList(PROJECT_SOURCE_INCLUDES);
-        final List<String> sourceExcludes = projectConfig.propertyAsList(PROJECT_SOURCE_EXCLUDES);
-        final List<String> classesDirs = projectConfig.propertyAsList(PROJECT_CLASSDIRS);
-        final List<String> resourcesDirs = projectConfig.propertyAsList(PROJECT_RESOURCEDIRS);
+        final List<String> moduleDirs = projectConfig.propertyAsList(PROJECT_MODULES);
+        List<BuildRoot> classesRoots;
+        Path applicationModuleDir = null;
+        if (moduleDirs.isEmpty()) {
+            classesRoots = addComponents(builder::component, projectDir, property -> property, null);
+        } else {
+            classesRoots = emptyList();
+            final Map<String, ProjectModule> modules = new HashMap<>();
+            for (int i = 0; i < moduleDirs.size(); i++) {
+                final int index = i;
+                final Path moduleDir = Path.of(moduleDirs.get(i));
+                final List<ProjectModule> upstream = projectConfig.propertyAsList(moduleProperty(index, MODULE_UPSTREAM))
+                                                                  .stream()
+                                                                  .map(modules::get)
+                                                                  .filter(Objects::nonNull)
+                                                                  .collect(Collectors.toList());
+                final ProjectModule module = createProjectModule(moduleDir.getFileName().toString(), moduleDir, upstream);
+                classesRoots = addComponents(module::component, moduleDir, p -> moduleProperty(index, p), moduleDir);
+                builder.buildFile(createBuildFile(root, requireFile(moduleDir.resolve(POM_FILE))));
+                builder.module(module);
+                modules.put(moduleDirs.get(i), module);
+                applicationModuleDir = moduleDir;
+            }
+        }
+
+        // Add custom components
+        // See issue https://github.com/oracle/helidon-build-tools/issues/280 regarding custom output roots
+
+        for (CustomDirectoryConfig customDir : buildConfig.incrementalBuild().customDirectories()) {
+            Path directory = customDir.path();
+            if (Files.isDirectory(directory)) {
+                BiPredicate<Path, Path> includes = customDir.includes();
+                BuildRootType buildRootType = BuildRootType.create(DirectoryType.Custom, includes);
+                BuildRoot sources = createBuildRoot(buildRootType, directory);
+                for (BuildRoot classes : classesRoots) {
+                    builder.component(createBuildComponent(sources, classes,
+                                                           customDirectorySteps(customDir, applicationModuleDir)));
+                }
+            } else {
+                Log.warn("%s not found", directory);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Add the java source and resource components of a project or module.
+     *
+     * @param components The component consumer.
+     * @param projectDir The project or module directory.
+     * @param propertyName Maps a config property name to the name used for this project or module.
+     * @param moduleDir The module directory, {@code null} if not multi-module.
+     * @return The classes roots.
+     */
+    private List<BuildRoot> addComponents(Consumer<BuildComponent> components,
+                                          Path projectDir,
+                                          Function<String, String> propertyName,
+                                          Path moduleDir) {
+
+        final List<String> sourceDirs = projectConfig.propertyAsList(propertyName.apply(PROJECT_SOURCEDIRS));
+        final List<String> sourceIncludes = projectConfig.propertyAsList(propertyName.apply(PROJECT_SOURCE_INCLUDES));
+        final List<String> sourceExcludes = projectConfig.propertyAsList(propertyName.apply(PROJECT_SOURCE_EXCLUDES));
+        final List<String> classesDirs = projectConfig.propertyAsList(propertyName.apply(PROJECT_CLASSDIRS));
+        final List<String> resourcesDirs = projectConfig.propertyAsList(propertyName.apply(PROJECT_RESOURCEDIRS));
 
         // Map classesDirs to a list of BuildRoots so can re-use as the outputRoot for all components
         // See issue https://github.com/oracle/helidon-build-tools/issues/280 regarding output roots
@@ -255,7 +328,7 @@ public class MavenProjectSupplier implements ProjectSupplier {
             BuildRootType sourceRootType = BuildRootType.create(DirectoryType.JavaSources, filter);
             BuildRoot sources = createBuildRoot(sourceRootType, sourceDirPath);
             for (BuildRoot classes : classesRoots) {
-                builder.component(createBuildComponent(sources, classes, compileSteps()));
+                components.accept(createBuildComponent(sources, classes, compileSteps(moduleDir)));
             }
         }
 
@@ -286,41 +359,40 @@ public class MavenProjectSupplier implements ProjectSupplier {
                 BuildRootType buildRootType = BuildRootType.create(DirectoryType.Resources, filter);
                 BuildRoot resources = createBuildRoot(buildRootType, resourcesDirPath);
                 for (BuildRoot classes : classesRoots) {
-                    builder.component(createBuildComponent(resources, classes, resourcesSteps()));
+                    components.accept(createBuildComponent(resources, classes, resourcesSteps(moduleDir)));
                 }
             }
         }
+        return classesRoots;
+    }
 
-        // Add custom components
-        // See issue https://github.com/oracle/helidon-build-tools/issues/280 regarding custom output roots
-
-        for (CustomDirectoryConfig customDir : buildConfig.incrementalBuild().customDirectories()) {
-            Path directory = customDir.path();
-            if (Files.isDirectory(directory)) {
-                BiPredicate<Path, Path> includes = customDir.includes();
-                BuildRootType buildRootType = BuildRootType.create(DirectoryType.Custom, includes);
-                BuildRoot sources = createBuildRoot(buildRootType, directory);
-                for (BuildRoot classes : classesRoots) {
-                    builder.component(createBuildComponent(sources, classes, customDirectorySteps(customDir)));
-                }
-            } else {
-                Log.warn("%s not found", directory);
+    private List<BuildStep> compileSteps(Path moduleDir) {
+        final IncrementalBuildConfig config = buildConfig.incrementalBuild();
+        final List<MavenGoal> goals = goals(config.javaSourceGoals(), moduleDir);
+        if (config.inProcessCompiler()) {
+            final Optional<IncrementalCompiler> compiler = CompilerGoalConfig.compiler(goals);
+            if (compiler.isPresent()) {
+                return List.of(compiler.get());
             }
         }
-
-        return builder.build();
+        return new ArrayList<>(goals);
     }
 
-    private List<BuildStep> compileSteps() {
-        return new ArrayList<>(buildConfig.incrementalBuild().javaSourceGoals());
+    private List<BuildStep> resourcesSteps(Path moduleDir) {
+        return new ArrayList<>(goals(buildConfig.incrementalBuild().resourceGoals(), moduleDir));
     }
 
-    private List<BuildStep> resourcesSteps() {
-        return new ArrayList<>(buildConfig.incrementalBuild().resourceGoals());
+    private List<BuildStep> customDirectorySteps(CustomDirectoryConfig customDir, Path moduleDir) {
+        return new ArrayList<>(goals(customDir.goals(), moduleDir));
     }
 
-    private List<BuildStep> customDirectorySteps(CustomDirectoryConfig customDir) {
-        return new ArrayList<>(customDir.goals());
+    private static List<MavenGoal> goals(List<MavenGoal> goals, Path moduleDir) {
+        if (moduleDir == null) {
+            return goals;
+        }
+        return goals.stream()
+                    .map(goal -> goal.inProject(moduleDir))
+                    .collect(Collectors.toList());
     }
 
     private static BiPredicate<Path, Path> filter(List<String> includes, List<String> excludes) {
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.mode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.helidon.build.common.JavaProcessBuilder;
+import io.helidon.build.common.logging.Log;
+
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.lastModifiedTime;
+import static io.helidon.build.common.FileUtils.listFiles;
+import static io.helidon.build.common.FileUtils.touch;
+
+/**
+ * Maintains a class data sharing archive of the dependencies of an application started by the dev loop.
+ * <p>
+ * The first run of the application records the loaded classes. When it stops, an archive is dumped in the background
+ * from the dependency jars. Later runs use the archive until the dependencies change.
+ * <p>
+ * Only classes loaded from jar files can be archived, and the archive is only used if the dependencies are a prefix of
+ * the class path: the class directories must follow the dependencies.
+ */
+final class ApplicationClassDataSharing {
+    private static final String XSHARE_DUMP = "-Xshare:dump";
+    private static final String XX_DUMP_LOADED_CLASS_LIST = "-XX:DumpLoadedClassList=";
+    private static final String XX_SHARED_ARCHIVE_FILE = "-XX:SharedArchiveFile=";
+    private static final String XX_SHARED_CLASS_LIST_FILE = "-XX:SharedClassListFile=";
+    private static final String CACHE_DIR_NAME = "helidon-dev-cds";
+    private static final String ARCHIVE_SUFFIX = ".jsa";
+    private static final String CLASS_LIST_SUFFIX = ".classlist";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final Duration MAX_AGE = Duration.ofDays(7);
+    private static final long DUMP_TIMEOUT_SECONDS = 5 * 60;
+    private static final Set<Path> DUMPING = ConcurrentHashMap.newKeySet();
+    private static final Set<Path> FAILED = ConcurrentHashMap.newKeySet();
+
+    private final String javaExec;
+    private final List<Path> dependencies;
+    private final Path archiveFile;
+    private final Path classListFile;
+
+    private ApplicationClassDataSharing(String javaExec, List<Path> dependencies, Path cacheDir, String key) {
+        this.javaExec = javaExec;
+        this.dependencies = dependencies;
+        this.archiveFile = cacheDir.resolve(key + ARCHIVE_SUFFIX);
+        this.classListFile = cacheDir.resolve(key + CLASS_LIST_SUFFIX);
+    }
+
+    /**
+     * Create the archive support for the given dependencies.
+     *
+     * @param javaExec     The java executable.
+     * @param dependencies The dependency jars, in class path order.
+     * @return The instance.
+     */
+    static ApplicationClassDataSharing create(String javaExec, List<Path> dependencies) {
+        return create(javaExec, dependencies, Path.of(System.getProperty("java.io.tmpdir"), CACHE_DIR_NAME));
+    }
+
+    /**
+     * Create the archive support for the given dependencies.
+     *
+     * @param javaExec     The java executable.
+     * @param dependencies The dependency jars, in class path order.
+     * @param cacheDir     The directory of the archives.
+     * @return The instance.
+     */
+    static ApplicationClassDataSharing create(String javaExec, List<Path> dependencies, Path cacheDir) {
+        return new ApplicationClassDataSharing(javaExec, dependencies, cacheDir, key(javaExec, dependencies));
+    }
+
+    /**
+     * Returns the JVM options to start the application with: use the archive if it exists, otherwise record the loaded
+     * classes if not already done.
+     *
+     * @return The options.
+     */
+    List<String> jvmOptions() {
+        if (Files.isRegularFile(archiveFile)) {
+            touch(archiveFile);
+            return List.of(XX_SHARED_ARCHIVE_FILE + archiveFile);
+        } else if (Files.exists(classListFile) || FAILED.contains(archiveFile)) {
+            return List.of();
+        } else {
+            ensureDirectory(classListFile.getParent());
+            return List.of(XX_DUMP_LOADED_CLASS_LIST + classListFile);
+        }
+    }
+
+    /**
+     * Dump the archive in the background if the classes have been recorded and the archive does not exist yet.
+     *
+     * @return The thread dumping the archive, empty if not started.
+     */
+    Optional<Thread> applicationStopped() {
+        if (!Files.exists(archiveFile) && Files.exists(classListFile) && DUMPING.add(archiveFile)) {
+            final Thread thread = new Thread(this::dump, "helidon-dev-cds");
+            thread.setDaemon(true);
+            thread.start();
+            return Optional.of(thread);
+        }
+        return Optional.empty();
+    }
+
+    private void dump() {
+        final Path tmpFile = archiveFile.resolveSibling(archiveFile.getFileName() + TMP_SUFFIX);
+        try {
+            deleteStale();
+            final String classPath = dependencies.stream()
+                                                 .map(Path::toString)
+                                                 .collect(Collectors.joining(File.pathSeparator));
+            final Process process = JavaProcessBuilder.newInstance()
+                                                      .command(javaExec,
+                                                               XSHARE_DUMP,
+                                                               XX_SHARED_CLASS_LIST_FILE + classListFile,
+                                                               XX_SHARED_ARCHIVE_FILE + tmpFile,
+                                                               "-cp", classPath)
+                                                      .redirectErrorStream(true)
+                                                      .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                                                      .start();
+            if (!process.waitFor(DUMP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("Timeout");
+            }
+            if (process.exitValue() != 0 || !Files.exists(tmpFile)) {
+                throw new IllegalStateException("Exit code " + process.exitValue());
+            }
+            Files.move(tmpFile, archiveFile, StandardCopyOption.ATOMIC_MOVE);
+            Log.debug("Created class data sharing archive %s", archiveFile);
+        } catch (Exception e) {
+            Log.debug("Unable to create class data sharing archive %s: %s", archiveFile, e.getMessage());
+            FAILED.add(archiveFile);
+        } finally {
+            try {
+                Files.deleteIfExists(tmpFile);
+                Files.deleteIfExists(classListFile);
+            } catch (IOException ignore) {
+                // Deleted with the stale files
+            }
+            DUMPING.remove(archiveFile);
+        }
+    }
+
+    private void deleteStale() throws IOException {
+        final Instant maxTime = Instant.now().minus(MAX_AGE);
+        for (Path file : listFiles(archiveFile.getParent(), name -> true)) {
+            if (lastModifiedTime(file).toInstant().isBefore(maxTime)) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static String key(String javaExec, List<Path> dependencies) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, realPath(Path.of(javaExec)));
+            for (Path dependency : dependencies) {
+                update(digest, dependency.toString());
+                update(digest, String.valueOf(Files.size(dependency)));
+                update(digest, String.valueOf(lastModifiedTime(dependency).toMillis()));
+            }
+            final StringBuilder key = new StringBuilder();
+            final byte[] hash = digest.digest();
+            for (int i = 0; i < 16; i++) {
+                key.append(String.format("%02x", hash[i]));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String realPath(Path path) {
+        try {
+            return path.toRealPath().toString();
+        } catch (IOException e) {
+            return path.toString();
+        }
+    }
+}
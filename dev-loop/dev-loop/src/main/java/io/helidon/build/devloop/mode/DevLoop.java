@@ -16,10 +16,14 @@
 
 package io.helidon.build.devloop.mode;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.helidon.build.common.logging.Log;
@@ -32,6 +36,7 @@ import io.helidon.build.devloop.Project;
 import io.helidon.build.devloop.ProjectSupplier;
 import io.helidon.build.devloop.maven.DevLoopBuildConfig;
 import io.helidon.build.devloop.maven.EmbeddedMavenExecutor;
+import io.helidon.build.devloop.mode.DevLoopMetrics.Metric;
 
 import static io.helidon.build.common.ansi.AnsiTextStyles.Bold;
 import static io.helidon.build.common.ansi.AnsiTextStyles.BoldBlue;
@@ -59,6 +64,7 @@ public class DevLoop {
     private final BuildExecutor buildExecutor;
     private final ProjectSupplier projectSupplier;
     private final boolean initialClean;
+    private final DevLoopMonitor monitor;
 
     /**
      * Create a dev loop.
@@ -77,8 +83,31 @@ public class DevLoop {
                    List<String> appJvmArgs,
                    List<String> appArgs,
                    DevLoopBuildConfig config) {
+        this(rootDir, projectSupplier, initialClean, terminalMode, appJvmArgs, appArgs, config, false);
+    }
+
+    /**
+     * Create a dev loop.
+     * @param rootDir Project's root.
+     * @param projectSupplier Project supplier.
+     * @param initialClean Clean flag.
+     * @param terminalMode {@code true} for terminal output.
+     * @param appJvmArgs The application JVM arguments.
+     * @param appArgs The application arguments.
+     * @param config The build config.
+     * @param reload {@code true} to reload the changed classes in the running application instead of restarting it.
+     */
+    public DevLoop(Path rootDir,
+                   ProjectSupplier projectSupplier,
+                   boolean initialClean,
+                   boolean terminalMode,
+                   List<String> appJvmArgs,
+                   List<String> appArgs,
+                   DevLoopBuildConfig config,
+                   boolean reload) {
         this.terminalMode = terminalMode;
-        DevLoopMonitor monitor = new DevLoopMonitor(terminalMode, projectSupplier.buildFileName(), appJvmArgs, appArgs, config);
+        this.monitor = new DevLoopMonitor(terminalMode, projectSupplier.buildFileName(), appJvmArgs, appArgs, config,
+                                                    reload);
         this.buildExecutor = new EmbeddedMavenExecutor(rootDir, monitor);
         this.initialClean = initialClean;
         this.projectSupplier = projectSupplier;
@@ -92,7 +121,20 @@ public class DevLoop {
      */
     public void start(int maxWaitInSeconds) throws Exception {
         BuildLoop loop = newLoop(buildExecutor, initialClean, false);
-        run(loop, maxWaitInSeconds);
+
+        // The loop is usually ended with Ctrl-C
+
+        final Thread reportHook = new Thread(monitor::report);
+        Runtime.getRuntime().addShutdownHook(reportHook);
+        try {
+            run(loop, maxWaitInSeconds);
+        } finally {
+            try {
+                Runtime.getRuntime().removeShutdownHook(reportHook);
+            } catch (IllegalStateException ignore) {
+                // Shutting down
+            }
+        }
     }
 
     static class DevLoopMonitor implements BuildMonitor {
@@ -111,12 +153,24 @@ public class DevLoop {
         private final AtomicInteger remainingFullBuildFailures;
         private final AtomicInteger remainingIncrementalBuildFailures;
         private final AtomicInteger remainingApplicationFailures;
+        private final boolean reload;
+        private final boolean classDataSharing;
+        private boolean reloadPending;
+        private final DevLoopMetrics metrics;
+        private final File metricsFile;
+        private final AtomicBoolean reported;
+        private long loopStartTime;
+        private long changeTime;
+        private long launchTime;
+        private long lastStopMillis;
+        private boolean firstReady;
 
         private DevLoopMonitor(boolean terminalMode,
                                String buildFileName,
                                List<String> appJvmArgs,
                                List<String> appArgs,
-                               DevLoopBuildConfig config) {
+                               DevLoopBuildConfig config,
+                               boolean reload) {
             this.terminalMode = terminalMode;
             this.buildFileName = buildFileName;
             this.appJvmArgs = appJvmArgs;
@@ -124,6 +178,12 @@ public class DevLoop {
             this.remainingFullBuildFailures = new AtomicInteger(config.fullBuild().maxBuildFailures());
             this.remainingIncrementalBuildFailures = new AtomicInteger(config.incrementalBuild().maxBuildFailures());
             this.remainingApplicationFailures = new AtomicInteger(config.maxApplicationFailures());
+            this.reload = reload;
+            this.classDataSharing = config.classDataSharing();
+            this.metrics = new DevLoopMetrics();
+            this.metricsFile = config.metricsFile();
+            this.reported = new AtomicBoolean();
+            this.lastStopMillis = -1;
         }
 
         private void header() {
@@ -136,6 +196,7 @@ public class DevLoop {
 
         @Override
         public void onStarted() {
+            loopStartTime = System.nanoTime();
             header();
         }
 
@@ -151,12 +212,26 @@ public class DevLoop {
             }
         }
 
+        @Override
+        public void onChanged(int cycleNumber, ChangeType type, FileTime changeTime) {
+            metrics.record(Metric.DETECTION, System.currentTimeMillis() - changeTime.toMillis());
+            onChanged(cycleNumber, type);
+        }
+
         @Override
         public void onChanged(int cycleNumber, ChangeType type) {
+            changeTime = System.nanoTime();
             header();
             log("%s", BoldBlue.apply(type + " " + DEV_LOOP_PROJECT_CHANGED));
             lastChangeType = type;
-            ensureStop();
+            if (reload && type == ChangeType.SourceFile && projectExecutor != null && projectExecutor.isRunning()) {
+
+                // Keep the application running, the changes are reloaded once built
+
+                reloadPending = true;
+            } else {
+                ensureStop();
+            }
         }
 
         @Override
@@ -178,6 +253,7 @@ public class DevLoop {
         public void onBuildSuccess(int cycleNumber, BuildType type) {
             if (type != BuildType.Skipped) {
                 long elapsedTime = System.currentTimeMillis() - buildStartTime;
+                metrics.record(type == Incremental ? Metric.INCREMENTAL_BUILD : Metric.FULL_BUILD, elapsedTime);
                 float elapsedSeconds = elapsedTime / 1000F;
                 String operation = cycleNumber == 0 ? "build " : "rebuild ";
                 log("%s (%.1f seconds)", BoldBlue.apply(operation + DEV_LOOP_BUILD_COMPLETED), elapsedSeconds);
@@ -226,8 +302,20 @@ public class DevLoop {
 
         @Override
         public long onReady(int cycleNumber, Project project) {
+            if (reloadPending) {
+                reloadPending = false;
+                final long reloadStartTime = System.nanoTime();
+                if (projectExecutor.reload()) {
+                    metrics.record(Metric.RELOAD, millisSince(reloadStartTime));
+                    recordCycle(System.nanoTime());
+                } else {
+                    ensureStop();
+                }
+            }
             if (projectExecutor == null) {
-                projectExecutor = new ProjectExecutor(project, terminalMode ? LOG_PREFIX : null, appJvmArgs, appArgs);
+                projectExecutor = new ProjectExecutor(project, terminalMode ? LOG_PREFIX : null, appJvmArgs, appArgs, reload,
+                                                      classDataSharing);
+                launchTime = System.nanoTime();
                 projectExecutor.start();
             }
             return ON_READY_DELAY;
@@ -235,6 +323,9 @@ public class DevLoop {
 
         @Override
         public NextAction onCycleEnd(int cycleNumber) {
+            if (projectExecutor != null && launchTime != 0 && projectExecutor.readyTime() != 0) {
+                applicationStarted(projectExecutor.readyTime());
+            }
             if (projectExecutor == null) {
                 return CONTINUE;
             } else if (projectExecutor.isRunning()) {
@@ -262,13 +353,67 @@ public class DevLoop {
         @Override
         public void onStopped() {
             ensureStop();
+            report();
         }
 
         private void ensureStop() {
+            reloadPending = false;
+            launchTime = 0;
             if (projectExecutor != null) {
                 final ProjectExecutor executor = projectExecutor;
                 projectExecutor = null;
+                final long stopStartTime = System.nanoTime();
                 executor.stop();
+                lastStopMillis = millisSince(stopStartTime);
+                metrics.record(Metric.APPLICATION_STOP, lastStopMillis);
+            }
+        }
+
+        private void applicationStarted(long startedTime) {
+            final long startMillis = (startedTime - launchTime) / 1_000_000;
+            launchTime = 0;
+            metrics.record(Metric.APPLICATION_START, startMillis);
+            if (lastStopMillis >= 0) {
+                metrics.record(Metric.RESTART, lastStopMillis + startMillis);
+                lastStopMillis = -1;
+            }
+            if (!firstReady) {
+                firstReady = true;
+                metrics.record(Metric.FIRST_READY, (startedTime - loopStartTime) / 1_000_000);
+            }
+            recordCycle(startedTime);
+        }
+
+        private void recordCycle(long readyTime) {
+            if (changeTime != 0) {
+                metrics.record(Metric.CYCLE, (readyTime - changeTime) / 1_000_000);
+                changeTime = 0;
+            }
+        }
+
+        private static long millisSince(long startTime) {
+            return (System.nanoTime() - startTime) / 1_000_000;
+        }
+
+        /**
+         * Log the timings summary and write the metrics file, once.
+         */
+        void report() {
+            if (reported.getAndSet(true)) {
+                return;
+            }
+            final List<String> summary = metrics.summary();
+            if (!summary.isEmpty()) {
+                Log.info();
+                summary.forEach(line -> log("%s", line));
+            }
+            if (metricsFile != null) {
+                try {
+                    metrics.write(metricsFile.toPath());
+                    log("timings written to %s", metricsFile);
+                } catch (IOException e) {
+                    Log.warn("Unable to write %s: %s", metricsFile, e.getMessage());
+                }
             }
         }
     }
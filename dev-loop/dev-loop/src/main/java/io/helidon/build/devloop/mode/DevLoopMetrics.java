@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.mode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+
+/**
+ * Timings recorded over a dev loop session.
+ */
+final class DevLoopMetrics {
+
+    /**
+     * The recorded timings.
+     */
+    enum Metric {
+
+        /**
+         * From the last file change to its detection by the build loop.
+         */
+        DETECTION("detection"),
+
+        /**
+         * Duration of a full build.
+         */
+        FULL_BUILD("build.full"),
+
+        /**
+         * Duration of an incremental build.
+         */
+        INCREMENTAL_BUILD("build.incremental"),
+
+        /**
+         * Duration of an application stop.
+         */
+        APPLICATION_STOP("application.stop"),
+
+        /**
+         * From an application launch to its server started message.
+         */
+        APPLICATION_START("application.start"),
+
+        /**
+         * Application stop and start.
+         */
+        RESTART("restart"),
+
+        /**
+         * Duration of a class reload.
+         */
+        RELOAD("reload"),
+
+        /**
+         * From a change detection to the application being ready.
+         */
+        CYCLE("cycle"),
+
+        /**
+         * From the dev loop start to the application being ready for the first time.
+         */
+        FIRST_READY("firstReady");
+
+        private final String label;
+
+        Metric(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Returns the label.
+         *
+         * @return The label.
+         */
+        String label() {
+            return label;
+        }
+    }
+
+    private final Map<Metric, Histogram> histograms;
+
+    /**
+     * Constructor.
+     */
+    DevLoopMetrics() {
+        this.histograms = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            histograms.put(metric, new Histogram());
+        }
+    }
+
+    /**
+     * Record a timing.
+     *
+     * @param metric The metric.
+     * @param millis The timing in milliseconds, ignored if negative.
+     */
+    void record(Metric metric, long millis) {
+        if (millis >= 0) {
+            histograms.get(metric).record(millis);
+        }
+    }
+
+    /**
+     * Returns the histogram of a metric.
+     *
+     * @param metric The metric.
+     * @return The histogram.
+     */
+    Histogram histogram(Metric metric) {
+        return histograms.get(metric);
+    }
+
+    /**
+     * Returns a human-readable summary of the recorded timings.
+     *
+     * @return The summary lines, empty if nothing was recorded.
+     */
+    List<String> summary() {
+        final List<String> lines = new ArrayList<>();
+        for (Map.Entry<Metric, Histogram> entry : histograms.entrySet()) {
+            final Histogram histogram = entry.getValue();
+            if (histogram.count() > 0) {
+                if (lines.isEmpty()) {
+                    lines.add(String.format("%-20s %6s %8s %8s %8s %8s %8s",
+                                            "timings (ms)", "count", "min", "p50", "p90", "max", "mean"));
+                }
+                lines.add(String.format("%-20s %6d %8d %8d %8d %8d %8d",
+                                        entry.getKey().label(),
+                                        histogram.count(),
+                                        histogram.min(),
+                                        histogram.percentile(50),
+                                        histogram.percentile(90),
+                                        histogram.max(),
+                                        histogram.mean()));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the recorded timings as JSON.
+     *
+     * @return The JSON document.
+     */
+    String toJson() {
+        final StringBuilder json = new StringBuilder("{\n");
+        final List<String> entries = new ArrayList<>();
+        for (Map.Entry<Metric, Histogram> entry : histograms.entrySet()) {
+            final Histogram histogram = entry.getValue();
+            final List<Long> samples = histogram.samples();
+            entries.add(String.format("  \"%s\": {\"count\": %d, \"min\": %d, \"p50\": %d, \"p90\": %d, \"p99\": %d, "
+                                      + "\"max\": %d, \"mean\": %d, \"samples\": [%s]}",
+                                      entry.getKey().label(),
+                                      histogram.count(),
+                                      histogram.min(),
+                                      histogram.percentile(50),
+                                      histogram.percentile(90),
+                                      histogram.percentile(99),
+                                      histogram.max(),
+                                      histogram.mean(),
+                                      samples.stream().map(String::valueOf).collect(Collectors.joining(", "))));
+        }
+        json.append(String.join(",\n", entries));
+        return json.append("\n}\n").toString();
+    }
+
+    /**
+     * Write the recorded timings as JSON.
+     *
+     * @param file The file.
+     * @throws IOException If an I/O error occurs.
+     */
+    void write(Path file) throws IOException {
+        ensureDirectory(file.toAbsolutePath().getParent());
+        Files.writeString(file, toJson(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The samples of a metric, in milliseconds.
+     */
+    static final class Histogram {
+        private final List<Long> samples = new ArrayList<>();
+
+        private synchronized void record(long millis) {
+            samples.add(millis);
+        }
+
+        /**
+         * Returns the samples, in recording order.
+         *
+         * @return The samples.
+         */
+        synchronized List<Long> samples() {
+            return List.copyOf(samples);
+        }
+
+        /**
+         * Returns the number of samples.
+         *
+         * @return The count.
+         */
+        synchronized int count() {
+            return samples.size();
+        }
+
+        /**
+         * Returns the minimum sample.
+         *
+         * @return The minimum, {@code 0} if empty.
+         */
+        synchronized long min() {
+            return samples.isEmpty() ? 0 : Collections.min(samples);
+        }
+
+        /**
+         * Returns the maximum sample.
+         *
+         * @return The maximum, {@code 0} if empty.
+         */
+        synchronized long max() {
+            return samples.isEmpty() ? 0 : Collections.max(samples);
+        }
+
+        /**
+         * Returns the rounded mean of the samples.
+         *
+         * @return The mean, {@code 0} if empty.
+         */
+        synchronized long mean() {
+            return samples.isEmpty() ? 0 : Math.round(samples.stream().mapToLong(Long::longValue).average().orElse(0));
+        }
+
+        /**
+         * Returns a percentile of the samples, using the nearest rank.
+         *
+         * @param percentile The percentile, between {@code 0} and {@code 100}.
+         * @return The percentile, {@code 0} if empty.
+         */
+        synchronized long percentile(double percentile) {
+            if (samples.isEmpty()) {
+                return 0;
+            }
+            final List<Long> sorted = new ArrayList<>(samples);
+            Collections.sort(sorted);
+            final int rank = (int) Math.ceil(percentile / 100 * sorted.size());
+            return sorted.get(Math.max(0, Math.min(sorted.size(), rank) - 1));
+        }
+    }
+}
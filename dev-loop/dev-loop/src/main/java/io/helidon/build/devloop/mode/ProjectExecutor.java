@@ -17,9 +17,14 @@
 package io.helidon.build.devloop.mode;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import io.helidon.build.common.JavaProcessBuilder;
@@ -27,7 +32,13 @@ import io.helidon.build.common.OSType;
 import io.helidon.build.common.PrintStreams;
 import io.helidon.build.common.ProcessMonitor;
 import io.helidon.build.common.ansi.ConsoleUtils;
+import io.helidon.build.common.logging.Log;
+import io.helidon.build.devloop.BuildComponent;
+import io.helidon.build.devloop.BuildRoot;
+import io.helidon.build.devloop.DirectoryType;
 import io.helidon.build.devloop.Project;
+import io.helidon.build.devloop.reload.ReloadAgent;
+import io.helidon.build.devloop.reload.ReloadClient;
 
 import static io.helidon.build.common.PrintStreams.STDERR;
 import static io.helidon.build.common.PrintStreams.STDOUT;
@@ -35,6 +46,8 @@ import static io.helidon.build.common.ansi.AnsiTextStyles.BoldBrightCyan;
 import static io.helidon.build.common.ansi.AnsiTextStyles.BoldBrightGreen;
 import static io.helidon.build.common.ansi.AnsiTextStyles.BoldBrightRed;
 import static io.helidon.build.common.ansi.AnsiTextStyles.BoldYellow;
+import static io.helidon.build.devloop.common.DevLoopMessages.DEV_LOOP_APPLICATION_RELOADED;
+import static io.helidon.build.devloop.common.DevLoopMessages.DEV_LOOP_APPLICATION_RESTARTED;
 import static io.helidon.build.devloop.common.DevLoopMessages.DEV_LOOP_APPLICATION_STARTING;
 import static io.helidon.build.devloop.common.DevLoopMessages.DEV_LOOP_APPLICATION_STOPPED;
 import static io.helidon.build.devloop.common.DevLoopMessages.DEV_LOOP_APPLICATION_STOPPING;
@@ -50,12 +63,24 @@ public class ProjectExecutor {
     private static final String STARTING = BoldBrightGreen.apply(DEV_LOOP_APPLICATION_STARTING);
     private static final String STOPPING = BoldYellow.apply(DEV_LOOP_APPLICATION_STOPPING);
     private static final String STOPPED = BoldBrightRed.apply(DEV_LOOP_APPLICATION_STOPPED);
+    private static final String RELOADED = BoldBrightGreen.apply(DEV_LOOP_APPLICATION_RELOADED);
+    private static final String RESTARTED = BoldBrightGreen.apply(DEV_LOOP_APPLICATION_RESTARTED);
+    private static final String JAVA_AGENT = "-javaagent:";
+    private static final String ADD_OPENS = "--add-opens";
+    private static final String OPEN_JAVA_LANG = "java.base/java.lang=ALL-UNNAMED";
+    private static final String CLASS_FILE_SUFFIX = ".class";
     private static final long ERROR_MESSAGES_DONE_NANOS = 100 * 1000;
     private static final List<String> EXIT_MESSAGE_FRAGMENTS = List.of(
             "JDWP exit error",
             "BindException: Address already in use",
             "--enable-preview"
     );
+    private static final List<String> READY_MESSAGE_FRAGMENTS = List.of(
+            "WEB server is up!",            // Helidon SE quickstart
+            "Server started on",            // Helidon MP 2.x and 3.x
+            "Channel '@default' started",   // Helidon SE 2.x and 3.x
+            "Started all channels"          // Helidon 4.x
+    );
 
     private final Project project;
     private final String logPrefix;
@@ -63,8 +88,13 @@ public class ProjectExecutor {
     private ProcessMonitor processMonitor;
     private final List<String> appJvmArgs;
     private final List<String> appArgs;
+    private final boolean reload;
+    private final boolean classDataSharing;
     private final StringBuilder stdErrBuf;
+    private ReloadClient reloadClient;
+    private ApplicationClassDataSharing cds;
     private boolean hasExitMessage;
+    private volatile long readyTime;
     private long lastErrorMessageTime;
 
     /**
@@ -79,11 +109,33 @@ public class ProjectExecutor {
                            String logPrefix,
                            List<String> appJvmArgs,
                            List<String> appArgs) {
+        this(project, logPrefix, appJvmArgs, appArgs, false, false);
+    }
+
+    /**
+     * Create an executor from a project.
+     *
+     * @param project The project.
+     * @param logPrefix The log prefix.
+     * @param appJvmArgs The application JVM arguments.
+     * @param appArgs The application arguments.
+     * @param reload {@code true} to start the application with a {@link ReloadAgent}.
+     * @param classDataSharing {@code true} to start the application with a class data sharing archive of its
+     * dependencies.
+     */
+    public ProjectExecutor(Project project,
+                           String logPrefix,
+                           List<String> appJvmArgs,
+                           List<String> appArgs,
+                           boolean reload,
+                           boolean classDataSharing) {
         this.project = project;
         this.logPrefix = logPrefix;
         this.name = BoldBrightCyan.apply(project.name());
         this.appJvmArgs = appJvmArgs;
         this.appArgs = appArgs;
+        this.reload = reload;
+        this.classDataSharing = classDataSharing;
         this.stdErrBuf = new StringBuilder();
     }
 
@@ -104,14 +156,81 @@ public class ProjectExecutor {
         command.add(JAVA_EXEC);
         command.add(JIT_LEVEL_ONE);             // Faster startup but longer warmup to peak perf
         command.add(JIT_TWO_COMPILER_THREADS);  // Faster startup but longer warmup to peak perf
-        command.add("-cp");
-        command.add(classPathString());
-        command.addAll(appJvmArgs);
+        if (classDataSharing) {
+            cds = ApplicationClassDataSharing.create(JAVA_EXEC, dependencyPaths());
+            command.addAll(cds.jvmOptions());
+        }
+        if (reload) {
+            try {
+                reloadClient = ReloadClient.create();
+                command.add(JAVA_AGENT + ReloadClient.agentJar());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            command.add(ADD_OPENS);
+            command.add(OPEN_JAVA_LANG);
+            command.add("-cp");
+            command.add(toPathString(dependencyPaths()));
+            command.addAll(appJvmArgs);
+            command.add(ReloadAgent.class.getName());
+            command.add(String.valueOf(reloadClient.port()));
+            command.add(toPathString(classesPaths()));
+        } else if (classDataSharing) {
+
+            // The archive is only used if the dependencies come first, the classes of the dependencies then take
+            // precedence over the project classes. This is why class data sharing is opt-in
+
+            final List<Path> classPath = new ArrayList<>(dependencyPaths());
+            classPath.addAll(classesPaths());
+            command.add("-cp");
+            command.add(toPathString(classPath));
+            command.addAll(appJvmArgs);
+        } else {
+            command.add("-cp");
+            command.add(classPathString());
+            command.addAll(appJvmArgs);
+        }
         command.add(project.mainClassName());
         command.addAll(appArgs);
         start(command);
     }
 
+    /**
+     * Reload the classes changed by the last incremental build in the running application.
+     *
+     * @return {@code true} if reloaded, {@code false} if the application must be restarted.
+     */
+    public boolean reload() {
+        if (reloadClient == null || !isRunning()) {
+            return false;
+        }
+        final List<String> classNames = new ArrayList<>();
+        boolean restart = false;
+        for (BuildRoot.Changes changes : project.incrementalChanges()) {
+            final DirectoryType type = changes.root().buildType().directoryType();
+            if (type == DirectoryType.JavaClasses) {
+                final Path root = changes.root().path();
+                changes.addedOrModified().forEach(file -> classNames.add(className(root, file)));
+                restart |= !changes.removed().isEmpty();
+            } else if (type != DirectoryType.JavaSources) {
+                restart = true;
+            }
+        }
+        if (classNames.isEmpty() && !restart) {
+            return true;
+        }
+        try {
+            final ReloadClient.Result result = reloadClient.reload(classNames, restart);
+            stateChanged(result == ReloadClient.Result.RELOADED ? RELOADED : RESTARTED);
+            STDOUT.println();
+            STDOUT.flush();
+            return true;
+        } catch (IOException e) {
+            Log.debug("Unable to reload %s: %s", project.name(), e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Stop execution.
      *
@@ -136,6 +255,10 @@ public class ProjectExecutor {
                 processMonitor.stop();
             } finally {
                 processMonitor = null;
+                closeReloadClient();
+                if (cds != null) {
+                    cds.applicationStopped();
+                }
             }
             if (verbose) {
                 stateChanged(STOPPED);
@@ -176,6 +299,16 @@ public class ProjectExecutor {
         return lastErrorMessageTime > 0;
     }
 
+    /**
+     * Returns the {@link System#nanoTime()} at which the application logged that its server is started, since it was
+     * started.
+     *
+     * @return The time, {@code 0} if the application is not ready yet or does not log a known started message.
+     */
+    public long readyTime() {
+        return readyTime;
+    }
+
     private void stateChanged(String state) {
         if (logPrefix == null) {
             STDOUT.printf("%s %s", name, state);
@@ -186,6 +319,7 @@ public class ProjectExecutor {
 
     private void start(List<String> command) {
         lastErrorMessageTime = 0;
+        readyTime = 0;
         ProcessBuilder processBuilder = JavaProcessBuilder.newInstance()
                                                           .directory(project.root().path().toFile())
                                                           .command(command);
@@ -196,7 +330,7 @@ public class ProjectExecutor {
             this.processMonitor = ProcessMonitor.builder()
                                                 .processBuilder(processBuilder)
                                                 .afterShutdown(ConsoleUtils::reset)
-                                                .stdOut(STDOUT)
+                                                .stdOut(PrintStreams.delegate(STDOUT, this::printStdOut))
                                                 .stdErr(PrintStreams.delegate(STDERR, this::printStdErr))
                                                 .capture(true)
                                                 .build()
@@ -206,7 +340,13 @@ public class ProjectExecutor {
         }
     }
 
+    private void printStdOut(PrintStream stdOut, String str) {
+        outputReceived(str);
+        stdOut.print(str);
+    }
+
     private void printStdErr(PrintStream stdErr, String str) {
+        outputReceived(str);
         if (!str.endsWith("\n") || str.endsWith("\r")) {
             stdErrBuf.append(str);
         }
@@ -222,6 +362,58 @@ public class ProjectExecutor {
         stdErr.print(str);
     }
 
+    private void outputReceived(String str) {
+        if (readyTime == 0) {
+            for (String readyMessageFragment : READY_MESSAGE_FRAGMENTS) {
+                if (str.contains(readyMessageFragment)) {
+                    readyTime = System.nanoTime();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void closeReloadClient() {
+        if (reloadClient != null) {
+            try {
+                reloadClient.close();
+            } catch (IOException e) {
+                Log.debug("Unable to close reload client: %s", e.getMessage());
+            } finally {
+                reloadClient = null;
+            }
+        }
+    }
+
+    private Set<Path> classesPaths() {
+        return project.components()
+                      .stream()
+                      .map(BuildComponent::outputRoot)
+                      .filter(root -> root.buildType().directoryType() == DirectoryType.JavaClasses)
+                      .map(BuildRoot::path)
+                      .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private List<Path> dependencyPaths() {
+        final Set<Path> classesPaths = classesPaths();
+        return project.classpath()
+                      .stream()
+                      .map(File::toPath)
+                      .filter(path -> !classesPaths.contains(path))
+                      .collect(Collectors.toList());
+    }
+
+    private static String toPathString(Collection<Path> paths) {
+        return paths.stream()
+                    .map(path -> path.toAbsolutePath().toString())
+                    .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static String className(Path root, Path classFile) {
+        final String path = root.relativize(classFile).toString();
+        return path.substring(0, path.length() - CLASS_FILE_SUFFIX.length()).replace(File.separatorChar, '.');
+    }
+
     private String classPathString() {
         List<String> paths = project.classpath().stream()
                                     .map(File::getAbsolutePath).collect(Collectors.toList());
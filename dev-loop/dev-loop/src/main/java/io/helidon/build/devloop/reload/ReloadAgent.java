@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.reload;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.instrument.Instrumentation;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Java agent and launcher of a reloadable application.
+ * <p>
+ * The application classes are loaded by a {@link ReloadableApplication discardable class loader}, the dependencies are
+ * loaded by the system class loader. The agent connects back to the dev loop and executes the reload requests: the
+ * changed classes are redefined in place if possible, otherwise the application is restarted in a new class loader.
+ * <p>
+ * This class runs in the application JVM, it must only depend on the JDK.
+ */
+public final class ReloadAgent {
+
+    /**
+     * Reload request.
+     */
+    static final String RELOAD = "reload";
+
+    /**
+     * Reply sent when the classes have been redefined.
+     */
+    static final String RELOADED = "reloaded";
+
+    /**
+     * Reply sent when the application has been restarted in a new class loader.
+     */
+    static final String RESTARTED = "restarted";
+
+    /**
+     * Reply sent when the reload failed, the application process should be restarted.
+     */
+    static final String FAILED = "failed";
+
+    private static volatile Instrumentation instrumentation;
+
+    private ReloadAgent() {
+    }
+
+    /**
+     * Agent entry point.
+     *
+     * @param args            The agent arguments, ignored.
+     * @param instrumentation The instrumentation.
+     */
+    public static void premain(String args, Instrumentation instrumentation) {
+        ReloadAgent.instrumentation = instrumentation;
+    }
+
+    /**
+     * Launcher entry point.
+     *
+     * @param args The dev loop port, the class directories separated by {@link File#pathSeparator}, the main class
+     *             name, then the application arguments.
+     * @throws Exception If an error occurs.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: <port> <class-directories> <main-class> [args...]");
+        }
+        final int port = Integer.parseInt(args[0]);
+        final List<Path> classDirectories = new ArrayList<>();
+        for (String directory : args[1].split(File.pathSeparator)) {
+            classDirectories.add(Path.of(directory));
+        }
+        final String[] appArgs = Arrays.copyOfRange(args, 3, args.length);
+        final ReloadableApplication application = new ReloadableApplication(classDirectories, args[2], appArgs,
+                                                                             instrumentation);
+        final Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        final Thread thread = new Thread(() -> serve(socket, application), "helidon-dev-reload");
+        thread.setDaemon(true);
+        thread.start();
+        application.start();
+    }
+
+    private static void serve(Socket socket, ReloadableApplication application) {
+        try (socket;
+             DataInputStream in = new DataInputStream(socket.getInputStream());
+             DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+            while (true) {
+                final String request = in.readUTF();
+                if (!RELOAD.equals(request)) {
+                    throw new IOException("Unknown request: " + request);
+                }
+                final int count = in.readInt();
+                final List<String> classNames = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    classNames.add(in.readUTF());
+                }
+                final boolean restart = in.readBoolean();
+                String reply;
+                String message = "";
+                try {
+                    if (!restart && application.redefine(classNames)) {
+                        reply = RELOADED;
+                    } else {
+                        application.restart();
+                        reply = RESTARTED;
+                    }
+                } catch (Throwable e) {
+                    reply = FAILED;
+                    message = String.valueOf(e);
+                }
+                out.writeUTF(reply);
+                out.writeUTF(message);
+                out.flush();
+            }
+        } catch (IOException ignore) {
+            // The dev loop is gone
+        }
+    }
+}
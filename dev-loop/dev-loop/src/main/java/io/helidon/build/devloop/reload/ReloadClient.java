@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.reload;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.jar.Attributes;
+
+import io.helidon.build.common.logging.Log;
+import io.helidon.build.devloop.util.ClassesJar;
+
+/**
+ * The dev loop side of a {@link ReloadAgent}.
+ * <p>
+ * The client listens on a loopback port, the agent of the application connects to it when the application starts.
+ */
+public final class ReloadClient implements Closeable {
+    private static final String AGENT_JAR_PREFIX = "helidon-dev-reload";
+    private static final String PREMAIN_CLASS = "Premain-Class";
+    private static final String CAN_REDEFINE_CLASSES = "Can-Redefine-Classes";
+    private static final List<Class<?>> AGENT_CLASSES = List.of(ReloadAgent.class, ReloadableApplication.class);
+    private static final int CONNECT_TIMEOUT_MILLIS = 30000;
+    private static Path agentJar;
+
+    private final ServerSocket serverSocket;
+    private Socket socket;
+    private DataInputStream in;
+    private DataOutputStream out;
+
+    /**
+     * The result of a reload.
+     */
+    public enum Result {
+
+        /**
+         * The changed classes have been redefined in place.
+         */
+        RELOADED,
+
+        /**
+         * The application has been restarted in a new class loader.
+         */
+        RESTARTED
+    }
+
+    private ReloadClient(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    /**
+     * Returns a new client listening on an ephemeral loopback port.
+     *
+     * @return The client.
+     * @throws IOException If an error occurs.
+     */
+    public static ReloadClient create() throws IOException {
+        return new ReloadClient(new ServerSocket(0, 1, InetAddress.getLoopbackAddress()));
+    }
+
+    /**
+     * Returns the agent jar file, creating it if needed.
+     *
+     * @return The jar file.
+     * @throws IOException If an error occurs.
+     */
+    public static synchronized Path agentJar() throws IOException {
+        if (agentJar == null || !Files.exists(agentJar)) {
+            final Attributes attributes = new Attributes();
+            attributes.put(new Attributes.Name(PREMAIN_CLASS), ReloadAgent.class.getName());
+            attributes.put(new Attributes.Name(CAN_REDEFINE_CLASSES), "true");
+            agentJar = ClassesJar.create(AGENT_JAR_PREFIX, attributes, AGENT_CLASSES);
+        }
+        return agentJar;
+    }
+
+    /**
+     * Returns the port to pass to the agent.
+     *
+     * @return The port.
+     */
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Reload the application.
+     *
+     * @param classNames The binary names of the changed classes.
+     * @param restart    {@code true} if the application must be restarted, e.g. because resources changed.
+     * @return The result.
+     * @throws IOException If the reload failed, the application should be restarted.
+     */
+    public Result reload(Collection<String> classNames, boolean restart) throws IOException {
+        connect();
+        out.writeUTF(ReloadAgent.RELOAD);
+        out.writeInt(classNames.size());
+        for (String className : classNames) {
+            out.writeUTF(className);
+        }
+        out.writeBoolean(restart);
+        out.flush();
+        final String reply = in.readUTF();
+        final String message = in.readUTF();
+        Log.debug("Reload of %d classes: %s %s", classNames.size(), reply, message);
+        switch (reply) {
+            case ReloadAgent.RELOADED:
+                return Result.RELOADED;
+            case ReloadAgent.RESTARTED:
+                return Result.RESTARTED;
+            default:
+                throw new IOException("Reload failed: " + message);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (socket != null) {
+                socket.close();
+            }
+        } finally {
+            serverSocket.close();
+        }
+    }
+
+    private void connect() throws IOException {
+        if (socket == null) {
+            serverSocket.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+            socket = serverSocket.accept();
+            in = new DataInputStream(socket.getInputStream());
+            out = new DataOutputStream(socket.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.reload;
+
+import java.io.IOException;
+import java.lang.instrument.ClassDefinition;
+import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An application loaded by a discardable class loader.
+ * <p>
+ * A restart runs the shutdown hooks registered by the application to stop it, discards the class loader and invokes
+ * the main class again in a new class loader. The classes of the dependencies are loaded by the parent class loader,
+ * they stay loaded and compiled across restarts.
+ * <p>
+ * Accessing the shutdown hooks requires {@code --add-opens java.base/java.lang=ALL-UNNAMED}.
+ */
+final class ReloadableApplication {
+    private static final String SHUTDOWN_HOOKS_CLASS = "java.lang.ApplicationShutdownHooks";
+    private static final String SHUTDOWN_HOOKS_FIELD = "hooks";
+    private static final String CLASS_SUFFIX = ".class";
+    private static final long MAIN_TIMEOUT_MILLIS = 10000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+    private final URL[] urls;
+    private final List<Path> classDirectories;
+    private final String mainClassName;
+    private final String[] args;
+    private final Instrumentation instrumentation;
+    private URLClassLoader classLoader;
+
+    ReloadableApplication(List<Path> classDirectories, String mainClassName, String[] args, Instrumentation instrumentation)
+            throws MalformedURLException {
+        this.urls = new URL[classDirectories.size()];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = classDirectories.get(i).toUri().toURL();
+        }
+        this.classDirectories = classDirectories;
+        this.mainClassName = mainClassName;
+        this.args = args;
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * Start the application in a new class loader, in the current thread.
+     *
+     * @throws Exception If an error occurs.
+     */
+    void start() throws Exception {
+        final ClassLoader parent = ReloadableApplication.class.getClassLoader();
+        classLoader = new URLClassLoader("app", urls, parent);
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            final Method main = classLoader.loadClass(mainClassName).getMethod("main", String[].class);
+            main.invoke(null, (Object) args.clone());
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * Redefine the given classes in place, from the class files in the class directories.
+     *
+     * @param classNames The binary names of the changed classes.
+     * @return {@code true} if the classes have been redefined, {@code false} if they must be reloaded.
+     * @throws IOException If an error occurs while reading a class file.
+     */
+    boolean redefine(List<String> classNames) throws IOException {
+        if (instrumentation == null || !instrumentation.isRedefineClassesSupported()) {
+            return false;
+        }
+        final Map<String, Class<?>> loaded = new HashMap<>();
+        for (Class<?> clazz : instrumentation.getInitiatedClasses(classLoader)) {
+            if (clazz.getClassLoader() == classLoader) {
+                loaded.put(clazz.getName(), clazz);
+            }
+        }
+        final List<ClassDefinition> definitions = new ArrayList<>();
+        for (String className : classNames) {
+            final Class<?> clazz = loaded.get(className);
+            if (clazz != null) {
+
+                // Classes that are not loaded yet are read from the class directories when needed
+
+                final Path classFile = classFile(className);
+                if (classFile == null) {
+                    return false;
+                }
+                definitions.add(new ClassDefinition(clazz, Files.readAllBytes(classFile)));
+            }
+        }
+        try {
+            instrumentation.redefineClasses(definitions.toArray(new ClassDefinition[0]));
+            return true;
+        } catch (UnsupportedOperationException | ClassNotFoundException | UnmodifiableClassException | LinkageError e) {
+
+            // Schema change, e.g. a method was added
+
+            return false;
+        }
+    }
+
+    /**
+     * Stop the application by running its shutdown hooks and start it again in a new class loader.
+     *
+     * @throws Exception If an error occurs.
+     */
+    void restart() throws Exception {
+
+        // Stop from a non daemon thread, the JVM exits if the threads of the application are the only non daemon threads.
+        // The thread is created by the agent daemon thread, it would inherit the daemon status
+
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                stop();
+                start();
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        }, "main");
+        thread.setDaemon(false);
+        thread.start();
+
+        // The main method of most applications returns once started. If the shutdown hooks or the main method are
+        // still running after the timeout the application is in an unknown state, the client restarts the JVM
+
+        thread.join(SHUTDOWN_TIMEOUT_MILLIS + MAIN_TIMEOUT_MILLIS);
+        if (thread.isAlive()) {
+            throw new IllegalStateException("Restart timed out");
+        }
+        if (error.get() != null) {
+            throw new IllegalStateException("Restart failed", error.get());
+        }
+    }
+
+    private void stop() throws Exception {
+
+        // The hooks of the application are created by the application threads, they inherit the context class loader
+
+        final List<Thread> hooks = new ArrayList<>();
+        for (Thread hook : shutdownHooks()) {
+            if (hook.getContextClassLoader() == classLoader || hook.getClass().getClassLoader() == classLoader) {
+                hooks.add(hook);
+            }
+        }
+        for (Thread hook : hooks) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException ignore) {
+                // Already running
+            }
+            hook.start();
+        }
+        for (Thread hook : hooks) {
+            hook.join(SHUTDOWN_TIMEOUT_MILLIS);
+        }
+        classLoader.close();
+    }
+
+    private Path classFile(String className) {
+        final String fileName = className.replace('.', '/') + CLASS_SUFFIX;
+        for (Path directory : classDirectories) {
+            final Path classFile = directory.resolve(fileName);
+            if (Files.isRegularFile(classFile)) {
+                return classFile;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Thread> shutdownHooks() throws Exception {
+        final Field field = Class.forName(SHUTDOWN_HOOKS_CLASS).getDeclaredField(SHUTDOWN_HOOKS_FIELD);
+        field.setAccessible(true);
+        final Class<?> lock = field.getDeclaringClass();
+        synchronized (lock) {
+            final Map<Thread, Thread> hooks = (Map<Thread, Thread>) field.get(null);
+            return hooks == null ? new HashSet<>() : new HashSet<>(hooks.keySet());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates temporary jar files from loaded classes, used to run a few dev loop classes in another JVM without the rest
+ * of the dev loop jar.
+ */
+public final class ClassesJar {
+    private static final String JAR_SUFFIX = ".jar";
+    private static final String CLASS_SUFFIX = ".class";
+
+    private ClassesJar() {
+    }
+
+    /**
+     * Create a temporary jar file, deleted on exit.
+     *
+     * @param prefix     The file name prefix.
+     * @param attributes The main manifest attributes.
+     * @param classes    The classes, including any nested class.
+     * @return The jar file.
+     * @throws IOException If an error occurs.
+     */
+    public static Path create(String prefix, Attributes attributes, List<Class<?>> classes) throws IOException {
+        final Path jar = Files.createTempFile(prefix, JAR_SUFFIX);
+        jar.toFile().deleteOnExit();
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putAll(attributes);
+        try (OutputStream os = Files.newOutputStream(jar);
+             JarOutputStream jos = new JarOutputStream(os, manifest)) {
+            for (Class<?> clazz : classes) {
+                final String path = clazz.getName().replace('.', '/') + CLASS_SUFFIX;
+                try (InputStream is = requireNonNull(clazz.getClassLoader().getResourceAsStream(path), path)) {
+                    jos.putNextEntry(new JarEntry(path));
+                    is.transferTo(jos);
+                    jos.closeEntry();
+                }
+            }
+        }
+        return jar;
+    }
+}
@@ -23,6 +23,7 @@ import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.helidon.build.common.FileChanges.DetectionType;
@@ -41,6 +42,7 @@ import static io.helidon.build.devloop.TestUtils.newLoop;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
@@ -314,6 +316,54 @@ class BuildLoopTestIT {
         assertThat(allOutput, containsString("Copying " + resourceFilesTouched.get() + " resource files"));
     }
 
+    @ParameterizedTest
+    @ConfigurationParameterSource("basedir")
+    void testSeResourceChangeWhileWatching(String basedir) throws Exception {
+        final Path projectDir = Path.of(basedir);
+        final long readyDelay = 5000;
+        final AtomicLong touchedTime = new AtomicLong();
+        final AtomicLong changedTime = new AtomicLong();
+        final AtomicInteger changedCycle = new AtomicInteger(-1);
+        Path resourceFile = projectDir.resolve("src/main/resources/application.yaml");
+        final TestMonitor monitor = new TestMonitor(4) {
+            @Override
+            public void onCycleStart(int cycleNumber) {
+                super.onCycleStart(cycleNumber);
+                if (cycleNumber == 2) {
+                    touch(resourceFile);
+                    touchedTime.set(System.currentTimeMillis());
+                }
+            }
+
+            @Override
+            public void onChanged(int cycleNumber, ChangeType type) {
+                super.onChanged(cycleNumber, type);
+                if (changedCycle.compareAndSet(-1, cycleNumber)) {
+                    changedTime.set(System.currentTimeMillis());
+                }
+            }
+
+            @Override
+            public long onReady(int cycleNumber, Project project) {
+                super.onReady(cycleNumber, project);
+                return readyDelay;
+            }
+        };
+
+        final BuildLoop loop = newLoop(projectDir, false, false, true, monitor);
+        TestUtils.run(loop);
+
+        assertThat(monitor.stopped(), is(true));
+        assertThat(changedCycle.get(), is(greaterThanOrEqualTo(2)));
+
+        // The change is picked up when the watch service wakes up the loop, not after the delay
+        final int cycle = changedCycle.get();
+        assertThat(monitor.changeType(cycle), is(ChangeType.SourceFile));
+        assertThat(monitor.buildType(cycle), is(BuildType.Incremental));
+        assertThat(monitor.buildFailed(cycle), is(nullValue()));
+        assertThat(changedTime.get() - touchedTime.get(), is(lessThan(readyDelay)));
+    }
+
     @ParameterizedTest
     @ConfigurationParameterSource("basedir")
     void testSePomFileChangeWhileRunning(String basedir) throws Exception {
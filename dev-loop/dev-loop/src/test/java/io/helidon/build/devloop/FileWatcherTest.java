@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.FileUtils.delete;
+import static io.helidon.build.common.FileUtils.deleteDirectory;
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.ensureFile;
+import static io.helidon.build.common.FileUtils.touch;
+import static io.helidon.build.common.FileUtils.unique;
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit test for class {@link FileWatcher}.
+ */
+class FileWatcherTest {
+
+    private static final long TIMEOUT = 10000;
+    private static final long DEBOUNCE = 200;
+
+    @Test
+    void testChangesDetected() throws Exception {
+        final Optional<FileWatcher> optionalWatcher = FileWatcher.create();
+        assumeTrue(optionalWatcher.isPresent(), "Native watch service not supported");
+        final Path sourceDir = ensureDirectory(unique(targetDir(FileWatcherTest.class), "file-watcher-ut")
+                .resolve("src/main/java"));
+        final Path source1 = newFile(sourceDir.resolve("com/acme/Source1.java"));
+        final Path source2 = newFile(sourceDir.resolve("com/acme/Source2.java"));
+        final Path source3 = newFile(sourceDir.resolve("com/acme/Source3.java"));
+        final BuildRoot root = BuildRoot.createBuildRoot(BuildRootType.javaSources(), sourceDir);
+        try (FileWatcher watcher = optionalWatcher.get().register(root)) {
+
+            // Initial re-scan
+            assertThat(root.changes().isEmpty(), is(true));
+            assertThat(watcher.requiresRescan(root), is(false));
+
+            touch(source1);
+            assertThat(watcher.await(TIMEOUT, DEBOUNCE), is(true));
+            BuildRoot.Changes changes = root.changes();
+            assertThat(changes.size(), is(1));
+            assertThat(changes.modified().contains(source1), is(true));
+
+            final Path added1 = newFile(sourceDir.resolve("com/acme/foo/bar/Added1.java"));
+            final Path added2 = newFile(sourceDir.resolve("com/acme/foo/bar/Added2.java"));
+            delete(source2);
+            assertThat(watcher.await(TIMEOUT, DEBOUNCE), is(true));
+            changes = root.changes();
+            assertThat(changes.size(), is(4));
+            assertThat(changes.added().contains(added1), is(true));
+            assertThat(changes.added().contains(added2), is(true));
+            assertThat(changes.removed().contains(source2), is(true));
+
+            root.update();
+            assertThat(root.changes().isEmpty(), is(true));
+            assertThat(root.list().size(), is(4));
+
+            // Files created after the registration of a new directory
+            final Path added3 = newFile(sourceDir.resolve("com/acme/foo/bar/Added3.java"));
+            assertThat(watcher.await(TIMEOUT, DEBOUNCE), is(true));
+            changes = root.changes();
+            assertThat(changes.size(), is(1));
+            assertThat(changes.added().contains(added3), is(true));
+
+            // Removed directory
+            deleteDirectory(sourceDir.resolve("com/acme/foo"));
+            delete(source3);
+            assertThat(watcher.await(TIMEOUT, DEBOUNCE), is(true));
+            root.update();
+            assertThat(root.changes().isEmpty(), is(true));
+            assertThat(root.list().size(), is(1));
+        }
+        assertThat(root.changes().isEmpty(), is(true));
+    }
+
+    private static Path newFile(Path file) {
+        ensureDirectory(file.getParent());
+        return ensureFile(file);
+    }
+}
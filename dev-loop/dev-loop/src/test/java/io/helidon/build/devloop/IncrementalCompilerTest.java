@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.ToolProvider;
+
+import io.helidon.build.cli.common.ProjectConfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.FileUtils.delete;
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.ensureFile;
+import static io.helidon.build.common.FileUtils.lastModifiedTime;
+import static io.helidon.build.common.FileUtils.touch;
+import static io.helidon.build.common.FileUtils.unique;
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static io.helidon.build.devloop.BuildComponent.createBuildComponent;
+import static io.helidon.build.devloop.BuildFile.createBuildFile;
+import static io.helidon.build.devloop.BuildRoot.createBuildRoot;
+import static io.helidon.build.devloop.ProjectDirectory.createProjectDirectory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for class {@link IncrementalCompiler}.
+ */
+class IncrementalCompilerTest {
+
+    private Path sourceDir;
+    private Path classesDir;
+    private BuildComponent component;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path projectDir = unique(targetDir(IncrementalCompilerTest.class), "incremental-compiler-ut");
+        sourceDir = ensureDirectory(projectDir.resolve("src/main/java/com/acme"));
+        classesDir = ensureDirectory(projectDir.resolve("target/classes"));
+        source("Base", "public class Base { public int base() { return 1; } }");
+        source("User", "public class User { int use() { return new Base().base(); } }");
+        source("Sub", "public class Sub extends Base { }");
+        source("SubUser", "public class SubUser { int use() { return new Sub().base(); } }");
+        source("Other", "public class Other { }");
+        source("Constants", "public class Constants { public static final String NAME = \"foo\"; }");
+        source("ConstantsUser", "public class ConstantsUser { String name() { return Constants.NAME; } }");
+
+        // Full build
+        final List<String> args = new ArrayList<>(List.of("-d", classesDir.toString()));
+        try (Stream<Path> stream = Files.list(sourceDir)) {
+            args.addAll(stream.map(Path::toString).collect(Collectors.toList()));
+        }
+        assertThat(ToolProvider.getSystemJavaCompiler().run(null, null, null, args.toArray(new String[0])), is(0));
+
+        ensureFile(ProjectConfig.toDotHelidon(projectDir));
+        final ProjectDirectory root = createProjectDirectory(DirectoryType.Project, projectDir);
+        final BuildRoot sources = createBuildRoot(BuildRootType.javaSources(), projectDir.resolve("src/main/java"));
+        final BuildRoot classes = createBuildRoot(BuildRootType.javaClasses(), classesDir);
+        final IncrementalCompiler compiler = IncrementalCompiler.create(List.of(), StandardCharsets.UTF_8, null)
+                                                                .orElseThrow();
+        component = createBuildComponent(sources, classes, compiler);
+        Project.builder()
+               .buildType(BuildType.Incremental)
+               .rootDirectory(root)
+               .buildFile(createBuildFile(root, ensureFile(projectDir.resolve("pom.xml"))))
+               .dependency(projectDir.resolve("lib"))
+               .mainClassName("com.acme.Main")
+               .component(component)
+               .build();
+        output = new ByteArrayOutputStream();
+    }
+
+    @Test
+    void testDependentsCompiled() throws Exception {
+        final Path otherClass = classesDir.resolve("com/acme/Other.class");
+        final long otherTime = lastModifiedTime(otherClass).toMillis();
+
+        touch(sourceDir.resolve("Base.java"));
+        build();
+        assertThat(output.toString(), containsString("Compiling 4 source files"));
+        assertThat(lastModifiedTime(otherClass).toMillis(), is(otherTime));
+
+        touch(sourceDir.resolve("User.java"));
+        build();
+        assertThat(output.toString(), containsString("Compiling 1 source file "));
+    }
+
+    @Test
+    void testConstantsCompileAll() throws Exception {
+        touch(sourceDir.resolve("Constants.java"));
+        build();
+        assertThat(output.toString(), containsString("Compiling 7 source files"));
+    }
+
+    @Test
+    void testRemovedSource() throws Exception {
+        delete(sourceDir.resolve("Other.java"));
+        build();
+        assertThat(output.toString(), is(""));
+        assertThat(Files.exists(classesDir.resolve("com/acme/Other.class")), is(false));
+
+        delete(sourceDir.resolve("Sub.java"));
+        assertThrows(Exception.class, this::build);
+        assertThat(output.toString(), containsString("Compiling 1 source file "));
+        assertThat(Files.exists(classesDir.resolve("com/acme/SubUser.class")), is(false));
+    }
+
+    @Test
+    void testFailedSourcesCompiledAgain() throws Exception {
+        source("User", "public class User { int use() { return new Base().missing(); } }");
+        assertThrows(Exception.class, this::build);
+
+        source("Base", "public class Base { public int base() { return 1; } public int missing() { return 2; } }");
+        build();
+        assertThat(output.toString(), containsString("Compiling 4 source files"));
+        assertThat(Files.exists(classesDir.resolve("com/acme/User.class")), is(true));
+    }
+
+    private void build() throws Exception {
+        output.reset();
+        final BuildRoot.Changes changes = component.sourceRoot().changes();
+        try (PrintStream stdOut = new PrintStream(output, true, StandardCharsets.UTF_8)) {
+            component.incrementalBuild(changes, stdOut, System.err);
+        } finally {
+            component.update();
+        }
+    }
+
+    private void source(String name, String body) throws IOException {
+        final Path file = sourceDir.resolve(name + ".java");
+        final boolean exists = Files.exists(file);
+        Files.writeString(file, "package com.acme;\n" + body + "\n");
+        if (exists) {
+            touch(file);
+        }
+    }
+}
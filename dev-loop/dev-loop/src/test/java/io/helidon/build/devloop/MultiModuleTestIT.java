@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.devloop;
+
+import java.nio.file.Path;
+
+import io.helidon.build.common.logging.Log;
+import io.helidon.build.common.test.utils.ConfigurationParameterSource;
+import io.helidon.build.devloop.maven.MultiModuleProjectSupplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import static io.helidon.build.common.FileUtils.lastModifiedTime;
+import static io.helidon.build.common.FileUtils.touch;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Integration test of a {@link BuildLoop} for a multi-module project.
+ */
+@Tag("multi-module")
+class MultiModuleTestIT {
+
+    private static final String GREETER = "lib/src/main/java/io/helidon/build/devloop/tests/lib/Greeter.java";
+    private static final String MAIN_CLASS = "app/target/classes/io/helidon/build/devloop/tests/app/Main.class";
+
+    @ParameterizedTest
+    @ConfigurationParameterSource("basedir")
+    void testUpstreamChangeBuildsDownstreamModule(String basedir) throws Exception {
+        final Path projectDir = Path.of(basedir);
+        final long mainClassTime = lastModifiedTime(projectDir.resolve(MAIN_CLASS)).toMillis();
+        final TestMonitor monitor = run(projectDir, true, 3);
+
+        assertThat(monitor.changed(2), is(true));
+        assertThat(monitor.changeType(2), is(ChangeType.SourceFile));
+        assertThat(monitor.buildType(2), is(BuildType.Incremental));
+        assertThat(monitor.buildFailed(2), is(nullValue()));
+        assertThat(monitor.changed(3), is(false));
+        assertThat(monitor.buildStart(3), is(false));
+
+        // Main uses Greeter, the app module is compiled in process
+        assertThat(lastModifiedTime(projectDir.resolve(MAIN_CLASS)).toMillis(), is(not(mainClassTime)));
+    }
+
+    @ParameterizedTest
+    @ConfigurationParameterSource("basedir")
+    void testUpstreamChangeFallsBackToFullBuild(String basedir) throws Exception {
+        final Path projectDir = Path.of(basedir);
+        final TestMonitor monitor = run(projectDir, false, 4);
+
+        // The app module cannot be built after an upstream change, the project is re-created
+        assertThat(monitor.changed(2), is(true));
+        assertThat(monitor.changeType(2), is(ChangeType.File));
+        assertThat(monitor.buildStart(2), is(false));
+        assertThat(monitor.buildStart(3), is(true));
+        assertThat(monitor.buildType(3), is(BuildType.ForkedComplete));
+        assertThat(monitor.buildFailed(3), is(nullValue()));
+        assertThat(monitor.ready(3), is(true));
+        assertThat(monitor.changed(4), is(false));
+        assertThat(monitor.buildStart(4), is(false));
+        assertThat(monitor.outputAsString(), containsString("BUILD SUCCESS"));
+    }
+
+    private static TestMonitor run(Path projectDir, boolean inProcessCompiler, int stopCycle) throws Exception {
+        final Path greeter = projectDir.resolve(GREETER);
+        final TestMonitor monitor = new TestMonitor(stopCycle) {
+            @Override
+            public void onCycleStart(int cycleNumber) {
+                super.onCycleStart(cycleNumber);
+                if (cycleNumber == 2) {
+                    touchFile(greeter);
+                }
+            }
+        };
+        final BuildLoop loop = BuildLoop.builder()
+                                        .buildExecutor(TestUtils.buildExecutor(projectDir, monitor))
+                                        .watchFiles(false)
+                                        .projectSupplier(new MultiModuleProjectSupplier(inProcessCompiler))
+                                        .build();
+        TestUtils.run(loop);
+        assertThat(loop.project(), is(not(nullValue())));
+        assertThat(monitor.started(), is(true));
+        assertThat(monitor.stopped(), is(true));
+        assertThat(monitor.lastCycle(), is(stopCycle));
+        assertThat(monitor.buildFailed(0), is(nullValue()));
+        assertThat(monitor.ready(0), is(true));
+        return monitor;
+    }
+
+    private static void touchFile(Path file) {
+        Log.info("sleeping 1.25 seconds before touching %s, mod time is %s", file.getFileName(), lastModifiedTime(file));
+        try {
+            Thread.sleep(1250);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        touch(file);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.ToolProvider;
+
+import io.helidon.build.cli.common.ProjectConfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.ensureFile;
+import static io.helidon.build.common.FileUtils.lastModifiedTime;
+import static io.helidon.build.common.FileUtils.touch;
+import static io.helidon.build.common.FileUtils.unique;
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static io.helidon.build.devloop.BuildComponent.createBuildComponent;
+import static io.helidon.build.devloop.BuildFile.createBuildFile;
+import static io.helidon.build.devloop.BuildRoot.createBuildRoot;
+import static io.helidon.build.devloop.ProjectDirectory.createProjectDirectory;
+import static io.helidon.build.devloop.ProjectModule.createProjectModule;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Unit test for class {@link ProjectModule}.
+ */
+class ProjectModuleTest {
+
+    private Path libSourceDir;
+    private Path appClassesDir;
+    private Project project;
+    private BuildComponent lib;
+    private ProjectModule libModule;
+    private ProjectModule appModule;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path projectDir = unique(targetDir(ProjectModuleTest.class), "project-module-ut");
+        final Path libDir = ensureDirectory(projectDir.resolve("lib"));
+        final Path appDir = ensureDirectory(projectDir.resolve("app"));
+        libSourceDir = ensureDirectory(libDir.resolve("src/main/java/com/acme/lib"));
+        final Path appSourceDir = ensureDirectory(appDir.resolve("src/main/java/com/acme/app"));
+        final Path libClassesDir = ensureDirectory(libDir.resolve("target/classes"));
+        appClassesDir = ensureDirectory(appDir.resolve("target/classes"));
+        source(libSourceDir, "lib", "Greeter", "public class Greeter { public String greet() { return \"hi\"; } }");
+        source(libSourceDir, "lib", "Other", "public class Other { }");
+        source(appSourceDir, "app", "Main", "public class Main { String greet() { return new com.acme.lib.Greeter().greet(); } }");
+        source(appSourceDir, "app", "Unrelated", "public class Unrelated { }");
+
+        // Full build
+        compile(libSourceDir, libClassesDir, List.of());
+        compile(appSourceDir, appClassesDir, List.of("-cp", libClassesDir.toString()));
+
+        ensureFile(ProjectConfig.toDotHelidon(projectDir));
+        final ProjectDirectory root = createProjectDirectory(DirectoryType.Project, projectDir);
+        lib = component(libDir);
+        libModule = createProjectModule("lib", libDir, List.of()).component(lib);
+        appModule = createProjectModule("app", appDir, List.of(libModule)).component(component(appDir));
+        project = Project.builder()
+                         .buildType(BuildType.Incremental)
+                         .rootDirectory(root)
+                         .buildFile(createBuildFile(root, ensureFile(projectDir.resolve("pom.xml"))))
+                         .dependency(projectDir.resolve("deps"))
+                         .mainClassName("com.acme.app.Main")
+                         .module(libModule)
+                         .module(appModule)
+                         .build();
+        output = new ByteArrayOutputStream();
+    }
+
+    @Test
+    void testModules() {
+        assertThat(project.modules(), contains(libModule, appModule));
+        assertThat(appModule.allUpstream(), contains(libModule));
+        assertThat(project.components().size(), is(2));
+    }
+
+    @Test
+    void testUpstreamChangeCompilesDependents() throws Exception {
+        final Path mainClass = appClassesDir.resolve("com/acme/app/Main.class");
+        final Path unrelatedClass = appClassesDir.resolve("com/acme/app/Unrelated.class");
+        final long mainTime = lastModifiedTime(mainClass).toMillis();
+        final long unrelatedTime = lastModifiedTime(unrelatedClass).toMillis();
+
+        touch(libSourceDir.resolve("Greeter.java"));
+        build();
+        assertThat(output.toString(), containsString("Compiling 1 source file "));
+        assertThat(lastModifiedTime(mainClass).toMillis(), is(not(mainTime)));
+        assertThat(lastModifiedTime(unrelatedClass).toMillis(), is(unrelatedTime));
+        assertThat(project.incrementalChanges().size(), is(3));
+    }
+
+    @Test
+    void testUnusedUpstreamChange() throws Exception {
+        final Path mainClass = appClassesDir.resolve("com/acme/app/Main.class");
+        final long mainTime = lastModifiedTime(mainClass).toMillis();
+
+        touch(libSourceDir.resolve("Other.java"));
+        build();
+        assertThat(lastModifiedTime(mainClass).toMillis(), is(mainTime));
+        assertThat(project.incrementalChanges().size(), is(2));
+    }
+
+    @Test
+    void testRequiresFullBuild() {
+        final List<BuildRoot.Changes> libChanges = List.of(lib.sourceRoot().changes());
+        assertThat(project.requiresFullBuild(libChanges), is(false));
+
+        final Path appDir = appModule.directory();
+        final BuildRoot sources = createBuildRoot(BuildRootType.javaSources(), appDir.resolve("src/main/java"));
+        final BuildRoot classes = createBuildRoot(BuildRootType.javaClasses(), appDir.resolve("target/classes"));
+        final BuildComponent app = createBuildComponent(sources, classes, (changes, stdOut, stdErr) -> { });
+        final Project fallback = Project.builder()
+                                        .buildType(BuildType.Incremental)
+                                        .rootDirectory(project.root())
+                                        .buildFile(project.buildFiles().list().get(0))
+                                        .dependency(project.root().path().resolve("deps"))
+                                        .mainClassName("com.acme.app.Main")
+                                        .module(libModule)
+                                        .module(createProjectModule("app", appDir, List.of(libModule)).component(app))
+                                        .build();
+        assertThat(fallback.requiresFullBuild(libChanges), is(true));
+        assertThat(fallback.requiresFullBuild(List.of(app.sourceRoot().changes())), is(false));
+    }
+
+    private void build() throws Exception {
+        output.reset();
+        try (PrintStream stdOut = new PrintStream(output, true, StandardCharsets.UTF_8)) {
+            project.incrementalBuild(List.of(lib.sourceRoot().changes()), stdOut, System.err);
+        } finally {
+            project.update(false);
+        }
+    }
+
+    private static BuildComponent component(Path moduleDir) {
+        final BuildRoot sources = createBuildRoot(BuildRootType.javaSources(), moduleDir.resolve("src/main/java"));
+        final BuildRoot classes = createBuildRoot(BuildRootType.javaClasses(), moduleDir.resolve("target/classes"));
+        final IncrementalCompiler compiler = IncrementalCompiler.create(List.of(), StandardCharsets.UTF_8, null)
+                                                                .orElseThrow();
+        return createBuildComponent(sources, classes, compiler);
+    }
+
+    private static void compile(Path sourceDir, Path classesDir, List<String> options) throws IOException {
+        final List<String> args = new ArrayList<>(options);
+        args.addAll(List.of("-d", classesDir.toString()));
+        try (Stream<Path> stream = Files.list(sourceDir)) {
+            args.addAll(stream.map(Path::toString).collect(Collectors.toList()));
+        }
+        assertThat(ToolProvider.getSystemJavaCompiler().run(null, null, null, args.toArray(new String[0])), is(0));
+    }
+
+    private static void source(Path sourceDir, String pkg, String name, String body) throws IOException {
+        Files.writeString(sourceDir.resolve(name + ".java"), "package com.acme." + pkg + ";\n" + body + "\n");
+    }
+}
@@ -20,6 +20,7 @@ import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
 import io.helidon.build.common.logging.Log;
+import io.helidon.build.devloop.maven.DaemonMavenExecutor;
 import io.helidon.build.devloop.maven.DefaultProjectSupplier;
 import io.helidon.build.devloop.maven.EmbeddedMavenExecutor;
 import io.helidon.build.devloop.maven.ForkedMavenExecutor;
@@ -45,10 +46,20 @@ class TestUtils {
                              boolean initialClean,
                              boolean watchBinariesOnly,
                              BuildMonitor monitor) {
+        // The tests expect a change to be detected in the cycle that made it, this requires scanning the files
+        return newLoop(projectRoot, initialClean, watchBinariesOnly, false, monitor);
+    }
+
+    static BuildLoop newLoop(Path projectRoot,
+                             boolean initialClean,
+                             boolean watchBinariesOnly,
+                             boolean watchFiles,
+                             BuildMonitor monitor) {
         return BuildLoop.builder()
                         .buildExecutor(buildExecutor(projectRoot, monitor))
                         .clean(initialClean)
                         .watchBinariesOnly(watchBinariesOnly)
+                        .watchFiles(watchFiles)
                         .projectSupplier(new DefaultProjectSupplier())
                         .build();
     }
@@ -57,6 +68,9 @@ class TestUtils {
         if ("true".equals(System.getProperty("use.embedded.maven.executor"))) {
             Log.info("Using embedded maven executor");
             return new EmbeddedMavenExecutor(projectRoot, monitor);
+        } else if ("true".equals(System.getProperty("use.daemon.maven.executor"))) {
+            Log.info("Using daemon maven executor");
+            return new DaemonMavenExecutor(projectRoot, monitor, 5 * 60);
         } else {
             Log.info("Using forked maven executor");
             return new ForkedMavenExecutor(projectRoot, monitor, 5 * 60);
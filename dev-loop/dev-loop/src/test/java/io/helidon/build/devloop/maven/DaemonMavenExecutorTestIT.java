@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.maven;
+
+import java.nio.file.Path;
+
+import io.helidon.build.common.test.utils.ConfigurationParameterSource;
+import io.helidon.build.devloop.TestMonitor;
+
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import static io.helidon.build.common.FileUtils.touch;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for class {@link DaemonMavenExecutor}.
+ */
+@Order(6)
+class DaemonMavenExecutorTestIT {
+
+    @ParameterizedTest
+    @ConfigurationParameterSource("basedir")
+    void testDaemonReused(String basedir) throws Exception {
+        final Path projectDir = Path.of(basedir);
+        final TestMonitor monitor = new TestMonitor(1);
+        final DaemonMavenExecutor executor = new DaemonMavenExecutor(projectDir, monitor, 120);
+        try {
+            executor.execute("-B", "validate");
+            assertThat(monitor.outputAsString(), containsString("BUILD SUCCESS"));
+            final long pid = executor.pid();
+            assertThat(pid, is(greaterThan(0L)));
+
+            executor.execute("-B", "validate");
+            assertThat(executor.pid(), is(pid));
+
+            assertThrows(Exception.class, () -> executor.execute("-B", "unknown-phase"));
+            assertThat(monitor.outputAsString(), containsString("BUILD FAILURE"));
+            assertThat(executor.pid(), is(pid));
+
+            touch(projectDir.resolve("pom.xml"));
+            executor.execute("-B", "validate");
+            assertThat(executor.pid(), is(not(pid)));
+        } finally {
+            executor.stop();
+        }
+    }
+
+    @ParameterizedTest
+    @ConfigurationParameterSource("basedir")
+    void testDaemonRecycledAfterMaxBuilds(String basedir) throws Exception {
+        final Path projectDir = Path.of(basedir);
+        final TestMonitor monitor = new TestMonitor(1);
+        final DaemonMavenExecutor executor = new DaemonMavenExecutor(projectDir, monitor, 120, 3);
+        try {
+            executor.execute("-B", "-Dbuild=1", "validate");
+            final long pid = executor.pid();
+            for (int i = 2; i <= 3; i++) {
+                executor.execute("-B", "-Dbuild=" + i, "validate");
+                assertThat(executor.pid(), is(pid));
+            }
+
+            // the 4th build runs in a new process
+            executor.execute("-B", "-Dbuild=4", "validate");
+            final long newPid = executor.pid();
+            assertThat(newPid, is(not(pid)));
+            executor.execute("-B", "-Dbuild=5", "validate");
+            assertThat(executor.pid(), is(newPid));
+
+            final String output = monitor.outputAsString();
+            assertThat(output.split("BUILD SUCCESS", -1).length - 1, is(5));
+            assertThat(output, not(containsString("OutOfMemoryError")));
+        } finally {
+            executor.stop();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.devloop.maven;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+
+import io.helidon.build.devloop.BuildComponent;
+import io.helidon.build.devloop.BuildExecutor;
+import io.helidon.build.devloop.BuildRoot;
+import io.helidon.build.devloop.BuildRootType;
+import io.helidon.build.devloop.BuildStep;
+import io.helidon.build.devloop.BuildType;
+import io.helidon.build.devloop.DirectoryType;
+import io.helidon.build.devloop.IncrementalCompiler;
+import io.helidon.build.devloop.Project;
+import io.helidon.build.devloop.ProjectDirectory;
+import io.helidon.build.devloop.ProjectModule;
+import io.helidon.build.devloop.ProjectSupplier;
+
+import static io.helidon.build.common.FileChanges.DetectionType.FIRST;
+import static io.helidon.build.common.FileChanges.DetectionType.LATEST;
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.requireDirectory;
+import static io.helidon.build.common.FileUtils.requireFile;
+import static io.helidon.build.devloop.BuildComponent.createBuildComponent;
+import static io.helidon.build.devloop.BuildFile.createBuildFile;
+import static io.helidon.build.devloop.BuildRoot.createBuildRoot;
+import static io.helidon.build.devloop.ProjectDirectory.createProjectDirectory;
+import static io.helidon.build.devloop.ProjectModule.createProjectModule;
+
+/**
+ * Builds a multi-module project with a {@code lib} module and an {@code app} module that depends on it.
+ */
+public class MultiModuleProjectSupplier implements ProjectSupplier {
+    private static final List<String> CLEAN_BUILD_CMD = List.of("clean", "prepare-package", "-DskipTests");
+    private static final List<String> BUILD_CMD = List.of("prepare-package", "-DskipTests");
+    private static final String POM_FILE = "pom.xml";
+    private static final String JAVA_DIR = "src/main/java";
+    private static final String CLASSES_DIR = "target/classes";
+    private static final String MAIN_CLASS = "io.helidon.build.devloop.tests.app.Main";
+
+    private final boolean inProcessCompiler;
+
+    /**
+     * Constructor.
+     *
+     * @param inProcessCompiler {@code true} if the modules are compiled with an {@link IncrementalCompiler}, that
+     *                          supports upstream builds.
+     */
+    public MultiModuleProjectSupplier(boolean inProcessCompiler) {
+        this.inProcessCompiler = inProcessCompiler;
+    }
+
+    @Override
+    public Project newProject(BuildExecutor executor, boolean clean, boolean allowSkip, int cycleNumber) throws Exception {
+        final BuildType buildType = BuildType.completeType(executor.willFork(), clean);
+        final Project project = createProject(executor.projectDirectory(), buildType);
+        if (clean || (allowSkip && !project.isBuildUpToDate())) {
+            executor.monitor().onBuildStart(cycleNumber, buildType);
+            executor.execute(clean ? CLEAN_BUILD_CMD : BUILD_CMD);
+            project.update(true);
+        }
+        return project;
+    }
+
+    @Override
+    public boolean hasChanges(Path projectDir, FileTime lastCheckTime) {
+        return MavenProjectSupplier.changedSince(projectDir, lastCheckTime, FIRST).isPresent();
+    }
+
+    @Override
+    public Optional<FileTime> changedSince(Path projectDir, FileTime lastCheckTime) {
+        return MavenProjectSupplier.changedSince(projectDir, lastCheckTime, LATEST);
+    }
+
+    @Override
+    public String buildFileName() {
+        return POM_FILE;
+    }
+
+    private Project createProject(Path projectDir, BuildType buildType) {
+        final Project.Builder builder = Project.builder().buildType(buildType);
+        final ProjectDirectory root = createProjectDirectory(DirectoryType.Project, projectDir);
+        builder.rootDirectory(root);
+        builder.buildFile(createBuildFile(root, requireFile(projectDir.resolve(POM_FILE))));
+        final ProjectModule lib = module(builder, root, projectDir.resolve("lib"), List.of());
+        module(builder, root, projectDir.resolve("app"), List.of(lib));
+        builder.mainClassName(MAIN_CLASS);
+        return builder.build();
+    }
+
+    private ProjectModule module(Project.Builder builder,
+                                 ProjectDirectory root,
+                                 Path moduleDir,
+                                 List<ProjectModule> upstream) {
+        builder.buildFile(createBuildFile(root, requireFile(moduleDir.resolve(POM_FILE))));
+        builder.dependency(moduleDir.resolve(CLASSES_DIR));
+        final BuildRoot sources = createBuildRoot(BuildRootType.javaSources(), requireDirectory(moduleDir.resolve(JAVA_DIR)));
+        final BuildRoot classes = createBuildRoot(BuildRootType.javaClasses(), ensureDirectory(moduleDir.resolve(CLASSES_DIR)));
+        final BuildComponent component = createBuildComponent(sources, classes, compileStep());
+        final ProjectModule module = createProjectModule(moduleDir.getFileName().toString(), moduleDir, upstream)
+                .component(component);
+        builder.module(module);
+        return module;
+    }
+
+    private BuildStep compileStep() {
+        if (inProcessCompiler) {
+            return IncrementalCompiler.create(List.of(), StandardCharsets.UTF_8, null).orElseThrow();
+        }
+        return new CompileJavaSources(StandardCharsets.UTF_8, false);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.mode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.unique;
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * Unit test for class {@link ApplicationClassDataSharing}.
+ */
+class ApplicationClassDataSharingTest {
+
+    private static final String JAVA = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+    private Path cacheDir;
+    private Path depJar;
+    private Path classesDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path dir = unique(targetDir(ApplicationClassDataSharingTest.class), "cds-ut");
+        cacheDir = dir.resolve("cache");
+        final Path depClasses = ensureDirectory(dir.resolve("dep-classes"));
+        classesDir = ensureDirectory(dir.resolve("classes"));
+        final Path sourceDir = ensureDirectory(dir.resolve("src"));
+        final Path depSource = sourceDir.resolve("Dep.java");
+        Files.writeString(depSource, "package dep; public class Dep { public static String hi() { return \"hi\"; } }");
+        compile(depClasses, depClasses, depSource);
+        depJar = dir.resolve("dep.jar");
+        try (OutputStream os = Files.newOutputStream(depJar); JarOutputStream jar = new JarOutputStream(os)) {
+            jar.putNextEntry(new JarEntry("dep/Dep.class"));
+            jar.write(Files.readAllBytes(depClasses.resolve("dep/Dep.class")));
+            jar.closeEntry();
+        }
+        final Path mainSource = sourceDir.resolve("Main.java");
+        Files.writeString(mainSource, "package app; public class Main { "
+                                      + "public static void main(String[] args) { System.out.println(dep.Dep.hi()); } }");
+        compile(classesDir, depJar, mainSource);
+    }
+
+    @Test
+    void testArchiveCreatedAndUsed() throws Exception {
+        final ApplicationClassDataSharing cds = ApplicationClassDataSharing.create(JAVA, List.of(depJar), cacheDir);
+        final List<String> recordOptions = cds.jvmOptions();
+        assertThat(recordOptions.size(), is(1));
+        assertThat(recordOptions.get(0), startsWith("-XX:DumpLoadedClassList="));
+        assertThat(run(recordOptions), containsString("hi"));
+
+        final Thread dump = cds.applicationStopped().orElseThrow();
+        dump.join(TimeUnit.MINUTES.toMillis(2));
+
+        final List<String> options = ApplicationClassDataSharing.create(JAVA, List.of(depJar), cacheDir).jvmOptions();
+        assertThat(options.size(), is(1));
+        assertThat(options.get(0), startsWith("-XX:SharedArchiveFile="));
+        final List<String> logOptions = new ArrayList<>(options);
+        logOptions.add("-Xlog:class+load=info");
+        assertThat(run(logOptions), containsString("dep.Dep source: shared objects file"));
+    }
+
+    @Test
+    void testKeyChangesWithDependencies() throws Exception {
+        final ApplicationClassDataSharing cds = ApplicationClassDataSharing.create(JAVA, List.of(depJar), cacheDir);
+        final String recordOption = cds.jvmOptions().get(0);
+        final long lastModified = Files.getLastModifiedTime(depJar).toMillis();
+        Files.setLastModifiedTime(depJar, FileTime.fromMillis(lastModified + 1000));
+        final String newRecordOption = ApplicationClassDataSharing.create(JAVA, List.of(depJar), cacheDir)
+                                                                  .jvmOptions()
+                                                                  .get(0);
+        assertThat(newRecordOption, is(not(recordOption)));
+    }
+
+    @Test
+    void testKeyChangesWithJavaExecutable() {
+        final String recordOption = ApplicationClassDataSharing.create(JAVA, List.of(depJar), cacheDir)
+                                                               .jvmOptions()
+                                                               .get(0);
+        final String otherJava = classesDir.resolve("java").toString();
+        final String otherRecordOption = ApplicationClassDataSharing.create(otherJava, List.of(depJar), cacheDir)
+                                                                    .jvmOptions()
+                                                                    .get(0);
+        assertThat(otherRecordOption, is(not(recordOption)));
+    }
+
+    private String run(List<String> options) throws Exception {
+        final List<String> command = new ArrayList<>();
+        command.add(JAVA);
+        command.addAll(options);
+        command.add("-cp");
+        command.add(depJar + File.pathSeparator + classesDir);
+        command.add("app.Main");
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(output, process.waitFor(), is(0));
+        return output;
+    }
+
+    private static void compile(Path outputDir, Path classPath, Path source) {
+        final int result = ToolProvider.getSystemJavaCompiler()
+                                       .run(null, null, null, "-d", outputDir.toString(), "-cp", classPath.toString(),
+                                            source.toString());
+        assertThat(result, is(0));
+    }
+}
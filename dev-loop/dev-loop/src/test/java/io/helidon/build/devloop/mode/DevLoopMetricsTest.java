@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.mode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import io.helidon.build.devloop.mode.DevLoopMetrics.Histogram;
+import io.helidon.build.devloop.mode.DevLoopMetrics.Metric;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.FileUtils.unique;
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * Unit test for class {@link DevLoopMetrics}.
+ */
+class DevLoopMetricsTest {
+
+    @Test
+    void testHistogram() {
+        final DevLoopMetrics metrics = new DevLoopMetrics();
+        for (long i = 10; i >= 1; i--) {
+            metrics.record(Metric.INCREMENTAL_BUILD, i * 100);
+        }
+        metrics.record(Metric.INCREMENTAL_BUILD, -1);
+        final Histogram histogram = metrics.histogram(Metric.INCREMENTAL_BUILD);
+        assertThat(histogram.count(), is(10));
+        assertThat(histogram.min(), is(100L));
+        assertThat(histogram.max(), is(1000L));
+        assertThat(histogram.mean(), is(550L));
+        assertThat(histogram.percentile(50), is(500L));
+        assertThat(histogram.percentile(90), is(900L));
+        assertThat(histogram.percentile(99), is(1000L));
+        assertThat(metrics.histogram(Metric.FULL_BUILD).percentile(50), is(0L));
+    }
+
+    @Test
+    void testSummary() {
+        final DevLoopMetrics metrics = new DevLoopMetrics();
+        assertThat(metrics.summary().isEmpty(), is(true));
+        metrics.record(Metric.DETECTION, 12);
+        metrics.record(Metric.RESTART, 1500);
+        final List<String> summary = metrics.summary();
+        assertThat(summary.size(), is(3));
+        assertThat(summary.get(0), startsWith("timings (ms)"));
+        assertThat(summary.get(1), startsWith("detection"));
+        assertThat(summary.get(2), startsWith("restart"));
+    }
+
+    @Test
+    void testWrite() throws Exception {
+        final DevLoopMetrics metrics = new DevLoopMetrics();
+        metrics.record(Metric.FIRST_READY, 4200);
+        metrics.record(Metric.CYCLE, 800);
+        metrics.record(Metric.CYCLE, 900);
+        final Path file = unique(targetDir(DevLoopMetricsTest.class), "metrics").resolve("dev-loop-metrics.json");
+        metrics.write(file);
+        final String json = Files.readString(file);
+        assertThat(json, startsWith("{"));
+        assertThat(json, containsString("\"firstReady\": {\"count\": 1, \"min\": 4200"));
+        assertThat(json, containsString("\"samples\": [800, 900]"));
+        assertThat(json, containsString("\"reload\": {\"count\": 0"));
+    }
+}
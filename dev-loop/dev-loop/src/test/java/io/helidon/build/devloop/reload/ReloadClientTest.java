@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.devloop.reload;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.unique;
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit test for classes {@link ReloadClient} and {@link ReloadAgent}.
+ */
+class ReloadClientTest {
+
+    private static final String MAIN = "package com.acme;\n"
+            + "import java.nio.file.*;\n"
+            + "public class Main {\n"
+            + "    public static void main(String[] args) {\n"
+            + "        Thread thread = new Thread(() -> {\n"
+            + "            while (!Thread.currentThread().isInterrupted()) {\n"
+            + "                try {\n"
+            + "                    Files.writeString(Path.of(args[0] + \".tmp\"), new Greeting().message());\n"
+            + "                    Files.move(Path.of(args[0] + \".tmp\"), Path.of(args[0]),"
+            + " StandardCopyOption.REPLACE_EXISTING);\n"
+            + "                    Thread.sleep(20);\n"
+            + "                } catch (Exception e) {\n"
+            + "                    return;\n"
+            + "                }\n"
+            + "            }\n"
+            + "        });\n"
+            + "        Runtime.getRuntime().addShutdownHook(new Thread(thread::interrupt));\n"
+            + "        thread.start();\n"
+            + "    }\n"
+            + "}\n";
+
+    private Path sourceDir;
+    private Path classesDir;
+    private Path outputFile;
+    private ReloadClient client;
+    private Process process;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path projectDir = unique(targetDir(ReloadClientTest.class), "reload-ut");
+        sourceDir = ensureDirectory(projectDir.resolve("src/com/acme"));
+        classesDir = ensureDirectory(projectDir.resolve("classes"));
+        outputFile = projectDir.resolve("output.txt");
+        Files.writeString(sourceDir.resolve("Main.java"), MAIN);
+        greeting("String message() { return \"hello\"; }");
+        compile("Main", "Greeting");
+        client = ReloadClient.create();
+        final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        process = new ProcessBuilder(java,
+                                     "-javaagent:" + ReloadClient.agentJar(),
+                                     "--add-opens", "java.base/java.lang=ALL-UNNAMED",
+                                     ReloadAgent.class.getName(),
+                                     String.valueOf(client.port()),
+                                     classesDir.toString(),
+                                     "com.acme.Main",
+                                     outputFile.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(projectDir.resolve("process.log").toFile())
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        process.destroy();
+        process.waitFor(10, TimeUnit.SECONDS);
+        client.close();
+    }
+
+    @Test
+    void testRedefine() throws Exception {
+        awaitOutput("hello");
+        greeting("String message() { return \"bonjour\"; }");
+        compile("Greeting");
+        assertThat(client.reload(List.of("com.acme.Greeting"), false), is(ReloadClient.Result.RELOADED));
+        awaitOutput("bonjour");
+    }
+
+    @Test
+    void testRestart() throws Exception {
+        awaitOutput("hello");
+        greeting("String message() { return prefix() + \"hola\"; } String prefix() { return \"\"; }");
+        compile("Greeting");
+        assertThat(client.reload(List.of("com.acme.Greeting"), false), is(ReloadClient.Result.RESTARTED));
+        awaitOutput("hola");
+
+        assertThat(client.reload(List.of(), true), is(ReloadClient.Result.RESTARTED));
+        awaitOutput("hola");
+        assertThat(process.isAlive(), is(true));
+    }
+
+    private void greeting(String body) throws IOException {
+        Files.writeString(sourceDir.resolve("Greeting.java"), "package com.acme;\npublic class Greeting { " + body + " }\n");
+    }
+
+    private void compile(String... names) {
+        final String[] args = new String[names.length + 4];
+        args[0] = "-d";
+        args[1] = classesDir.toString();
+        args[2] = "-cp";
+        args[3] = classesDir.toString();
+        for (int i = 0; i < names.length; i++) {
+            args[i + 4] = sourceDir.resolve(names[i] + ".java").toString();
+        }
+        assertThat(ToolProvider.getSystemJavaCompiler().run(null, null, null, args), is(0));
+    }
+
+    private void awaitOutput(String expected) throws Exception {
+        final long deadline = System.currentTimeMillis() + 10000;
+        String output = null;
+        while (System.currentTimeMillis() < deadline) {
+            if (Files.exists(outputFile)) {
+                output = Files.readString(outputFile);
+                if (output.equals(expected)) {
+                    return;
+                }
+            }
+            Thread.sleep(20);
+        }
+        assertThat(output, is(expected));
+    }
+}
@@ -25,6 +25,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import io.helidon.build.common.logging.Log;
@@ -51,11 +58,14 @@ public final class Application implements ResourceContainer {
     private static final String MP_FILE_PREFIX = HELIDON_JAR_NAME_PREFIX + "microprofile";
     private static final String VERSION_1_4_1 = "1.4.1";
     private static final String UNKNOWN_VERSION = "0.0.0";
+    private static final String CACHE_DIR_NAME = "jars";
+    private static final int MAX_INSTALL_THREADS = 8;
     private final JavaRuntime javaHome;
     private final Jar mainJar;
     private final List<Jar> classPath;
     private final boolean isMicroprofile;
     private final String version;
+    private final AtomicReference<Set<String>> resources;
 
     /**
      * Returns a new instance with the given Java Home and main jar.
@@ -74,6 +84,7 @@ public final class Application implements ResourceContainer {
         this.classPath = collectClassPath();
         this.isMicroprofile = classPath.stream().anyMatch(jar -> jar.name().startsWith(MP_FILE_PREFIX));
         this.version = extractHelidonVersion();
+        this.resources = new AtomicReference<>();
     }
 
     /**
@@ -86,22 +97,65 @@ public final class Application implements ResourceContainer {
     }
 
     /**
-     * Copy this application into the given Java Runtime Image.
+     * Copy this application into the given Java Runtime Image. The jars are copied concurrently, and the jars to which
+     * an index is added or from which debug information is stripped are cached in {@code ~/.helidon/cache/linker/jars}
+     * for later installations. Cached jars that have not been used for a week are deleted.
      *
      * @param jri The JRI in which to install this application.
      * @param stripDebug {@code true} if debug information should be stripped from classes.
      * @return The location of the installed application jar.
      */
     public Path install(JavaRuntime jri, boolean stripDebug) {
+        return install(jri, stripDebug, LinkerCache.directory(CACHE_DIR_NAME));
+    }
+
+    /**
+     * Copy this application into the given Java Runtime Image.
+     *
+     * @param jri The JRI in which to install this application.
+     * @param stripDebug {@code true} if debug information should be stripped from classes.
+     * @param cacheDir The directory in which indexed or stripped jars are cached, {@code null} if not cached.
+     * @return The location of the installed application jar.
+     */
+    Path install(JavaRuntime jri, boolean stripDebug, Path cacheDir) {
         final Path appRootDir = mainJar.path().getParent();
         final Path appInstallDir = jri.ensureDirectory(APP_DIR);
-        final Path installedAppJar = mainJar.copyToDirectory(appInstallDir, isMicroprofile(), stripDebug);
-        classPath.forEach(jar -> {
-            final Path relativeDir = appRootDir.relativize(jar.path().getParent());
-            final Path installDir = jri.ensureDirectory(appInstallDir.resolve(relativeDir));
-            jar.copyToDirectory(installDir, isMicroprofile(), stripDebug);
-        });
-        return installedAppJar;
+        final List<Jar> jars = jars().collect(Collectors.toList());
+        final List<Path> installDirs = jars.stream()
+                                           .map(jar -> appRootDir.relativize(jar.path().getParent()))
+                                           .map(relativeDir -> jri.ensureDirectory(appInstallDir.resolve(relativeDir)))
+                                           .collect(Collectors.toList());
+        LinkerCache.deleteStale(cacheDir);
+        final int threads = Math.min(jars.size(), Math.min(MAX_INSTALL_THREADS, Runtime.getRuntime().availableProcessors()));
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final AtomicInteger installed = new AtomicInteger();
+        try {
+            final List<Future<Path>> results = new ArrayList<>();
+            for (int i = 0; i < jars.size(); i++) {
+                final Jar jar = jars.get(i);
+                final Path installDir = installDirs.get(i);
+                results.add(executor.submit(() -> {
+                    final Path installedJar = jar.copyToDirectory(installDir, isMicroprofile(), stripDebug, cacheDir);
+                    Log.info("  installed %s (%d/%d)", jar, installed.incrementAndGet(), jars.size());
+                    return installedJar;
+                }));
+            }
+            for (Future<Path> result : results) {
+                result.get();
+            }
+            return results.get(0).get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     /**
@@ -184,7 +238,19 @@ public final class Application implements ResourceContainer {
 
     @Override
     public boolean containsResource(String resourcePath) {
-        return jars().anyMatch(jar -> jar.containsResource(resourcePath));
+        Set<String> paths = resources.get();
+        if (paths == null) {
+            synchronized (resources) {
+                paths = resources.get();
+                if (paths == null) {
+                    final Set<String> entryNames = new HashSet<>();
+                    jars().forEach(jar -> entryNames.addAll(jar.entryNames()));
+                    paths = entryNames;
+                    resources.set(paths);
+                }
+            }
+        }
+        return paths.contains(resourcePath);
     }
 
     private Stream<Jar> jars() {
@@ -24,20 +24,23 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.lang.module.ModuleDescriptor;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -45,7 +48,6 @@ import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 import java.util.zip.ZipEntry;
 
 import io.helidon.build.common.InputStreams;
@@ -60,6 +62,7 @@ import org.jboss.jandex.UnsupportedVersion;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 
+import static io.helidon.build.common.FileUtils.ensureDirectory;
 import static io.helidon.build.common.FileUtils.fileName;
 import static io.helidon.build.common.FileUtils.requireDirectory;
 import static io.helidon.build.common.FileUtils.requireFile;
@@ -68,6 +71,9 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * CDI BeansArchive aware jar wrapper. Supports creating an index if missing and adding it during copy.
+ * <p>
+ * The entries are indexed by name when the jar is opened, including the entries selected by the version of a
+ * {@link #isMultiRelease() multi-release JAR}, so that entry lookups do not scan the jar.
  */
 public final class Jar implements ResourceContainer {
     private static final String JMOD_SUFFIX = ".jmod";
@@ -81,6 +87,10 @@ public final class Jar implements ResourceContainer {
     private static final String MODULE_INFO_CLASS = "module-info.class";
     private static final String SIGNATURE_PREFIX = META_INF;
     private static final String SIGNATURE_SUFFIX = ".SF";
+    private static final String CACHE_FILE_SUFFIX = ".jar";
+    private static final String CHECKSUM_FILE_SUFFIX = ".sha256";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final String CACHE_FORMAT = "1";
     private final Path path;
     private final Runtime.Version version;
     private final boolean isJmod;
@@ -90,9 +100,10 @@ public final class Jar implements ResourceContainer {
     private final boolean isBeansArchive;
     private final boolean isSigned;
     private final ModuleDescriptor descriptor;
-    private final AtomicReference<Set<String>> resources;
+    private final Map<String, Entry> entries;
+    private final Map<String, Entry> versionedEntries;
     private Index index;
-    private boolean builtIndex;
+    private String checksum;
 
     /**
      * An entry in a jar file.
@@ -178,6 +189,8 @@ public final class Jar implements ResourceContainer {
             this.jar = new JarFile(path.toFile());
             this.manifest = jar.getManifest();
             this.isMultiRelease = !isJmod && isMultiRelease(manifest);
+            this.entries = indexEntries();
+            this.versionedEntries = isMultiRelease ? indexVersionedEntries() : Map.of();
             this.isSigned = !isJmod && hasSignatureFile();
             this.isBeansArchive = !isJmod && hasEntry(BEANS_RESOURCE_PATH);
             final Entry moduleInfo;
@@ -193,7 +206,6 @@ public final class Jar implements ResourceContainer {
             } else {
                 this.descriptor = null;
             }
-            this.resources = new AtomicReference<>();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -270,21 +282,21 @@ public final class Jar implements ResourceContainer {
      * @return The entries.
      */
     public Stream<Entry> entries() {
-        final Iterator<JarEntry> iterator = jar.entries().asIterator();
-        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
-                            .map(Entry::new);
+        return entries.values().stream();
+    }
+
+    /**
+     * Returns the names of the entries in this jar.
+     *
+     * @return The names.
+     */
+    public Set<String> entryNames() {
+        return Collections.unmodifiableSet(entries.keySet());
     }
 
     @Override
     public boolean containsResource(String resourcePath) {
-        Set<String> paths = resources.get();
-        if (paths == null) {
-            synchronized (resources) {
-                paths = entries().map(JarEntry::getName).collect(Collectors.toSet());
-                resources.set(paths);
-            }
-        }
-        return paths.contains(resourcePath);
+        return entries.containsKey(resourcePath);
     }
 
     /**
@@ -351,21 +363,52 @@ public final class Jar implements ResourceContainer {
      * @return The normalized, absolute path to the new file.
      */
     public Path copyToDirectory(Path targetDir, boolean ensureIndex, boolean stripDebug) {
+        return copyToDirectory(targetDir, ensureIndex, stripDebug, null);
+    }
+
+    /**
+     * Copy this jar into the given directory. Adds a Jandex index if required.
+     * <p>
+     * If an index is added or debug information is stripped, the resulting jar is cached in the given directory, keyed
+     * by the content of this jar, and re-used by later copies. A cached copy is only used if its content matches the
+     * checksum stored next to it. The index of a cached copy is loaded, so that {@link #hasIndex()} returns
+     * {@code true} after the copy.
+     *
+     * @param targetDir The targetDirectory.
+     * @param ensureIndex {@code true} if an index should be added if this is a beans archive
+     * and their is no Jandex index present.
+     * @param stripDebug {@code true} if debug information should be stripped from classes.
+     * @param cacheDir The cache directory, {@code null} if not cached.
+     * @return The normalized, absolute path to the new file.
+     */
+    public Path copyToDirectory(Path targetDir, boolean ensureIndex, boolean stripDebug, Path cacheDir) {
         final Path fileName = path.getFileName();
         final Path targetFile = requireDirectory(targetDir).resolve(fileName);
-        if (ensureIndex) {
-            ensureIndex();
-        }
-        try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(targetFile))) {
+        final boolean addIndex = ensureIndex && requiresIndex();
+        try {
 
-            // Add the index if we built it, and/or strip debug information if required; otherwise just copy the whole jar file
+            // Add the index if required, and/or strip debug information if required; otherwise just copy the whole jar file
 
-            if (builtIndex) {
-                copy(out, true, stripDebug);
-            } else if (stripDebug) {
-                copy(out, false, true);
+            if (addIndex || stripDebug) {
+                final Path cacheFile = cacheDir == null ? null : cacheDir.resolve(cacheKey(addIndex, stripDebug)
+                                                                                  + CACHE_FILE_SUFFIX);
+                if (cacheFile != null && copyCached(cacheFile, targetFile, addIndex)) {
+                    Log.debug("  using cached copy of %s", this);
+                } else {
+                    if (addIndex) {
+                        index = buildIndex();
+                    }
+                    try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(targetFile))) {
+                        copy(out, addIndex, stripDebug);
+                    }
+                    if (cacheFile != null) {
+                        cache(targetFile, cacheFile);
+                    }
+                }
             } else {
-                InputStreams.transfer(Files.newInputStream(path), out);
+                try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(targetFile))) {
+                    InputStreams.transfer(Files.newInputStream(path), out);
+                }
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -403,20 +446,113 @@ public final class Jar implements ResourceContainer {
         return isSigned ? name() + " (signed)" : name();
     }
 
-    private void ensureIndex() {
+    /**
+     * Returns the SHA-256 checksum of the content of this jar.
+     *
+     * @return The checksum, as a hex string.
+     */
+    synchronized String checksum() {
+        if (checksum == null) {
+            try {
+                checksum = checksum(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return checksum;
+    }
+
+    private static String checksum(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean requiresIndex() {
         if (isBeansArchive) {
-            if (hasEntry(JANDEX_INDEX_RESOURCE_PATH)) {
+            if (index == null && hasEntry(JANDEX_INDEX_RESOURCE_PATH)) {
                 index = loadIndex();
             }
             if (index == null) {
                 if (isSigned) {
                     Log.warn("Cannot add Jandex index to signed jar %s", name());
                 } else {
-                    index = buildIndex();
-                    builtIndex = true;
+                    return true;
                 }
             }
         }
+        return false;
+    }
+
+    private String cacheKey(boolean addIndex, boolean stripDebug) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((CACHE_FORMAT + ":" + addIndex + ":" + stripDebug + ":" + checksum())
+                                  .getBytes(StandardCharsets.UTF_8));
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean copyCached(Path cacheFile, Path targetFile, boolean addIndex) {
+        final Path checksumFile = checksumFile(cacheFile);
+        if (!Files.isRegularFile(cacheFile) || !Files.isRegularFile(checksumFile)) {
+            return false;
+        }
+        try {
+            // Verify the copy rather than the cached file, so that the cached file cannot change after the check
+            Files.copy(cacheFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+            if (!checksum(targetFile).equals(Files.readString(checksumFile, StandardCharsets.UTF_8))) {
+                Log.debug("Checksum mismatch for %s", cacheFile);
+                return false;
+            }
+            if (addIndex && !loadCachedIndex(targetFile)) {
+                return false;
+            }
+            final FileTime now = FileTime.from(Instant.now());
+            Files.setLastModifiedTime(cacheFile, now);
+            Files.setLastModifiedTime(checksumFile, now);
+            return true;
+        } catch (IOException e) {
+            Log.debug("Unable to use %s: %s", cacheFile, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void cache(Path file, Path cacheFile) {
+        try {
+            final Path cacheDir = ensureDirectory(cacheFile.getParent());
+            final Path checksumFile = checksumFile(cacheFile);
+            final Path tempFile = Files.createTempFile(cacheDir, cacheFile.getFileName().toString(), TEMP_FILE_SUFFIX);
+            Files.copy(file, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            final Path tempChecksumFile = Files.createTempFile(cacheDir, checksumFile.getFileName().toString(), TEMP_FILE_SUFFIX);
+            Files.writeString(tempChecksumFile, checksum(file), StandardCharsets.UTF_8);
+            Files.move(tempChecksumFile, checksumFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.debug("Unable to write %s: %s", cacheFile, e.getMessage());
+        }
+    }
+
+    private static Path checksumFile(Path cacheFile) {
+        return cacheFile.resolveSibling(cacheFile.getFileName() + CHECKSUM_FILE_SUFFIX);
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder result = new StringBuilder();
+        for (byte b : bytes) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
     }
 
     private Index loadIndex() {
@@ -433,6 +569,21 @@ public final class Jar implements ResourceContainer {
         return null;
     }
 
+    private boolean loadCachedIndex(Path jarFile) {
+        try (JarFile jar = new JarFile(jarFile.toFile())) {
+            final ZipEntry entry = jar.getEntry(JANDEX_INDEX_RESOURCE_PATH);
+            if (entry != null) {
+                try (InputStream in = jar.getInputStream(entry)) {
+                    index = new IndexReader(in).read();
+                    return true;
+                }
+            }
+        } catch (IOException | IllegalArgumentException | UnsupportedVersion e) {
+            Log.debug("Unable to read the index of %s: %s", jarFile, e.getMessage());
+        }
+        return false;
+    }
+
     private Index buildIndex() {
         Log.info("  creating missing index for CDI beans archive %s", this);
         final Indexer indexer = new Indexer();
@@ -446,50 +597,69 @@ public final class Jar implements ResourceContainer {
         return indexer.complete();
     }
 
+    private Map<String, Entry> indexEntries() {
+        final Map<String, Entry> result = new LinkedHashMap<>();
+        jar.entries().asIterator().forEachRemaining(entry -> result.putIfAbsent(entry.getName(), new Entry(entry)));
+        return result;
+    }
+
+    private Map<String, Entry> indexVersionedEntries() {
+        final Map<String, Entry> result = new HashMap<>();
+        final Map<String, Integer> features = new HashMap<>();
+        final int maxFeature = version().feature();
+        for (Entry entry : entries.values()) {
+            final String entryPath = entry.path();
+            if (entryPath.startsWith(META_INF_VERSIONS)) {
+                final int separator = entryPath.indexOf('/', META_INF_VERSIONS.length());
+                if (separator > 0) {
+                    final int feature = feature(entryPath.substring(META_INF_VERSIONS.length(), separator));
+                    final String path = entryPath.substring(separator + 1);
+                    if (feature > 8 && feature <= maxFeature && feature > features.getOrDefault(path, -1)) {
+                        features.put(path, feature);
+                        result.put(path, entry);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int feature(String version) {
+        try {
+            return Integer.parseInt(version);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     private boolean hasSignatureFile() {
-        return entries().anyMatch(e -> {
-            final String path = e.path();
-            return path.startsWith(SIGNATURE_PREFIX) && path.endsWith(SIGNATURE_SUFFIX);
-        });
+        return entries.keySet()
+                      .stream()
+                      .anyMatch(path -> path.startsWith(SIGNATURE_PREFIX) && path.endsWith(SIGNATURE_SUFFIX));
     }
 
     private boolean hasEntry(String path) {
-        return entries().anyMatch(entry -> entry.path().equals(path));
+        return entries.containsKey(path);
     }
 
     private Entry findEntry(String path) {
-        return entries().filter(entry -> entry.path().equals(path))
-                        .findFirst().orElse(null);
+        return entries.get(path);
     }
 
     private Entry findVersionedEntry(String path) {
         if (path.startsWith(META_INF)) {
             return findEntry(path);
         }
-
-        Map<String, Integer> featureLookup = new HashMap<>();
-        for (int feature = version().feature(); feature > 8; feature--) {
-            featureLookup.put(META_INF_VERSIONS + feature + "/" + path, feature);
-        }
-        int featureFound = -1;
-        Entry entryFound = null;
-        for (Entry entry : (Iterable<Entry>) entries()::iterator) {
-            String entryPath = entry.path();
-            Integer feature = featureLookup.get(entryPath);
-            if (feature != null && feature > featureFound) {
-                featureFound = feature;
-                entryFound = entry;
-            } else if (entryFound == null && entryPath.equals(path)) {
-                entryFound = entry;
-            }
-        }
-        return entryFound;
+        final Entry entry = versionedEntries.get(path);
+        return entry != null ? entry : findEntry(path);
     }
 
     private Entry getEntry(String path) {
-        return entries().filter(entry -> entry.path().equals(path))
-                        .findFirst()
-                        .orElseThrow(() -> new IllegalStateException("Could not get '" + path + "' entry."));
+        final Entry entry = entries.get(path);
+        if (entry == null) {
+            throw new IllegalStateException("Could not get '" + path + "' entry.");
+        }
+        return entry;
     }
 
     private Stream<Entry> classEntries() {
@@ -20,6 +20,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.module.ModuleDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -29,12 +37,14 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.spi.ToolProvider;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import io.helidon.build.common.InputStreams;
 import io.helidon.build.common.logging.Log;
 import io.helidon.build.linker.util.JavaRuntime;
 
+import static io.helidon.build.common.FileUtils.ensureDirectory;
 import static io.helidon.build.common.InputStreams.toPrintStream;
 import static io.helidon.build.linker.util.Constants.EOL;
 import static io.helidon.build.linker.util.Constants.EXCLUDED_MODULES;
@@ -43,6 +53,11 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Collects Java module dependencies for a set of jars.
+ * <p>
+ * Jars without a module descriptor are analyzed concurrently using {@code jdeps}. The results are cached on disk, keyed
+ * by the jar content, the Java Runtime and the multi-release version, so that unchanged jars are not analyzed again.
+ * The results are stored in {@code ~/.helidon/cache/linker/jdeps}, the results that have not been used for a week are
+ * deleted.
  */
 public final class JavaDependencies {
     private static final ToolProvider JDEPS = ToolProvider.findFirst("jdeps")
@@ -52,6 +67,9 @@ public final class JavaDependencies {
     private static final String LIST_DEPS_ARG = "--list-deps";
     private static final String IGNORE_MISSING_DEPS_ARG = "--ignore-missing-deps";
     private static final String JAVA_BASE_MODULE_NAME = "java.base";
+    private static final String CACHE_DIR_NAME = "jdeps";
+    private static final String CACHE_FILE_SUFFIX = ".deps";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
     private static final Set<String> KNOWN_SPLIT_PACKAGES = Set.of("javax.annotation", "javax.activation");
     private static final Map<String, BiConsumer<String, Jar>> PREFIX_HANDLERS = Map.of(
             "split package", JavaDependencies::split,
@@ -62,6 +80,7 @@ public final class JavaDependencies {
     );
 
     private final JavaRuntime javaHome;
+    private final Path cacheDir;
     private final Set<String> javaModuleNames;
     private final Set<String> dependencies;
 
@@ -73,17 +92,31 @@ public final class JavaDependencies {
      * @return The module names.
      */
     public static Set<String> collect(Stream<Jar> jars, JavaRuntime javaHome) {
-        return new JavaDependencies(javaHome).collect(jars);
+        return collect(jars, javaHome, LinkerCache.directory(CACHE_DIR_NAME));
     }
 
-    private JavaDependencies(JavaRuntime javaHome) {
+    /**
+     * Collect the dependencies of the given jars on the given Java Runtime.
+     *
+     * @param jars The jars.
+     * @param javaHome The Java Home.
+     * @param cacheDir The directory of the cached {@code jdeps} results, {@code null} if not cached.
+     * @return The module names.
+     */
+    static Set<String> collect(Stream<Jar> jars, JavaRuntime javaHome, Path cacheDir) {
+        return new JavaDependencies(javaHome, cacheDir).collect(jars);
+    }
+
+    private JavaDependencies(JavaRuntime javaHome, Path cacheDir) {
         this.javaHome = requireNonNull(javaHome);
+        this.cacheDir = cacheDir;
         this.javaModuleNames = javaHome.moduleNames();
         this.dependencies = new HashSet<>();
         this.dependencies.add(JAVA_BASE_MODULE_NAME);
     }
 
     private Set<String> collect(Stream<Jar> jars) {
+        final List<Jar> nonModularJars = new ArrayList<>();
         jars.forEach(jar -> {
             if (jar.hasModuleDescriptor()) {
                 addModule(jar.moduleDescriptor());
@@ -95,11 +128,24 @@ public final class JavaDependencies {
                 if (moduleInfo.isPresent()) {
                     addModule(moduleInfo.get());
                 } else {
-                    addJar(jar);
+                    nonModularJars.add(jar);
                 }
             }
         });
 
+        LinkerCache.deleteStale(cacheDir);
+
+        // Analyze the jars concurrently, then handle the results in order
+
+        final List<List<String>> results = nonModularJars.parallelStream()
+                                                         .map(this::listDeps)
+                                                         .collect(Collectors.toList());
+        for (int i = 0; i < nonModularJars.size(); i++) {
+            final Jar jar = nonModularJars.get(i);
+            Log.info("  checking %s", jar);
+            results.get(i).forEach(line -> handleJdepsResultLine(line, jar));
+        }
+
         final Set<String> closure = new HashSet<>();
         dependencies.forEach(moduleName -> addDependency(moduleName, closure));
         return closure;
@@ -130,8 +176,32 @@ public final class JavaDependencies {
                   .forEach(dependencies::add);
     }
 
-    private void addJar(Jar jar) {
-        Log.info("  checking %s", jar);
+    private List<String> listDeps(Jar jar) {
+        if (cacheDir == null) {
+            return jdeps(jar);
+        }
+        final Path cacheFile = cacheDir.resolve(cacheKey(jar) + CACHE_FILE_SUFFIX);
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                Files.setLastModifiedTime(cacheFile, FileTime.from(Instant.now()));
+                return Files.readAllLines(cacheFile, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                Log.debug("Unable to read %s: %s", cacheFile, e.getMessage());
+            }
+        }
+        final List<String> lines = jdeps(jar);
+        try {
+            ensureDirectory(cacheDir);
+            final Path tempFile = Files.createTempFile(cacheDir, cacheFile.getFileName().toString(), TEMP_FILE_SUFFIX);
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.debug("Unable to write %s: %s", cacheFile, e.getMessage());
+        }
+        return lines;
+    }
+
+    private List<String> jdeps(Jar jar) {
         final List<String> args = new ArrayList<>();
         if (!javaHome.isCurrent()) {
             args.add(SYSTEM_ARG);
@@ -153,10 +223,33 @@ public final class JavaDependencies {
             throw new RuntimeException("Could not collect dependencies of " + jar);
         }
 
-        Arrays.stream(InputStreams.toString(out).split(EOL))
-              .map(String::trim)
-              .filter(line -> !line.isEmpty())
-              .forEach(line -> handleJdepsResultLine(line, jar));
+        return Arrays.stream(InputStreams.toString(out).split(EOL))
+                     .map(String::trim)
+                     .filter(line -> !line.isEmpty())
+                     .collect(Collectors.toList());
+    }
+
+    private String cacheKey(Jar jar) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, Runtime.version().toString());
+            update(digest, javaHome.path().toString());
+            update(digest, javaHome.version().toString());
+            update(digest, jar.isMultiRelease() ? javaHome.featureVersion() : "");
+            update(digest, jar.checksum());
+            final StringBuilder key = new StringBuilder();
+            for (byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
     }
 
     private void handleJdepsResultLine(String line, Jar jar) {
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.linker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.time.Duration;
+import java.time.Instant;
+
+import io.helidon.build.common.logging.Log;
+import io.helidon.build.linker.util.Constants;
+
+import static io.helidon.build.common.FileUtils.USER_HOME_DIR;
+import static io.helidon.build.common.FileUtils.lastModifiedTime;
+import static io.helidon.build.common.FileUtils.listFiles;
+
+/**
+ * The per-user cache of the linker.
+ * <p>
+ * The cache directories are in {@code ~/.helidon/cache/linker}, a directory that is a symbolic link or that is not owned
+ * by the current user is not used. Cached files that have not been used for a week are deleted.
+ */
+final class LinkerCache {
+
+    private static final Path ROOT_DIR = USER_HOME_DIR.resolve(".helidon").resolve("cache").resolve("linker");
+    private static final Duration MAX_AGE = Duration.ofDays(7);
+
+    private LinkerCache() {
+    }
+
+    /**
+     * Get a cache directory, creating it if needed.
+     *
+     * @param name The directory name.
+     * @return The directory, or {@code null} if it cannot be used.
+     */
+    static Path directory(String name) {
+        return directory(ROOT_DIR.resolve(name));
+    }
+
+    /**
+     * Get a cache directory, creating it if needed.
+     *
+     * @param dir The directory.
+     * @return The directory, or {@code null} if it cannot be used.
+     */
+    static Path directory(Path dir) {
+        try {
+            if (!Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+                Files.createDirectories(dir, ownerOnly());
+            }
+            if (!Files.isDirectory(dir, LinkOption.NOFOLLOW_LINKS) || !isOwner(dir)) {
+                Log.warn("Not using cache directory %s, it is not a directory owned by the current user", dir);
+                return null;
+            }
+            return dir;
+        } catch (IOException e) {
+            Log.debug("Unable to create %s: %s", dir, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Delete the files of a cache directory that have not been used for a week.
+     *
+     * @param dir The directory, may be {@code null}.
+     */
+    static void deleteStale(Path dir) {
+        if (dir != null && Files.isDirectory(dir)) {
+            final Instant maxTime = Instant.now().minus(MAX_AGE);
+            for (Path file : listFiles(dir, name -> true)) {
+                try {
+                    if (lastModifiedTime(file).toInstant().isBefore(maxTime)) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException | UncheckedIOException e) {
+                    Log.debug("Unable to delete %s: %s", file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static boolean isOwner(Path dir) throws IOException {
+        try {
+            final UserPrincipal owner = Files.getOwner(dir, LinkOption.NOFOLLOW_LINKS);
+            final UserPrincipal user = dir.getFileSystem()
+                                          .getUserPrincipalLookupService()
+                                          .lookupPrincipalByName(System.getProperty("user.name"));
+            return owner.equals(user);
+        } catch (UnsupportedOperationException e) {
+            // no file owners on this file system
+            return true;
+        }
+    }
+
+    private static FileAttribute<?>[] ownerOnly() {
+        if (Constants.OS.isPosix()) {
+            return new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"))};
+        }
+        return new FileAttribute<?>[0];
+    }
+}
@@ -24,6 +24,7 @@ import java.lang.module.ModuleFinder;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -88,6 +89,7 @@ public final class JavaRuntime implements ResourceContainer {
     private final boolean isJdk;
     private final Path jmodsDir;
     private final Map<String, Jar> modules;
+    private final AtomicReference<Set<String>> resources;
 
     private static Path currentJavaHomeDir() {
         Path result = CURRENT_JAVA_HOME_DIR.get();
@@ -237,6 +239,7 @@ public final class JavaRuntime implements ResourceContainer {
             this.modules = Map.of();
         }
         this.isJdk = isJdk;
+        this.resources = new AtomicReference<>();
     }
 
     /**
@@ -269,7 +272,20 @@ public final class JavaRuntime implements ResourceContainer {
     @Override
     public boolean containsResource(String resourcePath) {
         final String path = resourcePath.endsWith(".class") ? JMOD_CLASSES_PREFIX + resourcePath : resourcePath;
-        return modules.values().stream().anyMatch(jar -> jar.containsResource(path));
+        Set<String> paths = resources.get();
+        if (paths == null) {
+            synchronized (resources) {
+                paths = resources.get();
+                if (paths == null) {
+                    paths = new HashSet<>();
+                    for (Jar jmod : modules.values()) {
+                        paths.addAll(jmod.entryNames());
+                    }
+                    resources.set(paths);
+                }
+            }
+        }
+        return paths.contains(path);
     }
 
     /**
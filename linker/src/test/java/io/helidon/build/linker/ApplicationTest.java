@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,9 +15,36 @@
  */
 package io.helidon.build.linker;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.spi.ToolProvider;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.helidon.build.linker.util.JavaRuntime;
+
 import org.junit.jupiter.api.Test;
 
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.ensureFile;
+import static io.helidon.build.common.FileUtils.listFiles;
+import static io.helidon.build.common.FileUtils.unique;
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 
 /**
@@ -33,4 +60,104 @@ class ApplicationTest {
         assertThat(Application.exitOnStartedValue("2.0-SNAPSHOT"), is("!"));
         assertThat(Application.exitOnStartedValue("2.0"), is("!"));
     }
+
+    @Test
+    void testInstall() throws IOException {
+        final Path dir = ensureDirectory(unique(targetDir(ApplicationTest.class), "application-ut"));
+        final Path classFile = compile(dir);
+        final Path appDir = ensureDirectory(dir.resolve("app"));
+        final Path libDir = ensureDirectory(appDir.resolve("libs"));
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, "libs/a.jar libs/b.jar");
+        final Path mainJar = jar(appDir.resolve("main.jar"), manifest, classFile);
+        jar(libDir.resolve("a.jar"), new Manifest(), classFile);
+        jar(libDir.resolve("b.jar"), new Manifest(), classFile);
+        final Path cacheDir = dir.resolve("cache");
+        final Path jriDir = ensureDirectory(dir.resolve("jri"));
+        ensureFile(ensureDirectory(jriDir.resolve("bin")).resolve("java"));
+        final JavaRuntime jri = JavaRuntime.jri(jriDir, Runtime.version());
+
+        final Application application = Application.create(JavaRuntime.current(true), mainJar);
+        final Path installedMainJar = application.install(jri, true, cacheDir);
+        assertThat(installedMainJar, is(jriDir.resolve("app/main.jar")));
+        assertThat(Files.exists(jriDir.resolve("app/libs/a.jar")), is(true));
+        assertThat(Files.exists(jriDir.resolve("app/libs/b.jar")), is(true));
+        final List<Path> cacheFiles = listFiles(cacheDir, name -> name.endsWith(".jar"));
+        assertThat(cacheFiles.size(), is(3));
+        assertThat(list(cacheDir).size(), is(6));
+
+        // The cached stripped jars are re-used if they match their checksum
+        for (Path cacheFile : cacheFiles) {
+            Files.writeString(cacheFile, "cached");
+            Files.writeString(cacheDir.resolve(cacheFile.getFileName() + ".sha256"), sha256("cached"));
+        }
+        application.install(jri, true, cacheDir);
+        assertThat(Files.readString(jriDir.resolve("app/libs/b.jar")), is("cached"));
+        assertThat(list(cacheDir).size(), is(6));
+    }
+
+    @Test
+    void testStaleCachedJarsDeleted() throws IOException {
+        final Path dir = ensureDirectory(unique(targetDir(ApplicationTest.class), "application-ut"));
+        final Path classFile = compile(dir);
+        final Path mainJar = jar(dir.resolve("main.jar"), new Manifest(), classFile);
+        final Path cacheDir = dir.resolve("cache");
+        final Path jriDir = ensureDirectory(dir.resolve("jri"));
+        ensureFile(ensureDirectory(jriDir.resolve("bin")).resolve("java"));
+        final JavaRuntime jri = JavaRuntime.jri(jriDir, Runtime.version());
+
+        final Application application = Application.create(JavaRuntime.current(true), mainJar);
+        application.install(jri, true, cacheDir);
+        final Path cacheFile = listFiles(cacheDir, name -> name.endsWith(".jar")).get(0);
+        final Path checksumFile = cacheDir.resolve(cacheFile.getFileName() + ".sha256");
+        final Path staleFile = Files.writeString(cacheDir.resolve("stale.jar"), "stale");
+        Files.setLastModifiedTime(staleFile, daysAgo(8));
+        Files.setLastModifiedTime(cacheFile, daysAgo(6));
+        Files.setLastModifiedTime(checksumFile, daysAgo(6));
+
+        // The used jar is kept and touched, the unused one is deleted
+        application.install(jri, true, cacheDir);
+        assertThat(list(cacheDir), containsInAnyOrder(cacheFile, checksumFile));
+        assertThat(Files.getLastModifiedTime(cacheFile).compareTo(daysAgo(1)), is(greaterThan(0)));
+    }
+
+    private static FileTime daysAgo(int days) {
+        return FileTime.from(Instant.now().minus(Duration.ofDays(days)));
+    }
+
+    private static String sha256(String content) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final StringBuilder result = new StringBuilder();
+            for (byte b : digest.digest(content.getBytes(StandardCharsets.UTF_8))) {
+                result.append(String.format("%02x", b));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Path compile(Path dir) throws IOException {
+        final Path sourceFile = Files.writeString(dir.resolve("Greeter.java"), "public class Greeter { }\n");
+        final ToolProvider javac = ToolProvider.findFirst("javac").orElseThrow();
+        assertThat(javac.run(System.out, System.err, "--release", "11", "-g", "-d", dir.toString(), sourceFile.toString()), is(0));
+        return dir.resolve("Greeter.class");
+    }
+
+    private static Path jar(Path jarFile, Manifest manifest, Path classFile) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jarFile), manifest)) {
+            out.putNextEntry(new JarEntry(jarFile.getFileName() + "/Greeter.class"));
+            out.write(Files.readAllBytes(classFile));
+            out.closeEntry();
+        }
+        return jarFile;
+    }
+
+    private static List<Path> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.collect(Collectors.toList());
+        }
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.linker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.spi.ToolProvider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.listFiles;
+import static io.helidon.build.common.FileUtils.unique;
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Unit test for class {@link Jar}.
+ */
+class JarTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() {
+        dir = ensureDirectory(unique(targetDir(JarTest.class), "jar-ut"));
+    }
+
+    @Test
+    void testMultiReleaseModuleDescriptor() throws IOException {
+        final Path jarFile = dir.resolve("multi-release.jar");
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MULTI_RELEASE, "true");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jarFile), manifest)) {
+            add(out, "META-INF/versions/9/module-info.class", moduleInfo("nine"));
+            add(out, "META-INF/versions/11/module-info.class", moduleInfo("eleven"));
+            add(out, "META-INF/versions/99/module-info.class", moduleInfo("future"));
+            add(out, "com/acme/greeting.txt", "hello".getBytes());
+        }
+
+        assertThat(Jar.open(jarFile, Runtime.Version.parse("17")).moduleDescriptor().name(), is("eleven"));
+        assertThat(Jar.open(jarFile, Runtime.Version.parse("10")).moduleDescriptor().name(), is("nine"));
+
+        final Jar jar = Jar.open(jarFile, Runtime.Version.parse("17"));
+        assertThat(jar.isMultiRelease(), is(true));
+        assertThat(jar.containsResource("com/acme/greeting.txt"), is(true));
+        assertThat(jar.containsResource("com/acme/missing.txt"), is(false));
+        assertThat(jar.entryNames().contains("META-INF/versions/99/module-info.class"), is(true));
+        assertThat(jar.entries().count(), is((long) jar.entryNames().size()));
+    }
+
+    @Test
+    void testNotModular() throws IOException {
+        final Path jarFile = dir.resolve("plain.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jarFile))) {
+            add(out, "META-INF/versions/11/module-info.class", moduleInfo("ignored"));
+            add(out, "META-INF/beans.xml", new byte[0]);
+        }
+        final Jar jar = Jar.open(jarFile);
+        assertThat(jar.isMultiRelease(), is(false));
+        assertThat(jar.hasModuleDescriptor(), is(false));
+        assertThat(jar.isBeansArchive(), is(true));
+        assertThat(jar.isSigned(), is(false));
+    }
+
+    @Test
+    void testCachedCopyHasIndex() throws IOException {
+        final Path jarFile = dir.resolve("beans.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jarFile))) {
+            add(out, "META-INF/beans.xml", new byte[0]);
+            add(out, "com/acme/greeting.txt", "hello".getBytes());
+        }
+        final Path cacheDir = dir.resolve("cache");
+        final Jar jar = Jar.open(jarFile);
+        assertThat(jar.hasIndex(), is(false));
+        jar.copyToDirectory(ensureDirectory(dir.resolve("copy1")), true, false, cacheDir);
+        assertThat(jar.hasIndex(), is(true));
+
+        // The index is loaded from the cached copy
+        final Jar cached = Jar.open(jarFile);
+        final Path copy = cached.copyToDirectory(ensureDirectory(dir.resolve("copy2")), true, false, cacheDir);
+        assertThat(cached.hasIndex(), is(true));
+        try (JarFile copied = new JarFile(copy.toFile())) {
+            assertThat(copied.getEntry("META-INF/jandex.idx"), is(notNullValue()));
+        }
+    }
+
+    @Test
+    void testModifiedCachedCopyNotUsed() throws IOException {
+        final Path jarFile = dir.resolve("beans.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jarFile))) {
+            add(out, "META-INF/beans.xml", new byte[0]);
+        }
+        final Path cacheDir = dir.resolve("cache");
+        Jar.open(jarFile).copyToDirectory(ensureDirectory(dir.resolve("copy1")), true, false, cacheDir);
+
+        // Replace the cached copy
+        final Path cacheFile = listFiles(cacheDir, name -> name.endsWith(".jar")).get(0);
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(cacheFile))) {
+            add(out, "META-INF/beans.xml", new byte[0]);
+            add(out, "META-INF/jandex.idx", new byte[0]);
+            add(out, "com/acme/Planted.class", new byte[0]);
+        }
+
+        final Path copy = Jar.open(jarFile).copyToDirectory(ensureDirectory(dir.resolve("copy2")), true, false, cacheDir);
+        try (JarFile copied = new JarFile(copy.toFile())) {
+            assertThat(copied.getEntry("com/acme/Planted.class"), is(nullValue()));
+            assertThat(copied.getEntry("META-INF/jandex.idx"), is(notNullValue()));
+        }
+    }
+
+    private byte[] moduleInfo(String moduleName) throws IOException {
+        final Path sourceDir = ensureDirectory(dir.resolve(moduleName));
+        final Path sourceFile = Files.writeString(sourceDir.resolve("module-info.java"), "module " + moduleName + " { }\n");
+        final ToolProvider javac = ToolProvider.findFirst("javac").orElseThrow();
+        assertThat(javac.run(System.out, System.err, "-d", sourceDir.toString(), sourceFile.toString()), is(0));
+        return Files.readAllBytes(sourceDir.resolve("module-info.class"));
+    }
+
+    private static void add(JarOutputStream out, String name, byte[] data) throws IOException {
+        out.putNextEntry(new JarEntry(name));
+        out.write(data);
+        out.closeEntry();
+    }
+}
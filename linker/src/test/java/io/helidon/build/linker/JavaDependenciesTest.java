@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.linker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.spi.ToolProvider;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.helidon.build.linker.util.JavaRuntime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.unique;
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Unit test for class {@link JavaDependencies}.
+ */
+class JavaDependenciesTest {
+
+    private Path cacheDir;
+    private Path jarFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path dir = unique(targetDir(JavaDependenciesTest.class), "java-dependencies-ut");
+        final Path sourceFile = ensureDirectory(dir.resolve("src/com/acme")).resolve("Database.java");
+        final Path classesDir = ensureDirectory(dir.resolve("classes"));
+        Files.writeString(sourceFile, "package com.acme;\n"
+                                      + "public class Database { java.sql.Connection connection; }\n");
+        cacheDir = dir.resolve("cache");
+        jarFile = dir.resolve("database.jar");
+        assertThat(tool("javac").run(System.out, System.err, "-d", classesDir.toString(), sourceFile.toString()), is(0));
+        assertThat(tool("jar").run(System.out, System.err, "--create", "--file", jarFile.toString(),
+                                   "-C", classesDir.toString(), "."), is(0));
+    }
+
+    @Test
+    void testResultCached() throws Exception {
+        final JavaRuntime javaHome = JavaRuntime.current(true);
+        Set<String> dependencies = JavaDependencies.collect(Stream.of(Jar.open(jarFile)), javaHome, cacheDir);
+        assertThat(dependencies, hasItem("java.sql"));
+        assertThat(dependencies, not(hasItem("java.compiler")));
+
+        final List<Path> cacheFiles = cacheFiles();
+        assertThat(cacheFiles.size(), is(1));
+
+        // The cached result is used instead of running jdeps again
+        Files.writeString(cacheFiles.get(0), "java.compiler\n");
+        dependencies = JavaDependencies.collect(Stream.of(Jar.open(jarFile)), javaHome, cacheDir);
+        assertThat(dependencies, hasItem("java.compiler"));
+        assertThat(dependencies, not(hasItem("java.sql")));
+    }
+
+    @Test
+    void testChangedJarNotCached() throws Exception {
+        final JavaRuntime javaHome = JavaRuntime.current(true);
+        JavaDependencies.collect(Stream.of(Jar.open(jarFile)), javaHome, cacheDir);
+        Files.writeString(cacheFiles().get(0), "java.compiler\n");
+
+        final Path extraFile = Files.writeString(jarFile.resolveSibling("extra.txt"), "extra");
+        assertThat(tool("jar").run(System.out, System.err, "--update", "--file", jarFile.toString(),
+                                   "-C", extraFile.getParent().toString(), "extra.txt"), is(0));
+        final Set<String> dependencies = JavaDependencies.collect(Stream.of(Jar.open(jarFile)), javaHome, cacheDir);
+        assertThat(dependencies, hasItem("java.sql"));
+        assertThat(cacheFiles().size(), is(2));
+    }
+
+    @Test
+    void testStaleResultsDeleted() throws Exception {
+        final JavaRuntime javaHome = JavaRuntime.current(true);
+        JavaDependencies.collect(Stream.of(Jar.open(jarFile)), javaHome, cacheDir);
+        final Path cacheFile = cacheFiles().get(0);
+        final Path staleFile = Files.writeString(cacheDir.resolve("stale.deps"), "java.compiler\n");
+        Files.setLastModifiedTime(staleFile, daysAgo(8));
+        Files.setLastModifiedTime(cacheFile, daysAgo(6));
+
+        // The used result is kept and touched, the unused one is deleted
+        JavaDependencies.collect(Stream.of(Jar.open(jarFile)), javaHome, cacheDir);
+        assertThat(cacheFiles(), contains(cacheFile));
+        assertThat(Files.getLastModifiedTime(cacheFile).compareTo(daysAgo(1)), is(greaterThan(0)));
+    }
+
+    private static FileTime daysAgo(int days) {
+        return FileTime.from(Instant.now().minus(Duration.ofDays(days)));
+    }
+
+    private List<Path> cacheFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static ToolProvider tool(String name) {
+        return ToolProvider.findFirst(name).orElseThrow();
+    }
+}
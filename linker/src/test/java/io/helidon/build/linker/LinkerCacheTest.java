@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.linker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.FileUtils.ensureDirectory;
+import static io.helidon.build.common.FileUtils.unique;
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Unit test for class {@link LinkerCache}.
+ */
+class LinkerCacheTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() {
+        dir = ensureDirectory(unique(targetDir(LinkerCacheTest.class), "linker-cache-ut"));
+    }
+
+    @Test
+    void testDirectoryCreated() {
+        final Path cacheDir = dir.resolve("cache").resolve("jars");
+        assertThat(LinkerCache.directory(cacheDir), is(cacheDir));
+        assertThat(Files.isDirectory(cacheDir), is(true));
+        assertThat(LinkerCache.directory(cacheDir), is(cacheDir));
+    }
+
+    @Test
+    void testSymbolicLinkNotUsed() throws IOException {
+        final Path target = ensureDirectory(dir.resolve("target"));
+        final Path link = Files.createSymbolicLink(dir.resolve("link"), target);
+        assertThat(LinkerCache.directory(link), is(nullValue()));
+    }
+
+    @Test
+    void testFileNotUsed() throws IOException {
+        final Path file = Files.writeString(dir.resolve("file"), "");
+        assertThat(LinkerCache.directory(file), is(nullValue()));
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import io.helidon.build.maven.cache.CacheServer
+
+def server = CacheServer.start(new File(basedir, "cache/server").toPath(), 0)
+def mvnDir = new File(basedir, ".mvn")
+mvnDir.mkdirs()
+new File(mvnDir, "maven.config").text = "-Dcache.remoteUrl=" + server.uri()
+
+// stopped by postbuild.groovy
+context.put("cacheServer", server)
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,12 +20,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.helidon.build.common.SourcePath;
+import io.helidon.build.common.SourcePathMatcher;
 import io.helidon.build.maven.cache.CacheArchiveIndex.FileEntry;
 
 import org.apache.maven.artifact.Artifact;
@@ -50,10 +52,15 @@ import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 /**
  * A component to load / save cache from/to an archive.
+ * Two formats are supported, a plain {@code tar} archive and an {@link IndexedArchive indexed} archive with compressed
+ * entries. The format of an existing archive is detected when loading.
  */
 @Component(role = CacheArchiveManager.class, hint = "default")
 public class CacheArchiveManager {
 
+    private static final String INDEX_ENTRY = "index.xml";
+    private static final String INDEXED_FORMAT = "indexed";
+
     @Requirement
     private ArchiverManager archiverManager;
 
@@ -63,20 +70,14 @@ public class CacheArchiveManager {
     /**
      * Save the build cache to the given archive.
      *
-     * @param session     maven session
-     * @param archiveFile cache archive file
+     * @param session       maven session
+     * @param archiveFile   cache archive file
+     * @param archiveFormat cache archive format, {@code tar} or {@code indexed}
      */
-    @SuppressWarnings("deprecation")
-    public void save(MavenSession session, Path archiveFile) {
+    public void save(MavenSession session, Path archiveFile, String archiveFormat) {
         logger.info("Creating build cache archive...");
-        Archiver archiver;
-        try {
-            archiver = archiverManager.getArchiver("tar");
-        } catch (NoSuchArchiverException ex) {
-            throw new IllegalStateException(ex);
-        }
-
         try {
+            Map<String, Path> archiveEntries = new LinkedHashMap<>();
             ArtifactRepository localRepository = session.getLocalRepository();
             Path localRepoDir = Path.of(localRepository.getBasedir());
             Path projectRootDir = Path.of(session.getExecutionRootDirectory());
@@ -102,38 +103,28 @@ public class CacheArchiveManager {
                 }
                 Path buildDir = project.getModel().getProjectDirectory().toPath()
                         .resolve(project.getModel().getBuild().getDirectory());
-                List<String> buildFilesExcludes = cacheConfig.buildFilesExcludes();
+                SourcePathMatcher matcher = SourcePathMatcher.create(null, cacheConfig.buildFilesExcludes());
                 List<FileEntry> buildFiles = new LinkedList<>();
                 if (Files.exists(buildDir)) {
                     Files.walk(buildDir)
                             .filter(f -> !Files.isDirectory(f)
                                     && !f.equals(archiveFile)
-                                    && new SourcePath(buildDir, f).matches(null, buildFilesExcludes))
+                                    && matcher.matches(new SourcePath(buildDir, f)))
                             .forEach(f -> {
                                 FileEntry buildFile = new FileEntry(buildDir.relativize(f).toString(),
                                         fileIndex.getAndIncrement());
                                 buildFiles.add(buildFile);
-                                archiver.addFile(f.toFile(), buildFile.index());
+                                archiveEntries.put(buildFile.index(), f);
                             });
                 }
                 projectEntries.add(new CacheArchiveIndex.ProjectEntry(project.getGroupId(), project.getArtifactId(),
                         projectRootDir.relativize(buildDir).toString(), buildFiles));
 
-                for (Artifact artifact : projectArtifacts(project)) {
-                    for (ArtifactMetadata metadata : artifact.getMetadataList()) {
-                        if (!(metadata instanceof ProjectArtifactMetadata)) {
-                            continue;
-                        }
-                        String repoPath = localRepository.pathOfLocalRepositoryMetadata(metadata, null);
-                        FileEntry repoFile = new FileEntry(repoPath, fileIndex.getAndIncrement());
-                        archiver.addFile(localRepoDir.resolve(repoPath).toFile(), repoFile.index());
-                        repoFiles.add(repoFile);
-                    }
-                    String repoPath = localRepository.pathOf(artifact);
+                for (String repoPath : repositoryFiles(project, localRepository)) {
                     Path localRepoPath = localRepoDir.resolve(repoPath);
                     if (Files.exists(localRepoPath)) {
                         FileEntry repoFile = new FileEntry(repoPath, fileIndex.getAndIncrement());
-                        archiver.addFile(localRepoDir.resolve(repoPath).toFile(), repoFile.index());
+                        archiveEntries.put(repoFile.index(), localRepoPath);
                         repoFiles.add(repoFile);
                     }
                 }
@@ -154,15 +145,31 @@ public class CacheArchiveManager {
             index.save(indexPath);
             File indexFile = indexPath.toFile();
             indexFile.deleteOnExit();
-            archiver.addFile(indexPath.toFile(), "index.xml");
-            archiver.setDestFile(archiveFile.toFile());
-            archiver.createArchive();
+            archiveEntries.put(INDEX_ENTRY, indexPath);
+            if (INDEXED_FORMAT.equals(archiveFormat)) {
+                IndexedArchive.create(archiveFile, archiveEntries);
+            } else {
+                createTar(archiveFile, archiveEntries);
+            }
         } catch (IOException ex) {
             logger.error("An error occurred while creating build cache archive", ex);
         }
     }
 
-    private CacheArchiveIndex load(Path cacheArchive) throws IOException, XmlPullParserException {
+    @SuppressWarnings("deprecation")
+    private void createTar(Path archiveFile, Map<String, Path> archiveEntries) throws IOException {
+        Archiver archiver;
+        try {
+            archiver = archiverManager.getArchiver("tar");
+        } catch (NoSuchArchiverException ex) {
+            throw new IllegalStateException(ex);
+        }
+        archiveEntries.forEach((name, file) -> archiver.addFile(file.toFile(), name));
+        archiver.setDestFile(archiveFile.toFile());
+        archiver.createArchive();
+    }
+
+    private CacheArchiveIndex loadTarIndex(Path cacheArchive) throws IOException, XmlPullParserException {
         PlexusIoResourceCollection resources;
         try {
             resources = archiverManager.getResourceCollection("tar");
@@ -173,7 +180,7 @@ public class CacheArchiveManager {
             ((AbstractPlexusIoArchiveResourceCollection) resources).setFile(cacheArchive.toFile());
         }
         for (PlexusIoResource resource : resources) {
-            if (resource.getName().equals("index.xml")) {
+            if (resource.getName().equals(INDEX_ENTRY)) {
                 return CacheArchiveIndex.load(resource.getContents());
             }
         }
@@ -188,12 +195,16 @@ public class CacheArchiveManager {
      */
     public void loadCache(MavenSession session, Path archiveFile) {
         logger.info("Loading build cache from file...");
+        if (IndexedArchive.isIndexed(archiveFile)) {
+            loadIndexed(session, archiveFile);
+            return;
+        }
         CacheArchiveIndex index;
         try {
             if (logger.isDebugEnabled()) {
                 logger.debug("Loading index");
             }
-            index = load(archiveFile);
+            index = loadTarIndex(archiveFile);
             if (index == null) {
                 logger.error("Index not found");
                 return;
@@ -232,6 +243,52 @@ public class CacheArchiveManager {
         unArchiver.extract();
         unArchiverEntries.clear();
 
+        buildFiles(session, index).forEach((name, file) -> unArchiverEntries.put(name, file.toString()));
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Processing build files...");
+        }
+        unArchiver.setDestDirectory(new File(session.getExecutionRootDirectory()));
+        unArchiver.setOverwrite(false);
+        unArchiver.extract();
+    }
+
+    private void loadIndexed(MavenSession session, Path archiveFile) {
+        try {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Loading index");
+            }
+            IndexedArchive archive = IndexedArchive.open(archiveFile);
+            if (!archive.contains(INDEX_ENTRY)) {
+                logger.error("Index not found");
+                return;
+            }
+            CacheArchiveIndex index = CacheArchiveIndex.load(archive.read(INDEX_ENTRY));
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Processing repository files...");
+            }
+            Path localRepoDir = Path.of(session.getLocalRepository().getBasedir());
+            Map<String, Path> repoFiles = new LinkedHashMap<>();
+            for (FileEntry repoFile : index.repoFiles()) {
+                repoFiles.put(repoFile.index(), localRepoDir.resolve(repoFile.path()));
+            }
+            int written = archive.extract(repoFiles, true);
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Processing build files...");
+            }
+            written += archive.extract(buildFiles(session, index), false);
+            if (logger.isDebugEnabled()) {
+                logger.debug(String.format("Extracted %d file(s)", written));
+            }
+        } catch (IOException | XmlPullParserException ex) {
+            logger.error("Error while loading the build cache archive", ex);
+        }
+    }
+
+    private Map<String, Path> buildFiles(MavenSession session, CacheArchiveIndex index) {
+        Map<String, Path> buildFiles = new LinkedHashMap<>();
         for (MavenProject project : session.getProjects()) {
             CacheArchiveIndex.ProjectEntry projectEntry = index.findProject(project.getGroupId(),
                     project.getArtifactId());
@@ -255,22 +312,37 @@ public class CacheArchiveManager {
                 continue;
             }
 
-            List<String> buildFilesExcludes = cacheConfig.buildFilesExcludes();
+            SourcePathMatcher matcher = SourcePathMatcher.create(null, cacheConfig.buildFilesExcludes());
             Path buildDir = project.getModel().getProjectDirectory().toPath()
                     .resolve(project.getModel().getBuild().getDirectory());
             for (FileEntry buildFile : projectEntry.buildFiles()) {
-                if (new SourcePath(buildFile.path()).matches(null, buildFilesExcludes)) {
-                    unArchiverEntries.put(buildFile.index(), buildDir.resolve(buildFile.path()).toString());
+                if (matcher.matches(buildFile.path())) {
+                    buildFiles.put(buildFile.index(), buildDir.resolve(buildFile.path()));
                 }
             }
         }
 
-        if (logger.isDebugEnabled()) {
-            logger.debug("Processing build files...");
+        return buildFiles;
+    }
+
+    /**
+     * Get the local repository files of a project.
+     *
+     * @param project         Maven project
+     * @param localRepository local repository
+     * @return list of file paths relative to the local repository, the files may not exist
+     */
+    static List<String> repositoryFiles(MavenProject project, ArtifactRepository localRepository) {
+        List<String> repoFiles = new LinkedList<>();
+        for (Artifact artifact : projectArtifacts(project)) {
+            for (ArtifactMetadata metadata : artifact.getMetadataList()) {
+                if (metadata instanceof ProjectArtifactMetadata) {
+                    repoFiles.add(localRepository.pathOfLocalRepositoryMetadata(metadata, null));
+                }
+            }
+            repoFiles.add(localRepository.pathOf(artifact));
         }
-        unArchiver.setDestDirectory(new File(session.getExecutionRootDirectory()));
-        unArchiver.setOverwrite(false);
-        unArchiver.extract();
+        return repoFiles;
     }
 
     private static List<Artifact> projectArtifacts(MavenProject project) {
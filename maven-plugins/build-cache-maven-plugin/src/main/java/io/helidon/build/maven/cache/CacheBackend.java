@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ServiceLoader;
+
+/**
+ * Remote build cache backend.
+ * <p>
+ * A backend stores files by path, the paths are the ones of the {@link LocalStore local store}. E.g.
+ * {@code entries/KEY} or {@code objects/AB/ABCD...}. Implementations must be safe for concurrent use.
+ * <p>
+ * The {@code http}, {@code https} and {@code file} schemes are supported, other schemes can be supported by
+ * implementing {@link Provider} as a {@link ServiceLoader} service.
+ */
+public interface CacheBackend {
+
+    /**
+     * Download a file.
+     *
+     * @param path file path
+     * @param file target file
+     * @return {@code true} if the file was downloaded, {@code false} if it does not exist
+     * @throws IOException if an IO error occurs
+     */
+    boolean get(String path, Path file) throws IOException;
+
+    /**
+     * Test if a file exists.
+     *
+     * @param path file path
+     * @return {@code true} if the file exists
+     * @throws IOException if an IO error occurs
+     */
+    boolean exists(String path) throws IOException;
+
+    /**
+     * Upload a file.
+     *
+     * @param path file path
+     * @param file source file
+     * @throws IOException if an IO error occurs
+     */
+    void put(String path, Path file) throws IOException;
+
+    /**
+     * Create a backend for the given URI.
+     *
+     * @param uri backend URI
+     * @return CacheBackend
+     * @throws IllegalArgumentException if the URI scheme is not supported
+     */
+    static CacheBackend create(URI uri) {
+        String scheme = uri.getScheme();
+        if ("http".equals(scheme) || "https".equals(scheme)) {
+            return new HttpCacheBackend(uri);
+        }
+        if ("file".equals(scheme)) {
+            return new FileCacheBackend(Path.of(uri));
+        }
+        for (Provider provider : ServiceLoader.load(Provider.class, CacheBackend.class.getClassLoader())) {
+            if (provider.supports(uri)) {
+                return provider.create(uri);
+            }
+        }
+        throw new IllegalArgumentException("Unsupported cache backend: " + uri);
+    }
+
+    /**
+     * Backend provider.
+     */
+    interface Provider {
+
+        /**
+         * Test if this provider supports the given URI.
+         *
+         * @param uri backend URI
+         * @return {@code true} if supported
+         */
+        boolean supports(URI uri);
+
+        /**
+         * Create a backend.
+         *
+         * @param uri backend URI
+         * @return CacheBackend
+         */
+        CacheBackend create(URI uri);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,10 +17,13 @@ package io.helidon.build.maven.cache;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.WeakHashMap;
 import java.util.stream.Collectors;
@@ -38,10 +41,12 @@ final class CacheConfig {
     private static final String GROUPID = "io.helidon.build-tools";
     private static final String ARTIFACTID = "helidon-build-cache-maven-plugin";
     private static final String POM_PROPERTIES = "META-INF/maven/" + GROUPID + "/" + ARTIFACTID + "/pom.properties";
-    private static String version;
+    private static volatile String version;
     private static final Properties EMPTY_PROPS = new Properties();
+    private static final List<String> ARCHIVE_FORMATS = List.of("tar", "indexed");
     private static final CacheConfig EMPTY_CONFIG = new CacheConfig(null, null);
-    private static final WeakHashMap<MavenProject, CacheConfig> CONFIG_CACHE = new WeakHashMap<>();
+    private static final Map<MavenProject, CacheConfig> CONFIG_CACHE =
+            Collections.synchronizedMap(new WeakHashMap<>());
 
     private final List<String> executionsExcludes;
     private final List<String> executionsIncludes;
@@ -50,9 +55,15 @@ final class CacheConfig {
     private final boolean enableChecksums;
     private final boolean includeAllChecksums;
     private final Path archiveFile;
+    private final String archiveFormat;
     private final boolean skip;
     private final boolean createArchive;
     private final boolean loadArchive;
+    private final boolean localStore;
+    private final Path localStoreDir;
+    private final long localStoreMaxSize;
+    private final URI remoteUrl;
+    private final Path reportFile;
 
     // TODO cache.executionsRules
     //          source as list of patterns to match against the executions
@@ -74,11 +85,17 @@ final class CacheConfig {
         List<String> projectFilesExcludes = stringListProperty(sysProps, userProps, "cache.projectFilesExcludes");
         List<String> buildFilesExcludes = stringListProperty(sysProps, userProps, "cache.buildFilesExcludes");
         Path archiveFile = pathProperty(sysProps, userProps, "cache.archiveFile");
+        String archiveFormat = stringProperty(sysProps, userProps, "cache.archiveFormat");
         Boolean enableChecksums = booleanProperty(sysProps, userProps, "cache.enableChecksums");
         Boolean includeAllChecksums = booleanProperty(sysProps, userProps, "cache.includeAllChecksums");
         Boolean skip = booleanProperty(sysProps, userProps, "cache.skip");
         Boolean createArchive = booleanProperty(sysProps, userProps, "cache.createArchive");
         Boolean loadArchive = booleanProperty(sysProps, userProps, "cache.loadArchive");
+        Boolean localStore = booleanProperty(sysProps, userProps, "cache.localStore");
+        Path localStoreDir = pathProperty(sysProps, userProps, "cache.localStoreDir");
+        String localStoreMaxSize = stringProperty(sysProps, userProps, "cache.localStoreMaxSize");
+        String remoteUrl = stringProperty(sysProps, userProps, "cache.remoteUrl");
+        Path reportFile = pathProperty(sysProps, userProps, "cache.reportFile");
         if (config != null) {
             if (executionsIncludes == null) {
                 executionsIncludes = stringListElement(config, "executionsIncludes");
@@ -95,6 +112,9 @@ final class CacheConfig {
             if (archiveFile == null) {
                 archiveFile = pathElement(config, "archiveFile");
             }
+            if (archiveFormat == null) {
+                archiveFormat = stringElement(config, "archiveFormat");
+            }
             if (enableChecksums == null) {
                 enableChecksums = booleanElement(config, "enableChecksums");
             }
@@ -110,13 +130,39 @@ final class CacheConfig {
             if (skip == null) {
                 skip = booleanElement(config, "skip");
             }
+            if (localStore == null) {
+                localStore = booleanElement(config, "localStore");
+            }
+            if (localStoreDir == null) {
+                localStoreDir = pathElement(config, "localStoreDir");
+            }
+            if (localStoreMaxSize == null) {
+                localStoreMaxSize = stringElement(config, "localStoreMaxSize");
+            }
+            if (remoteUrl == null) {
+                remoteUrl = stringElement(config, "remoteUrl");
+            }
+            if (reportFile == null) {
+                reportFile = pathElement(config, "reportFile");
+            }
         }
         this.enableChecksums = enableChecksums != null && enableChecksums;
         this.includeAllChecksums = includeAllChecksums != null && includeAllChecksums;
         this.skip = skip != null && skip;
         this.archiveFile = archiveFile;
+        this.archiveFormat = archiveFormat != null ? archiveFormat : "tar";
+        if (!ARCHIVE_FORMATS.contains(this.archiveFormat)) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid cache.archiveFormat: '%s', supported formats: %s", this.archiveFormat, ARCHIVE_FORMATS));
+        }
         this.createArchive = createArchive != null && createArchive;
         this.loadArchive = loadArchive != null && loadArchive;
+        this.remoteUrl = remoteUrl != null ? URI.create(remoteUrl) : null;
+        this.localStore = localStore != null && localStore || this.remoteUrl != null;
+        this.localStoreDir = localStoreDir != null ? localStoreDir
+                : Path.of(System.getProperty("user.home"), ".m2", "build-cache");
+        this.reportFile = reportFile;
+        this.localStoreMaxSize = localStoreMaxSize != null ? Long.parseLong(localStoreMaxSize) : 10240L;
         this.executionsExcludes = executionsExcludes != null ? executionsExcludes : List.of();
         this.executionsIncludes = executionsIncludes != null ? executionsIncludes : List.of();
         this.projectFilesExcludes = projectFilesExcludes != null ? projectFilesExcludes : List.of();
@@ -168,6 +214,15 @@ final class CacheConfig {
         return archiveFile;
     }
 
+    /**
+     * Get the cache archive format.
+     *
+     * @return {@code tar} or {@code indexed}, never {@code null}
+     */
+    String archiveFormat() {
+        return archiveFormat;
+    }
+
     /**
      * If the archive file is configured and present, indicate if it should be loaded.
      *
@@ -186,6 +241,52 @@ final class CacheConfig {
         return createArchive;
     }
 
+    /**
+     * Indicate if the local store should be used.
+     * The local store is always used when a remote URL is configured.
+     *
+     * @return local store flag
+     */
+    boolean localStore() {
+        return localStore;
+    }
+
+    /**
+     * Get the local store directory.
+     *
+     * @return local store directory, never {@code null}
+     */
+    Path localStoreDir() {
+        return localStoreDir;
+    }
+
+    /**
+     * Get the maximum size of the local store.
+     *
+     * @return maximum size in megabytes
+     */
+    long localStoreMaxSize() {
+        return localStoreMaxSize;
+    }
+
+    /**
+     * Get the remote backend URL.
+     *
+     * @return remote URL, or {@code null} if not configured
+     */
+    URI remoteUrl() {
+        return remoteUrl;
+    }
+
+    /**
+     * Get the report file.
+     *
+     * @return report file, or {@code null} if not configured
+     */
+    Path reportFile() {
+        return reportFile;
+    }
+
     /**
      * Get the skip flag.
      *
@@ -275,6 +376,17 @@ final class CacheConfig {
         return null;
     }
 
+    private static String stringElement(Xpp3Dom config, String eltName) {
+        Xpp3Dom elt = config.getChild(eltName);
+        if (elt != null) {
+            String value = elt.getValue();
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
     private static Path pathElement(Xpp3Dom config, String eltName) {
         Xpp3Dom elt = config.getChild(eltName);
         if (elt != null) {
@@ -303,6 +415,14 @@ final class CacheConfig {
         return value == null ? null : value.isEmpty() || Boolean.parseBoolean(value);
     }
 
+    private static String stringProperty(Properties sysProps, Properties userProps, String prop) {
+        String value = sysProps.getProperty(prop);
+        if (value == null) {
+            value = userProps.getProperty(prop);
+        }
+        return value == null || value.isEmpty() ? null : value;
+    }
+
     private static Path pathProperty(Properties sysProps, Properties userProps, String prop) {
         String value = sysProps.getProperty(prop);
         if (value == null) {
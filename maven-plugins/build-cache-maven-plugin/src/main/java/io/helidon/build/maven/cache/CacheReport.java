@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Build cache report.
+ * Describes the cache hits and misses of each module and mojo execution, with the reason of each miss, the time
+ * spent by the cache and an estimate of the time saved.
+ */
+final class CacheReport {
+
+    /**
+     * Module status when all the executions are cached.
+     */
+    static final String MODULE_CACHED = "cached";
+
+    /**
+     * Module status when some executions are not cached.
+     */
+    static final String MODULE_PARTIAL = "partial";
+
+    /**
+     * Module status when the project files have changed.
+     */
+    static final String MODULE_FILES_CHANGED = "files-changed";
+
+    /**
+     * Module status when a downstream state is invalid.
+     */
+    static final String MODULE_INVALID_DOWNSTREAM = "invalid-downstream";
+
+    /**
+     * Module status when the state is not available.
+     */
+    static final String MODULE_UNAVAILABLE = "unavailable";
+
+    /**
+     * Module status when the cache is disabled.
+     */
+    static final String MODULE_SKIPPED = "skipped";
+
+    /**
+     * Execution status when the execution is cached.
+     */
+    static final String EXEC_CACHED = "cached";
+
+    /**
+     * Execution status when the execution configuration differs.
+     */
+    static final String EXEC_DIFF = "diff";
+
+    /**
+     * Execution status when the execution is not recorded in the state.
+     */
+    static final String EXEC_NEW = "new";
+
+    /**
+     * Execution status when the execution is not matched by the executions includes and excludes.
+     */
+    static final String EXEC_EXCLUDED = "excluded";
+
+    /**
+     * Execution status when the state of the module is not usable.
+     */
+    static final String EXEC_INVALIDATED = "invalidated";
+
+    /**
+     * Cache operations that are timed.
+     */
+    enum Timing {
+
+        /**
+         * Computing the project files fingerprints.
+         */
+        FINGERPRINT("fingerprint", "fingerprinting"),
+
+        /**
+         * Loading the state files.
+         */
+        LOAD_STATE("loadState", "loading state"),
+
+        /**
+         * Saving the state files.
+         */
+        SAVE_STATE("saveState", "saving state"),
+
+        /**
+         * Loading the cache archive.
+         */
+        LOAD_ARCHIVE("loadArchive", "loading archive"),
+
+        /**
+         * Saving the cache archive.
+         */
+        SAVE_ARCHIVE("saveArchive", "saving archive"),
+
+        /**
+         * Restoring and saving the local (and remote) store entries.
+         */
+        STORE("store", "store");
+
+        private final String key;
+        private final String description;
+
+        Timing(String key, String description) {
+            this.key = key;
+            this.description = description;
+        }
+    }
+
+    private final List<ModuleReport> modules;
+    private final Map<Timing, Long> timings;
+
+    /**
+     * Create a new report.
+     *
+     * @param modules modules reports
+     * @param timings cumulative durations in milliseconds
+     */
+    CacheReport(List<ModuleReport> modules, Map<Timing, Long> timings) {
+        this.modules = modules;
+        this.timings = new EnumMap<>(Timing.class);
+        for (Timing timing : Timing.values()) {
+            this.timings.put(timing, timings.getOrDefault(timing, 0L));
+        }
+    }
+
+    /**
+     * Get the modules reports.
+     *
+     * @return list of module report
+     */
+    List<ModuleReport> modules() {
+        return modules;
+    }
+
+    /**
+     * Get the cumulative duration of a cache operation.
+     *
+     * @param timing cache operation
+     * @return duration in milliseconds
+     */
+    long timing(Timing timing) {
+        return timings.get(timing);
+    }
+
+    /**
+     * Get the total number of cached executions.
+     *
+     * @return hits count
+     */
+    int hits() {
+        return modules.stream().mapToInt(ModuleReport::hits).sum();
+    }
+
+    /**
+     * Get the total number of executions that are not cached.
+     *
+     * @return misses count
+     */
+    int misses() {
+        return modules.stream().mapToInt(ModuleReport::misses).sum();
+    }
+
+    /**
+     * Get the estimated time saved.
+     *
+     * @return duration in milliseconds
+     */
+    long timeSaved() {
+        return modules.stream().mapToLong(ModuleReport::timeSaved).sum();
+    }
+
+    /**
+     * Get the console summary.
+     *
+     * @return lines
+     */
+    List<String> summary() {
+        List<String> lines = new ArrayList<>();
+        int width = modules.stream().mapToInt(m -> m.id.length()).max().orElse(0);
+        for (ModuleReport module : modules) {
+            lines.add(String.format("%-" + width + "s  %-18s  hits: %d, misses: %d",
+                    module.id, module.status, module.hits(), module.misses()));
+        }
+        lines.add(String.format("Executions: %d hit(s), %d miss(es)", hits(), misses()));
+        StringBuilder sb = new StringBuilder("Time spent");
+        for (Timing timing : Timing.values()) {
+            sb.append(timing == Timing.FINGERPRINT ? " " : ", ")
+              .append(timing.description)
+              .append(": ")
+              .append(formatDuration(timings.get(timing)));
+        }
+        lines.add(sb.toString());
+        lines.add("Estimated time saved: " + formatDuration(timeSaved()));
+        return lines;
+    }
+
+    /**
+     * Write this report as JSON.
+     *
+     * @param file output file
+     * @throws IOException if an IO error occurs
+     */
+    void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmpFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(tmpFile, toJson());
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Render this report as JSON.
+     *
+     * @return JSON document
+     */
+    String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"hits\": ").append(hits()).append(",\n");
+        sb.append("  \"misses\": ").append(misses()).append(",\n");
+        sb.append("  \"timeSaved\": ").append(timeSaved()).append(",\n");
+        sb.append("  \"timings\": {");
+        String sep = "\n";
+        for (Timing timing : Timing.values()) {
+            sb.append(sep).append("    ").append(quote(timing.key)).append(": ").append(timings.get(timing));
+            sep = ",\n";
+        }
+        sb.append("\n  },\n");
+        sb.append("  \"modules\": [");
+        sep = "\n";
+        for (ModuleReport module : modules) {
+            sb.append(sep);
+            module.toJson(sb);
+            sep = ",\n";
+        }
+        sb.append(modules.isEmpty() ? "]\n" : "\n  ]\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Format a duration for display.
+     *
+     * @param millis duration in milliseconds
+     * @return formatted duration
+     */
+    static String formatDuration(long millis) {
+        if (millis < 1000) {
+            return millis + "ms";
+        }
+        if (millis < 60000) {
+            return String.format(Locale.ROOT, "%.1fs", millis / 1000.0);
+        }
+        return String.format("%dm%02ds", millis / 60000, (millis % 60000) / 1000);
+    }
+
+    private static void appendStrings(StringBuilder sb, List<String> values) {
+        sb.append('[');
+        String sep = "";
+        for (String value : values) {
+            sb.append(sep).append(quote(value));
+            sep = ", ";
+        }
+        sb.append(']');
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+        return sb.toString();
+    }
+
+    /**
+     * Module report.
+     */
+    static final class ModuleReport {
+
+        private final String id;
+        private final String status;
+        private final List<String> reasons;
+        private final List<ExecutionReport> executions;
+
+        /**
+         * Create a new module report.
+         *
+         * @param id         module id, {@code groupId:artifactId}
+         * @param status     module status
+         * @param reasons    reasons of the status
+         * @param executions executions reports
+         */
+        ModuleReport(String id, String status, List<String> reasons, List<ExecutionReport> executions) {
+            this.id = id;
+            this.status = status;
+            this.reasons = reasons;
+            this.executions = executions;
+        }
+
+        /**
+         * Get the module id.
+         *
+         * @return id
+         */
+        String id() {
+            return id;
+        }
+
+        /**
+         * Get the module status.
+         *
+         * @return status
+         */
+        String status() {
+            return status;
+        }
+
+        /**
+         * Get the executions reports.
+         *
+         * @return list of execution report
+         */
+        List<ExecutionReport> executions() {
+            return executions;
+        }
+
+        /**
+         * Get the number of cached executions.
+         *
+         * @return hits count
+         */
+        int hits() {
+            return (int) executions.stream().filter(ExecutionReport::isHit).count();
+        }
+
+        /**
+         * Get the number of executions that are not cached.
+         *
+         * @return misses count
+         */
+        int misses() {
+            return executions.size() - hits();
+        }
+
+        /**
+         * Get the estimated time saved.
+         *
+         * @return duration in milliseconds
+         */
+        long timeSaved() {
+            return executions.stream().mapToLong(e -> e.timeSaved).sum();
+        }
+
+        private void toJson(StringBuilder sb) {
+            sb.append("    {\n");
+            sb.append("      \"id\": ").append(quote(id)).append(",\n");
+            sb.append("      \"status\": ").append(quote(status)).append(",\n");
+            sb.append("      \"reasons\": ");
+            appendStrings(sb, reasons);
+            sb.append(",\n");
+            sb.append("      \"hits\": ").append(hits()).append(",\n");
+            sb.append("      \"misses\": ").append(misses()).append(",\n");
+            sb.append("      \"timeSaved\": ").append(timeSaved()).append(",\n");
+            sb.append("      \"executions\": [");
+            String sep = "\n";
+            for (ExecutionReport execution : executions) {
+                sb.append(sep);
+                execution.toJson(sb);
+                sep = ",\n";
+            }
+            sb.append(executions.isEmpty() ? "]\n" : "\n      ]\n");
+            sb.append("    }");
+        }
+    }
+
+    /**
+     * Execution report.
+     */
+    static final class ExecutionReport {
+
+        private final String name;
+        private final String status;
+        private final List<String> reasons;
+        private final long duration;
+        private final long timeSaved;
+
+        /**
+         * Create a new execution report.
+         *
+         * @param name      execution name
+         * @param status    execution status
+         * @param reasons   reasons of the status
+         * @param duration  duration of the execution in this build in milliseconds, {@code 0} if not executed
+         * @param timeSaved duration of the recorded execution in milliseconds if cached, {@code 0} otherwise
+         */
+        ExecutionReport(String name, String status, List<String> reasons, long duration, long timeSaved) {
+            this.name = name;
+            this.status = status;
+            this.reasons = reasons;
+            this.duration = duration;
+            this.timeSaved = timeSaved;
+        }
+
+        /**
+         * Get the execution name.
+         *
+         * @return name
+         */
+        String name() {
+            return name;
+        }
+
+        /**
+         * Get the execution status.
+         *
+         * @return status
+         */
+        String status() {
+            return status;
+        }
+
+        /**
+         * Get the reasons of the status.
+         *
+         * @return list of reason
+         */
+        List<String> reasons() {
+            return reasons;
+        }
+
+        /**
+         * Indicate if the execution is cached.
+         *
+         * @return {@code true} if cached, {@code false} otherwise
+         */
+        boolean isHit() {
+            return EXEC_CACHED.equals(status);
+        }
+
+        private void toJson(StringBuilder sb) {
+            sb.append("        {\"name\": ").append(quote(name))
+              .append(", \"status\": ").append(quote(status))
+              .append(", \"duration\": ").append(duration)
+              .append(", \"timeSaved\": ").append(timeSaved)
+              .append(", \"reasons\": ");
+            appendStrings(sb, reasons);
+            sb.append('}');
+        }
+    }
+}
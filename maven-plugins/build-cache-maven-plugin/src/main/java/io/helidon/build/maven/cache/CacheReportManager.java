@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.helidon.build.maven.cache.CacheReport.ExecutionReport;
+import io.helidon.build.maven.cache.CacheReport.ModuleReport;
+import io.helidon.build.maven.cache.CacheReport.Timing;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.component.annotations.Requirement;
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * A component that collects the cache timings and the mojo durations, and that produces the {@link CacheReport}.
+ * This component is safe for use by concurrent project builds, E.g. {@code mvn -T}.
+ */
+@Component(role = CacheReportManager.class, hint = "default")
+public class CacheReportManager {
+
+    @Requirement
+    private ProjectExecutionManager executionManager;
+
+    @Requirement
+    private Logger logger;
+
+    private final Map<Timing, LongAdder> timings = new EnumMap<>(Timing.class);
+    private final Map<MojoExecution, Long> mojoStarts = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new report manager.
+     */
+    public CacheReportManager() {
+        for (Timing timing : Timing.values()) {
+            timings.put(timing, new LongAdder());
+        }
+    }
+
+    /**
+     * Add the time elapsed since the given start time to a cache operation.
+     *
+     * @param timing    cache operation
+     * @param startTime start time obtained with {@link System#nanoTime()}
+     */
+    void time(Timing timing, long startTime) {
+        timings.get(timing).add(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Record the start of a mojo execution.
+     *
+     * @param execution mojo execution
+     */
+    public void mojoStarted(MojoExecution execution) {
+        mojoStarts.put(execution, System.nanoTime());
+    }
+
+    /**
+     * Get the duration of a mojo execution.
+     *
+     * @param execution mojo execution
+     * @return duration in milliseconds, {@code 0} if unknown
+     */
+    public long mojoDuration(MojoExecution execution) {
+        Long startTime = mojoStarts.remove(execution);
+        if (startTime == null) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Log the report summary, and write the report file if configured.
+     *
+     * @param session Maven session
+     */
+    public void report(MavenSession session) {
+        CacheReport report = create(session);
+        report.summary().forEach(logger::info);
+        Path reportFile = CacheConfig.of(session.getTopLevelProject(), session).reportFile();
+        if (reportFile != null) {
+            try {
+                report.write(reportFile);
+                logger.info("Report written to " + reportFile);
+            } catch (IOException ex) {
+                logger.warn("Error while writing build cache report", ex);
+            }
+        }
+    }
+
+    /**
+     * Create the report for the projects of a session.
+     *
+     * @param session Maven session
+     * @return CacheReport
+     */
+    CacheReport create(MavenSession session) {
+        List<ModuleReport> modules = new ArrayList<>();
+        for (MavenProject project : session.getProjects()) {
+            modules.add(moduleReport(project, session));
+        }
+        Map<Timing, Long> millis = new EnumMap<>(Timing.class);
+        timings.forEach((timing, nanos) -> millis.put(timing, TimeUnit.NANOSECONDS.toMillis(nanos.sum())));
+        return new CacheReport(modules, millis);
+    }
+
+    private ModuleReport moduleReport(MavenProject project, MavenSession session) {
+        String id = project.getGroupId() + ":" + project.getArtifactId();
+        List<ExecutionEntry> recorded = executionManager.recordedExecutions(project);
+        if (CacheConfig.of(project, session).skip()) {
+            return new ModuleReport(id, CacheReport.MODULE_SKIPPED, List.of("cache.skip is true"),
+                    executionReports(recorded, CacheReport.EXEC_INVALIDATED, "cache.skip is true"));
+        }
+        ProjectExecutionPlan plan = executionManager.plan(project);
+        if (plan == null) {
+            String reason = session.getGoals().contains("clean") ? "clean requested" : "state file not found";
+            return new ModuleReport(id, CacheReport.MODULE_UNAVAILABLE, List.of(reason),
+                    executionReports(recorded, CacheReport.EXEC_INVALIDATED, reason));
+        }
+        if (plan.hasFileChanges()) {
+            List<String> reasons = new ArrayList<>();
+            ProjectStateStatus stateStatus = plan.stateStatus();
+            stateStatus.state()
+                       .projectFiles()
+                       .diff(stateStatus.projectFiles())
+                       .forEachRemaining(diff -> reasons.add(diff.asString()));
+            return new ModuleReport(id, CacheReport.MODULE_FILES_CHANGED, reasons,
+                    executionReports(recorded, CacheReport.EXEC_INVALIDATED, "files changed"));
+        }
+        if (plan.hasInvalidDownstream()) {
+            String reason = "downstream state(s) not available";
+            return new ModuleReport(id, CacheReport.MODULE_INVALID_DOWNSTREAM, List.of(reason),
+                    executionReports(recorded, CacheReport.EXEC_INVALIDATED, reason));
+        }
+        ProjectState state = plan.stateStatus().state();
+        List<ExecutionReport> executions = new ArrayList<>();
+        for (ExecutionStatus status : plan.executionStatuses()) {
+            ExecutionEntry exec = status.execution();
+            long duration = recorded.stream().filter(exec::matches).mapToLong(ExecutionEntry::duration).sum();
+            recorded.removeIf(exec::matches);
+            if (status.isCached()) {
+                long timeSaved = state.findMatchingExecution(exec).duration();
+                executions.add(new ExecutionReport(exec.name(), CacheReport.EXEC_CACHED, List.of(), 0, timeSaved));
+            } else if (status.isDiff()) {
+                List<String> reasons = new ArrayList<>();
+                ConfigDiffs diffs = status.diffs().rewind();
+                while (diffs.hasNext()) {
+                    reasons.add(diffs.next().asString());
+                }
+                executions.add(new ExecutionReport(exec.name(), CacheReport.EXEC_DIFF, reasons, duration, 0));
+            } else {
+                executions.add(new ExecutionReport(exec.name(), CacheReport.EXEC_NEW,
+                        List.of("not recorded in state"), duration, 0));
+            }
+        }
+        // the remaining executions are not in the plan
+        executions.addAll(executionReports(recorded, CacheReport.EXEC_EXCLUDED,
+                "not matched by executionsIncludes / executionsExcludes"));
+        return new ModuleReport(id, plan.allCached() ? CacheReport.MODULE_CACHED : CacheReport.MODULE_PARTIAL,
+                List.of(), executions);
+    }
+
+    private static List<ExecutionReport> executionReports(List<ExecutionEntry> executions,
+                                                          String status,
+                                                          String reason) {
+        List<ExecutionReport> reports = new ArrayList<>();
+        for (ExecutionEntry exec : executions) {
+            reports.add(new ExecutionReport(exec.name(), status, List.of(reason), exec.duration(), 0));
+        }
+        return reports;
+    }
+}
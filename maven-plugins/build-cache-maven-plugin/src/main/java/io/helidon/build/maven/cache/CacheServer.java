@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embeddable server for the {@link HttpCacheBackend HTTP cache backend} protocol that stores the files in a
+ * directory. It is intended for testing and small setups.
+ * <p>
+ * Usage: {@code java -cp helidon-build-cache-maven-plugin.jar io.helidon.build.maven.cache.CacheServer DIR [PORT]}
+ */
+public final class CacheServer {
+
+    private final Path dir;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private CacheServer(Path dir, HttpServer server, ExecutorService executor) {
+        this.dir = dir;
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Start a server on the loopback address.
+     *
+     * @param dir  storage directory
+     * @param port port, {@code 0} for an ephemeral port
+     * @return CacheServer
+     * @throws IOException if an IO error occurs
+     */
+    public static CacheServer start(Path dir, int port) throws IOException {
+        Files.createDirectories(dir);
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "build-cache-server-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CacheServer cacheServer = new CacheServer(dir.toAbsolutePath().normalize(), server, executor);
+        server.createContext("/", cacheServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        return cacheServer;
+    }
+
+    /**
+     * Get the server port.
+     *
+     * @return port
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Get the server URI.
+     *
+     * @return URI
+     */
+    public URI uri() {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + port() + "/");
+    }
+
+    /**
+     * Stop the server.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            // requests on persistent connections may get lost when handled by a multi-threaded executor
+            exchange.getResponseHeaders().set("Connection", "close");
+            Path file = dir.resolve(exchange.getRequestURI().getPath().substring(1)).normalize();
+            if (!file.startsWith(dir) || file.equals(dir)) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            switch (exchange.getRequestMethod()) {
+                case "GET":
+                    if (!Files.isRegularFile(file)) {
+                        exchange.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    exchange.sendResponseHeaders(200, Files.size(file));
+                    try (OutputStream os = exchange.getResponseBody()) {
+                        Files.copy(file, os);
+                    }
+                    return;
+                case "HEAD":
+                    exchange.sendResponseHeaders(Files.isRegularFile(file) ? 200 : 404, -1);
+                    return;
+                case "PUT":
+                    Files.createDirectories(file.getParent());
+                    Path tmpFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                    try (InputStream is = exchange.getRequestBody()) {
+                        Files.copy(is, tmpFile, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    exchange.sendResponseHeaders(201, -1);
+                    return;
+                default:
+                    exchange.sendResponseHeaders(405, -1);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Start a server.
+     *
+     * @param args storage directory and optional port
+     * @throws IOException if an IO error occurs
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: CacheServer DIR [PORT]");
+            System.exit(1);
+        }
+        CacheServer server = start(Path.of(args[0]), args.length > 1 ? Integer.parseInt(args[1]) : 0);
+        System.out.println("Build cache server listening at " + server.uri());
+    }
+}
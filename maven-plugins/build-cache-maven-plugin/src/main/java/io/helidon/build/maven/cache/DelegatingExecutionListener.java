@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import org.apache.maven.execution.ExecutionListener;
 
 /**
  * Delegating implementation of {@link ExecutionListener}.
+ * This class is stateless, sub-classes must be safe for concurrent invocations.
  */
 class DelegatingExecutionListener implements ExecutionListener {
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,7 @@ final class ExecutionEntry {
     private final String goal;
     private final String executionId;
     private final ConfigNode configuration;
+    private final long duration;
 
     /**
      * Create a new execution entry instance.
@@ -56,12 +57,35 @@ final class ExecutionEntry {
                    String executionId,
                    ConfigNode configuration) {
 
+        this(groupId, artifactId, version, goal, executionId, configuration, 0);
+    }
+
+    /**
+     * Create a new execution entry instance.
+     *
+     * @param groupId       plugin groupId
+     * @param artifactId    plugin artifactId
+     * @param version       plugin version
+     * @param goal          goal
+     * @param executionId   executionId
+     * @param configuration configuration
+     * @param duration      duration of the execution in milliseconds, {@code 0} if unknown
+     */
+    ExecutionEntry(String groupId,
+                   String artifactId,
+                   String version,
+                   String goal,
+                   String executionId,
+                   ConfigNode configuration,
+                   long duration) {
+
         this.groupId = groupId;
         this.artifactId = artifactId;
         this.version = version;
         this.goal = goal;
         this.executionId = executionId;
         this.configuration = configuration;
+        this.duration = duration;
     }
 
     /**
@@ -118,6 +142,16 @@ final class ExecutionEntry {
         return configuration;
     }
 
+    /**
+     * Get the duration of the recorded execution.
+     * The duration is not considered by {@link #equals(Object)}.
+     *
+     * @return duration in milliseconds, {@code 0} if unknown
+     */
+    long duration() {
+        return duration;
+    }
+
     /**
      * Test if this execution matches an other execution.
      * Matching executions are identical except for the configuration.
@@ -227,6 +261,9 @@ final class ExecutionEntry {
         elt.setAttribute("version", version);
         elt.setAttribute("goal", goal);
         elt.setAttribute("id", executionId);
+        if (duration > 0) {
+            elt.setAttribute("duration", String.valueOf(duration));
+        }
         if (configuration != null) {
             elt.addChild(configuration.toXpp3Dom());
         }
@@ -241,13 +278,15 @@ final class ExecutionEntry {
      */
     static ExecutionEntry fromXml(Xpp3Dom elt) {
         ConfigNode config = new ConfigNode(ConfigAdapters.create(elt.getChild("configuration")), null);
+        String duration = elt.getAttribute("duration");
         return new ExecutionEntry(
                 elt.getAttribute("groupId"),
                 elt.getAttribute("artifactId"),
                 elt.getAttribute("version"),
                 elt.getAttribute("goal"),
                 elt.getAttribute("id"),
-                config);
+                config,
+                duration != null ? Long.parseLong(duration) : 0);
     }
 
     /**
@@ -258,7 +297,19 @@ final class ExecutionEntry {
      * @return ExecutionEntry
      */
     static ExecutionEntry create(MojoExecution execution, ConfigNode configuration) {
+        return create(execution, configuration, 0);
+    }
+
+    /**
+     * Create an execution entry from a mojo execution.
+     *
+     * @param execution     mojo execution
+     * @param configuration config node root
+     * @param duration      duration of the execution in milliseconds
+     * @return ExecutionEntry
+     */
+    static ExecutionEntry create(MojoExecution execution, ConfigNode configuration, long duration) {
         return new ExecutionEntry(execution.getGroupId(), execution.getArtifactId(), execution.getVersion(),
-                execution.getGoal(), execution.getExecutionId(), configuration);
+                execution.getGoal(), execution.getExecutionId(), configuration, duration);
     }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Cache backend that stores the files in a directory, E.g. a network file system.
+ */
+final class FileCacheBackend implements CacheBackend {
+
+    private final Path dir;
+
+    /**
+     * Create a new backend.
+     *
+     * @param dir directory
+     */
+    FileCacheBackend(Path dir) {
+        this.dir = dir;
+    }
+
+    @Override
+    public boolean get(String path, Path file) throws IOException {
+        Path source = dir.resolve(path);
+        if (!Files.exists(source)) {
+            return false;
+        }
+        Files.copy(source, file, StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return Files.exists(dir.resolve(path));
+    }
+
+    @Override
+    public void put(String path, Path file) throws IOException {
+        Path target = dir.resolve(path);
+        Files.createDirectories(target.getParent());
+        Path tmpFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        Files.copy(file, tmpFile, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tmpFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
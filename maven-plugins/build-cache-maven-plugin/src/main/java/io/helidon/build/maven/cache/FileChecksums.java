@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel file checksums.
+ * Files are hashed in chunks on a bounded pool, large files are read through memory-mapped regions.
+ * The per-file digests are combined in the order of the given files, the result does not depend on the parallelism.
+ */
+final class FileChecksums {
+
+    /**
+     * Files larger than this size are memory-mapped.
+     */
+    static final long MAPPED_THRESHOLD = 1024 * 1024;
+
+    /**
+     * Size of the memory-mapped regions.
+     */
+    static final long MAPPED_REGION_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Number of files hashed by a single task.
+     */
+    static final int CHUNK_SIZE = 64;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char[] HEX_CODE = "0123456789ABCDEF".toCharArray();
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+    private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(FileChecksums::newDigest);
+    private static volatile ExecutorService executor;
+
+    private final byte[][] digests;
+
+    private FileChecksums(byte[][] digests) {
+        this.digests = digests;
+    }
+
+    /**
+     * Get the number of files.
+     *
+     * @return size
+     */
+    int size() {
+        return digests.length;
+    }
+
+    /**
+     * Get the digests.
+     *
+     * @return digests, in the same order as the files
+     */
+    byte[][] digests() {
+        return digests;
+    }
+
+    /**
+     * Get the checksum of a file.
+     *
+     * @param index file index
+     * @return checksum
+     */
+    String checksum(int index) {
+        return toHexString(digests[index]);
+    }
+
+    /**
+     * Get the combined checksum of all the files.
+     *
+     * @return checksum
+     */
+    String checksum() {
+        MessageDigest md = newDigest();
+        for (byte[] digest : digests) {
+            md.update(digest);
+        }
+        return toHexString(md.digest());
+    }
+
+    /**
+     * Compute the checksums of the given files using the shared executor.
+     *
+     * @param dir   base directory
+     * @param files files to hash, relative to {@code dir}
+     * @return FileChecksums
+     * @throws IOException if an IO error occurs
+     */
+    static FileChecksums compute(Path dir, List<String> files) throws IOException {
+        return compute(dir, files, files.size() > CHUNK_SIZE ? executor() : null);
+    }
+
+    /**
+     * Compute the checksums of the given files.
+     *
+     * @param dir      base directory
+     * @param files    files to hash, relative to {@code dir}
+     * @param executor executor used to hash the chunks, if {@code null} the chunks are hashed in the current thread
+     * @return FileChecksums
+     * @throws IOException if an IO error occurs
+     */
+    static FileChecksums compute(Path dir, List<String> files, ExecutorService executor) throws IOException {
+        return compute(dir, files, new byte[files.size()][], executor);
+    }
+
+    /**
+     * Compute the checksums of the given files, re-using the known digests.
+     *
+     * @param dir     base directory
+     * @param files   files to hash, relative to {@code dir}
+     * @param digests known digests, in the same order as {@code files} ; {@code null} elements are computed
+     * @return FileChecksums
+     * @throws IOException if an IO error occurs
+     */
+    static FileChecksums computeMissing(Path dir, List<String> files, byte[][] digests) throws IOException {
+        int missing = 0;
+        for (byte[] digest : digests) {
+            if (digest == null) {
+                missing++;
+            }
+        }
+        return compute(dir, files, digests, missing > CHUNK_SIZE ? executor() : null);
+    }
+
+    private static FileChecksums compute(Path dir, List<String> files, byte[][] digests, ExecutorService executor)
+            throws IOException {
+
+        int[] indexes = new int[digests.length];
+        int size = 0;
+        for (int i = 0; i < digests.length; i++) {
+            if (digests[i] == null) {
+                indexes[size++] = i;
+            }
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        for (int start = 0; start < size; start += CHUNK_SIZE) {
+            int from = start;
+            int to = Math.min(size, start + CHUNK_SIZE);
+            if (executor == null) {
+                digestAll(dir, files, digests, indexes, from, to);
+            } else {
+                futures.add(executor.submit(() -> {
+                    try {
+                        digestAll(dir, files, digests, indexes, from, to);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            } catch (ExecutionException ex) {
+                futures.forEach(f -> f.cancel(true));
+                Throwable cause = ex.getCause();
+                if (cause instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) cause).getCause();
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+        return new FileChecksums(digests);
+    }
+
+    /**
+     * Compute the checksum of a single file.
+     *
+     * @param file file
+     * @return checksum
+     * @throws IOException if an IO error occurs
+     */
+    static String checksum(Path file) throws IOException {
+        return toHexString(digest(file));
+    }
+
+    private static void digestAll(Path dir, List<String> files, byte[][] digests, int[] indexes, int from, int to)
+            throws IOException {
+
+        for (int i = from; i < to; i++) {
+            int index = indexes[i];
+            digests[index] = digest(dir.resolve(files.get(index)));
+        }
+    }
+
+    private static byte[] digest(Path file) throws IOException {
+        MessageDigest md = DIGESTS.get();
+        md.reset();
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = fc.size();
+            if (size > MAPPED_THRESHOLD) {
+                for (long position = 0; position < size; position += MAPPED_REGION_SIZE) {
+                    md.update(fc.map(MapMode.READ_ONLY, position, Math.min(MAPPED_REGION_SIZE, size - position)));
+                }
+            } else {
+                ByteBuffer buffer = BUFFERS.get();
+                buffer.clear();
+                while (fc.read(buffer) > 0) {
+                    buffer.flip();
+                    md.update(buffer);
+                    buffer.clear();
+                }
+            }
+        }
+        return md.digest();
+    }
+
+    private static ExecutorService executor() {
+        if (executor == null) {
+            synchronized (FileChecksums.class) {
+                if (executor == null) {
+                    AtomicInteger threadIndex = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+                        Thread thread = new Thread(r, "build-cache-checksums-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static String toHexString(byte[] bytes) {
+        StringBuilder r = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            r.append(HEX_CODE[(b >> 4) & 0xF]);
+            r.append(HEX_CODE[(b & 0xF)]);
+        }
+        return r.toString();
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stat index of the project files.
+ * Maps a file path to the size, last modified time and file key observed when its digest was computed.
+ * A file whose stat tuple is unchanged re-uses the recorded digest instead of being read again.
+ */
+final class FileStats {
+
+    /**
+     * The index file name.
+     */
+    static final String FILE_NAME = "file-stats.idx";
+
+    private static final int MAGIC = 0x48424353;
+    private static final int VERSION = 1;
+    private static final FileStats EMPTY = new FileStats(Map.of(), Long.MIN_VALUE);
+
+    private final Map<String, Entry> entries;
+    private final long timestamp;
+
+    private FileStats(Map<String, Entry> entries, long timestamp) {
+        this.entries = entries;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Get the number of entries.
+     *
+     * @return size
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the recorded digest of a file if its stat tuple is unchanged.
+     * Files modified at or after the time the index was written are considered racy and are never re-used,
+     * since a subsequent modification within the timestamp granularity would not be detected.
+     *
+     * @param path  file path
+     * @param attrs current file attributes
+     * @return digest, or {@code null} if the file must be read
+     */
+    byte[] digest(String path, BasicFileAttributes attrs) {
+        Entry entry = entries.get(path);
+        if (entry != null) {
+            long lastModified = lastModified(attrs);
+            if (lastModified < timestamp
+                    && entry.lastModified == lastModified
+                    && entry.size == attrs.size()
+                    && entry.fileKey.equals(fileKey(attrs))) {
+                return entry.digest;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Load the index.
+     * A missing or unreadable index file is treated as empty.
+     *
+     * @param file index file
+     * @return FileStats, never {@code null}
+     */
+    static FileStats load(Path file) {
+        if (!Files.exists(file)) {
+            return EMPTY;
+        }
+        try (DataInputStream is = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            long timestamp = lastModified(Files.readAttributes(file, BasicFileAttributes.class));
+            if (is.readInt() != MAGIC || is.readInt() != VERSION) {
+                return EMPTY;
+            }
+            int count = is.readInt();
+            Map<String, Entry> entries = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                String path = is.readUTF();
+                long size = is.readLong();
+                long lastModified = is.readLong();
+                String fileKey = is.readUTF();
+                byte[] digest = new byte[is.readUnsignedByte()];
+                is.readFully(digest);
+                entries.put(path, new Entry(size, lastModified, fileKey, digest));
+            }
+            return new FileStats(entries, timestamp);
+        } catch (IOException ex) {
+            return EMPTY;
+        }
+    }
+
+    /**
+     * Save an index.
+     *
+     * @param file    index file
+     * @param files   file paths
+     * @param attrs   file attributes, in the same order as {@code files}
+     * @param digests file digests, in the same order as {@code files}
+     * @throws IOException if an IO error occurs
+     */
+    static void save(Path file, List<String> files, List<BasicFileAttributes> attrs, byte[][] digests)
+            throws IOException {
+
+        Files.createDirectories(file.getParent());
+        Path tmpFile = file.resolveSibling(FILE_NAME + ".tmp");
+        try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+            os.writeInt(MAGIC);
+            os.writeInt(VERSION);
+            os.writeInt(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                BasicFileAttributes attr = attrs.get(i);
+                os.writeUTF(files.get(i));
+                os.writeLong(attr.size());
+                os.writeLong(lastModified(attr));
+                os.writeUTF(fileKey(attr));
+                os.writeByte(digests[i].length);
+                os.write(digests[i]);
+            }
+        }
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long lastModified(BasicFileAttributes attrs) {
+        return attrs.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+    }
+
+    private static String fileKey(BasicFileAttributes attrs) {
+        Object fileKey = attrs.fileKey();
+        return fileKey != null ? fileKey.toString() : "";
+    }
+
+    private static final class Entry {
+
+        private final long size;
+        private final long lastModified;
+        private final String fileKey;
+        private final byte[] digest;
+
+        Entry(long size, long lastModified, String fileKey, byte[] digest) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fileKey = fileKey;
+            this.digest = digest;
+        }
+    }
+}
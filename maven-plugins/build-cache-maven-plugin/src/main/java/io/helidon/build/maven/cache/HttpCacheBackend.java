@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Cache backend that uses a simple HTTP protocol.
+ * <ul>
+ *     <li>{@code GET /PATH} returns the file, or {@code 404} if it does not exist</li>
+ *     <li>{@code HEAD /PATH} returns {@code 200} if the file exists, or {@code 404}</li>
+ *     <li>{@code PUT /PATH} stores the file</li>
+ * </ul>
+ * The paths are resolved against the backend URI.
+ *
+ * @see CacheServer
+ */
+final class HttpCacheBackend implements CacheBackend {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final HttpClient client;
+
+    /**
+     * Create a new backend.
+     *
+     * @param uri base URI
+     */
+    HttpCacheBackend(URI uri) {
+        String base = uri.toString();
+        this.baseUri = URI.create(base.endsWith("/") ? base : base + "/");
+        HttpClient.Builder builder = HttpClient.newBuilder().connectTimeout(TIMEOUT);
+        if ("http".equals(uri.getScheme())) {
+            // cleartext HTTP/2 upgrades are not widely supported
+            builder.version(HttpClient.Version.HTTP_1_1);
+        }
+        this.client = builder.build();
+    }
+
+    @Override
+    public boolean get(String path, Path file) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                                         .timeout(TIMEOUT)
+                                         .GET()
+                                         .build();
+        HttpResponse<Path> response = send(request, HttpResponse.BodyHandlers.ofFile(file));
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        checkStatus(request, response);
+        return true;
+    }
+
+    @Override
+    public boolean exists(String path) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                                         .timeout(TIMEOUT)
+                                         .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                                         .build();
+        HttpResponse<Void> response = send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        checkStatus(request, response);
+        return true;
+    }
+
+    @Override
+    public void put(String path, Path file) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                                         .timeout(TIMEOUT)
+                                         .PUT(HttpRequest.BodyPublishers.ofFile(file))
+                                         .build();
+        checkStatus(request, send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return client.send(request, handler);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        }
+    }
+
+    private static void checkStatus(HttpRequest request, HttpResponse<?> response) throws IOException {
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            throw new IOException(String.format("%s %s returned %d", request.method(), request.uri(), status));
+        }
+    }
+}
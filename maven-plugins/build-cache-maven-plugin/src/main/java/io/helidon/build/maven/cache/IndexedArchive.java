@@ -0,0 +1,598 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Indexed cache archive.
+ * <p>
+ * The entries are compressed individually and stored back to back, followed by an index and a fixed size footer
+ * that points to the index. Looking up an entry only requires reading the footer and the index, entries can
+ * be read concurrently with positional reads.
+ * <p>
+ * Small files are compressed concurrently in memory, larger files are deflated through a fixed size buffer
+ * directly into the archive. Entries are always extracted through a fixed size buffer.
+ * <pre>
+ * entry data*
+ * index: count, (name, method, offset, compressed size, size, crc32, last modified)*
+ * footer: index offset (8 bytes), version (4 bytes), magic (4 bytes)
+ * </pre>
+ */
+final class IndexedArchive {
+
+    private static final int MAGIC = 0x48424341;
+    private static final int VERSION = 1;
+    private static final int FOOTER_SIZE = 16;
+    private static final byte STORED = 0;
+    private static final byte DEFLATED = 1;
+    private static final int MAX_ENTRY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_IN_MEMORY_SIZE = 1024 * 1024;
+
+    private final Path file;
+    private final Map<String, Entry> entries;
+
+    private IndexedArchive(Path file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    /**
+     * Test if the given file is an indexed archive.
+     *
+     * @param file file to test
+     * @return {@code true} if the file ends with the indexed archive footer
+     */
+    static boolean isIndexed(Path file) {
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = fc.size();
+            if (size < FOOTER_SIZE) {
+                return false;
+            }
+            ByteBuffer footer = read(fc, size - FOOTER_SIZE, FOOTER_SIZE);
+            footer.getLong();
+            return footer.getInt() == VERSION && footer.getInt() == MAGIC;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Open an indexed archive.
+     *
+     * @param file archive file
+     * @return IndexedArchive
+     * @throws IOException if an IO error occurs or if the file is not a valid archive
+     */
+    static IndexedArchive open(Path file) throws IOException {
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = fc.size();
+            if (size < FOOTER_SIZE) {
+                throw new IOException("Invalid archive: " + file);
+            }
+            ByteBuffer footer = read(fc, size - FOOTER_SIZE, FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            if (footer.getInt() != VERSION || footer.getInt() != MAGIC
+                    || indexOffset < 0 || indexOffset > size - FOOTER_SIZE) {
+                throw new IOException("Invalid archive: " + file);
+            }
+            ByteBuffer index = read(fc, indexOffset, (int) (size - FOOTER_SIZE - indexOffset));
+            DataInputStream is = new DataInputStream(new ByteArrayInputStream(index.array()));
+            int count = is.readInt();
+            Map<String, Entry> entries = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String name = is.readUTF();
+                byte method = is.readByte();
+                long offset = is.readLong();
+                int compressedSize = is.readInt();
+                int entrySize = is.readInt();
+                long crc = is.readInt() & 0xFFFFFFFFL;
+                long lastModified = is.readLong();
+                if (offset < 0 || offset + compressedSize > indexOffset) {
+                    throw new IOException("Invalid archive entry: " + name);
+                }
+                entries.put(name, new Entry(method, offset, compressedSize, entrySize, crc, lastModified));
+            }
+            return new IndexedArchive(file, entries);
+        }
+    }
+
+    /**
+     * Test if this archive contains an entry.
+     *
+     * @param name entry name
+     * @return {@code true} if the entry exists
+     */
+    boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Get the content of an entry.
+     *
+     * @param name entry name
+     * @return input stream
+     * @throws IOException if an IO error occurs or if the entry does not exist
+     */
+    InputStream read(String name) throws IOException {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new IOException("Entry not found: " + name);
+        }
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ByteArrayInputStream(entry.read(fc));
+        }
+    }
+
+    /**
+     * Extract entries concurrently.
+     * An existing file is left untouched if it is not to be overwritten, or if it has the same content as the entry.
+     *
+     * @param targets   target files keyed by entry name
+     * @param overwrite {@code true} if existing files that differ from the entries should be replaced
+     * @return number of files written
+     * @throws IOException if an IO error occurs
+     */
+    int extract(Map<String, Path> targets, boolean overwrite) throws IOException {
+        AtomicInteger written = new AtomicInteger();
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (Map.Entry<String, Path> target : targets.entrySet()) {
+                Entry entry = entries.get(target.getKey());
+                if (entry == null) {
+                    continue;
+                }
+                Path targetFile = target.getValue();
+                tasks.add(() -> {
+                    if (entry.extract(fc, targetFile, overwrite)) {
+                        written.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            invokeAll(tasks);
+        }
+        return written.get();
+    }
+
+    /**
+     * Create an indexed archive.
+     * The entries are compressed concurrently and written in the given order.
+     *
+     * @param file    archive file
+     * @param sources source files keyed by entry name
+     * @throws IOException if an IO error occurs
+     */
+    static void create(Path file, Map<String, Path> sources) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        ExecutorService executor = newExecutor(sources.size());
+        try (FileChannel fc = FileChannel.open(tmpFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            DataOutputStream indexOs = new DataOutputStream(index);
+            indexOs.writeInt(sources.size());
+            Deque<Map.Entry<String, Future<Compressed>>> pending = new ArrayDeque<>();
+            int window = Runtime.getRuntime().availableProcessors() * 2;
+            for (Map.Entry<String, Path> source : sources.entrySet()) {
+                Path sourceFile = source.getValue();
+                Callable<Compressed> task = () -> Compressed.of(sourceFile);
+                pending.add(Map.entry(source.getKey(), executor == null ? completed(task) : executor.submit(task)));
+                while (pending.size() >= window) {
+                    write(fc, indexOs, pending.poll(), sources);
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(fc, indexOs, pending.poll(), sources);
+            }
+            long indexOffset = fc.position();
+            indexOs.flush();
+            write(fc, ByteBuffer.wrap(index.toByteArray()));
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            footer.putLong(indexOffset);
+            footer.putInt(VERSION);
+            footer.putInt(MAGIC);
+            footer.flip();
+            write(fc, footer);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void write(FileChannel fc,
+                              DataOutputStream indexOs,
+                              Map.Entry<String, Future<Compressed>> pending,
+                              Map<String, Path> sources) throws IOException {
+
+        long offset = fc.position();
+        Compressed compressed = get(pending.getValue());
+        if (compressed == null) {
+            // too large to be compressed in memory
+            compressed = Compressed.deflate(sources.get(pending.getKey()), fc);
+        } else {
+            write(fc, ByteBuffer.wrap(compressed.data, 0, compressed.length));
+        }
+        indexOs.writeUTF(pending.getKey());
+        indexOs.writeByte(compressed.method);
+        indexOs.writeLong(offset);
+        indexOs.writeInt(compressed.length);
+        indexOs.writeInt(compressed.size);
+        indexOs.writeInt((int) compressed.crc);
+        indexOs.writeLong(compressed.lastModified);
+    }
+
+    private static void write(FileChannel fc, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            fc.write(buffer);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel fc, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (fc.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static long crc32(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return crc.getValue();
+    }
+
+    private static long crc32(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream is = Files.newInputStream(file)) {
+            int n;
+            while ((n = is.read(buffer)) > 0) {
+                crc.update(buffer, 0, n);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static void invokeAll(List<Callable<Void>> tasks) throws IOException {
+        ExecutorService executor = newExecutor(tasks.size());
+        if (executor == null) {
+            for (Callable<Void> task : tasks) {
+                get(completed(task));
+            }
+            return;
+        }
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                get(future);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> Future<T> completed(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        future.run();
+        return future;
+    }
+
+    private static <T> T get(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static ExecutorService newExecutor(int tasks) {
+        int nThreads = Math.min(tasks, Runtime.getRuntime().availableProcessors());
+        if (nThreads <= 1) {
+            return null;
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return Executors.newFixedThreadPool(nThreads, r -> {
+            Thread thread = new Thread(r, "build-cache-archive-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class Compressed {
+
+        private final byte method;
+        private final byte[] data;
+        private final int length;
+        private final int size;
+        private final long crc;
+        private final long lastModified;
+
+        private Compressed(byte method, byte[] data, int length, int size, long crc, long lastModified) {
+            this.method = method;
+            this.data = data;
+            this.length = length;
+            this.size = size;
+            this.crc = crc;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * Compress a file in memory.
+         *
+         * @param file file
+         * @return Compressed, or {@code null} if the file is too large to be compressed in memory
+         * @throws IOException if an IO error occurs
+         */
+        static Compressed of(Path file) throws IOException {
+            long fileSize = Files.size(file);
+            if (fileSize > MAX_IN_MEMORY_SIZE) {
+                return null;
+            }
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            byte[] bytes = Files.readAllBytes(file);
+            long crc = crc32(bytes, bytes.length);
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try {
+                deflater.setInput(bytes);
+                deflater.finish();
+                byte[] buffer = new byte[bytes.length];
+                int length = 0;
+                while (!deflater.finished() && length < buffer.length) {
+                    length += deflater.deflate(buffer, length, buffer.length - length);
+                }
+                if (deflater.finished() && length < bytes.length) {
+                    return new Compressed(DEFLATED, buffer, length, bytes.length, crc, lastModified);
+                }
+            } finally {
+                deflater.end();
+            }
+            return new Compressed(STORED, bytes, bytes.length, bytes.length, crc, lastModified);
+        }
+
+        /**
+         * Deflate a file at the current position of the given channel.
+         * The file is stored instead if it does not compress.
+         *
+         * @param file file
+         * @param fc   channel to write to
+         * @return Compressed, without data
+         * @throws IOException if an IO error occurs
+         */
+        static Compressed deflate(Path file, FileChannel fc) throws IOException {
+            if (Files.size(file) > MAX_ENTRY_SIZE) {
+                throw new IOException("File too large: " + file);
+            }
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            long offset = fc.position();
+            CRC32 crc = new CRC32();
+            long size = 0;
+            byte[] input = new byte[BUFFER_SIZE];
+            byte[] output = new byte[BUFFER_SIZE];
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try (InputStream is = Files.newInputStream(file)) {
+                int n;
+                while ((n = is.read(input)) > 0) {
+                    crc.update(input, 0, n);
+                    size += n;
+                    deflater.setInput(input, 0, n);
+                    while (!deflater.needsInput()) {
+                        write(fc, ByteBuffer.wrap(output, 0, deflater.deflate(output)));
+                    }
+                }
+                deflater.finish();
+                while (!deflater.finished()) {
+                    write(fc, ByteBuffer.wrap(output, 0, deflater.deflate(output)));
+                }
+            } finally {
+                deflater.end();
+            }
+            if (size > MAX_ENTRY_SIZE) {
+                throw new IOException("File too large: " + file);
+            }
+            long length = fc.position() - offset;
+            if (length < size) {
+                return new Compressed(DEFLATED, null, (int) length, (int) size, crc.getValue(), lastModified);
+            }
+            fc.truncate(offset);
+            fc.position(offset);
+            try (InputStream is = Files.newInputStream(file)) {
+                int n;
+                while ((n = is.read(input)) > 0) {
+                    write(fc, ByteBuffer.wrap(input, 0, n));
+                }
+            }
+            length = fc.position() - offset;
+            if (length != size) {
+                throw new IOException("File modified while archiving: " + file);
+            }
+            return new Compressed(STORED, null, (int) size, (int) size, crc.getValue(), lastModified);
+        }
+    }
+
+    private static final class Entry {
+
+        private final byte method;
+        private final long offset;
+        private final int compressedSize;
+        private final int size;
+        private final long crc;
+        private final long lastModified;
+
+        Entry(byte method, long offset, int compressedSize, int size, long crc, long lastModified) {
+            this.method = method;
+            this.offset = offset;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.crc = crc;
+            this.lastModified = lastModified;
+        }
+
+        byte[] read(FileChannel fc) throws IOException {
+            byte[] data;
+            try (InputStream is = open(fc)) {
+                data = is.readAllBytes();
+            }
+            if (data.length != size) {
+                throw new IOException("Invalid archive entry size");
+            }
+            if (crc32(data, data.length) != crc) {
+                throw new IOException("Invalid archive entry checksum");
+            }
+            return data;
+        }
+
+        boolean extract(FileChannel fc, Path target, boolean overwrite) throws IOException {
+            if (Files.exists(target)) {
+                if (!overwrite || isUnchanged(target)) {
+                    return false;
+                }
+            }
+            Files.createDirectories(target.getParent());
+            CRC32 checksum = new CRC32();
+            long length = 0;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (InputStream is = open(fc); OutputStream os = Files.newOutputStream(target)) {
+                int n;
+                while ((n = is.read(buffer)) > 0) {
+                    checksum.update(buffer, 0, n);
+                    os.write(buffer, 0, n);
+                    length += n;
+                }
+            }
+            if (length != size || checksum.getValue() != crc) {
+                Files.delete(target);
+                throw new IOException("Invalid archive entry checksum");
+            }
+            Files.setLastModifiedTime(target, FileTime.fromMillis(lastModified));
+            return true;
+        }
+
+        private InputStream open(FileChannel fc) {
+            InputStream is = new EntryInputStream(fc, offset, compressedSize);
+            if (method == DEFLATED) {
+                Inflater inflater = new Inflater(true);
+                return new InflaterInputStream(is, inflater, BUFFER_SIZE) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            inflater.end();
+                        }
+                    }
+                };
+            }
+            return is;
+        }
+
+        private boolean isUnchanged(Path target) throws IOException {
+            return Files.size(target) == size && crc32(target) == crc;
+        }
+    }
+
+    /**
+     * Input stream of an entry data, using positional reads.
+     */
+    private static final class EntryInputStream extends InputStream {
+
+        private final FileChannel fc;
+        private long position;
+        private long remaining;
+
+        EntryInputStream(FileChannel fc, long position, long length) {
+            this.fc = fc;
+            this.position = position;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            int n = fc.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position);
+            if (n < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+            position += n;
+            remaining -= n;
+            return n;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,12 @@
 package io.helidon.build.maven.cache;
 
 import java.nio.file.Files;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map.Entry;
 
+import io.helidon.build.maven.cache.CacheReport.Timing;
+
 import org.apache.maven.AbstractMavenLifecycleParticipant;
 import org.apache.maven.execution.ExecutionEvent;
 import org.apache.maven.execution.ExecutionListener;
@@ -30,6 +34,7 @@ import org.codehaus.plexus.logging.Logger;
 
 /**
  * Life-cycle participant that provides the hooks for the build cache mechanism.
+ * The execution listener hooks may be invoked concurrently when using the multi-threaded builder.
  */
 @Component(role = AbstractMavenLifecycleParticipant.class, hint = "build-cache")
 public class LifecycleParticipantImpl extends AbstractMavenLifecycleParticipant {
@@ -43,10 +48,16 @@ public class LifecycleParticipantImpl extends AbstractMavenLifecycleParticipant
     @Requirement
     private ProjectExecutionManager executionManager;
 
+    @Requirement
+    private LocalStoreManager storeManager;
+
+    @Requirement
+    private CacheReportManager reportManager;
+
     @Requirement
     private Logger logger;
 
-    private CacheConfig config;
+    private volatile CacheConfig config;
 
     @Override
     public void afterProjectsRead(MavenSession session) {
@@ -64,11 +75,14 @@ public class LifecycleParticipantImpl extends AbstractMavenLifecycleParticipant
         logger.info("");
         logger.info("----------------------------{ build-cache }-----------------------------");
         if (config.loadArchive() && config.archiveFile() != null && Files.exists(config.archiveFile())) {
+            long startTime = System.nanoTime();
             cacheManager.loadCache(session, config.archiveFile());
+            reportManager.time(Timing.LOAD_ARCHIVE, startTime);
         }
         if (session.getGoals().contains("clean")) {
             logger.info("Clean requested, state is ignored.");
         } else {
+            storeManager.restore(session);
             if (logger.isDebugEnabled()) {
                 logger.debug("Processing state files...");
             }
@@ -96,12 +110,21 @@ public class LifecycleParticipantImpl extends AbstractMavenLifecycleParticipant
 
     @Override
     public void afterSessionEnd(MavenSession session) {
-        if (!config.skip() && config.archiveFile() != null && config.createArchive()) {
-            logger.info("");
-            logger.info("----------------------------{ build-cache }-----------------------------");
-            cacheManager.save(session, config.archiveFile());
-            logger.info("------------------------------------------------------------------------");
+        if (config.skip()) {
+            return;
+        }
+        logger.info("");
+        logger.info("----------------------------{ build-cache }-----------------------------");
+        if (config.archiveFile() != null && config.createArchive()) {
+            long startTime = System.nanoTime();
+            cacheManager.save(session, config.archiveFile(), config.archiveFormat());
+            reportManager.time(Timing.SAVE_ARCHIVE, startTime);
         }
+        if (config.localStore()) {
+            storeManager.evict(session);
+        }
+        reportManager.report(session);
+        logger.info("------------------------------------------------------------------------");
     }
 
     private final class ExecutionListenerImpl extends DelegatingExecutionListener {
@@ -117,47 +140,70 @@ public class LifecycleParticipantImpl extends AbstractMavenLifecycleParticipant
             ProjectExecutionPlan plan = executionManager.plan(project);
             boolean skip = CacheConfig.of(event.getProject(), event.getSession()).skip();
             if (plan != null || skip) {
-                logger.info("");
-                logger.info("----------------------------{ build-cache }-----------------------------");
+                List<String> lines = new LinkedList<>();
+                lines.add("");
+                lines.add("----------------------------{ build-cache }-----------------------------");
                 if (skip) {
-                    logger.info("Cache is disabled.");
+                    lines.add("Cache is disabled.");
                 } else if (plan.hasInvalidDownstream()) {
-                    logger.info("Downstream state(s) not available, state is ignored.");
-                } else if (!plan.hasFileChanges() && plan.allCached()) {
-                    logger.info("All executions are cached! (fast-forward)");
+                    lines.add("Downstream state(s) not available, state is ignored.");
+                } else if (plan.isFastForward()) {
+                    lines.add("All executions are cached! (fast-forward)");
                 } else if (plan.hasFileChanges()) {
-                    logger.info("File changes detected, state is ignored.");
+                    lines.add("File changes detected, state is ignored.");
                     ProjectStateStatus stateStatus = plan.stateStatus();
                     stateStatus.state()
                                .projectFiles()
                                .diff(stateStatus.projectFiles())
-                               .forEachRemaining(diff -> logger.info("  +- " + diff.asString()));
+                               .forEachRemaining(diff -> lines.add("  +- " + diff.asString()));
                 } else {
                     plan.executionStatuses()
                         .stream()
                         .filter(s -> !s.isNew())
                         .forEach(s -> {
-                            logger.info(s.toString());
+                            lines.add(s.toString());
                             if (s.isDiff()) {
                                 ConfigDiffs diffs = s.diffs().rewind();
                                 while (diffs.hasNext()) {
-                                    logger.info("           +- " + diffs.next().asString());
+                                    lines.add("           +- " + diffs.next().asString());
                                 }
                             }
                         });
                 }
+                // projects may be started concurrently, do not interleave the lines
+                synchronized (LifecycleParticipantImpl.this) {
+                    lines.forEach(logger::info);
+                }
             }
         }
 
+        @Override
+        public void mojoStarted(ExecutionEvent event) {
+            reportManager.mojoStarted(event.getMojoExecution());
+            super.mojoStarted(event);
+        }
+
         @Override
         public void mojoSucceeded(ExecutionEvent event) {
-            executionManager.recordExecution(event.getMojoExecution(), event.getSession(), event.getProject());
+            executionManager.recordExecution(event.getMojoExecution(), event.getSession(), event.getProject(),
+                    reportManager.mojoDuration(event.getMojoExecution()));
             super.mojoSucceeded(event);
         }
 
+        @Override
+        public void mojoFailed(ExecutionEvent event) {
+            reportManager.mojoDuration(event.getMojoExecution());
+            super.mojoFailed(event);
+        }
+
         @Override
         public void projectSucceeded(ExecutionEvent event) {
             stateManager.save(event.getProject(), event.getSession());
+            ProjectExecutionPlan plan = executionManager.plan(event.getProject());
+            if (plan == null || !plan.isFastForward()) {
+                // the outputs of a fast-forwarded project are unchanged
+                storeManager.save(event.getProject(), event.getSession());
+            }
             super.projectSucceeded(event);
         }
     }
@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store of build outputs shared across workspaces.
+ * <p>
+ * The store contains file contents keyed by their checksum ({@code objects/}) and manifests keyed by a project
+ * fingerprint ({@code entries/}). A manifest lists the build files and the local repository files of a project along
+ * with the checksum of their content. The last modified time of a manifest is its last access time, it is used to
+ * evict the least recently used entries when the size of the store exceeds a limit.
+ * <p>
+ * Files are restored as copies, never as links to the stored files: Maven and some plugins write to existing files
+ * in place, which would corrupt the stored file shared by all the workspaces.
+ * <p>
+ * The store may be used by concurrent builds, files are always written to a temporary file and moved atomically.
+ * A build stores the files of an entry before the entry itself, thus the eviction does not delete the files that are
+ * not referenced by any entry until they are older than {@link #GRACE_PERIOD}; storing a file that already exists
+ * updates its last modified time.
+ */
+final class LocalStore {
+
+    private static final int MAGIC = 0x4842434D;
+    private static final int VERSION = 1;
+    private static final byte BUILD_FILE = 0;
+    private static final byte REPO_FILE = 1;
+
+    /**
+     * The minimum age of the unreferenced files deleted by {@link #evict(long)}.
+     */
+    static final Duration GRACE_PERIOD = Duration.ofHours(1);
+
+    private final Path evictionFile;
+    private final Path objectsDir;
+    private final Path entriesDir;
+    private final Path tmpDir;
+
+    /**
+     * Create a new store.
+     *
+     * @param dir store directory
+     */
+    LocalStore(Path dir) {
+        this.evictionFile = dir.resolve("evicted");
+        this.objectsDir = dir.resolve("objects");
+        this.entriesDir = dir.resolve("entries");
+        this.tmpDir = dir.resolve("tmp");
+    }
+
+    /**
+     * Test if the store has an entry for the given key.
+     *
+     * @param key entry key
+     * @return {@code true} if the entry exists
+     */
+    boolean contains(String key) {
+        return Files.exists(entriesDir.resolve(key));
+    }
+
+    /**
+     * Get the keys of the entries.
+     *
+     * @return set of keys
+     * @throws IOException if an IO error occurs
+     */
+    Set<String> keys() throws IOException {
+        Set<String> keys = new HashSet<>();
+        if (Files.exists(entriesDir)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(entriesDir)) {
+                stream.forEach(p -> keys.add(p.getFileName().toString()));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Save an entry.
+     *
+     * @param key        entry key
+     * @param buildDir   build directory
+     * @param buildFiles build files, relative to {@code buildDir}
+     * @param repoDir    local repository directory
+     * @param repoFiles  repository files, relative to {@code repoDir}
+     * @throws IOException if an IO error occurs
+     */
+    void save(String key, Path buildDir, List<String> buildFiles, Path repoDir, List<String> repoFiles)
+            throws IOException {
+
+        List<FileEntry> entries = new ArrayList<>();
+        for (String file : buildFiles) {
+            entries.add(store(BUILD_FILE, buildDir, file));
+        }
+        for (String file : repoFiles) {
+            entries.add(store(REPO_FILE, repoDir, file));
+        }
+        Path tmpFile = tmpFile();
+        try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+            os.writeInt(MAGIC);
+            os.writeInt(VERSION);
+            os.writeInt(entries.size());
+            for (FileEntry entry : entries) {
+                os.writeByte(entry.kind);
+                os.writeUTF(entry.path);
+                os.writeUTF(entry.checksum);
+                os.writeLong(entry.lastModified);
+            }
+        }
+        Files.createDirectories(entriesDir);
+        Files.move(tmpFile, entriesDir.resolve(key), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restore an entry.
+     * Existing files are replaced if their content differs, the given last file is restored after all the other
+     * build files.
+     *
+     * @param key      entry key
+     * @param buildDir build directory
+     * @param repoDir  local repository directory
+     * @param lastFile the build file to restore last, E.g. the state file
+     * @return {@code true} if the entry was restored, {@code false} if the entry does not exist
+     * @throws IOException if an IO error occurs
+     */
+    boolean restore(String key, Path buildDir, Path repoDir, String lastFile) throws IOException {
+        Path entryFile = entriesDir.resolve(key);
+        List<FileEntry> entries;
+        try {
+            entries = load(entryFile);
+        } catch (NoSuchFileException ex) {
+            return false;
+        }
+        FileEntry last = null;
+        for (FileEntry entry : entries) {
+            if (entry.kind == REPO_FILE) {
+                restore(entry, repoDir.resolve(entry.path));
+            } else if (entry.path.equals(lastFile)) {
+                last = entry;
+            } else {
+                restore(entry, buildDir.resolve(entry.path));
+            }
+        }
+        if (last != null) {
+            restore(last, buildDir.resolve(last.path));
+        }
+        touch(entryFile);
+        return true;
+    }
+
+    /**
+     * Get the checksums of the files of an entry.
+     *
+     * @param key entry key
+     * @return set of checksums
+     * @throws IOException if an IO error occurs
+     */
+    Set<String> checksums(String key) throws IOException {
+        return checksums(entryFile(key));
+    }
+
+    /**
+     * Get the checksums of the files of an entry.
+     *
+     * @param entryFile entry file
+     * @return set of checksums
+     * @throws IOException if an IO error occurs
+     */
+    static Set<String> checksums(Path entryFile) throws IOException {
+        Set<String> checksums = new HashSet<>();
+        for (FileEntry entry : load(entryFile)) {
+            checksums.add(entry.checksum);
+        }
+        return checksums;
+    }
+
+    /**
+     * Get the path of an entry.
+     *
+     * @param key entry key
+     * @return path, relative to the store directory
+     */
+    static String entryPath(String key) {
+        return "entries/" + key;
+    }
+
+    /**
+     * Get the path of a stored file.
+     *
+     * @param checksum file checksum
+     * @return path, relative to the store directory
+     */
+    static String objectPath(String checksum) {
+        return "objects/" + checksum.substring(0, 2) + "/" + checksum;
+    }
+
+    /**
+     * Get an entry file.
+     *
+     * @param key entry key
+     * @return entry file
+     */
+    Path entryFile(String key) {
+        return entriesDir.resolve(key);
+    }
+
+    /**
+     * Get a stored file.
+     *
+     * @param checksum file checksum
+     * @return stored file
+     */
+    Path objectFile(String checksum) {
+        return objectsDir.resolve(checksum.substring(0, 2)).resolve(checksum);
+    }
+
+    /**
+     * Create a temporary file in the store.
+     *
+     * @return temporary file
+     * @throws IOException if an IO error occurs
+     */
+    Path tmpFile() throws IOException {
+        Files.createDirectories(tmpDir);
+        return Files.createTempFile(tmpDir, "store", ".tmp");
+    }
+
+    /**
+     * Move a temporary file to its final location in the store.
+     *
+     * @param tmpFile temporary file
+     * @param file    target file, E.g. {@link #entryFile(String)} or {@link #objectFile(String)}
+     * @throws IOException if an IO error occurs
+     */
+    void commit(Path tmpFile, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Test if an eviction is due, I.e. if no eviction was started during the given interval.
+     * The eviction start time is recorded when this method returns {@code true}.
+     *
+     * @param interval minimum interval between evictions
+     * @return {@code true} if an eviction is due
+     * @throws IOException if an IO error occurs
+     */
+    boolean evictionDue(Duration interval) throws IOException {
+        Instant now = Instant.now();
+        if (Files.exists(evictionFile) && lastModified(evictionFile).toInstant().isAfter(now.minus(interval))) {
+            return false;
+        }
+        Files.createDirectories(evictionFile.getParent());
+        Files.write(evictionFile, new byte[0]);
+        Files.setLastModifiedTime(evictionFile, FileTime.from(now));
+        return true;
+    }
+
+    /**
+     * Evict the least recently used entries until the size of the stored files is below the given size.
+     * The files that are not referenced by any entry and that are older than {@link #GRACE_PERIOD} are deleted.
+     *
+     * @param maxSize maximum size in bytes
+     * @return number of evicted entries
+     * @throws IOException if an IO error occurs
+     */
+    int evict(long maxSize) throws IOException {
+        if (!Files.exists(entriesDir)) {
+            return 0;
+        }
+        List<Path> entryFiles;
+        try (Stream<Path> stream = Files.list(entriesDir)) {
+            entryFiles = stream.sorted((p1, p2) -> lastModified(p2).compareTo(lastModified(p1)))
+                               .collect(Collectors.toList());
+        }
+        // keep the most recently used entries that fit, evict the others
+        Set<String> live = new HashSet<>();
+        long size = 0;
+        boolean full = false;
+        int evicted = 0;
+        for (Path entryFile : entryFiles) {
+            if (!full) {
+                try {
+                    Set<String> checksums = new HashSet<>();
+                    long entrySize = 0;
+                    for (FileEntry entry : load(entryFile)) {
+                        if (!live.contains(entry.checksum) && checksums.add(entry.checksum)) {
+                            entrySize += sizeOf(objectFile(entry.checksum));
+                        }
+                    }
+                    if (size + entrySize <= maxSize) {
+                        size += entrySize;
+                        live.addAll(checksums);
+                        continue;
+                    }
+                    full = true;
+                } catch (IOException ignored) {
+                    // invalid entry
+                }
+            }
+            Files.deleteIfExists(entryFile);
+            evicted++;
+        }
+        if (Files.exists(objectsDir)) {
+            Instant maxTime = Instant.now().minus(GRACE_PERIOD);
+            try (Stream<Path> stream = Files.walk(objectsDir)) {
+                for (Path file : stream.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                    // files younger than the grace period may belong to an entry being saved
+                    if (!live.contains(file.getFileName().toString())
+                            && lastModified(file).toInstant().isBefore(maxTime)) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    private FileEntry store(byte kind, Path dir, String path) throws IOException {
+        Path file = dir.resolve(path);
+        String checksum = FileChecksums.checksum(file);
+        Path objectFile = objectFile(checksum);
+        // an existing file is touched to protect it from a concurrent eviction until the entry is saved
+        if (!touch(objectFile)) {
+            Path tmpFile = tmpFile();
+            Files.copy(file, tmpFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.createDirectories(objectFile.getParent());
+            try {
+                Files.move(tmpFile, objectFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ex) {
+                Files.deleteIfExists(tmpFile);
+            }
+        }
+        return new FileEntry(kind, path, checksum, Files.getLastModifiedTime(file).toMillis());
+    }
+
+    private void restore(FileEntry entry, Path target) throws IOException {
+        if (Files.exists(target) && FileChecksums.checksum(target).equals(entry.checksum)) {
+            return;
+        }
+        Path dir = Files.createDirectories(target.getParent());
+        Path tmpFile = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            Files.copy(objectFile(entry.checksum), tmpFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(tmpFile, FileTime.fromMillis(entry.lastModified));
+            Files.move(tmpFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    private static List<FileEntry> load(Path entryFile) throws IOException {
+        try (DataInputStream is = new DataInputStream(new BufferedInputStream(Files.newInputStream(entryFile)))) {
+            if (is.readInt() != MAGIC || is.readInt() != VERSION) {
+                throw new IOException("Invalid store entry: " + entryFile);
+            }
+            int count = is.readInt();
+            List<FileEntry> entries = new LinkedList<>();
+            for (int i = 0; i < count; i++) {
+                entries.add(new FileEntry(is.readByte(), is.readUTF(), is.readUTF(), is.readLong()));
+            }
+            return entries;
+        }
+    }
+
+    private static boolean touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return true;
+        } catch (IOException ignored) {
+            // the file may not exist or may have been evicted concurrently
+            return false;
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException ex) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    private static final class FileEntry {
+
+        private final byte kind;
+        private final String path;
+        private final String checksum;
+        private final long lastModified;
+
+        FileEntry(byte kind, String path, String checksum, long lastModified) {
+            this.kind = kind;
+            this.path = path;
+            this.checksum = checksum;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.helidon.build.common.SourcePath;
+import io.helidon.build.common.SourcePathMatcher;
+import io.helidon.build.maven.cache.CacheReport.Timing;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.component.annotations.Requirement;
+import org.codehaus.plexus.logging.Logger;
+
+/**
+ * A component to restore / save the build outputs of projects from / to the {@link LocalStore local store}, and
+ * optionally from / to a {@link RemoteStore remote store}.
+ * <p>
+ * The entries are keyed by a fingerprint of the project coordinates and the project files checksum, thus the local
+ * store requires {@code enableChecksums}. The restored state file records the executions and their configuration, it
+ * is processed like any other state file; executions whose configuration differs are not cached.
+ */
+@Component(role = LocalStoreManager.class, hint = "default")
+public class LocalStoreManager {
+
+    private static final char[] HEX_CODE = "0123456789ABCDEF".toCharArray();
+    private static final Duration EVICTION_INTERVAL = Duration.ofHours(1);
+
+    @Requirement
+    private Logger logger;
+
+    @Requirement
+    private CacheReportManager reportManager;
+
+    private final Map<URI, CacheBackend> backends = new ConcurrentHashMap<>();
+
+    /**
+     * Restore the projects that do not have a state file from the local store.
+     *
+     * @param session Maven session
+     */
+    public void restore(MavenSession session) {
+        Path repoDir = Path.of(session.getLocalRepository().getBasedir());
+        for (MavenProject project : session.getProjects()) {
+            CacheConfig config = CacheConfig.of(project, session);
+            if (config.skip() || !config.localStore()) {
+                continue;
+            }
+            Path buildDir = buildDir(project);
+            if (Files.exists(buildDir.resolve(ProjectState.STATE_FILE_NAME))) {
+                continue;
+            }
+            long startTime = System.nanoTime();
+            try {
+                String key = key(project, session);
+                if (key == null) {
+                    continue;
+                }
+                LocalStore store = new LocalStore(config.localStoreDir());
+                if (store.restore(key, buildDir, repoDir, ProjectState.STATE_FILE_NAME)) {
+                    logger.info(String.format("[%s:%s] - restored from local store",
+                            project.getGroupId(),
+                            project.getArtifactId()));
+                } else if (config.remoteUrl() != null
+                        && remoteStore(config, store).fetch(key)
+                        && store.restore(key, buildDir, repoDir, ProjectState.STATE_FILE_NAME)) {
+                    logger.info(String.format("[%s:%s] - restored from remote store",
+                            project.getGroupId(),
+                            project.getArtifactId()));
+                } else if (logger.isDebugEnabled()) {
+                    logger.debug(String.format("[%s:%s] - not found in local store",
+                            project.getGroupId(),
+                            project.getArtifactId()));
+                }
+            } catch (IOException | IllegalArgumentException ex) {
+                logger.warn("Error while restoring " + project + " from store", ex);
+            } finally {
+                reportManager.time(Timing.STORE, startTime);
+            }
+        }
+    }
+
+    /**
+     * Save the build outputs of a project to the local store.
+     * Nothing is saved if the store already has an entry for the project fingerprint.
+     *
+     * @param project Maven project
+     * @param session Maven session
+     */
+    public void save(MavenProject project, MavenSession session) {
+        CacheConfig config = CacheConfig.of(project, session);
+        if (config.skip() || !config.localStore()) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        try {
+            String key = key(project, session);
+            if (key == null) {
+                return;
+            }
+            LocalStore store = new LocalStore(config.localStoreDir());
+            if (store.contains(key)) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug(String.format("[%s:%s] - already in local store",
+                            project.getGroupId(),
+                            project.getArtifactId()));
+                }
+                return;
+            }
+            Path buildDir = buildDir(project);
+            List<String> buildFiles = List.of();
+            if (Files.exists(buildDir)) {
+                SourcePathMatcher matcher = SourcePathMatcher.create(null, config.buildFilesExcludes());
+                try (Stream<Path> stream = Files.walk(buildDir)) {
+                    buildFiles = stream.filter(f -> Files.isRegularFile(f)
+                                               && !f.getFileName().toString().startsWith(FileStats.FILE_NAME)
+                                               && !f.equals(config.archiveFile())
+                                               && matcher.matches(new SourcePath(buildDir, f)))
+                                       .map(f -> buildDir.relativize(f).toString())
+                                       .collect(Collectors.toList());
+                }
+            }
+            ArtifactRepository localRepository = session.getLocalRepository();
+            Path repoDir = Path.of(localRepository.getBasedir());
+            List<String> repoFiles = CacheArchiveManager.repositoryFiles(project, localRepository)
+                                                        .stream()
+                                                        .filter(f -> Files.exists(repoDir.resolve(f)))
+                                                        .collect(Collectors.toList());
+            store.save(key, buildDir, buildFiles, repoDir, repoFiles);
+            if (logger.isDebugEnabled()) {
+                logger.debug(String.format("[%s:%s] - saved to local store",
+                        project.getGroupId(),
+                        project.getArtifactId()));
+            }
+            if (config.remoteUrl() != null) {
+                remoteStore(config, store).push(key);
+                if (logger.isDebugEnabled()) {
+                    logger.debug(String.format("[%s:%s] - saved to remote store",
+                            project.getGroupId(),
+                            project.getArtifactId()));
+                }
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            logger.warn("Error while saving " + project + " to store", ex);
+        } finally {
+            reportManager.time(Timing.STORE, startTime);
+        }
+    }
+
+    /**
+     * Evict the least recently used entries of the local store, at most once an hour.
+     *
+     * @param session Maven session
+     */
+    public void evict(MavenSession session) {
+        CacheConfig config = CacheConfig.of(session.getTopLevelProject(), session);
+        try {
+            LocalStore store = new LocalStore(config.localStoreDir());
+            if (!store.evictionDue(EVICTION_INTERVAL)) {
+                return;
+            }
+            int evicted = store.evict(config.localStoreMaxSize() * 1024 * 1024);
+            if (evicted > 0) {
+                logger.info(String.format("Evicted %d entries from local store", evicted));
+            }
+        } catch (IOException ex) {
+            logger.warn("Error while evicting local store entries", ex);
+        }
+    }
+
+    private RemoteStore remoteStore(CacheConfig config, LocalStore store) {
+        CacheBackend backend = backends.computeIfAbsent(config.remoteUrl(), CacheBackend::create);
+        return new RemoteStore(backend, store);
+    }
+
+    private String key(MavenProject project, MavenSession session) throws IOException {
+        long startTime = System.nanoTime();
+        ProjectFiles projectFiles = ProjectFiles.of(project, session);
+        reportManager.time(Timing.FINGERPRINT, startTime);
+        if (projectFiles.checksum() == null) {
+            if (logger.isDebugEnabled()) {
+                logger.debug(String.format("[%s:%s] - enableChecksums is false, local store is not used",
+                        project.getGroupId(),
+                        project.getArtifactId()));
+            }
+            return null;
+        }
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        update(md, project.getGroupId());
+        update(md, project.getArtifactId());
+        update(md, project.getVersion());
+        update(md, Integer.toString(projectFiles.filesCount()));
+        update(md, projectFiles.checksum());
+        for (Map.Entry<String, String> entry : new TreeMap<>(projectFiles.allChecksums()).entrySet()) {
+            update(md, entry.getKey());
+            update(md, entry.getValue());
+        }
+        byte[] digest = md.digest();
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            sb.append(HEX_CODE[(b >> 4) & 0xF]);
+            sb.append(HEX_CODE[(b & 0xF)]);
+        }
+        return sb.toString();
+    }
+
+    private static void update(MessageDigest md, String value) {
+        md.update(value.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    private static Path buildDir(MavenProject project) {
+        return project.getModel().getProjectDirectory().toPath()
+                      .resolve(project.getModel().getBuild().getDirectory());
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,12 +15,13 @@
  */
 package io.helidon.build.maven.cache;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import org.apache.maven.execution.MavenSession;
@@ -42,12 +43,13 @@ import org.codehaus.plexus.logging.Logger;
 
 /**
  * Project execution manager.
+ * This component is safe for use by concurrent project builds, E.g. {@code mvn -T}.
  */
 @Component(role = ProjectExecutionManager.class, hint = "default")
 public class ProjectExecutionManager {
 
-    private final Map<MavenProject, List<ExecutionEntry>> recordedExecutions = new HashMap<>();
-    private final Map<MavenProject, ProjectExecutionPlan> executionPlans = new HashMap<>();
+    private final Map<MavenProject, List<ExecutionEntry>> recordedExecutions = new ConcurrentHashMap<>();
+    private final Map<MavenProject, ProjectExecutionPlan> executionPlans = new ConcurrentHashMap<>();
 
     @Requirement
     private DefaultLifecycles defaultLifeCycles;
@@ -131,15 +133,16 @@ public class ProjectExecutionManager {
      * @param execution execution to record
      * @param session   Maven session
      * @param project   Maven project
+     * @param duration  duration of the execution in milliseconds
      */
-    public void recordExecution(MojoExecution execution, MavenSession session, MavenProject project) {
+    public void recordExecution(MojoExecution execution, MavenSession session, MavenProject project, long duration) {
         ExecutionEntry executionRecord = ExecutionEntry.create(execution,
-                configResolver.resolve(execution, session, project));
+                configResolver.resolve(execution, session, project), duration);
 
         // do not record executions from the clean phase or executions issued from the cli
         if (!isCleanExecution(session, project, executionRecord)
                 && !MojoExecution.Source.CLI.equals(execution.getSource())) {
-            recordedExecutions.computeIfAbsent(project, p -> new LinkedList<>())
+            recordedExecutions.computeIfAbsent(project, p -> new CopyOnWriteArrayList<>())
                     .add(executionRecord);
         }
     }
@@ -148,10 +151,10 @@ public class ProjectExecutionManager {
      * Get the recorded executions for a given project.
      *
      * @param project Maven project
-     * @return list of RecordedExecution
+     * @return snapshot list of RecordedExecution
      */
     public List<ExecutionEntry> recordedExecutions(MavenProject project) {
-        return recordedExecutions.getOrDefault(project, List.of());
+        return new ArrayList<>(recordedExecutions.getOrDefault(project, List.of()));
     }
 
     private List<ExecutionEntry> resolveExecutions(MavenSession session, MavenProject project) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -92,6 +92,15 @@ final class ProjectExecutionPlan {
         return executionStatuses.stream().allMatch(ExecutionStatus::isCached);
     }
 
+    /**
+     * Test if the project is fast-forwarded, I.e. if the state is valid and all executions are cached.
+     *
+     * @return {@code true} if fast-forwarded, {@code false} otherwise
+     */
+    boolean isFastForward() {
+        return !hasInvalidDownstream() && !hasFileChanges() && allCached();
+    }
+
     /**
      * Test if the state is invalid because files have changed.
      *
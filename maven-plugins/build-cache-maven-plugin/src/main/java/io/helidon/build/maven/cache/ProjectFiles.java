@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,28 +16,25 @@
 package io.helidon.build.maven.cache;
 
 import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import io.helidon.build.common.SourcePath;
+import io.helidon.build.common.SourcePathMatcher;
 
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.project.MavenProject;
@@ -203,25 +200,44 @@ final class ProjectFiles {
         CacheConfig config = CacheConfig.of(project, session);
         FileVisitorImpl visitor = new FileVisitorImpl(projectDir, buildDir, modules, config.projectFilesExcludes());
         Files.walkFileTree(projectDir, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, visitor);
-        long lastModified = 0;
-        Map<String, String> fileChecksums = new HashMap<>();
-        MD5 md5 = config.enableChecksums() ? new MD5() : null;
-        Collections.sort(visitor.files);
-        for (String f : visitor.files) {
-            Path file = projectDir.resolve(f);
-            long lm = Files.getLastModifiedTime(file).toMillis();
-            if (lastModified < lm) {
-                lastModified = lm;
-            }
+        List<String> files = new ArrayList<>(visitor.files.keySet());
+        String checksum = null;
+        Map<String, String> fileChecksums = new LinkedHashMap<>();
+        if (config.enableChecksums() || config.includeAllChecksums()) {
+            FileChecksums checksums = checksums(projectDir, buildDir, files, new ArrayList<>(visitor.files.values()));
             if (config.includeAllChecksums()) {
-                fileChecksums.put(f, MD5.checksum(file));
+                for (int i = 0; i < checksums.size(); i++) {
+                    fileChecksums.put(files.get(i), checksums.checksum(i));
+                }
+            }
+            if (config.enableChecksums()) {
+                checksum = checksums.checksum();
             }
-            if (md5 != null) {
-                md5.update(file);
+        }
+        return new ProjectFiles(files.size(), visitor.lastModified, checksum, fileChecksums);
+    }
+
+    private static FileChecksums checksums(Path projectDir,
+                                           Path buildDir,
+                                           List<String> files,
+                                           List<BasicFileAttributes> attrs) throws IOException {
+
+        // only read the files that have changed since the last stat index was saved
+        Path statsFile = buildDir.resolve(FileStats.FILE_NAME);
+        FileStats stats = FileStats.load(statsFile);
+        byte[][] digests = new byte[files.size()][];
+        int reused = 0;
+        for (int i = 0; i < digests.length; i++) {
+            digests[i] = stats.digest(files.get(i), attrs.get(i));
+            if (digests[i] != null) {
+                reused++;
             }
         }
-        String checksums = md5 != null ? md5.toHexString() : null;
-        return new ProjectFiles(visitor.files.size(), lastModified, checksums, fileChecksums);
+        FileChecksums checksums = FileChecksums.computeMissing(projectDir, files, digests);
+        if (reused < digests.length || stats.size() != digests.length) {
+            FileStats.save(statsFile, files, attrs, checksums.digests());
+        }
+        return checksums;
     }
 
     private static final class FileVisitorImpl implements FileVisitor<Path> {
@@ -229,15 +245,16 @@ final class ProjectFiles {
         private final Path projectDir;
         private final Path buildDir;
         private final List<Path> moduleDirs;
-        private final List<String> excludes;
-        private final List<String> files;
+        private final SourcePathMatcher matcher;
+        private final Map<String, BasicFileAttributes> files;
+        private long lastModified;
 
         FileVisitorImpl(Path projectDir, Path buildDir, List<Path> moduleDirs, List<String> excludes) {
-            this.files = new LinkedList<>();
+            this.files = new TreeMap<>();
             this.projectDir = projectDir;
             this.buildDir = buildDir;
             this.moduleDirs = moduleDirs;
-            this.excludes = excludes;
+            this.matcher = SourcePathMatcher.create(null, excludes);
         }
 
         @Override
@@ -245,13 +262,21 @@ final class ProjectFiles {
             if (moduleDirs.contains(dir) || dir.startsWith(buildDir)) {
                 return FileVisitResult.SKIP_SUBTREE;
             }
+            if (!dir.equals(projectDir) && matcher.prunes(new SourcePath(projectDir, dir))) {
+                // excluded directory
+                return FileVisitResult.SKIP_SUBTREE;
+            }
             return FileVisitResult.CONTINUE;
         }
 
         @Override
         public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-            if (new SourcePath(projectDir, file).matches(null, excludes)) {
-                files.add(projectDir.relativize(file).toString());
+            if (matcher.matches(new SourcePath(projectDir, file))) {
+                files.put(projectDir.relativize(file).toString(), attrs);
+                long lm = attrs.lastModifiedTime().toMillis();
+                if (lastModified < lm) {
+                    lastModified = lm;
+                }
             }
             return FileVisitResult.CONTINUE;
         }
@@ -266,54 +291,4 @@ final class ProjectFiles {
             return FileVisitResult.CONTINUE;
         }
     }
-
-    private static final class MD5 {
-
-        private static final char[] HEX_CODE = "0123456789ABCDEF".toCharArray();
-        private static ByteBuffer buffer;
-        private final MessageDigest md;
-
-        MD5() {
-            try {
-                md = MessageDigest.getInstance("MD5");
-            } catch (NoSuchAlgorithmException ex) {
-                throw new RuntimeException(ex);
-            }
-        }
-
-        MD5 update(Path file) throws IOException {
-            RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r");
-            FileChannel fc = raf.getChannel();
-            if (buffer == null) {
-                synchronized (MD5.class) {
-                    if (buffer == null) {
-                        buffer = ByteBuffer.allocate(4096);
-                    }
-                }
-            }
-            while (fc.read(buffer) > 0) {
-                buffer.flip();
-                md.update(buffer);
-                buffer.clear();
-            }
-            buffer.clear();
-            fc.close();
-            raf.close();
-            return this;
-        }
-
-        String toHexString() {
-            byte[] bytes = md.digest();
-            StringBuilder r = new StringBuilder(bytes.length * 2);
-            for (byte b : bytes) {
-                r.append(HEX_CODE[(b >> 4) & 0xF]);
-                r.append(HEX_CODE[(b & 0xF)]);
-            }
-            return r.toString();
-        }
-
-        static String checksum(Path file) throws IOException {
-            return new MD5().update(file).toHexString();
-        }
-    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,13 +21,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.nio.file.StandardCopyOption;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,6 +46,12 @@ final class ProjectState {
 
     static final String STATE_FILE_NAME = "state.xml";
 
+    /**
+     * The version of the state file format.
+     * Version 2 changed the combined checksum of the project files, older state files are discarded.
+     */
+    static final String FORMAT_VERSION = "2";
+
     private final Properties properties;
     private final ArtifactEntry artifact;
     private final List<ArtifactEntry> attachedArtifacts;
@@ -69,7 +76,7 @@ final class ProjectState {
         this.testCompileSourceRoots = testCompileSourceRoots == null ? List.of() : testCompileSourceRoots;
         this.projectFiles = Objects.requireNonNull(projectFiles, "projectFiles is null");
         this.executions = executions == null ? List.of() : executions;
-        this.executionMatches = new HashMap<>();
+        this.executionMatches = new ConcurrentHashMap<>();
     }
 
     /**
@@ -85,7 +92,7 @@ final class ProjectState {
      * Load the project state from file.
      *
      * @param project maven project
-     * @return state if state file exists, or {@code null}
+     * @return state if state file exists and has the current {@link #FORMAT_VERSION format version}, or {@code null}
      * @throws IOException            if an IO error occurs
      * @throws XmlPullParserException if a parsing error occurs
      */
@@ -98,6 +105,9 @@ final class ProjectState {
         }
         BufferedReader reader = Files.newBufferedReader(stateFile);
         Xpp3Dom rootElt = Xpp3DomBuilder.build(reader, false);
+        if (!FORMAT_VERSION.equals(rootElt.getAttribute("version"))) {
+            return null;
+        }
         Properties properties = new Properties();
         Xpp3Dom propertiesElt = rootElt.getChild("properties");
         if (propertiesElt != null) {
@@ -163,6 +173,7 @@ final class ProjectState {
         Path buildDir = project.getModel().getProjectDirectory().toPath()
                                .resolve(project.getModel().getBuild().getDirectory());
         Xpp3Dom rootElt = new Xpp3Dom("project-state");
+        rootElt.setAttribute("version", FORMAT_VERSION);
         Xpp3Dom propertiesElt = new Xpp3Dom("properties");
         for (String propName : properties.stringPropertyNames()) {
             Xpp3Dom propertyElt = new Xpp3Dom("property");
@@ -203,10 +214,14 @@ final class ProjectState {
         if (!Files.exists(buildDir)) {
             Files.createDirectories(buildDir);
         }
-        FileWriter writer = new FileWriter(buildDir.resolve(STATE_FILE_NAME).toFile());
+        // write to a temporary file first, the state file is never observed partially written
+        Path tmpFile = buildDir.resolve(STATE_FILE_NAME + ".tmp");
+        FileWriter writer = new FileWriter(tmpFile.toFile());
         Xpp3DomWriter.write(writer, rootElt);
         writer.flush();
         writer.close();
+        Files.move(tmpFile, buildDir.resolve(STATE_FILE_NAME),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
     }
 
     /**
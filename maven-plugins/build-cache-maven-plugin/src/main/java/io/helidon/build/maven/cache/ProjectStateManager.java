@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,10 +17,19 @@ package io.helidon.build.maven.cache;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.build.maven.cache.CacheReport.Timing;
 
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.execution.ProjectDependencyGraph;
@@ -32,6 +41,7 @@ import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 /**
  * Project state manager.
+ * This component is safe for use by concurrent project builds, E.g. {@code mvn -T}.
  */
 @Component(role = ProjectStateManager.class, hint = "default")
 public class ProjectStateManager {
@@ -45,7 +55,10 @@ public class ProjectStateManager {
     @Requirement
     private ProjectExecutionManager executionManager;
 
-    private final Map<MavenProject, ProjectStateStatus> statesStatuses = new HashMap<>();
+    @Requirement
+    private CacheReportManager reportManager;
+
+    private final Map<MavenProject, ProjectStateStatus> statesStatuses = new ConcurrentHashMap<>();
 
     /**
      * Get the loaded states.
@@ -58,27 +71,32 @@ public class ProjectStateManager {
 
     /**
      * Process the state of all the projects in the session.
+     * The state files are loaded and the project files are checked concurrently, the invalidation is then propagated
+     * downstream in a single pass over the projects sorted in reactor order.
      *
      * @param session Maven session
-     * @return map of state statuses by project
+     * @return map of state statuses by project, in reactor order
      */
     public Map<MavenProject, ProjectStateStatus> processStates(MavenSession session) {
         ProjectDependencyGraph pdg = session.getProjectDependencyGraph();
-        Map<MavenProject, ProjectStateStatus> statusMap = new HashMap<>();
-        LinkedList<MavenProject> stack = new LinkedList<>(session.getProjects());
-        while (!stack.isEmpty()) {
-            MavenProject project = stack.pop();
-            ProjectStateStatus stateStatus = statusMap.computeIfAbsent(project, this::processState);
+        List<MavenProject> projects = pdg.getSortedProjects();
+        Map<MavenProject, ProjectStateStatus> statusMap = new LinkedHashMap<>();
+        List<ProjectStateStatus> statuses = processStates(projects);
+        for (int i = 0; i < projects.size(); i++) {
+            statusMap.put(projects.get(i), statuses.get(i));
+        }
+        // upstream projects that are not part of the reactor, e.g. not selected with -pl
+        Map<MavenProject, ProjectStateStatus> externalMap = new HashMap<>();
+        for (MavenProject project : projects) {
+            ProjectStateStatus stateStatus = statusMap.get(project);
             if (stateStatus.code() == ProjectStateStatus.STATE_VALID) {
                 for (MavenProject upstream : pdg.getUpstreamProjects(project, true)) {
-                    ProjectStateStatus uss = statusMap.computeIfAbsent(upstream, this::processState);
+                    ProjectStateStatus uss = statusMap.get(upstream);
+                    if (uss == null) {
+                        uss = externalMap.computeIfAbsent(upstream, this::processState);
+                    }
                     if (uss.code() != ProjectStateStatus.STATE_VALID) {
                         statusMap.put(project, stateStatus.invalidate());
-                        for (MavenProject downstream : pdg.getDownstreamProjects(project, true)) {
-                            if (!stack.contains(downstream)) {
-                                stack.addLast(downstream);
-                            }
-                        }
                         break;
                     }
                 }
@@ -87,6 +105,45 @@ public class ProjectStateManager {
         return statusMap;
     }
 
+    private List<ProjectStateStatus> processStates(List<MavenProject> projects) {
+        int nThreads = Math.min(projects.size(), Runtime.getRuntime().availableProcessors());
+        if (nThreads <= 1) {
+            List<ProjectStateStatus> statuses = new ArrayList<>();
+            for (MavenProject project : projects) {
+                statuses.add(processState(project));
+            }
+            return statuses;
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(nThreads, r -> {
+            Thread thread = new Thread(r, "build-cache-state-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<ProjectStateStatus>> futures = new ArrayList<>();
+            for (MavenProject project : projects) {
+                futures.add(executor.submit(() -> processState(project)));
+            }
+            List<ProjectStateStatus> statuses = new ArrayList<>();
+            for (Future<ProjectStateStatus> future : futures) {
+                statuses.add(future.get());
+            }
+            return statuses;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private ProjectStateStatus processState(MavenProject project) {
         ProjectState state;
         if (CacheConfig.of(project, session).skip()) {
@@ -104,10 +161,12 @@ public class ProjectStateManager {
                         project.getGroupId(),
                         project.getArtifactId()));
             }
+            long startTime = System.nanoTime();
             state = ProjectState.load(project);
+            reportManager.time(Timing.LOAD_STATE, startTime);
             if (state == null) {
                 if (logger.isDebugEnabled()) {
-                    logger.debug(String.format("[%s:%s] - state file not found",
+                    logger.debug(String.format("[%s:%s] - state file not found or has an older format",
                             project.getGroupId(),
                             project.getArtifactId()));
                 }
@@ -120,7 +179,9 @@ public class ProjectStateManager {
 
         ProjectFiles projectFiles;
         try {
+            long startTime = System.nanoTime();
             projectFiles = ProjectFiles.of(project, session);
+            reportManager.time(Timing.FINGERPRINT, startTime);
         } catch (IOException ex) {
             logger.error("Error while checking project files for " + project, ex);
             return ProjectStateStatus.UNAVAILABLE;
@@ -147,6 +208,7 @@ public class ProjectStateManager {
      * @param session Maven session
      */
     public void save(MavenProject project, MavenSession session) {
+        long startTime = System.nanoTime();
         try {
             ProjectState projectState = null;
             ProjectFiles projectFiles = null;
@@ -160,6 +222,8 @@ public class ProjectStateManager {
                         .save(project);
         } catch (IOException | UncheckedIOException ex) {
             logger.error("Error while saving project state", ex);
+        } finally {
+            reportManager.time(Timing.SAVE_STATE, startTime);
         }
     }
 }
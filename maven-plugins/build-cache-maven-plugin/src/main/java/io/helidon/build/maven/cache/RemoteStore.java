@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synchronizes the entries of a {@link LocalStore local store} with a {@link CacheBackend remote backend}.
+ * The local store acts as a cache in front of the backend, the files of an entry are transferred concurrently and
+ * only if missing on the other side. The entry itself is always transferred last, so that an entry never refers
+ * to missing files.
+ */
+final class RemoteStore {
+
+    /**
+     * Number of concurrent transfers.
+     */
+    static final int PARALLELISM = 8;
+
+    private static volatile ExecutorService executor;
+
+    private final CacheBackend backend;
+    private final LocalStore store;
+
+    /**
+     * Create a new remote store.
+     *
+     * @param backend remote backend
+     * @param store   local store
+     */
+    RemoteStore(CacheBackend backend, LocalStore store) {
+        this.backend = backend;
+        this.store = store;
+    }
+
+    /**
+     * Download an entry and its missing files to the local store.
+     *
+     * @param key entry key
+     * @return {@code true} if the entry was downloaded, {@code false} if it does not exist
+     * @throws IOException if an IO error occurs
+     */
+    boolean fetch(String key) throws IOException {
+        Path entryFile = store.tmpFile();
+        try {
+            if (!backend.get(LocalStore.entryPath(key), entryFile)) {
+                return false;
+            }
+            List<Task> tasks = new ArrayList<>();
+            for (String checksum : LocalStore.checksums(entryFile)) {
+                if (Files.exists(store.objectFile(checksum))) {
+                    continue;
+                }
+                tasks.add(() -> {
+                    Path tmpFile = store.tmpFile();
+                    try {
+                        if (!backend.get(LocalStore.objectPath(checksum), tmpFile)) {
+                            throw new IOException("File not found: " + LocalStore.objectPath(checksum));
+                        }
+                        if (!FileChecksums.checksum(tmpFile).equals(checksum)) {
+                            throw new IOException("Invalid checksum: " + LocalStore.objectPath(checksum));
+                        }
+                        store.commit(tmpFile, store.objectFile(checksum));
+                    } finally {
+                        Files.deleteIfExists(tmpFile);
+                    }
+                });
+            }
+            invokeAll(tasks);
+            store.commit(entryFile, store.entryFile(key));
+            return true;
+        } finally {
+            Files.deleteIfExists(entryFile);
+        }
+    }
+
+    /**
+     * Upload an entry and its missing files to the backend.
+     *
+     * @param key entry key
+     * @throws IOException if an IO error occurs
+     */
+    void push(String key) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (String checksum : store.checksums(key)) {
+            tasks.add(() -> {
+                String path = LocalStore.objectPath(checksum);
+                if (!backend.exists(path)) {
+                    backend.put(path, store.objectFile(checksum));
+                }
+            });
+        }
+        invokeAll(tasks);
+        backend.put(LocalStore.entryPath(key), store.entryFile(key));
+    }
+
+    private static void invokeAll(List<Task> tasks) throws IOException {
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Task task : tasks) {
+            futures.add(executor().submit(() -> {
+                if (failed.get()) {
+                    // skip the remaining tasks after a failure
+                    return;
+                }
+                try {
+                    task.run();
+                } catch (IOException ex) {
+                    failed.set(true);
+                    throw new UncheckedIOException(ex);
+                } catch (RuntimeException ex) {
+                    failed.set(true);
+                    throw ex;
+                }
+            }));
+        }
+        // wait for all the tasks, the running tasks may still write to the store after a failure
+        IOException error = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            } catch (ExecutionException ex) {
+                if (error == null) {
+                    Throwable cause = ex.getCause();
+                    error = cause instanceof UncheckedIOException
+                            ? ((UncheckedIOException) cause).getCause()
+                            : new IOException(cause);
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private static ExecutorService executor() {
+        if (executor == null) {
+            synchronized (RemoteStore.class) {
+                if (executor == null) {
+                    AtomicInteger threadIndex = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(PARALLELISM, r -> {
+                        Thread thread = new Thread(r, "build-cache-transfer-" + threadIndex.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+
+    private interface Task {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import io.helidon.build.maven.cache.CacheReport.ExecutionReport;
+import io.helidon.build.maven.cache.CacheReport.ModuleReport;
+import io.helidon.build.maven.cache.CacheReport.Timing;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests {@link CacheReport}.
+ */
+class CacheReportTest {
+
+    private static final CacheReport REPORT = new CacheReport(List.of(
+            new ModuleReport("com.acme:module1", CacheReport.MODULE_CACHED, List.of(), List.of(
+                    new ExecutionReport("compiler:compile@default", CacheReport.EXEC_CACHED, List.of(), 0, 1500),
+                    new ExecutionReport("jar:jar@default", CacheReport.EXEC_CACHED, List.of(), 0, 200))),
+            new ModuleReport("com.acme:module2", CacheReport.MODULE_PARTIAL, List.of(), List.of(
+                    new ExecutionReport("compiler:compile@default", CacheReport.EXEC_CACHED, List.of(), 0, 300),
+                    new ExecutionReport("jar:jar@default", CacheReport.EXEC_DIFF,
+                            List.of("configuration/finalName was 'a' but is now \"b\""), 120, 0))),
+            new ModuleReport("com.acme:module3", CacheReport.MODULE_FILES_CHANGED,
+                    List.of("count was '1' but is now '2'"), List.of(
+                    new ExecutionReport("compiler:compile@default", CacheReport.EXEC_INVALIDATED,
+                            List.of("files changed"), 800, 0)))),
+            Map.of(Timing.FINGERPRINT, 42L, Timing.LOAD_STATE, 7L));
+
+    @Test
+    void testCounts() {
+        assertThat(REPORT.hits(), is(3));
+        assertThat(REPORT.misses(), is(2));
+        assertThat(REPORT.timeSaved(), is(2000L));
+        assertThat(REPORT.timing(Timing.FINGERPRINT), is(42L));
+        assertThat(REPORT.timing(Timing.SAVE_ARCHIVE), is(0L));
+        assertThat(REPORT.modules().get(1).hits(), is(1));
+        assertThat(REPORT.modules().get(1).misses(), is(1));
+    }
+
+    @Test
+    void testJson() {
+        String json = REPORT.toJson();
+        assertThat(json, containsString("\"hits\": 3,"));
+        assertThat(json, containsString("\"misses\": 2,"));
+        assertThat(json, containsString("\"timeSaved\": 2000,"));
+        assertThat(json, containsString("\"fingerprint\": 42,"));
+        assertThat(json, containsString("\"status\": \"files-changed\""));
+        assertThat(json, containsString("\"reasons\": [\"count was '1' but is now '2'\"]"));
+        assertThat(json, containsString("\"reasons\": [\"configuration/finalName was 'a' but is now \\\"b\\\"\"]"));
+        assertThat(json, containsString("{\"name\": \"jar:jar@default\", \"status\": \"diff\", \"duration\": 120, "
+                + "\"timeSaved\": 0, "));
+    }
+
+    @Test
+    void testEmptyJson() {
+        String json = new CacheReport(List.of(), Map.of()).toJson();
+        assertThat(json, containsString("\"hits\": 0,"));
+        assertThat(json, containsString("\"modules\": []"));
+    }
+
+    @Test
+    void testSummary() {
+        List<String> lines = REPORT.summary();
+        assertThat(lines.size(), is(6));
+        assertThat(lines.get(0), is("com.acme:module1  cached              hits: 2, misses: 0"));
+        assertThat(lines.get(2), is("com.acme:module3  files-changed       hits: 0, misses: 1"));
+        assertThat(lines.get(3), is("Executions: 3 hit(s), 2 miss(es)"));
+        assertThat(lines.get(4), containsString("fingerprinting: 42ms, loading state: 7ms"));
+        assertThat(lines.get(5), is("Estimated time saved: 2.0s"));
+    }
+
+    @Test
+    void testFormatDuration() {
+        assertThat(CacheReport.formatDuration(999), is("999ms"));
+        assertThat(CacheReport.formatDuration(1250), is("1.3s"));
+        assertThat(CacheReport.formatDuration(125000), is("2m05s"));
+    }
+
+    @Test
+    void testWrite() throws IOException {
+        Path file = targetDir(CacheReportTest.class).resolve("cache-report-ut/report.json");
+        REPORT.write(file);
+        assertThat(Files.readString(file), is(REPORT.toJson()));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -67,6 +67,26 @@ class ExecutionEntryTest {
         assertThat(execution.getAttribute("id"), is("default-do-something"));
     }
 
+    @Test
+    void testDuration() throws IOException, XmlPullParserException {
+        ExecutionEntry entry = new ExecutionEntry(
+                "com.acme",
+                "my-plugin",
+                "1.0",
+                "do-something",
+                "default-do-something",
+                null,
+                1234);
+        Xpp3Dom elt = entry.toXml();
+        assertThat(elt.getAttribute("duration"), is("1234"));
+        elt.addChild(new Xpp3Dom("configuration"));
+        assertThat(ExecutionEntry.fromXml(elt).duration(), is(1234L));
+        ExecutionEntry noDuration = ExecutionEntry.fromXml(Xpp3DomBuilder.build(new StringReader(
+                "<execution groupId=\"com.acme\" artifactId=\"my-plugin\" version=\"1.0\" "
+                        + "goal=\"do-something\" id=\"default-do-something\"><configuration /></execution>")));
+        assertThat(noDuration.duration(), is(0L));
+    }
+
     @Test
     void testMatch() {
         ExecutionEntry entry = new ExecutionEntry(
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.helidon.build.common.FileUtils;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link FileChecksums}.
+ */
+class FileChecksumsTest {
+
+    private static final Path DIR = targetDir(FileChecksumsTest.class).resolve("file-checksums-ut");
+    private static final List<String> FILES = new ArrayList<>();
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        FileUtils.deleteDirectory(DIR);
+        Files.createDirectories(DIR);
+        for (int i = 0; i < 3 * FileChecksums.CHUNK_SIZE + 7; i++) {
+            String file = "file" + i + ".txt";
+            Files.writeString(DIR.resolve(file), "content-" + i);
+            FILES.add(file);
+        }
+        byte[] bytes = new byte[(int) FileChecksums.MAPPED_THRESHOLD * 3 + 13];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i % 251);
+        }
+        Files.write(DIR.resolve("large.bin"), bytes);
+        FILES.add(5, "large.bin");
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    static void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testParallelMatchesSequential() throws IOException {
+        FileChecksums sequential = FileChecksums.compute(DIR, FILES, null);
+        FileChecksums parallel = FileChecksums.compute(DIR, FILES, executor);
+        assertThat(parallel.size(), is(FILES.size()));
+        assertThat(parallel.checksum(), is(sequential.checksum()));
+        for (int i = 0; i < FILES.size(); i++) {
+            assertThat(parallel.checksum(i), is(sequential.checksum(i)));
+        }
+    }
+
+    @Test
+    void testFileChecksums() throws Exception {
+        FileChecksums checksums = FileChecksums.compute(DIR, FILES, executor);
+        for (int i = 0; i < FILES.size(); i++) {
+            Path file = DIR.resolve(FILES.get(i));
+            assertThat(checksums.checksum(i), is(md5(file)));
+            assertThat(FileChecksums.checksum(file), is(md5(file)));
+        }
+    }
+
+    @Test
+    void testOrder() throws IOException {
+        List<String> reversed = new ArrayList<>(FILES);
+        Collections.reverse(reversed);
+        String checksum = FileChecksums.compute(DIR, FILES, executor).checksum();
+        assertThat(FileChecksums.compute(DIR, reversed, executor).checksum().equals(checksum), is(false));
+    }
+
+    @Test
+    void testMissingFile() {
+        List<String> files = new ArrayList<>(FILES);
+        files.add("does-not-exist");
+        assertThrows(IOException.class, () -> FileChecksums.compute(DIR, files, executor));
+    }
+
+    private static String md5(Path file) throws Exception {
+        byte[] digest = MessageDigest.getInstance("MD5").digest(Files.readAllBytes(file));
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest) {
+            sb.append(String.format("%02X", b));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import io.helidon.build.common.FileUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests {@link FileStats}.
+ */
+class FileStatsTest {
+
+    private static final Path DIR = targetDir(FileStatsTest.class).resolve("file-stats-ut");
+    private static final FileTime PAST = FileTime.from(Instant.now().minusSeconds(3600));
+
+    private Path statsFile;
+    private Path file1;
+    private Path file2;
+
+    @BeforeEach
+    void setup() throws IOException {
+        FileUtils.deleteDirectory(DIR);
+        Files.createDirectories(DIR);
+        statsFile = DIR.resolve(FileStats.FILE_NAME);
+        file1 = Files.writeString(DIR.resolve("file1.txt"), "file1");
+        file2 = Files.writeString(DIR.resolve("file2.txt"), "file2");
+        Files.setLastModifiedTime(file1, PAST);
+        Files.setLastModifiedTime(file2, PAST);
+    }
+
+    @Test
+    void testMissingIndex() throws IOException {
+        FileStats stats = FileStats.load(statsFile);
+        assertThat(stats.size(), is(0));
+        assertThat(stats.digest("file1.txt", attrs(file1)), is(nullValue()));
+    }
+
+    @Test
+    void testUnchangedFilesAreReused() throws IOException {
+        save();
+        FileStats stats = FileStats.load(statsFile);
+        assertThat(stats.size(), is(2));
+        assertThat(stats.digest("file1.txt", attrs(file1)), is(notNullValue()));
+        assertThat(stats.digest("file2.txt", attrs(file2)), is(notNullValue()));
+        assertThat(stats.digest("file3.txt", attrs(file2)), is(nullValue()));
+    }
+
+    @Test
+    void testChangedFilesAreNotReused() throws IOException {
+        save();
+        Files.writeString(file1, "file1-modified");
+        Files.setLastModifiedTime(file1, PAST);
+        Files.setLastModifiedTime(file2, FileTime.from(Instant.now().minusSeconds(60)));
+        FileStats stats = FileStats.load(statsFile);
+        assertThat(stats.digest("file1.txt", attrs(file1)), is(nullValue()));
+        assertThat(stats.digest("file2.txt", attrs(file2)), is(nullValue()));
+    }
+
+    @Test
+    void testRacyFilesAreNotReused() throws IOException {
+        FileTime now = FileTime.from(Instant.now());
+        Files.setLastModifiedTime(file1, now);
+        save();
+        Files.setLastModifiedTime(statsFile, now);
+        FileStats stats = FileStats.load(statsFile);
+        assertThat(stats.digest("file1.txt", attrs(file1)), is(nullValue()));
+        assertThat(stats.digest("file2.txt", attrs(file2)), is(notNullValue()));
+    }
+
+    @Test
+    void testCorruptedIndex() throws IOException {
+        save();
+        Files.writeString(statsFile, "corrupted");
+        assertThat(FileStats.load(statsFile).size(), is(0));
+    }
+
+    private void save() throws IOException {
+        List<String> files = List.of("file1.txt", "file2.txt");
+        FileChecksums checksums = FileChecksums.compute(DIR, files, null);
+        FileStats.save(statsFile, files, List.of(attrs(file1), attrs(file2)), checksums.digests());
+    }
+
+    private static BasicFileAttributes attrs(Path file) throws IOException {
+        return Files.readAttributes(file, BasicFileAttributes.class);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import io.helidon.build.common.FileUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link IndexedArchive}.
+ */
+class IndexedArchiveTest {
+
+    private static final Path DIR = targetDir(IndexedArchiveTest.class).resolve("indexed-archive-ut");
+    private static final FileTime LAST_MODIFIED = FileTime.from(Instant.now().minus(1, ChronoUnit.DAYS)
+                                                                        .truncatedTo(ChronoUnit.SECONDS));
+
+    private Path sourceDir;
+    private Path targetDir;
+    private Path archiveFile;
+    private Map<String, Path> sources;
+
+    @BeforeEach
+    void setup() throws IOException {
+        FileUtils.deleteDirectory(DIR);
+        sourceDir = Files.createDirectories(DIR.resolve("source"));
+        targetDir = DIR.resolve("target");
+        archiveFile = DIR.resolve("archive.bin");
+        sources = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            sources.put(String.valueOf(i), Files.writeString(sourceDir.resolve("file" + i + ".txt"), "content-" + i));
+        }
+        byte[] random = new byte[64 * 1024];
+        new Random(0).nextBytes(random);
+        sources.put("random", Files.write(sourceDir.resolve("random.bin"), random));
+        sources.put("empty", Files.write(sourceDir.resolve("empty.bin"), new byte[0]));
+        // larger than the in-memory limit, streamed into the archive
+        byte[] largeRandom = new byte[3 * 1024 * 1024];
+        new Random(1).nextBytes(largeRandom);
+        sources.put("large-random", Files.write(sourceDir.resolve("large-random.bin"), largeRandom));
+        sources.put("large-text", Files.writeString(sourceDir.resolve("large-text.txt"), "content\n".repeat(500_000)));
+        for (Path file : sources.values()) {
+            Files.setLastModifiedTime(file, LAST_MODIFIED);
+        }
+        IndexedArchive.create(archiveFile, sources);
+    }
+
+    @Test
+    void testRead() throws IOException {
+        assertThat(IndexedArchive.isIndexed(archiveFile), is(true));
+        IndexedArchive archive = IndexedArchive.open(archiveFile);
+        for (Map.Entry<String, Path> source : sources.entrySet()) {
+            assertThat(archive.contains(source.getKey()), is(true));
+            try (InputStream is = archive.read(source.getKey())) {
+                assertThat(is.readAllBytes(), is(Files.readAllBytes(source.getValue())));
+            }
+        }
+        assertThat(archive.contains("does-not-exist"), is(false));
+        long largeSize = Files.size(sources.get("large-random")) + Files.size(sources.get("large-text"));
+        assertThat(Files.size(archiveFile) < largeSize, is(true));
+    }
+
+    @Test
+    void testExtract() throws IOException {
+        IndexedArchive archive = IndexedArchive.open(archiveFile);
+        assertThat(archive.extract(targets(), true), is(sources.size()));
+        for (Map.Entry<String, Path> source : sources.entrySet()) {
+            Path target = targetDir.resolve(source.getValue().getFileName());
+            assertThat(Files.readAllBytes(target), is(Files.readAllBytes(source.getValue())));
+            assertThat(Files.getLastModifiedTime(target), is(LAST_MODIFIED));
+        }
+    }
+
+    @Test
+    void testExtractOnlyChangedFiles() throws IOException {
+        IndexedArchive archive = IndexedArchive.open(archiveFile);
+        archive.extract(targets(), true);
+        Path file1 = targetDir.resolve("file1.txt");
+        Path file2 = targetDir.resolve("file2.txt");
+        Files.writeString(file1, "content-x");
+        Files.writeString(file2, "modified");
+        assertThat(archive.extract(targets(), false), is(0));
+        assertThat(Files.readString(file1), is("content-x"));
+        assertThat(archive.extract(targets(), true), is(2));
+        assertThat(Files.readString(file1), is("content-1"));
+        assertThat(Files.readString(file2), is("content-2"));
+    }
+
+    @Test
+    void testNotIndexed() throws IOException {
+        Path file = Files.writeString(DIR.resolve("archive.tar"), "not an indexed archive");
+        assertThat(IndexedArchive.isIndexed(file), is(false));
+        assertThrows(IOException.class, () -> IndexedArchive.open(file));
+    }
+
+    private Map<String, Path> targets() {
+        Map<String, Path> targets = new LinkedHashMap<>();
+        sources.forEach((name, file) -> targets.put(name, targetDir.resolve(file.getFileName())));
+        return targets;
+    }
+}
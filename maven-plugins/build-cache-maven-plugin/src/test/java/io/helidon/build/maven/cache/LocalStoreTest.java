@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import io.helidon.build.common.FileUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests {@link LocalStore}.
+ */
+class LocalStoreTest {
+
+    private static final Path DIR = targetDir(LocalStoreTest.class).resolve("local-store-ut");
+
+    private LocalStore store;
+    private Path buildDir;
+    private Path repoDir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        FileUtils.deleteDirectory(DIR);
+        store = new LocalStore(DIR.resolve("store"));
+        buildDir = Files.createDirectories(DIR.resolve("workspace1/target"));
+        repoDir = Files.createDirectories(DIR.resolve("repository"));
+        Files.createDirectories(buildDir.resolve("classes"));
+        Files.writeString(buildDir.resolve("classes/Foo.class"), "foo");
+        Files.writeString(buildDir.resolve("state.xml"), "<project-state/>");
+        Files.createDirectories(repoDir.resolve("com/acme/foo/1.0"));
+        Files.writeString(repoDir.resolve("com/acme/foo/1.0/foo-1.0.jar"), "jar");
+    }
+
+    @Test
+    void testRestore() throws IOException {
+        store.save("key1", buildDir, List.of("classes/Foo.class", "state.xml"), repoDir,
+                List.of("com/acme/foo/1.0/foo-1.0.jar"));
+        Files.delete(repoDir.resolve("com/acme/foo/1.0/foo-1.0.jar"));
+
+        Path buildDir2 = DIR.resolve("workspace2/target");
+        assertThat(store.restore("key1", buildDir2, repoDir, "state.xml"), is(true));
+        assertThat(Files.readString(buildDir2.resolve("classes/Foo.class")), is("foo"));
+        assertThat(Files.readString(buildDir2.resolve("state.xml")), is("<project-state/>"));
+        assertThat(Files.readString(repoDir.resolve("com/acme/foo/1.0/foo-1.0.jar")), is("jar"));
+        assertThat(store.restore("key2", buildDir2, repoDir, "state.xml"), is(false));
+    }
+
+    @Test
+    void testChangedBuildFilesAreOverwritten() throws IOException {
+        store.save("key1", buildDir, List.of("classes/Foo.class", "state.xml"), repoDir, List.of());
+        FileTime lastModified = FileTime.from(Instant.now().minusSeconds(3600));
+        Files.setLastModifiedTime(buildDir.resolve("state.xml"), lastModified);
+        Files.writeString(buildDir.resolve("classes/Foo.class"), "bar");
+        assertThat(store.restore("key1", buildDir, repoDir, "state.xml"), is(true));
+        assertThat(Files.readString(buildDir.resolve("classes/Foo.class")), is("foo"));
+        // unchanged files are left untouched
+        assertThat(Files.getLastModifiedTime(buildDir.resolve("state.xml")), is(lastModified));
+    }
+
+    @Test
+    void testRestoredRepoFilesAreNotShared() throws IOException {
+        Path jar = repoDir.resolve("com/acme/foo/1.0/foo-1.0.jar");
+        store.save("key1", buildDir, List.of(), repoDir, List.of("com/acme/foo/1.0/foo-1.0.jar"));
+        Files.delete(jar);
+        assertThat(store.restore("key1", buildDir, repoDir, "state.xml"), is(true));
+
+        // in place write, as done by Maven install
+        Files.writeString(jar, "modified");
+        Path repoDir2 = DIR.resolve("repository2");
+        assertThat(store.restore("key1", buildDir, repoDir2, "state.xml"), is(true));
+        assertThat(Files.readString(repoDir2.resolve("com/acme/foo/1.0/foo-1.0.jar")), is("jar"));
+    }
+
+    @Test
+    void testEvict() throws IOException {
+        store.save("key1", buildDir, List.of("classes/Foo.class"), repoDir, List.of());
+        Files.writeString(buildDir.resolve("classes/Foo.class"), "foo-modified");
+        store.save("key2", buildDir, List.of("classes/Foo.class"), repoDir, List.of());
+        setLastUsed("key1", 3600);
+        setLastUsed("key2", 60);
+        assertThat(store.evict(Long.MAX_VALUE), is(0));
+        assertThat(store.keys(), is(Set.of("key1", "key2")));
+
+        // restoring key1 makes key2 the least recently used
+        store.restore("key1", DIR.resolve("workspace2/target"), repoDir, "state.xml");
+        assertThat(store.evict("foo".length()), is(1));
+        assertThat(store.keys(), is(Set.of("key1")));
+        assertThat(store.evict(0), is(1));
+        assertThat(store.keys(), is(Set.of()));
+    }
+
+    @Test
+    void testEvictKeepsRecentUnreferencedFiles() throws IOException {
+        store.save("key1", buildDir, List.of("classes/Foo.class"), repoDir, List.of());
+        Path objectFile = store.objectFile(FileChecksums.checksum(buildDir.resolve("classes/Foo.class")));
+        Files.delete(store.entryFile("key1"));
+
+        // the file may belong to an entry being saved
+        assertThat(store.evict(Long.MAX_VALUE), is(0));
+        assertThat(Files.exists(objectFile), is(true));
+
+        Files.setLastModifiedTime(objectFile, FileTime.from(Instant.now().minus(LocalStore.GRACE_PERIOD).minusSeconds(60)));
+        assertThat(store.evict(Long.MAX_VALUE), is(0));
+        assertThat(Files.exists(objectFile), is(false));
+    }
+
+    @Test
+    void testSaveTouchesExistingFiles() throws IOException {
+        store.save("key1", buildDir, List.of("classes/Foo.class"), repoDir, List.of());
+        Path objectFile = store.objectFile(FileChecksums.checksum(buildDir.resolve("classes/Foo.class")));
+        FileTime lastModified = FileTime.from(Instant.now().minus(LocalStore.GRACE_PERIOD).minusSeconds(60));
+        Files.setLastModifiedTime(objectFile, lastModified);
+
+        store.save("key2", buildDir, List.of("classes/Foo.class"), repoDir, List.of());
+        assertThat(Files.getLastModifiedTime(objectFile).compareTo(lastModified) > 0, is(true));
+    }
+
+    @Test
+    void testEvictionDue() throws IOException {
+        assertThat(store.evictionDue(Duration.ofHours(1)), is(true));
+        assertThat(store.evictionDue(Duration.ofHours(1)), is(false));
+        assertThat(store.evictionDue(Duration.ZERO), is(true));
+    }
+
+    private void setLastUsed(String key, long secondsAgo) throws IOException {
+        Files.setLastModifiedTime(DIR.resolve("store/entries").resolve(key),
+                FileTime.from(Instant.now().minusSeconds(secondsAgo)));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.helidon.build.common.FileUtils;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+
+/**
+ * Measures the build cache project files fingerprinting, I.e. {@link ProjectFiles#of} and {@link FileChecksums}.
+ * <p>
+ * This is not a unit test, see the README for how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectFilesBenchmark {
+
+    /**
+     * The number of source files.
+     */
+    @Param({"2000", "100000"})
+    private int files;
+
+    /**
+     * The number of threads used to compute the checksums, {@code 1} hashes the files in the benchmark thread.
+     */
+    @Param({"1", "4", "8"})
+    private int threads;
+
+    private Path projectDir;
+    private MavenProject project;
+    private List<String> sourceFiles;
+    private ExecutorService executor;
+
+    /**
+     * Generate the project.
+     *
+     * @throws IOException if an IO error occurs
+     */
+    @Setup
+    public void setup() throws IOException {
+        projectDir = targetDir(ProjectFilesBenchmark.class).resolve("project-files-benchmark");
+        FileUtils.deleteDirectory(projectDir);
+        Files.createDirectories(projectDir);
+        Files.writeString(projectDir.resolve("pom.xml"), "<project/>");
+        for (int i = 0; i < files; i++) {
+            String pkg = "com/acme/pkg" + (i % 20);
+            write(projectDir.resolve("src/main/java/" + pkg + "/Class" + i + ".java"), 2048);
+            if (i % 4 == 0) {
+                write(projectDir.resolve("src/test/java/" + pkg + "/Class" + i + "Test.java"), 1024);
+            }
+            write(projectDir.resolve("target/classes/" + pkg + "/Class" + i + ".class"), 1024);
+        }
+        Model model = new Model();
+        model.setGroupId("com.acme");
+        model.setArtifactId("acme");
+        model.setVersion("1.0.0-SNAPSHOT");
+        model.setPomFile(projectDir.resolve("pom.xml").toFile());
+        Build build = new Build();
+        build.setDirectory(projectDir.resolve("target").toString());
+        model.setBuild(build);
+        project = new MavenProject(model);
+        try (Stream<Path> stream = Files.walk(projectDir.resolve("src"))) {
+            sourceFiles = stream.filter(Files::isRegularFile)
+                                .map(f -> projectDir.relativize(f).toString())
+                                .collect(Collectors.toList());
+        }
+        executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+    }
+
+    /**
+     * Stop the executor.
+     */
+    @TearDown
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Walk the project files, without checksums.
+     *
+     * @return ProjectFiles
+     * @throws IOException if an IO error occurs
+     */
+    @Benchmark
+    public ProjectFiles walk() throws IOException {
+        return ProjectFiles.of(project, null);
+    }
+
+    /**
+     * Compute the checksums of all the project files.
+     *
+     * @return checksum
+     * @throws IOException if an IO error occurs
+     */
+    @Benchmark
+    public String checksums() throws IOException {
+        return FileChecksums.compute(projectDir, sourceFiles, executor).checksum();
+    }
+
+    private static void write(Path file, int size) throws IOException {
+        Files.createDirectories(file.getParent());
+        byte[] data = new byte[size];
+        byte[] name = file.getFileName().toString().getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(name, 0, data, 0, Math.min(name.length, size));
+        Files.write(file, data);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.helidon.build.common.FileUtils;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests {@link ProjectState}.
+ */
+class ProjectStateTest {
+
+    private static final Path DIR = targetDir(ProjectStateTest.class).resolve("project-state-ut");
+
+    private MavenProject project;
+    private Path stateFile;
+
+    @BeforeEach
+    void setup() throws IOException {
+        FileUtils.deleteDirectory(DIR);
+        Files.createDirectories(DIR.resolve("target"));
+        Model model = new Model();
+        model.setPomFile(DIR.resolve("pom.xml").toFile());
+        Build build = new Build();
+        build.setDirectory("target");
+        model.setBuild(build);
+        project = new MavenProject(model);
+        stateFile = DIR.resolve("target").resolve(ProjectState.STATE_FILE_NAME);
+    }
+
+    @Test
+    void testLoadCurrentVersion() throws IOException, XmlPullParserException {
+        Files.writeString(stateFile, "<project-state version=\"" + ProjectState.FORMAT_VERSION + "\">"
+                + "<project-files count=\"1\" checksum=\"abc\"/>"
+                + "</project-state>");
+        ProjectState state = ProjectState.load(project);
+        assertThat(state, is(notNullValue()));
+        assertThat(state.projectFiles().checksum(), is("abc"));
+
+        state.save(project);
+        assertThat(Files.readString(stateFile), containsString("version=\"" + ProjectState.FORMAT_VERSION + "\""));
+        assertThat(ProjectState.load(project), is(notNullValue()));
+    }
+
+    @Test
+    void testOlderVersionDiscarded() throws IOException, XmlPullParserException {
+        Files.writeString(stateFile, "<project-state>"
+                + "<project-files count=\"1\" checksum=\"abc\"/>"
+                + "</project-state>");
+        assertThat(ProjectState.load(project), is(nullValue()));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,10 +18,12 @@ package io.helidon.build.maven.cache;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import io.helidon.build.common.test.utils.ConfigurationParameterSource;
 
@@ -60,6 +62,35 @@ final class ProjectsTestIT {
         assertDiffs(diffs2);
     }
 
+    @ParameterizedTest
+    @ConfigurationParameterSource("basedir")
+    void test3(String basedir) throws IOException {
+        BuildLog buildLog = new BuildLog(new File(basedir, "build.log"));
+        int index = buildLog.indexOf("BUILD SUCCESS", 0);
+        assertThat(index > 0, is(true));
+        assertThat(buildLog.count("BUILD SUCCESS", index), is(3));
+        assertThat(buildLog.count("[ERROR]", 0), is(0));
+        // 7 projects fast-forwarded by the 2 cached parallel builds
+        assertThat(buildLog.count("All executions are cached! (fast-forward)", index), is(14));
+    }
+
+    @ParameterizedTest
+    @ConfigurationParameterSource("basedir")
+    void test4(String basedir) throws IOException {
+        BuildLog buildLog = new BuildLog(new File(basedir, "build.log"));
+        int index = buildLog.indexOf("BUILD SUCCESS", 0);
+        assertThat(index > 0, is(true));
+        assertThat(buildLog.count("BUILD SUCCESS", index), is(3));
+        assertThat(buildLog.count("[WARNING] Error while", 0), is(0));
+        // the first build pushed to the remote store, the last one fetched into an empty local store
+        try (Stream<Path> files = Files.list(Path.of(basedir, "cache", "server"))) {
+            assertThat(files.findAny().isPresent(), is(true));
+        }
+        index = buildLog.indexOf("[io.helidon.build-tools.cache.tests:test4] - restored from remote store", index);
+        assertThat(index > 0, is(true));
+        assertThat(buildLog.count("All executions are cached! (fast-forward)", index), is(1));
+    }
+
     private static void assertDiffs(List<String> diffs) {
         if (!diffs.isEmpty()) {
             throw new AssertionError("diffs: "
@@ -85,6 +116,16 @@ final class ProjectsTestIT {
             return -1;
         }
 
+        int count(String str, int fromIndex) {
+            int count = 0;
+            for (int actualIndex = fromIndex; actualIndex < actualLines.length; actualIndex++) {
+                if (actualLines[actualIndex].contains(str)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
         List<String> diff(File expectedLog, int fromIndex) throws IOException {
             String[] expectedLines = Files.readAllLines(expectedLog.toPath()).toArray(new String[0]);
             List<String> diffs = new LinkedList<>();
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.maven.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.helidon.build.common.FileUtils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.common.test.utils.TestFiles.targetDir;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link RemoteStore}.
+ */
+class RemoteStoreTest {
+
+    private static final Path DIR = targetDir(RemoteStoreTest.class).resolve("remote-store-ut");
+
+    private CacheServer server;
+    private Path buildDir;
+    private Path repoDir;
+    private List<String> buildFiles;
+
+    @BeforeEach
+    void setup() throws IOException {
+        FileUtils.deleteDirectory(DIR);
+        server = CacheServer.start(DIR.resolve("server"), 0);
+        buildDir = Files.createDirectories(DIR.resolve("workspace1/target"));
+        repoDir = Files.createDirectories(DIR.resolve("repository"));
+        buildFiles = new ArrayList<>();
+        for (int i = 0; i < 3 * RemoteStore.PARALLELISM; i++) {
+            String file = "classes/Foo" + i + ".class";
+            Files.createDirectories(buildDir.resolve(file).getParent());
+            Files.writeString(buildDir.resolve(file), "foo" + i);
+            buildFiles.add(file);
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        server.stop();
+    }
+
+    @Test
+    void testHttpBackend() throws IOException {
+        testFetch(CacheBackend.create(server.uri()));
+    }
+
+    @Test
+    void testFileBackend() throws IOException {
+        testFetch(CacheBackend.create(DIR.resolve("remote").toUri()));
+    }
+
+    @Test
+    void testMissingEntry() throws IOException {
+        RemoteStore remote = new RemoteStore(CacheBackend.create(server.uri()), new LocalStore(DIR.resolve("store")));
+        assertThat(remote.fetch("key1"), is(false));
+    }
+
+    @Test
+    void testInvalidFile() throws IOException {
+        CacheBackend backend = CacheBackend.create(server.uri());
+        LocalStore store1 = new LocalStore(DIR.resolve("store1"));
+        store1.save("key1", buildDir, buildFiles, repoDir, List.of());
+        new RemoteStore(backend, store1).push("key1");
+
+        String checksum = store1.checksums("key1").iterator().next();
+        Path corrupted = Files.writeString(DIR.resolve("corrupted"), "corrupted");
+        backend.put(LocalStore.objectPath(checksum), corrupted);
+        LocalStore store2 = new LocalStore(DIR.resolve("store2"));
+        assertThrows(IOException.class, () -> new RemoteStore(backend, store2).fetch("key1"));
+        assertThat(store2.contains("key1"), is(false));
+    }
+
+    private void testFetch(CacheBackend backend) throws IOException {
+        LocalStore store1 = new LocalStore(DIR.resolve("store1"));
+        store1.save("key1", buildDir, buildFiles, repoDir, List.of());
+        new RemoteStore(backend, store1).push("key1");
+
+        LocalStore store2 = new LocalStore(DIR.resolve("store2"));
+        RemoteStore remote2 = new RemoteStore(backend, store2);
+        assertThat(remote2.fetch("key1"), is(true));
+        assertThat(store2.contains("key1"), is(true));
+
+        Path buildDir2 = DIR.resolve("workspace2/target");
+        assertThat(store2.restore("key1", buildDir2, repoDir, "state.xml"), is(true));
+        for (String file : buildFiles) {
+            assertThat(Files.readString(buildDir2.resolve(file)), is(Files.readString(buildDir.resolve(file))));
+        }
+    }
+}
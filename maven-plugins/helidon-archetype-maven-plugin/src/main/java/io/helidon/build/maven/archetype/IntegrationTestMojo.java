@@ -26,6 +26,7 @@ import java.io.UncheckedIOException;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -38,6 +39,12 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -49,6 +56,7 @@ import io.helidon.build.archetype.engine.v2.util.InputPermutations;
 import io.helidon.build.common.Lists;
 import io.helidon.build.common.Maps;
 import io.helidon.build.common.SourcePath;
+import io.helidon.build.common.SourcePathMatcher;
 import io.helidon.build.common.ansi.AnsiConsoleInstaller;
 
 import org.apache.maven.archetype.ArchetypeGenerationRequest;
@@ -81,6 +89,9 @@ import static io.helidon.build.common.FileUtils.unique;
 import static io.helidon.build.common.Strings.padding;
 import static io.helidon.build.common.ansi.AnsiTextStyles.Bold;
 import static io.helidon.build.common.ansi.AnsiTextStyles.BoldBlue;
+import static io.helidon.build.common.ansi.AnsiTextStyles.BoldGreen;
+import static io.helidon.build.common.ansi.AnsiTextStyles.BoldRed;
+import static io.helidon.build.common.ansi.AnsiTextStyles.BoldYellow;
 import static io.helidon.build.common.ansi.AnsiTextStyles.Cyan;
 import static io.helidon.build.common.ansi.AnsiTextStyles.Italic;
 import static java.nio.file.FileSystems.newFileSystem;
@@ -239,6 +250,27 @@ public class IntegrationTestMojo extends AbstractMojo {
     @Parameter(property = "archetype.test.invokerEnvVars")
     private Map<String, String> invokerEnvVars;
 
+    /**
+     * The number of projects to generate and build concurrently.
+     */
+    @Parameter(property = "archetype.test.parallelism", defaultValue = "1")
+    private int parallelism;
+
+    /**
+     * Whether to build each project with its own local repository, layered over the local repository of the current
+     * session. Artifacts are resolved from the session repository, and the artifacts installed by a project are only
+     * visible to that project. Requires Maven 3.9 or later.
+     */
+    @Parameter(property = "archetype.test.isolatedLocalRepository", defaultValue = "false")
+    private boolean isolatedLocalRepository;
+
+    /**
+     * The Maven executable used to build the projects. Use the Maven Daemon client ({@code mvnd}) to build the
+     * projects with long-lived Maven processes instead of a new JVM for each project.
+     */
+    @Parameter(property = "archetype.test.mavenExecutable")
+    private File mavenExecutable;
+
     @Component
     private ProjectInstaller installer;
 
@@ -249,7 +281,7 @@ public class IntegrationTestMojo extends AbstractMojo {
     private List<Validation> validations;
 
     private List<Map<String, String>> permutations;
-    private int index = 1;
+    private final Object generateLock = new Object();
     private Log log;
 
     @Override
@@ -272,16 +304,21 @@ public class IntegrationTestMojo extends AbstractMojo {
         }
 
         String testName = project.getFile().toPath().getParent().getFileName().toString();
+        if (mavenExecutable != null) {
+            invoker.setMavenExecutable(mavenExecutable);
+        }
         try {
             if (generatePermutations) {
                 logPermutationsInput(testName);
 
                 log.info("");
                 log.info("Computing permutations...");
+                long startTime = System.currentTimeMillis();
                 permutations = permutations(archetypeFile.toPath());
+                long elapsedTime = System.currentTimeMillis() - startTime;
                 Path permutationsFile = writePermutations();
                 log.info("");
-                log.info("Total permutations: " + permutations.size());
+                log.info("Total permutations: " + permutations.size() + " (computed in " + elapsedTime + "ms)");
                 log.info("Permutations file: " + permutationsFile);
 
                 if (permutationsOnly) {
@@ -291,16 +328,15 @@ public class IntegrationTestMojo extends AbstractMojo {
                 Set<String> artifactIds = new HashSet<>();
                 Map<Integer, Map<String, String>> perms = filterPermutations();
                 for (Map.Entry<Integer, Map<String, String>> entry : perms.entrySet()) {
-                    index = entry.getKey();
                     Map<String, String> permutation = entry.getValue();
                     String artifactId = permutation.getOrDefault("artifactId", "my-project");
                     if (!artifactIds.add(artifactId)) {
-                        permutation.put("artifactId", artifactId + "-" + index);
+                        permutation.put("artifactId", artifactId + "-" + entry.getKey());
                     }
-                    processIntegrationTest(testName, permutation, archetypeFile);
                 }
+                processIntegrationTests(testName, perms, archetypeFile);
             } else {
-                processIntegrationTest(testName, externalValues, archetypeFile);
+                processIntegrationTests(testName, Map.of(0, externalValues), archetypeFile);
             }
 
         } catch (IOException e) {
@@ -374,39 +410,159 @@ public class IntegrationTestMojo extends AbstractMojo {
         return perms;
     }
 
-    private void processIntegrationTest(String testName,
-                                        Map<String, String> externalValues,
-                                        File archetypeFile) throws IOException, MojoExecutionException {
-
-        logTestDescription(testName, externalValues);
-
-        Properties props = new Properties();
-        props.putAll(externalValues);
-
-        Path ourProjectDir = project.getFile().toPath();
-        Path projectsDir = ourProjectDir.getParent().resolve("target/projects");
-        ensureDirectory(projectsDir);
-        String projectName = props.getProperty("artifactId");
-        Path outputDir = unique(projectsDir, projectName);
-        projectName = outputDir.getFileName().toString();
-        props.setProperty("artifactId", projectName);
+    private void processIntegrationTests(String testName,
+                                         Map<Integer, Map<String, String>> tests,
+                                         File archetypeFile) throws IOException, MojoExecutionException {
 
         if (mavenArchetypeCompatible) {
-            log.info("Generating project '" + projectName + "' using Maven archetype");
+            // pre-install the archetype JAR so that the post-generate script can resolve it
+            installArchetype();
             System.setProperty("interactiveMode", "false");
-            mavenCompatGenerate(
-                    project.getGroupId(),
-                    project.getArtifactId(),
-                    project.getVersion(),
-                    archetypeFile,
-                    props,
-                    outputDir.getParent());
+        }
+
+        // reserve the output directories upfront to isolate the concurrent tests
+        Path projectsDir = ensureDirectory(project.getFile().toPath().getParent().resolve("target/projects"));
+        Set<Path> outputDirs = new HashSet<>();
+        List<IntegrationTest> integrationTests = new ArrayList<>();
+        for (Map.Entry<Integer, Map<String, String>> entry : tests.entrySet()) {
+            Properties props = new Properties();
+            props.putAll(entry.getValue());
+            String projectName = props.getProperty("artifactId");
+            Path outputDir = unique(projectsDir, projectName);
+            for (int i = 1; !outputDirs.add(outputDir); i++) {
+                outputDir = unique(projectsDir, projectName + "-" + i);
+            }
+            props.setProperty("artifactId", outputDir.getFileName().toString());
+            integrationTests.add(new IntegrationTest(entry.getKey(), entry.getValue(), props, outputDir));
+        }
+
+        long startTime = System.currentTimeMillis();
+        AtomicBoolean failed = new AtomicBoolean();
+        int nThreads = Math.min(integrationTests.size(), parallelism);
+        if (nThreads <= 1) {
+            for (IntegrationTest test : integrationTests) {
+                processIntegrationTest(testName, test, archetypeFile, failed);
+            }
         } else {
-            log.info("Generating project '" + projectName + "' using Helidon archetype engine");
-            generate(archetypeFile.toPath(), props, outputDir);
+            AtomicInteger threadIndex = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(nThreads, r -> {
+                Thread thread = new Thread(r, "archetype-it-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (IntegrationTest test : integrationTests) {
+                    futures.add(executor.submit(() -> processIntegrationTest(testName, test, archetypeFile, failed)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new MojoExecutionException("Integration test interrupted", ex);
+            } catch (ExecutionException ex) {
+                throw new MojoExecutionException(ex.getCause().getMessage(), ex.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
         }
+        long elapsedTime = System.currentTimeMillis() - startTime;
 
-        invokePostArchetypeGenerationGoals(outputDir.toFile());
+        logSummary(testName, integrationTests, elapsedTime);
+        for (IntegrationTest test : integrationTests) {
+            if (test.error != null) {
+                if (test.error instanceof MojoExecutionException) {
+                    throw (MojoExecutionException) test.error;
+                }
+                throw new MojoExecutionException(test.error.getMessage(), test.error);
+            }
+        }
+    }
+
+    private void processIntegrationTest(String testName,
+                                        IntegrationTest test,
+                                        File archetypeFile,
+                                        AtomicBoolean failed) {
+
+        // stop at the first failure, the tests already in progress are completed
+        if (failed.get()) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            logTestDescription(testName, test.index, test.externalValues);
+
+            String projectName = test.outputDir.getFileName().toString();
+            if (mavenArchetypeCompatible) {
+                log.info("Generating project '" + projectName + "' using Maven archetype");
+                synchronized (generateLock) {
+                    mavenCompatGenerate(
+                            project.getGroupId(),
+                            project.getArtifactId(),
+                            project.getVersion(),
+                            archetypeFile,
+                            test.props,
+                            test.outputDir.getParent());
+                }
+            } else {
+                log.info("Generating project '" + projectName + "' using Helidon archetype engine");
+                generate(archetypeFile.toPath(), test.props, test.outputDir);
+            }
+
+            invokePostArchetypeGenerationGoals(test.outputDir.toFile());
+        } catch (IOException | MojoExecutionException | RuntimeException ex) {
+            test.error = ex;
+            failed.set(true);
+        } finally {
+            test.elapsedTime = System.currentTimeMillis() - startTime;
+        }
+    }
+
+    private void logSummary(String testName, List<IntegrationTest> tests, long elapsedTime) {
+        int passed = 0;
+        int errors = 0;
+        for (IntegrationTest test : tests) {
+            if (test.error != null) {
+                errors++;
+            } else if (test.elapsedTime >= 0) {
+                passed++;
+            }
+        }
+        int skipped = tests.size() - passed - errors;
+        log.info("");
+        log.info("-----------------------------------------");
+        log.info("Archetype Integration Test Summary");
+        log.info("-----------------------------------------");
+        log.info("");
+        log.info(Bold.apply("Test: ") + BoldBlue.apply(testName));
+        log.info("");
+        int maxNameWidth = 0;
+        for (IntegrationTest test : tests) {
+            maxNameWidth = Math.max(maxNameWidth, test.outputDir.getFileName().toString().length());
+        }
+        for (IntegrationTest test : tests) {
+            String projectName = test.outputDir.getFileName().toString();
+            String status;
+            if (test.error != null) {
+                status = BoldRed.apply("FAILED ");
+            } else if (test.elapsedTime >= 0) {
+                status = BoldGreen.apply("SUCCESS");
+            } else {
+                status = BoldYellow.apply("SKIPPED");
+            }
+            String line = "    " + status + " " + Cyan.apply(projectName) + padding(" ", maxNameWidth, projectName);
+            if (test.index > 0) {
+                line += String.format(" #%-4d", test.index);
+            }
+            if (test.elapsedTime >= 0) {
+                line += String.format(" [%.3fs]", test.elapsedTime / 1000.0);
+            }
+            log.info(line);
+        }
+        log.info("");
+        log.info(String.format("Tests run: %d, Passed: %d, Failures: %d, Skipped: %d, Time elapsed: %.3fs",
+                tests.size(), passed, errors, skipped, elapsedTime / 1000.0));
     }
 
     private void logPermutationsInput(String testName) {
@@ -421,11 +577,18 @@ public class IntegrationTestMojo extends AbstractMojo {
         logInputs("externalDefaults", externalDefaults, maxKeyWidth);
     }
 
-    private void logTestDescription(String testName, Map<String, String> externalValues) {
+    private void logTestDescription(String testName, int index, Map<String, String> externalValues) {
         String description = Bold.apply("Test: ") + BoldBlue.apply(testName);
         if (permutations != null && index > 0) {
             description += BoldBlue.apply(String.format(", permutation: %s/%s", index, permutations.size()));
         }
+        // keep the description of concurrent tests together
+        synchronized (log) {
+            logTestHeader(description, externalValues);
+        }
+    }
+
+    private void logTestHeader(String description, Map<String, String> externalValues) {
         log.info("");
         log.info("-------------------------------------");
         log.info("Processing Archetype Integration Test");
@@ -481,14 +644,6 @@ public class IntegrationTestMojo extends AbstractMojo {
                                      Properties properties,
                                      Path basedir) throws MojoExecutionException {
 
-        // pre-install the archetype JAR so that the post-generate script can resolve it
-        ProjectInstallerRequest projectInstallerRequest = new ProjectInstallerRequest().setProject(project);
-        try {
-            installer.install(session.getProjectBuildingRequest(), projectInstallerRequest);
-        } catch (IOException | ArtifactInstallerException | NoFileAssignedException ex) {
-            throw new MojoExecutionException("Unable to pre-install archetype artifact", ex);
-        }
-
         ArchetypeGenerationRequest request = new ArchetypeGenerationRequest()
                 .setArchetypeGroupId(archetypeGroupId)
                 .setArchetypeArtifactId(archetypeArtifactId)
@@ -515,6 +670,15 @@ public class IntegrationTestMojo extends AbstractMojo {
         }
     }
 
+    private void installArchetype() throws MojoExecutionException {
+        ProjectInstallerRequest projectInstallerRequest = new ProjectInstallerRequest().setProject(project);
+        try {
+            installer.install(session.getProjectBuildingRequest(), projectInstallerRequest);
+        } catch (IOException | ArtifactInstallerException | NoFileAssignedException ex) {
+            throw new MojoExecutionException("Unable to pre-install archetype artifact", ex);
+        }
+    }
+
     private void invokePostArchetypeGenerationGoals(File basedir) throws IOException, MojoExecutionException {
 
         FileLogger logger = setupBuildLogger(basedir);
@@ -535,19 +699,27 @@ public class IntegrationTestMojo extends AbstractMojo {
             request.setOutputHandler(logger);
         }
 
-        if (!properties.isEmpty()) {
-            Properties props = new Properties();
-            for (Entry<String, String> entry : properties.entrySet()) {
-                if (entry.getValue() != null) {
-                    props.setProperty(entry.getKey(), entry.getValue());
-                }
+        Properties props = new Properties();
+        for (Entry<String, String> entry : properties.entrySet()) {
+            if (entry.getValue() != null) {
+                props.setProperty(entry.getKey(), entry.getValue());
             }
+        }
+        if (isolatedLocalRepository) {
+            // project local repository, backed by the session local repository
+            Path projectsDir = basedir.toPath().getParent();
+            Path localRepo = projectsDir.resolveSibling("repositories").resolve(basedir.getName());
+            request.setLocalRepositoryDirectory(ensureDirectory(localRepo).toFile());
+            props.setProperty("maven.repo.local.tail", session.getLocalRepository().getBasedir());
+        }
+        if (!props.isEmpty()) {
             request.setProperties(props);
         }
 
         try {
             InvocationResult result = invoker.execute(request);
-            getLog().info("Post-archetype-generation invoker exit code: " + result.getExitCode());
+            getLog().info("Post-archetype-generation invoker exit code for " + basedir.getName() + ": "
+                    + result.getExitCode());
             validate(basedir);
             if (result.getExitCode() != 0) {
                 throw new MojoExecutionException("Execution failure: exit code = " + result.getExitCode(),
@@ -555,6 +727,10 @@ public class IntegrationTestMojo extends AbstractMojo {
             }
         } catch (MavenInvocationException ex) {
             throw new MojoExecutionException(ex.getMessage(), ex);
+        } finally {
+            if (logger != null) {
+                logger.close();
+            }
         }
     }
 
@@ -569,7 +745,7 @@ public class IntegrationTestMojo extends AbstractMojo {
             boolean fail = validation.getFail();
             Set<String> patterns = validation.getPatterns();
             boolean isMatch;
-            Predicate<SourcePath> matches = path -> path.matches(patterns);
+            Predicate<SourcePath> matches = SourcePathMatcher.create(patterns)::matches;
             switch (match) {
                 case "all":
                     isMatch = paths.stream().allMatch(matches);
@@ -595,9 +771,11 @@ public class IntegrationTestMojo extends AbstractMojo {
         if (!noLog) {
             File outputLog = new File(basedir, "build.log");
             if (streamLogs) {
-                logger = new FileLogger(outputLog, getLog());
+                // prefix the lines of concurrent builds with the project name
+                String prefix = parallelism > 1 ? "[" + basedir.getName() + "] " : "";
+                logger = new FileLogger(outputLog, getLog(), prefix);
             } else {
-                logger = new FileLogger(outputLog, null);
+                logger = new FileLogger(outputLog, null, "");
             }
             getLog().debug("build log initialized in: " + outputLog);
         }
@@ -614,13 +792,32 @@ public class IntegrationTestMojo extends AbstractMojo {
         }
     }
 
+    private static final class IntegrationTest {
+
+        private final int index;
+        private final Map<String, String> externalValues;
+        private final Properties props;
+        private final Path outputDir;
+        private volatile long elapsedTime = -1;
+        private volatile Exception error;
+
+        IntegrationTest(int index, Map<String, String> externalValues, Properties props, Path outputDir) {
+            this.index = index;
+            this.externalValues = externalValues;
+            this.props = props;
+            this.outputDir = outputDir;
+        }
+    }
+
     private static final class FileLogger implements InvocationOutputHandler, Closeable {
 
         private final PrintStream stream;
         private final Log log;
+        private final String prefix;
 
-        FileLogger(File outputFile, Log log) throws IOException {
+        FileLogger(File outputFile, Log log, String prefix) throws IOException {
             this.log = log;
+            this.prefix = prefix;
             //noinspection ResultOfMethodCallIgnored
             outputFile.getParentFile().mkdirs();
             stream = new PrintStream(new FileOutputStream(outputFile));
@@ -631,7 +828,7 @@ public class IntegrationTestMojo extends AbstractMojo {
             stream.println(line);
             stream.flush();
             if (log != null) {
-                log.info(line);
+                log.info(prefix + line);
             }
         }
 
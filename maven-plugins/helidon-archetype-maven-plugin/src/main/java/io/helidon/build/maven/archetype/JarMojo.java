@@ -35,9 +35,11 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import io.helidon.build.archetype.engine.v2.ScriptArchive;
 import io.helidon.build.archetype.engine.v2.util.ArchetypeValidator;
 import io.helidon.build.common.SourcePath;
 import io.helidon.build.common.VirtualFileSystem;
+import io.helidon.build.common.xml.SimpleXMLParser.XMLException;
 import io.helidon.build.maven.archetype.MustacheHelper.RawString;
 
 import org.apache.commons.io.FilenameUtils;
@@ -144,6 +146,12 @@ public class JarMojo extends AbstractMojo {
     @Parameter(defaultValue = "true")
     private boolean mavenArchetypeCompatible;
 
+    /**
+     * Indicate if the archetype scripts should be precompiled into the generated JAR.
+     */
+    @Parameter(defaultValue = "true")
+    private boolean compileScripts;
+
     /**
      * Entrypoint configuration.
      */
@@ -159,6 +167,7 @@ public class JarMojo extends AbstractMojo {
             Files.createDirectories(archetypeDir);
             processSources(archetypeDir);
             processEntryPoint(archetypeDir);
+            processScripts(archetypeDir);
             validateEntryPoint(archetypeDir);
             if (mavenArchetypeCompatible) {
                 processMavenCompat(archetypeDir);
@@ -247,6 +256,23 @@ public class JarMojo extends AbstractMojo {
         }
     }
 
+    private void processScripts(Path archetypeDir) throws IOException, MojoExecutionException {
+        Path archiveFile = archetypeDir.resolve(ScriptArchive.FILE_NAME);
+        Files.deleteIfExists(archiveFile);
+        if (compileScripts) {
+            getLog().info("Compiling archetype scripts");
+            List<String> scripts;
+            try {
+                scripts = ScriptArchive.write(archetypeDir, archiveFile);
+            } catch (XMLException ex) {
+                throw new MojoExecutionException(ex.getMessage(), ex);
+            }
+            if (getLog().isDebugEnabled()) {
+                scripts.forEach(script -> getLog().debug("Compiled script: " + script));
+            }
+        }
+    }
+
     private void validateEntryPoint(Path outputDir) throws MojoExecutionException {
         System.setProperty(MAVEN_URL_REPO_PROPERTY, session.getLocalRepository().getBasedir());
         Path script = VirtualFileSystem.create(outputDir).getPath("/").resolve("main.xml");
@@ -21,6 +21,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import io.helidon.build.archetype.engine.v2.ScriptArchive;
 import io.helidon.build.common.test.utils.ConfigurationParameterSource;
 
 import org.junit.jupiter.params.ParameterizedTest;
@@ -45,6 +46,7 @@ final class ProjectsTestIT {
         assertProjectShape(projectDir, "circle");
         assertProjectShape(projectDir, "triangle");
         assertProjectShape(projectDir, "square");
+        assertThat(Files.exists(Path.of(basedir).resolve("target/archetype/" + ScriptArchive.FILE_NAME)), is(true));
     }
 
     @ParameterizedTest
@@ -54,6 +56,9 @@ final class ProjectsTestIT {
         assertProjectCount(projectDir, 2);
         assertProjectShape(projectDir, "circle");
         assertProjectShape(projectDir, "square");
+        Path repositoriesDir = Path.of(basedir).resolve("target/repositories");
+        assertThat(Files.isDirectory(repositoriesDir.resolve("circle-project")), is(true));
+        assertThat(Files.isDirectory(repositoriesDir.resolve("square-project")), is(true));
     }
 
     @ParameterizedTest
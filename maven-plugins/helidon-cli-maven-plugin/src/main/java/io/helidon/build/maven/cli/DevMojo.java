@@ -54,8 +54,10 @@ import static java.util.Collections.emptyList;
  */
 @Mojo(name = "dev",
         defaultPhase = LifecyclePhase.NONE,
+        aggregator = true,
         requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
 public class DevMojo extends AbstractMojo {
+    private static final String METRICS_FILE_NAME = "dev-loop-metrics.json";
 
     /**
      * The Maven project this mojo executes on.
@@ -93,6 +95,12 @@ public class DevMojo extends AbstractMojo {
     @Parameter(property = "dev.appArgs")
     private String appArgs;
 
+    /**
+     * Reload the changed classes in the running application instead of restarting it.
+     */
+    @Parameter(defaultValue = "false", property = "dev.reload")
+    private boolean reload;
+
     /**
      * Skip execution for this plugin.
      */
@@ -164,11 +172,15 @@ public class DevMojo extends AbstractMojo {
             }
 
             final DevLoopBuildConfig configuration = buildConfig(true);
+            if (configuration.metricsFile() == null) {
+                configuration.setMetricsFile(new File(project.getBuild().getDirectory(), METRICS_FILE_NAME));
+            }
             final ProjectSupplier projectSupplier = new MavenProjectSupplier(configuration);
             final List<String> jvmArgs = toList(appJvmArgs);
             final List<String> args = toList(appArgs);
             final Path dir = devProjectDir.toPath();
-            final DevLoop loop = new DevLoop(dir, projectSupplier, clean, terminalMode, jvmArgs, args, configuration);
+            final DevLoop loop = new DevLoop(dir, projectSupplier, clean, terminalMode, jvmArgs, args, configuration,
+                                             reload);
             loop.start(Integer.MAX_VALUE);
         } catch (Exception e) {
             throw new MojoExecutionException("Error", e);
@@ -179,7 +191,10 @@ public class DevMojo extends AbstractMojo {
         final DevLoopBuildConfig config = devLoop == null ? new DevLoopBuildConfig() : devLoop;
         config.validate();
         if (resolve) {
-            final MavenEnvironment env = new MavenEnvironment(project, session, mojoDescriptorCreator, defaultLifeCycles,
+            final MavenProject application = session.getProjects().size() > 1
+                    ? MavenProjectConfigCollector.applicationProject(session)
+                    : project;
+            final MavenEnvironment env = new MavenEnvironment(application, session, mojoDescriptorCreator, defaultLifeCycles,
                                                               standardDelegate, delegates, plugins, mojoExecutor);
             final MavenGoalReferenceResolver resolver = new MavenGoalReferenceResolver(env);
             config.resolve(resolver);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -104,6 +104,7 @@ class DevMojoTest {
         assertThat(fullBuild, is(not(nullValue())));
         assertThat(fullBuild.maxBuildFailures(), is(Integer.MAX_VALUE));
         assertThat(fullBuild.phase(), is("process-classes"));
+        assertThat(config.classDataSharing(), is(false));
     }
 
     @Test
@@ -126,6 +127,7 @@ class DevMojoTest {
         assertThat(goals.get(0), is("compiler:compile"));
 
         assertThat(incrementalBuild.customDirectories().size(), is(0));
+        assertThat(incrementalBuild.inProcessCompiler(), is(true));
     }
 
     @Test
@@ -135,6 +137,7 @@ class DevMojoTest {
         DevLoopBuildConfig config = mojo.buildConfig(false);
         assertThat(config, is(not(nullValue())));
         assertThat(config.maxApplicationFailures(), is(16));
+        assertThat(config.classDataSharing(), is(true));
 
         FullBuildConfig fullBuild = config.fullBuild();
         assertThat(fullBuild, is(not(nullValue())));